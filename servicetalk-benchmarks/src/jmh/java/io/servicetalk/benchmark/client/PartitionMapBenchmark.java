@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.client;
+
+import io.servicetalk.client.api.internal.partition.DefaultPartitionAttributesBuilder;
+import io.servicetalk.client.api.internal.partition.InvertedIndexPartitionMapFactory;
+import io.servicetalk.client.api.internal.partition.PowerSetPartitionMapFactory;
+import io.servicetalk.client.api.partition.PartitionAttributes;
+import io.servicetalk.client.api.partition.PartitionAttributes.Key;
+import io.servicetalk.client.api.partition.PartitionAttributesBuilder;
+import io.servicetalk.client.api.partition.PartitionMap;
+import io.servicetalk.client.api.partition.PartitionMapFactory;
+import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.AsyncCloseables.emptyAsyncCloseable;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Compares {@link PartitionMap} implementations for hosts with many attributes.
+ * <p>
+ * Run with {@code -prof gc} to compare the memory allocated to build the map ({@link #build()}) and to apply a single
+ * discovery event to a populated map ({@link #addRemove()}).
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class PartitionMapBenchmark {
+    private static final int ATTRIBUTE_VALUES = 4;
+
+    @Param({"powerSet", "invertedIndex", "invertedIndexLookupKeys"})
+    public String map;
+
+    @Param({"4", "8", "10"})
+    public int attributes;
+
+    @Param({"100"})
+    public int hosts;
+
+    private PartitionMapFactory factory;
+    private List<PartitionAttributes> hostAttributes;
+    private PartitionAttributes extraHost;
+    private PartitionAttributes lookup;
+    @Nullable
+    private PartitionMap<ListenableAsyncCloseable> populated;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<Key<Integer>> keys = new ArrayList<>(attributes);
+        for (int i = 0; i < attributes; ++i) {
+            keys.add(Key.newKey("attr" + i));
+        }
+        switch (map) {
+            case "powerSet":
+                factory = PowerSetPartitionMapFactory.INSTANCE;
+                break;
+            case "invertedIndex":
+                factory = InvertedIndexPartitionMapFactory.INSTANCE;
+                break;
+            case "invertedIndexLookupKeys":
+                // A typical application selects partitions by a few known combinations of attributes.
+                factory = InvertedIndexPartitionMapFactory.forLookupKeys(asList(singletonList(keys.get(0)),
+                        asList(keys.get(0), keys.get(1))));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown map: " + map);
+        }
+
+        hostAttributes = new ArrayList<>(hosts);
+        for (int i = 0; i < hosts; ++i) {
+            hostAttributes.add(newHost(keys, i));
+        }
+        extraHost = newHost(keys, hosts);
+        lookup = new DefaultPartitionAttributesBuilder(2).add(keys.get(0), 1).add(keys.get(1), 2).build();
+
+        populated = build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (populated != null) {
+            populated.closeAsync().toFuture().get();
+        }
+    }
+
+    @Benchmark
+    public PartitionMap<ListenableAsyncCloseable> build() {
+        final PartitionMap<ListenableAsyncCloseable> partitionMap = factory.newPartitionMap(
+                __ -> emptyAsyncCloseable());
+        for (PartitionAttributes host : hostAttributes) {
+            partitionMap.add(host);
+        }
+        return partitionMap;
+    }
+
+    @Benchmark
+    public int addRemove() {
+        assert populated != null;
+        return populated.add(extraHost).size() + populated.remove(extraHost).size();
+    }
+
+    @Benchmark
+    @Nullable
+    public ListenableAsyncCloseable get() {
+        assert populated != null;
+        return populated.get(lookup);
+    }
+
+    private PartitionAttributes newHost(final List<Key<Integer>> keys, final int host) {
+        final PartitionAttributesBuilder builder = new DefaultPartitionAttributesBuilder(attributes);
+        int remaining = host;
+        for (int i = 0; i < attributes; ++i) {
+            // The first attributes have few distinct values so partitions are shared by many hosts.
+            builder.add(keys.get(i), i < 2 ? remaining % ATTRIBUTE_VALUES : host);
+            remaining /= ATTRIBUTE_VALUES;
+        }
+        return builder.build();
+    }
+}
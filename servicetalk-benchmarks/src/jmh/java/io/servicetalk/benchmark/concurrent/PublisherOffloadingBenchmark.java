@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.concurrent;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.internal.OffloaderAwareExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static io.servicetalk.concurrent.api.Executors.newCachedThreadExecutor;
+import static io.servicetalk.concurrent.api.Publisher.range;
+import static io.servicetalk.concurrent.internal.SignalOffloaders.batchedTaskBasedOffloaderFactory;
+import static io.servicetalk.concurrent.internal.SignalOffloaders.taskBasedOffloaderFactory;
+import static io.servicetalk.concurrent.internal.SignalOffloaders.threadBasedOffloaderFactory;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares throughput of a {@link Publisher} offloaded via {@link Publisher#publishOn(Executor)} with the different
+ * {@link io.servicetalk.concurrent.internal.SignalOffloader} implementations.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class PublisherOffloadingBenchmark {
+    private static final int ITEMS = 10_000;
+
+    static {
+        AsyncContext.disable();
+    }
+
+    @Param({"16", "256"})
+    public int batchSize;
+
+    private Executor executor;
+    private Executor threadBased;
+    private Executor taskBased;
+    private Executor batchedTaskBased;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = newCachedThreadExecutor();
+        threadBased = new OffloaderAwareExecutor(executor, threadBasedOffloaderFactory());
+        taskBased = new OffloaderAwareExecutor(executor, taskBasedOffloaderFactory());
+        batchedTaskBased = new OffloaderAwareExecutor(executor,
+                batchedTaskBasedOffloaderFactory(batchSize, 50, MICROSECONDS));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void threadBased(Blackhole bh) throws Exception {
+        consume(threadBased, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void taskBased(Blackhole bh) throws Exception {
+        consume(taskBased, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void batchedTaskBased(Blackhole bh) throws Exception {
+        consume(batchedTaskBased, bh);
+    }
+
+    private static void consume(final Executor executor, final Blackhole bh) throws Exception {
+        range(0, ITEMS).publishOn(executor).beforeOnNext(bh::consume).ignoreElements().toFuture().get();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.http;
+
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.http.api.HttpClient;
+import io.servicetalk.http.api.ReservedHttpConnection;
+import io.servicetalk.http.netty.HttpClients;
+import io.servicetalk.http.netty.HttpServers;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1;
+import static io.servicetalk.transport.api.ServiceTalkSocketOptions.FLUSH_ON_READ_COMPLETE;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+
+/*
+ * This benchmark sends batches of pipelined HTTP/1.1 requests over a single connection, with flushes either issued for
+ * every written item or coalesced until the current read completes on both the client and the server.
+ *
+ * NettyPipelinedConnectionBenchmark uses a connection without a channel, it measures the pipelining logic only and
+ * can not observe flushes.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+public class PipelinedFlushStrategyBenchmark {
+
+    @Param({"false", "true"})
+    public boolean flushOnReadComplete;
+
+    @Param({"1", "10"})
+    public int pipelinedRequests;
+
+    private ServerContext serverContext;
+    private HttpClient client;
+    private ReservedHttpConnection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serverContext = HttpServers.forAddress(localAddress(0))
+                .protocols(h1().maxPipelinedRequests(pipelinedRequests).build())
+                .socketOption(FLUSH_ON_READ_COMPLETE, flushOnReadComplete)
+                .listenStreamingAndAwait((ctx, request, responseFactory) -> succeeded(responseFactory.ok()));
+        client = HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                .protocols(h1().maxPipelinedRequests(pipelinedRequests).build())
+                .socketOption(FLUSH_ON_READ_COMPLETE, flushOnReadComplete)
+                .build();
+        connection = client.reserveConnection(client.get("/")).toFuture().get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            connection.close();
+            client.close();
+        } finally {
+            serverContext.close();
+        }
+    }
+
+    @Benchmark
+    public void requests() throws Exception {
+        Publisher.range(0, pipelinedRequests)
+                .flatMapMergeSingle(__ -> connection.request(connection.get("/")), pipelinedRequests)
+                .ignoreElements().toFuture().get();
+    }
+}
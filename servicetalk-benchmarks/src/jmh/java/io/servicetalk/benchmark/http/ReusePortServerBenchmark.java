@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.http;
+
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.netty.HttpClients;
+import io.servicetalk.http.netty.HttpServers;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.servicetalk.transport.api.ServiceTalkSocketOptions.SO_REUSEPORT;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+
+/*
+ * This benchmark measures the request throughput of a server which binds a single listen socket and hands accepted
+ * connections off to the IO threads, versus a server which binds a listen socket per IO thread with SO_REUSEPORT.
+ * Every benchmark thread uses its own client, so new connections are spread over the listen sockets.
+ *
+ * SO_REUSEPORT is only supported by the linux EPOLL transport, on other platforms both modes are expected to perform
+ * the same.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@Threads(8)
+public class ReusePortServerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean reusePort;
+
+    private ServerContext serverContext;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serverContext = HttpServers.forAddress(localAddress(0))
+                .listenSocketOption(SO_REUSEPORT, reusePort)
+                .listenBlockingAndAwait((ctx, request, responseFactory) -> responseFactory.ok());
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        serverContext.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ClientState {
+        BlockingHttpClient client;
+
+        @Setup(Level.Trial)
+        public void setup(final ReusePortServerBenchmark benchmark) {
+            client = HttpClients.forSingleAddress(serverHostAndPort(benchmark.serverContext)).buildBlocking();
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() throws Exception {
+            client.close();
+        }
+    }
+
+    @Benchmark
+    public HttpResponse request(final ClientState state) throws Exception {
+        return state.client.request(state.client.get("/"));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.benchmark.log4j2;
+
+import io.servicetalk.log4j2.mdc.utils.ServiceTalkThreadContextMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.util.StringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of MDC for log events when {@link ServiceTalkThreadContextMap} is used as log4j2's
+ * {@link ThreadContext} map.
+ * <p>
+ * Run with {@code -prof gc} to verify that capturing the MDC for a log event does not allocate.
+ */
+@Fork(value = 1,
+        jvmArgsAppend = "-Dlog4j2.threadContextMap=io.servicetalk.log4j2.mdc.utils.ServiceTalkThreadContextMap")
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class ThreadContextMapBenchmark {
+    @Param({"5", "10"})
+    public int entries;
+
+    private ContextDataInjector injector;
+    private StringMap reusable;
+    private LoggerContext loggerContext;
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (!(ThreadContext.getThreadContextMap() instanceof ServiceTalkThreadContextMap)) {
+            throw new IllegalStateException("Unexpected ThreadContext map: " + ThreadContext.getThreadContextMap());
+        }
+        // The Null appender does not format the event, but the MDC is captured when the event is created.
+        final ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.add(builder.newAppender("null", "Null"));
+        builder.add(builder.newRootLogger(org.apache.logging.log4j.Level.INFO).add(builder.newAppenderRef("null")));
+        loggerContext = Configurator.initialize(builder.build());
+        logger = LogManager.getLogger(ThreadContextMapBenchmark.class);
+
+        // Setup is executed on the benchmark thread, so the MDC is visible to the benchmark methods.
+        ThreadContext.clearMap();
+        for (int i = 0; i < entries; ++i) {
+            ThreadContext.put("key" + i, "value" + i);
+        }
+        injector = ContextDataInjectorFactory.createInjector();
+        reusable = ContextDataFactory.createContextData();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadContext.clearMap();
+        Configurator.shutdown(loggerContext);
+    }
+
+    @Benchmark
+    public StringMap injectContextData() {
+        return injector.injectContextData(null, reusable);
+    }
+
+    @Benchmark
+    public void log() {
+        logger.info("message");
+    }
+
+    @Benchmark
+    public String get() {
+        return ThreadContext.get("key0");
+    }
+
+    @Benchmark
+    public void putRemove() {
+        ThreadContext.put("extra", "value");
+        ThreadContext.remove("extra");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.POOLED_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocators.PREFER_DIRECT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocators.PREFER_HEAP_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferUtils.release;
+
+/*
+ * This benchmark compares allocating, filling and releasing a payload chunk with the unpooled allocators and the
+ * opt-in pooled allocator. Run with "-prof gc" to compare the allocation rate per operation:
+ *
+ * java -jar servicetalk-benchmarks.jar PooledBufferAllocatorBenchmark -prof gc
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+public class PooledBufferAllocatorBenchmark {
+
+    @Param({"256", "8192", "65536"})
+    public int size;
+
+    @Param({"pooled", "direct", "heap"})
+    public String allocatorType;
+
+    private BufferAllocator allocator;
+    private byte[] content;
+
+    @Setup
+    public void setup() {
+        switch (allocatorType) {
+            case "pooled":
+                allocator = POOLED_ALLOCATOR;
+                break;
+            case "direct":
+                allocator = PREFER_DIRECT_ALLOCATOR;
+                break;
+            case "heap":
+                allocator = PREFER_HEAP_ALLOCATOR;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown allocatorType: " + allocatorType);
+        }
+        content = new byte[size];
+    }
+
+    @Benchmark
+    public int allocateWriteRelease() {
+        final Buffer buffer = allocator.newBuffer(size);
+        buffer.writeBytes(content);
+        final int readable = buffer.readableBytes();
+        // No-op for unpooled buffers, returns pooled memory to the pool like the transport does after a write.
+        release(buffer);
+        return readable;
+    }
+}
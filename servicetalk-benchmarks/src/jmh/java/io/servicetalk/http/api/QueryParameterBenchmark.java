@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+
+import static io.servicetalk.http.api.DefaultHttpHeadersFactory.INSTANCE;
+import static io.servicetalk.http.api.DefaultHttpRequestMetaData.DEFAULT_MAX_QUERY_PARAMS;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpRequestMethod.GET;
+import static io.servicetalk.http.api.UriUtils.decodeQueryParams;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+ * This benchmark compares looking up a single query parameter of a freshly received request by scanning the raw
+ * request-target ("rawView", what queryParameter(String) does) against decoding the whole query into a map first
+ * ("decodedMap", what happens after the query is mutated or iterated). Run with "-prof gc" to compare allocations.
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+public class QueryParameterBenchmark {
+    @Param({"1", "10", "100"})
+    private int numParams;
+    @Param({"false", "true"})
+    private boolean needsDecoding;
+    private String requestTarget;
+    private String lookupKey;
+    private final HttpHeaders headers = INSTANCE.newHeaders();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final StringBuilder sb = new StringBuilder("/foo?");
+        final String baseValue = needsDecoding ? "my%20value" : "myxvalue";
+        for (int i = 0; i < numParams; ++i) {
+            if (i > 0) {
+                sb.append('&');
+            }
+            sb.append("name").append(i).append('=').append(baseValue).append(i);
+        }
+        requestTarget = sb.toString();
+        // Look up the parameter in the middle of the query.
+        lookupKey = "name" + (numParams >>> 1);
+    }
+
+    @Nullable
+    @Benchmark
+    public String rawView() {
+        return new DefaultHttpRequestMetaData(GET, requestTarget, HTTP_1_1, headers).queryParameter(lookupKey);
+    }
+
+    @Nullable
+    @Benchmark
+    public String decodedMap() {
+        final DefaultHttpRequestMetaData metaData = new DefaultHttpRequestMetaData(GET, requestTarget, HTTP_1_1,
+                headers);
+        return new HttpQuery(decodeQueryParams(metaData.rawQuery(), UTF_8, DEFAULT_MAX_QUERY_PARAMS)).get(lookupKey);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * This benchmark measures the cost of updating metrics on the hot path, single threaded and with contention. Compare
+ * each metric against the "baseline" methods, which only read the clock, to get the overhead per event:
+ *
+ * java -jar servicetalk-benchmarks.jar MetricsBenchmark
+ */
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+public class MetricsBenchmark {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final Counter counter = registry.counter("counter");
+    private final LatencyRecorder latencyRecorder = registry.latencyRecorder("latency");
+
+    @Benchmark
+    public long baseline() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void counter() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void latency() {
+        latencyRecorder.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long baselineContended() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void counterContended() {
+        counter.increment();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void latencyContended() {
+        latencyRecorder.recordSince(System.nanoTime());
+    }
+}
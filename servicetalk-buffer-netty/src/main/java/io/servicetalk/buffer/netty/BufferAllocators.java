@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,20 @@ public final class BufferAllocators {
      */
     public static final BufferAllocator PREFER_HEAP_ALLOCATOR = BufferUtils.PREFER_HEAP_ALLOCATOR;
 
+    /**
+     * Opt-in {@link BufferAllocator} whose {@link Buffer}s are backed by pooled, reference counted Netty buffers.
+     * <p>
+     * Ownership of a pooled {@link Buffer} is transferred to the transport when it is written, and its memory is
+     * returned to the pool once the write completes. This applies to HTTP/1.x, HTTP/2 and raw TCP connections alike,
+     * and to {@link Buffer}s allocated by the framework, e.g. by serializers. Therefore a pooled {@link Buffer} must
+     * not be accessed after it was written, nor be written more than once: bodies which may be written again, such as
+     * constant bodies or requests which may be retried or redirected, have to be allocated by a non-pooled
+     * {@link BufferAllocator}. Pooled {@link Buffer}s which are never written must be released via
+     * {@link BufferUtils#release(Buffer)}, otherwise they are reported by Netty's leak-detection. Memory that is read
+     * from the transport and handed over to user code is never pooled.
+     */
+    public static final BufferAllocator POOLED_ALLOCATOR = BufferUtils.POOLED_ALLOCATOR;
+
     private BufferAllocators() {
         // no instances
     }
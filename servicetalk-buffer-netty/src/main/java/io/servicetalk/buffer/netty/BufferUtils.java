@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import io.servicetalk.buffer.api.EmptyBuffer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 import javax.annotation.Nullable;
@@ -36,6 +37,8 @@ public final class BufferUtils {
 
     static final BufferAllocator PREFER_HEAP_ALLOCATOR = new ServiceTalkBufferAllocator(false);
     static final BufferAllocator PREFER_DIRECT_ALLOCATOR = new ServiceTalkBufferAllocator(true);
+    static final BufferAllocator POOLED_ALLOCATOR = new ServiceTalkBufferAllocator(directBufferPreferred(),
+            PooledByteBufAllocator.DEFAULT);
 
     private BufferUtils() {
         // no instances
@@ -90,7 +93,7 @@ public final class BufferUtils {
             return ((NettyBuffer) buffer).buffer;
         }
         if (buffer instanceof WrappedBuffer) {
-            return toByteBufNoThrow(((WrappedBuffer) buffer).buffer);
+            return toByteBufNoThrow(((WrappedBuffer) buffer).delegate());
         }
         if (buffer instanceof EmptyBuffer) {
             return EMPTY_BUFFER;
@@ -100,15 +103,69 @@ public final class BufferUtils {
 
     /**
      * Returns the {@link ByteBufAllocator} taking the {@link BufferAllocator} into account.
+     * <p>
+     * The returned {@link ByteBufAllocator} is always unpooled because memory allocated from it is handed over to
+     * user code that is not required to release it. A pooled {@link BufferAllocator} is therefore mapped to its
+     * unpooled counterpart.
      *
      * @param allocator the {@link BufferAllocator} that is used.
      * @return the {@link ByteBufAllocator} to use.
      */
     public static ByteBufAllocator getByteBufAllocator(BufferAllocator allocator) {
-        return (ByteBufAllocator) (allocator instanceof ByteBufAllocator ? allocator :
+        return (ByteBufAllocator) (allocator instanceof ByteBufAllocator &&
+                !((ByteBufAllocator) allocator).isDirectBufferPooled() ? allocator :
                 directBufferPreferred() ? PREFER_DIRECT_ALLOCATOR : PREFER_HEAP_ALLOCATOR);
     }
 
+    /**
+     * Returns a {@link BufferAllocator} which never allocates pooled memory, taking the {@link BufferAllocator} into
+     * account.
+     *
+     * @param allocator the {@link BufferAllocator} that is used.
+     * @return the passed {@code allocator} if it is unpooled, otherwise its unpooled counterpart.
+     */
+    public static BufferAllocator unpooledAllocator(BufferAllocator allocator) {
+        return allocator instanceof ByteBufAllocator && ((ByteBufAllocator) allocator).isDirectBufferPooled() ?
+                (BufferAllocator) getByteBufAllocator(allocator) : allocator;
+    }
+
+    /**
+     * Determines if the passed {@link Buffer} is backed by pooled memory and therefore has to be released explicitly.
+     *
+     * @param buffer the {@link Buffer} to check.
+     * @return {@code true} if the passed {@link Buffer} is backed by pooled memory.
+     * @see BufferAllocators#POOLED_ALLOCATOR
+     */
+    public static boolean isPooled(Buffer buffer) {
+        final ByteBuf buf = toByteBufNoThrow(buffer);
+        return buf != null && isPooled(buf);
+    }
+
+    /**
+     * Determines if the passed {@link ByteBuf} is backed by pooled memory and therefore has to be released explicitly.
+     *
+     * @param buffer the {@link ByteBuf} to check.
+     * @return {@code true} if the passed {@link ByteBuf} is backed by pooled memory.
+     */
+    public static boolean isPooled(ByteBuf buffer) {
+        return buffer.refCnt() > 0 && buffer.alloc().isDirectBufferPooled();
+    }
+
+    /**
+     * Releases the passed {@link Buffer} if it is backed by pooled memory, otherwise does nothing.
+     * <p>
+     * Ownership of pooled {@link Buffer}s is transferred to the transport when they are written, so this method is
+     * only required for pooled {@link Buffer}s which are never written, for example when a request is cancelled.
+     *
+     * @param buffer the {@link Buffer} to release.
+     * @return {@code true} if the passed {@link Buffer} was pooled and its memory was returned to the pool.
+     * @see BufferAllocators#POOLED_ALLOCATOR
+     */
+    public static boolean release(Buffer buffer) {
+        final ByteBuf buf = toByteBufNoThrow(buffer);
+        return buf != null && isPooled(buf) && buf.release();
+    }
+
     /**
      * Return a {@link Buffer} for the given {@link ByteBuf}.
      *
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.servicetalk.buffer.netty.BufferUtils.newBufferFrom;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ * A read-only {@link Buffer} with the content of a region of a file.
+ * <p>
+ * Transports which can write a file directly to a socket, e.g. with
+ * <a href="https://man7.org/linux/man-pages/man2/sendfile.2.html">sendfile</a>, use {@link #fileChannel()} and
+ * {@link #filePosition()} to write the readable bytes of this buffer without copying them to user space. The region is
+ * memory-mapped lazily, only when the content is accessed like any other {@link Buffer}. Reading or changing the
+ * reader and writer indexes does not map the region.
+ * <p>
+ * The {@link FileChannel} is not closed by this buffer, it must stay open until the buffer is written.
+ *
+ * @see FileRegionBuffers
+ */
+public final class FileRegionBuffer extends WrappedBuffer {
+    private final FileChannel fileChannel;
+    private final long position;
+    private final int length;
+    @Nullable
+    private Buffer mapped;
+    private int readerIndex;
+    private int writerIndex;
+
+    FileRegionBuffer(final FileChannel fileChannel, final long position, final int length) {
+        this.fileChannel = fileChannel;
+        this.position = position;
+        this.length = length;
+        writerIndex = length;
+    }
+
+    /**
+     * Returns the {@link FileChannel} of the file.
+     *
+     * @return the {@link FileChannel} of the file
+     */
+    public FileChannel fileChannel() {
+        return fileChannel;
+    }
+
+    /**
+     * Returns the position in the file of the first {@link #readableBytes() readable byte}.
+     *
+     * @return the position in the file of the first {@link #readableBytes() readable byte}
+     */
+    public long filePosition() {
+        return position + readerIndex();
+    }
+
+    /**
+     * Returns {@code true} if the region has been memory-mapped because its content was accessed.
+     *
+     * @return {@code true} if the region has been memory-mapped because its content was accessed
+     */
+    public boolean isMapped() {
+        return mapped != null;
+    }
+
+    @Override
+    Buffer delegate() {
+        if (mapped == null) {
+            final Buffer buffer;
+            try {
+                buffer = newBufferFrom(wrappedBuffer(fileChannel.map(READ_ONLY, position, length)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mapped = buffer.writerIndex(writerIndex).readerIndex(readerIndex);
+        }
+        return mapped;
+    }
+
+    @Override
+    public int capacity() {
+        return length;
+    }
+
+    @Override
+    public int maxCapacity() {
+        return length;
+    }
+
+    @Override
+    public int readerIndex() {
+        return mapped == null ? readerIndex : mapped.readerIndex();
+    }
+
+    @Override
+    public Buffer readerIndex(final int readerIndex) {
+        if (mapped != null) {
+            mapped.readerIndex(readerIndex);
+        } else {
+            checkIndexes(readerIndex, writerIndex);
+            this.readerIndex = readerIndex;
+        }
+        return this;
+    }
+
+    @Override
+    public int writerIndex() {
+        return mapped == null ? writerIndex : mapped.writerIndex();
+    }
+
+    @Override
+    public Buffer writerIndex(final int writerIndex) {
+        if (mapped != null) {
+            mapped.writerIndex(writerIndex);
+        } else {
+            checkIndexes(readerIndex, writerIndex);
+            this.writerIndex = writerIndex;
+        }
+        return this;
+    }
+
+    @Override
+    public int readableBytes() {
+        return mapped == null ? writerIndex - readerIndex : mapped.readableBytes();
+    }
+
+    @Override
+    public Buffer skipBytes(final int length) {
+        if (mapped != null) {
+            mapped.skipBytes(length);
+        } else {
+            if (length < 0 || length > readableBytes()) {
+                throw new IndexOutOfBoundsException("length: " + length + " (expected: 0 <= length <= " +
+                        readableBytes() + ')');
+            }
+            readerIndex += length;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public Buffer asReadOnly() {
+        // The content is always read-only, keep the file information.
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(filePosition: " + filePosition() + ", readableBytes: " +
+                readableBytes() + ')';
+    }
+
+    private void checkIndexes(final int readerIndex, final int writerIndex) {
+        if (readerIndex < 0 || readerIndex > writerIndex || writerIndex > length) {
+            throw new IndexOutOfBoundsException("readerIndex: " + readerIndex + ", writerIndex: " + writerIndex +
+                    " (expected: 0 <= readerIndex <= writerIndex <= capacity(" + length + "))");
+        }
+    }
+}
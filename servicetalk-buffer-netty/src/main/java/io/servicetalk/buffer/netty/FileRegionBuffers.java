@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Factory methods for {@link FileRegionBuffer}s.
+ */
+public final class FileRegionBuffers {
+
+    private FileRegionBuffers() {
+        // no instances
+    }
+
+    /**
+     * Creates a {@link FileRegionBuffer} for a region of a file.
+     *
+     * @param fileChannel the {@link FileChannel} of the file, it must be readable and stay open until the returned
+     * {@link Buffer} is written.
+     * @param position the position in the file of the first byte of the region.
+     * @param length the number of bytes in the region.
+     * @return a {@link FileRegionBuffer} for the region of the file.
+     * @throws IOException if the size of the file can not be read or the region is not contained in the file.
+     */
+    public static FileRegionBuffer newFileRegionBuffer(final FileChannel fileChannel, final long position,
+                                                       final int length) throws IOException {
+        requireNonNull(fileChannel);
+        if (position < 0) {
+            throw new IllegalArgumentException("position: " + position + " (expected >=0)");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("length: " + length + " (expected >=0)");
+        }
+        final long size = fileChannel.size();
+        if (position + length > size) {
+            throw new IOException("region [" + position + ", " + (position + length) + ") exceeds file size: " + size);
+        }
+        return new FileRegionBuffer(fileChannel, position, length);
+    }
+
+    /**
+     * Splits a region of a file into {@link FileRegionBuffer}s of at most {@code maxRegionLength} bytes.
+     * <p>
+     * {@link Buffer}s are limited to {@link Integer#MAX_VALUE} bytes, so files larger than that need to be written as
+     * multiple {@link FileRegionBuffer}s. Every region is created lazily when it is returned by the
+     * {@link Iterator}.
+     *
+     * @param fileChannel the {@link FileChannel} of the file, it must be readable and stay open until all returned
+     * {@link Buffer}s are written.
+     * @param position the position in the file of the first byte to return.
+     * @param count the total number of bytes to return.
+     * @param maxRegionLength the maximum number of bytes of each {@link FileRegionBuffer}.
+     * @return an {@link Iterable} of {@link FileRegionBuffer}s which cover the region of the file. The
+     * {@link Iterator} throws {@link UncheckedIOException} if a region can not be created.
+     */
+    public static Iterable<Buffer> newFileRegionBuffers(final FileChannel fileChannel, final long position,
+                                                        final long count, final int maxRegionLength) {
+        requireNonNull(fileChannel);
+        if (position < 0) {
+            throw new IllegalArgumentException("position: " + position + " (expected >=0)");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count + " (expected >=0)");
+        }
+        if (maxRegionLength <= 0) {
+            throw new IllegalArgumentException("maxRegionLength: " + maxRegionLength + " (expected >0)");
+        }
+        return () -> new Iterator<Buffer>() {
+            private long next = position;
+            private final long end = position + count;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Buffer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final int length = (int) min(maxRegionLength, end - next);
+                final Buffer region;
+                try {
+                    region = newFileRegionBuffer(fileChannel, next, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                next += length;
+                return region;
+            }
+        };
+    }
+}
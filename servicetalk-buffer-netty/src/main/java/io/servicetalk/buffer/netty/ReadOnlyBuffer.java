@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -304,42 +304,42 @@ final class ReadOnlyBuffer extends WrappedBuffer {
 
     @Override
     public Buffer readSlice(int length) {
-        return buffer.readSlice(length).asReadOnly();
+        return delegate().readSlice(length).asReadOnly();
     }
 
     @Override
     public Buffer duplicate() {
-        return buffer.duplicate().asReadOnly();
+        return delegate().duplicate().asReadOnly();
     }
 
     @Override
     public Buffer slice() {
-        return buffer.slice().asReadOnly();
+        return delegate().slice().asReadOnly();
     }
 
     @Override
     public Buffer slice(int index, int length) {
-        return buffer.slice(index, length).asReadOnly();
+        return delegate().slice(index, length).asReadOnly();
     }
 
     @Override
     public ByteBuffer toNioBuffer() {
-        return asReadOnlyByteBuffer(buffer.toNioBuffer());
+        return asReadOnlyByteBuffer(delegate().toNioBuffer());
     }
 
     @Override
     public ByteBuffer toNioBuffer(int index, int length) {
-        return asReadOnlyByteBuffer(buffer.toNioBuffer(index, length));
+        return asReadOnlyByteBuffer(delegate().toNioBuffer(index, length));
     }
 
     @Override
     public ByteBuffer[] toNioBuffers() {
-        return asReadOnlyByteBuffers(buffer.toNioBuffers());
+        return asReadOnlyByteBuffers(delegate().toNioBuffers());
     }
 
     @Override
     public ByteBuffer[] toNioBuffers(int index, int length) {
-        return asReadOnlyByteBuffers(buffer.toNioBuffers(index, length));
+        return asReadOnlyByteBuffers(delegate().toNioBuffers(index, length));
     }
 
     private static ByteBuffer asReadOnlyByteBuffer(ByteBuffer buffer) {
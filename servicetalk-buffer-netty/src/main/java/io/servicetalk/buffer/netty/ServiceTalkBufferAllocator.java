@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import io.netty.buffer.CompositeByteBuf;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import javax.annotation.Nullable;
 
 import static io.servicetalk.buffer.api.EmptyBuffer.EMPTY_BUFFER;
 import static io.servicetalk.utils.internal.PlatformDependent.useDirectBufferWithoutZeroing;
@@ -37,20 +38,40 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 /**
  * Our own {@link AbstractByteBufAllocator} implementation which will not use leak-detection and depends on the GC
  * to handle the de-allocation of direct memory. All the returned {@link ByteBuf} are also unreleasable.
+ * <p>
+ * If created with a pooled {@link ByteBufAllocator}, newly allocated memory is taken from the pool instead. Such
+ * {@link ByteBuf}s are reference counted, subject to Netty's leak-detection and must be released explicitly, either by
+ * the transport after they have been written or by {@link BufferUtils#release(Buffer)}.
  */
 final class ServiceTalkBufferAllocator extends AbstractByteBufAllocator implements BufferAllocator {
     private final ByteBufAllocator forceHeapAllocator = new ForceTypeByteBufAllocator(this, false);
     private final ByteBufAllocator forceDirectAllocator = new ForceTypeByteBufAllocator(this, true);
 
     private final boolean noZeroing;
+    @Nullable
+    private final ByteBufAllocator pooledAllocator;
+    private final BufferAllocator wrapAllocator;
 
     ServiceTalkBufferAllocator(boolean preferDirect) {
+        this(preferDirect, null);
+    }
+
+    ServiceTalkBufferAllocator(boolean preferDirect, @Nullable ByteBufAllocator pooledAllocator) {
         super(preferDirect);
+        if (pooledAllocator != null && !pooledAllocator.isDirectBufferPooled()) {
+            throw new IllegalArgumentException("ByteBufAllocator must be pooled");
+        }
         this.noZeroing = useDirectBufferWithoutZeroing();
+        this.pooledAllocator = pooledAllocator;
+        // Wrapped memory is owned by the caller and never returned to the pool.
+        this.wrapAllocator = pooledAllocator == null ? this : new ServiceTalkBufferAllocator(preferDirect);
     }
 
     @Override
     protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+        if (pooledAllocator != null) {
+            return pooledAllocator.heapBuffer(initialCapacity, maxCapacity);
+        }
         return io.netty.util.internal.PlatformDependent.hasUnsafe() ?
                 new UnreleasableNoZeroingHeapByteBuf(this, initialCapacity, maxCapacity) :
                 new UnreleasableHeapByteBuf(this, initialCapacity, maxCapacity);
@@ -58,6 +79,9 @@ final class ServiceTalkBufferAllocator extends AbstractByteBufAllocator implemen
 
     @Override
     protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+        if (pooledAllocator != null) {
+            return pooledAllocator.directBuffer(initialCapacity, maxCapacity);
+        }
         if (noZeroing) {
             return new UnreleasableUnsafeNoZeroingDirectByteBuf(this, initialCapacity, maxCapacity);
         }
@@ -68,17 +92,19 @@ final class ServiceTalkBufferAllocator extends AbstractByteBufAllocator implemen
 
     @Override
     public CompositeByteBuf compositeHeapBuffer(int maxNumComponents) {
-        return new UnreleasableCompositeByteBuf(this, false, maxNumComponents);
+        return pooledAllocator != null ? toLeakAwareBuffer(new CompositeByteBuf(this, false, maxNumComponents)) :
+                new UnreleasableCompositeByteBuf(this, false, maxNumComponents);
     }
 
     @Override
     public CompositeByteBuf compositeDirectBuffer(int maxNumComponents) {
-        return new UnreleasableCompositeByteBuf(this, true, maxNumComponents);
+        return pooledAllocator != null ? toLeakAwareBuffer(new CompositeByteBuf(this, true, maxNumComponents)) :
+                new UnreleasableCompositeByteBuf(this, true, maxNumComponents);
     }
 
     @Override
     public boolean isDirectBufferPooled() {
-        return false;
+        return pooledAllocator != null;
     }
 
     @Override
@@ -155,12 +181,18 @@ final class ServiceTalkBufferAllocator extends AbstractByteBufAllocator implemen
 
     @Override
     public Buffer wrap(byte[] bytes) {
+        if (wrapAllocator != this) {
+            return wrapAllocator.wrap(bytes);
+        }
         return bytes.length == 0 ? EMPTY_BUFFER : new NettyBuffer<>(new UnreleasableHeapByteBuf(this, bytes,
                 bytes.length));
     }
 
     @Override
     public Buffer wrap(ByteBuffer buffer) {
+        if (wrapAllocator != this) {
+            return wrapAllocator.wrap(buffer);
+        }
         final Buffer buf;
         if (buffer.hasArray()) {
             buf = wrap(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
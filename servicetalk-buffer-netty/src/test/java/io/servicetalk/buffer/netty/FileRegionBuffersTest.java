@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.buffer.netty.FileRegionBuffers.newFileRegionBuffer;
+import static io.servicetalk.buffer.netty.FileRegionBuffers.newFileRegionBuffers;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileRegionBuffersTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void regionContentAndPosition() throws Exception {
+        try (FileChannel file = open("0123456789")) {
+            final FileRegionBuffer buffer = newFileRegionBuffer(file, 2, 5);
+            assertThat(buffer.fileChannel(), is(sameInstance(file)));
+            assertThat(buffer.isReadOnly(), is(true));
+            assertThat(buffer.asReadOnly(), is(sameInstance(buffer)));
+            assertThat(buffer.filePosition(), is(2L));
+            assertThat(buffer.toString(US_ASCII), is("23456"));
+
+            buffer.skipBytes(2);
+            assertThat(buffer.filePosition(), is(4L));
+            assertThat(buffer.readableBytes(), is(3));
+            assertThat(buffer.toString(US_ASCII), is("456"));
+        }
+    }
+
+    @Test
+    void mappedOnlyWhenContentIsAccessed() throws Exception {
+        try (FileChannel file = open("0123456789")) {
+            final FileRegionBuffer buffer = newFileRegionBuffer(file, 2, 5);
+            buffer.skipBytes(1);
+            buffer.writerIndex(4);
+            assertThat(buffer.filePosition(), is(3L));
+            assertThat(buffer.readableBytes(), is(3));
+            assertThat(buffer.capacity(), is(5));
+            assertThat(buffer.isMapped(), is(false));
+
+            assertThat(buffer.toString(US_ASCII), is("345"));
+            assertThat(buffer.isMapped(), is(true));
+            assertThat(buffer.filePosition(), is(3L));
+            assertThat(buffer.readableBytes(), is(3));
+        }
+    }
+
+    @Test
+    void splitIntoRegions() throws Exception {
+        try (FileChannel file = open("0123456789")) {
+            final List<String> regions = new ArrayList<>();
+            for (Buffer region : newFileRegionBuffers(file, 1, 8, 3)) {
+                assertThat(region, is(instanceOf(FileRegionBuffer.class)));
+                regions.add(region.toString(US_ASCII));
+            }
+            assertThat(regions.toString(), is("[123, 456, 78]"));
+        }
+    }
+
+    @Test
+    void invalidArguments() throws Exception {
+        try (FileChannel file = open("0123456789")) {
+            assertThrows(IllegalArgumentException.class, () -> newFileRegionBuffer(file, -1, 1));
+            assertThrows(IllegalArgumentException.class, () -> newFileRegionBuffer(file, 0, -1));
+            assertThrows(IllegalArgumentException.class, () -> newFileRegionBuffers(file, 0, 1, 0));
+            assertThrows(IOException.class, () -> newFileRegionBuffer(file, 8, 3));
+        }
+    }
+
+    private FileChannel open(final String content) throws Exception {
+        return FileChannel.open(Files.write(tempDir.resolve("file.txt"), content.getBytes(US_ASCII)), READ);
+    }
+}
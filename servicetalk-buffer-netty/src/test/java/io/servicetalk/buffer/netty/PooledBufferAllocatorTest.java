@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.buffer.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.CompositeBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetector.Level;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocators.POOLED_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static io.servicetalk.buffer.netty.BufferUtils.isPooled;
+import static io.servicetalk.buffer.netty.BufferUtils.release;
+import static io.servicetalk.buffer.netty.BufferUtils.toByteBuf;
+import static io.servicetalk.buffer.netty.BufferUtils.unpooledAllocator;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class PooledBufferAllocatorTest {
+
+    private static Level previousLevel = Level.SIMPLE;
+
+    @BeforeAll
+    static void enableLeakDetection() {
+        // Track every pooled allocation so that a missing release is reported by Netty while these tests run.
+        previousLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(Level.PARANOID);
+    }
+
+    @AfterAll
+    static void restoreLeakDetection() {
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+
+    @Test
+    void newBufferIsPooledAndReleasable() {
+        assertReleasable(POOLED_ALLOCATOR.newBuffer(16));
+        assertReleasable(POOLED_ALLOCATOR.newBuffer(16, true));
+        assertReleasable(POOLED_ALLOCATOR.newBuffer(16, false));
+    }
+
+    @Test
+    void fromAsciiIsPooledAndReleasable() {
+        Buffer buffer = POOLED_ALLOCATOR.fromAscii("hello");
+        assertThat(buffer.toString(US_ASCII), is("hello"));
+        assertReleasable(buffer);
+    }
+
+    @Test
+    void compositeBufferIsReleasable() {
+        CompositeBuffer composite = POOLED_ALLOCATOR.newCompositeBuffer()
+                .addBuffer(POOLED_ALLOCATOR.fromAscii("hello"))
+                .addBuffer(POOLED_ALLOCATOR.fromAscii("world"));
+        assertThat(composite.toString(US_ASCII), is("helloworld"));
+        assertReleasable(composite);
+    }
+
+    @Test
+    void unpooledBufferIsNotReleased() {
+        Buffer buffer = DEFAULT_ALLOCATOR.fromAscii("hello");
+        assertThat(isPooled(buffer), is(false));
+        assertThat(release(buffer), is(false));
+        assertThat(buffer.toString(US_ASCII), is("hello"));
+    }
+
+    @Test
+    void wrappedMemoryIsNotPooled() {
+        Buffer buffer = POOLED_ALLOCATOR.wrap(new byte[] {1, 2, 3});
+        assertThat(isPooled(buffer), is(false));
+        assertThat(release(buffer), is(false));
+    }
+
+    @Test
+    void unpooledCounterpart() {
+        ByteBufAllocator alloc = getByteBufAllocator(POOLED_ALLOCATOR);
+        assertThat(alloc.isDirectBufferPooled(), is(false));
+        assertThat(((ByteBufAllocator) unpooledAllocator(POOLED_ALLOCATOR)).isDirectBufferPooled(), is(false));
+        assertThat(unpooledAllocator(DEFAULT_ALLOCATOR), is(sameInstance(DEFAULT_ALLOCATOR)));
+        assertThat(getByteBufAllocator(DEFAULT_ALLOCATOR), is(sameInstance(DEFAULT_ALLOCATOR)));
+    }
+
+    private static void assertReleasable(Buffer buffer) {
+        ByteBuf byteBuf = toByteBuf(buffer);
+        assertThat(isPooled(buffer), is(true));
+        assertThat(byteBuf.refCnt(), is(1));
+        assertThat(release(buffer), is(true));
+        assertThat(byteBuf.refCnt(), is(0));
+        assertThat(isPooled(buffer), is(false));
+        assertThat(release(buffer), is(false));
+    }
+}
@@ -36,19 +36,21 @@ import io.servicetalk.concurrent.internal.SequentialCancellable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.AsyncCloseables.emptyAsyncCloseable;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.deliverCompleteFromSource;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -93,25 +95,47 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
      * @param unknownPartitionClient factory for clients that handles requests for an unknown partition
      * @param clientFactory used to create clients for newly discovered partitions
      * @param partitionMapFactory factory to provide a {@link PartitionMap} implementation appropriate for the use-case
-     * @param psdEvents the stream of {@link PartitionedServiceDiscovererEvent}s
+     * @param psdEvents the stream of batches of {@link PartitionedServiceDiscovererEvent}s, each batch is applied to
+     * the {@link PartitionMap} at once and delivered to every affected partition as a single {@link Collection}
      * @param psdMaxQueueSize max number of new partitions to queue up
      */
     public DefaultPartitionedClientGroup(final Function<PartitionAttributes, Client> closedPartitionClient,
                                          final Function<PartitionAttributes, Client> unknownPartitionClient,
                                          final PartitionedClientFactory<U, R, Client> clientFactory,
                                          final PartitionMapFactory partitionMapFactory,
-                                         final Publisher<PartitionedServiceDiscovererEvent<R>> psdEvents,
+                                         final Publisher<? extends Collection<
+                                                 ? extends PartitionedServiceDiscovererEvent<R>>> psdEvents,
                                          final int psdMaxQueueSize) {
 
         this.unknownPartitionClient = unknownPartitionClient;
         this.partitionMap = partitionMapFactory.newPartitionMap(event ->
                 new Partition<>(event, closedPartitionClient.apply(event)));
-        toSource(psdEvents.groupToMany(event -> event.isAvailable() ?
-                partitionMap.add(event.partitionAddress()).iterator() :
-                partitionMap.remove(event.partitionAddress()).iterator(), psdMaxQueueSize))
+        toSource(psdEvents.flatMapConcatIterable(this::groupByPartition)
+                .groupBy(PartitionEvents::partition, psdMaxQueueSize))
                 .subscribe(new GroupedByPartitionSubscriber(clientFactory));
     }
 
+    private Collection<PartitionEvents<Client, R>> groupByPartition(
+            final Collection<? extends PartitionedServiceDiscovererEvent<R>> events) {
+        // Preserve the order in which partitions are first seen, so new partitions are created in discovery order.
+        final Map<Partition<Client>, List<PartitionedServiceDiscovererEvent<R>>> byPartition = new LinkedHashMap<>();
+        for (PartitionedServiceDiscovererEvent<R> event : events) {
+            final List<Partition<Client>> partitions = event.isAvailable() ?
+                    partitionMap.add(event.partitionAddress()) : partitionMap.remove(event.partitionAddress());
+            for (Partition<Client> partition : partitions) {
+                byPartition.computeIfAbsent(partition, __ -> new ArrayList<>(2)).add(event);
+            }
+        }
+        if (byPartition.isEmpty()) {
+            return emptyList();
+        }
+        final List<PartitionEvents<Client, R>> result = new ArrayList<>(byPartition.size());
+        for (Map.Entry<Partition<Client>, List<PartitionedServiceDiscovererEvent<R>>> entry : byPartition.entrySet()) {
+            result.add(new PartitionEvents<>(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
     @Override
     public Completable onClose() {
         return partitionMap.onClose();
@@ -141,14 +165,13 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
         return client;
     }
 
-    private static final class PartitionServiceDiscoverer<U, R, C extends AsyncCloseable,
-            PSDE extends PartitionedServiceDiscovererEvent<R>>
+    private static final class PartitionServiceDiscoverer<U, R, C extends AsyncCloseable>
             implements ServiceDiscoverer<U, R, ServiceDiscovererEvent<R>> {
         private final ListenableAsyncCloseable close;
-        private final GroupedPublisher<Partition<C>, PSDE> newGroup;
+        private final GroupedPublisher<Partition<C>, PartitionEvents<C, R>> newGroup;
         private final Partition<C> partition;
 
-        PartitionServiceDiscoverer(final GroupedPublisher<Partition<C>, PSDE> newGroup) {
+        PartitionServiceDiscoverer(final GroupedPublisher<Partition<C>, PartitionEvents<C, R>> newGroup) {
             this.newGroup = newGroup;
             this.partition = newGroup.key();
             close = emptyAsyncCloseable();
@@ -156,16 +179,32 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
 
         /**
          * @param ignoredAddress the address is ignored since discovery already happened
-         * @return stream of {@link PartitionedServiceDiscovererEvent}s for this partitions with valid addresses
+         * @return stream of batches of {@link PartitionedServiceDiscovererEvent}s for this partitions with valid
+         * addresses
          */
         @Override
         public Publisher<Collection<ServiceDiscovererEvent<R>>> discover(final U ignoredAddress) {
-            return newGroup.filter(new Predicate<PSDE>() {
+            return newGroup.map(new Function<PartitionEvents<C, R>, Collection<ServiceDiscovererEvent<R>>>() {
                 // Use a mutable Count to avoid boxing-unboxing and put on each call.
                 private final Map<R, MutableInt> addressCount = new HashMap<>();
 
                 @Override
-                public boolean test(PSDE evt) {
+                public Collection<ServiceDiscovererEvent<R>> apply(final PartitionEvents<C, R> partitionEvents) {
+                    final List<PartitionedServiceDiscovererEvent<R>> events = partitionEvents.events;
+                    List<ServiceDiscovererEvent<R>> accepted = null;
+                    for (int i = 0; i < events.size(); ++i) {
+                        final PartitionedServiceDiscovererEvent<R> evt = events.get(i);
+                        if (accept(evt)) {
+                            if (accepted == null) {
+                                accepted = new ArrayList<>(events.size() - i);
+                            }
+                            accepted.add(evt);
+                        }
+                    }
+                    return accepted == null ? emptyList() : accepted;
+                }
+
+                private boolean accept(final PartitionedServiceDiscovererEvent<R> evt) {
                     MutableInt counter = addressCount.computeIfAbsent(evt.address(), __ -> new MutableInt());
                     boolean acceptEvent;
                     if (evt.isAvailable()) {
@@ -184,7 +223,7 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
                     }
                     return acceptEvent;
                 }
-            }).beforeFinally(partition::closeNow).map(Collections::singletonList);
+            }).filter(events -> !events.isEmpty()).beforeFinally(partition::closeNow);
         }
 
         @Override
@@ -202,6 +241,23 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
         }
     }
 
+    /**
+     * The events of a single discovery batch which affect a given {@link Partition}.
+     */
+    private static final class PartitionEvents<C extends AsyncCloseable, R> {
+        final Partition<C> partition;
+        final List<PartitionedServiceDiscovererEvent<R>> events;
+
+        PartitionEvents(final Partition<C> partition, final List<PartitionedServiceDiscovererEvent<R>> events) {
+            this.partition = partition;
+            this.events = events;
+        }
+
+        Partition<C> partition() {
+            return partition;
+        }
+    }
+
     private static final class Partition<C extends AsyncCloseable> implements AsyncCloseable {
         @SuppressWarnings("rawtypes")
         private static final AtomicReferenceFieldUpdater<Partition, Object> clientUpdater =
@@ -257,8 +313,7 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
     }
 
     private final class GroupedByPartitionSubscriber
-            implements PublisherSource.Subscriber<GroupedPublisher<Partition<Client>,
-            ? extends PartitionedServiceDiscovererEvent<R>>> {
+            implements PublisherSource.Subscriber<GroupedPublisher<Partition<Client>, PartitionEvents<Client, R>>> {
 
         private final PartitionedClientFactory<U, R, Client> clientFactory;
 
@@ -277,8 +332,7 @@ public final class DefaultPartitionedClientGroup<U, R, Client extends Listenable
         }
 
         @Override
-        public void onNext(@Nonnull final GroupedPublisher<Partition<Client>,
-                        ? extends PartitionedServiceDiscovererEvent<R>> newGroup) {
+        public void onNext(@Nonnull final GroupedPublisher<Partition<Client>, PartitionEvents<Client, R>> newGroup) {
             requireNonNull(newGroup);
             Client newClient = requireNonNull(clientFactory.apply(newGroup.key().attributes,
                     new PartitionServiceDiscoverer<>(newGroup)), "<null> Client created for partition");
@@ -0,0 +1,344 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api.internal.partition;
+
+import io.servicetalk.client.api.partition.PartitionAttributes;
+import io.servicetalk.client.api.partition.PartitionAttributes.Key;
+import io.servicetalk.client.api.partition.PartitionAttributesBuilder;
+import io.servicetalk.client.api.partition.PartitionMap;
+import io.servicetalk.concurrent.api.AsyncCloseable;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.AsyncCloseables.toAsyncCloseable;
+import static java.lang.Integer.bitCount;
+import static java.lang.Integer.numberOfTrailingZeros;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link PartitionMap} which indexes each fully specified {@link PartitionAttributes} by its individual attributes.
+ * <p>
+ * Each attribute maps to a {@link BitSet} of the fully specified {@link PartitionAttributes} which contain it, and a
+ * partition remains in the map as long as the intersection of the {@link BitSet}s of its attributes is not empty.
+ * Compared to {@link PowerSetPartitionMap} this avoids:
+ * <ul>
+ *     <li>copying all partitions on every {@link #add(PartitionAttributes)} and {@link #remove(PartitionAttributes)},
+ *     partitions are updated incrementally in a {@link ConcurrentMap} instead</li>
+ *     <li>keeping a reference count per wild card {@link PartitionAttributes}, only fully specified
+ *     {@link PartitionAttributes} are reference counted</li>
+ *     <li>creating a partition for every combination of attributes, if the combinations of {@link Key}s used for
+ *     {@link #get(PartitionAttributes)} are known upfront and provided as {@code lookupKeys}</li>
+ * </ul>
+ * @param <T> The partition type.
+ */
+public final class InvertedIndexPartitionMap<T extends AsyncCloseable> implements PartitionMap<T> {
+    private static final byte CLOSED_GRACEFULLY = 1;
+    private static final byte HARD_CLOSE = 2;
+    private static final int MAX_PARTITION_ATTRIBUTE_SIZE = 15;
+
+    private final Function<PartitionAttributes, T> valueFactory;
+    private final IntFunction<PartitionAttributesBuilder> partitionAttributesBuilderFunc;
+    /**
+     * The combinations of {@link Key}s to create partitions for, or {@code null} to create partitions for all
+     * combinations.
+     */
+    @Nullable
+    private final Key[][] lookupKeys;
+
+    /**
+     * Key = Absolute Attribute.
+     * Value = Index of the bit which represents the Absolute Attribute in the {@link #attributeIndex}, and the number of
+     * times the Absolute Attribute was added.
+     */
+    private final Map<PartitionAttributes, AbsoluteEntry> absoluteToBitIndex = new HashMap<>();
+    private final ArrayDeque<Integer> freeBitIndexes = new ArrayDeque<>();
+    private int nextBitIndex;
+
+    /**
+     * Key = Single attribute.
+     * Value = Bit index of all Absolute Attributes which contain the single attribute.
+     */
+    private final Map<PartitionAttributes, BitSet> attributeIndex = new HashMap<>();
+
+    /**
+     * Key = Wild Card Attribute.
+     * Value = Object associated with the wild card attributes.
+     * <p>
+     * Only modified from {@link #add(PartitionAttributes)} and {@link #remove(PartitionAttributes)}, and read from
+     * {@link #get(PartitionAttributes)} which may be called from any thread.
+     */
+    private final ConcurrentMap<PartitionAttributes, T> wildCardToValueMap = new ConcurrentHashMap<>();
+
+    private volatile byte closed;
+    private final ListenableAsyncCloseable asyncCloseable = toAsyncCloseable(graceful -> {
+        closed = graceful ? CLOSED_GRACEFULLY : HARD_CLOSE;
+        return closeAllValues(graceful);
+    });
+
+    /**
+     * Create a new instance with the {@link DefaultPartitionAttributesBuilder} which creates partitions for all
+     * combinations of attributes.
+     * @param valueFactory Generates values for new partitions.
+     */
+    InvertedIndexPartitionMap(Function<PartitionAttributes, T> valueFactory) {
+        this(valueFactory, DefaultPartitionAttributesBuilder::new, null);
+    }
+
+    /**
+     * Create a new instance.
+     * @param valueFactory Generates values for new partitions.
+     * @param partitionAttributesBuilderFunc Generates new {@link PartitionAttributes} objects, this factory must be
+     * consistent with the factory used to build the {@link PartitionAttributes} objects for
+     * {@link #add(PartitionAttributes)} and {@link #remove(PartitionAttributes)} to ensure {@link #hashCode()} and
+     * {@link #equals(Object)} are consistent.
+     * @param lookupKeys The combinations of {@link Key}s which will be used for {@link #get(PartitionAttributes)}.
+     * Partitions are only created for these combinations. {@code null} creates partitions for all combinations of
+     * attributes, like {@link PowerSetPartitionMap}.
+     */
+    public InvertedIndexPartitionMap(Function<PartitionAttributes, T> valueFactory,
+                                     IntFunction<PartitionAttributesBuilder> partitionAttributesBuilderFunc,
+                                     @Nullable Key[][] lookupKeys) {
+        this.valueFactory = requireNonNull(valueFactory);
+        this.partitionAttributesBuilderFunc = requireNonNull(partitionAttributesBuilderFunc);
+        if (lookupKeys != null) {
+            for (Key[] keys : lookupKeys) {
+                if (keys.length == 0) {
+                    throw new IllegalArgumentException("lookupKeys must not contain an empty combination");
+                }
+            }
+        }
+        this.lookupKeys = lookupKeys;
+    }
+
+    @Nullable
+    @Override
+    public T get(@Nullable PartitionAttributes wildCardAttributes) {
+        return wildCardAttributes == null ? null : wildCardToValueMap.get(wildCardAttributes);
+    }
+
+    @Override
+    public List<T> add(final PartitionAttributes partition) {
+        final int partitionSize = partition.size();
+        if (partitionSize <= 0 || (lookupKeys == null && partitionSize > MAX_PARTITION_ATTRIBUTE_SIZE)) {
+            throw new IllegalArgumentException("attribute size: " + partitionSize + " must be in the range [1, " +
+                    (lookupKeys == null ? MAX_PARTITION_ATTRIBUTE_SIZE : Integer.MAX_VALUE) + "]");
+        }
+
+        final AbsoluteEntry absoluteEntry = absoluteToBitIndex.get(partition);
+        if (absoluteEntry != null) {
+            ++absoluteEntry.refCount;
+        } else {
+            final int bitIndex = nextBitIndex();
+            absoluteToBitIndex.put(partition, new AbsoluteEntry(bitIndex));
+            partition.forEach((key, value) -> attributeIndex.computeIfAbsent(singleAttribute(key, value),
+                    attribute -> new BitSet()).set(bitIndex));
+        }
+
+        final List<T> effectedPartitions = new ArrayList<>();
+        forEachWildCard(partition, wildCardAttributes -> {
+            T value = wildCardToValueMap.get(wildCardAttributes);
+            if (value == null) {
+                value = requireNonNull(valueFactory.apply(wildCardAttributes));
+                wildCardToValueMap.put(wildCardAttributes, value);
+                // It is possible that the map has been closed, and so we must ensure that new values are closed.
+                final byte closed = this.closed;
+                if (closed > 0) {
+                    closeValue(value, closed == CLOSED_GRACEFULLY).subscribe();
+                }
+            }
+            effectedPartitions.add(value);
+        });
+        return effectedPartitions;
+    }
+
+    @Override
+    public List<T> remove(PartitionAttributes partition) {
+        final AbsoluteEntry absoluteEntry = absoluteToBitIndex.get(partition);
+        if (absoluteEntry == null) {
+            return emptyList();
+        }
+        if (--absoluteEntry.refCount > 0) {
+            // The partition was added more than once, all wild card partitions remain.
+            final List<T> effectedPartitions = new ArrayList<>();
+            forEachWildCard(partition, wildCardAttributes -> {
+                final T value = wildCardToValueMap.get(wildCardAttributes);
+                assert value != null;
+                effectedPartitions.add(value);
+            });
+            return effectedPartitions;
+        }
+        absoluteToBitIndex.remove(partition);
+        final int bitIndex = absoluteEntry.bitIndex;
+        partition.forEach((key, value) -> {
+            final PartitionAttributes attribute = singleAttribute(key, value);
+            final BitSet bits = attributeIndex.get(attribute);
+            assert bits != null;
+            bits.clear(bitIndex);
+            if (bits.isEmpty()) {
+                attributeIndex.remove(attribute);
+            }
+        });
+        freeBitIndexes.add(bitIndex);
+
+        final List<T> effectedPartitions = new ArrayList<>();
+        forEachWildCard(partition, wildCardAttributes -> {
+            final T value = wildCardToValueMap.get(wildCardAttributes);
+            assert value != null;
+            if (!hasAbsoluteAttributes(wildCardAttributes)) {
+                wildCardToValueMap.remove(wildCardAttributes);
+            }
+            effectedPartitions.add(value);
+        });
+        return effectedPartitions;
+    }
+
+    @Override
+    public Completable onClose() {
+        return asyncCloseable.onClose();
+    }
+
+    @Override
+    public Completable closeAsync() {
+        return asyncCloseable.closeAsync();
+    }
+
+    @Override
+    public Completable closeAsyncGracefully() {
+        return asyncCloseable.closeAsyncGracefully();
+    }
+
+    private Integer nextBitIndex() {
+        final Integer bitIndex = freeBitIndexes.poll();
+        return bitIndex != null ? bitIndex : nextBitIndex++;
+    }
+
+    private PartitionAttributes singleAttribute(final Key key, final Object value) {
+        @SuppressWarnings("unchecked")
+        final PartitionAttributes attribute = partitionAttributesBuilderFunc.apply(1).add(key, value).build();
+        return attribute;
+    }
+
+    /**
+     * Determine if any Absolute Attribute contains all of {@code wildCardAttributes}, by intersecting the
+     * {@link BitSet}s of the individual attributes.
+     */
+    private boolean hasAbsoluteAttributes(final PartitionAttributes wildCardAttributes) {
+        final BitSet[] intersection = new BitSet[1];
+        final boolean[] missing = new boolean[1];
+        wildCardAttributes.forEach((key, value) -> {
+            if (missing[0]) {
+                return;
+            }
+            final BitSet bits = attributeIndex.get(singleAttribute(key, value));
+            if (bits == null) {
+                missing[0] = true;
+            } else if (intersection[0] == null) {
+                intersection[0] = (BitSet) bits.clone();
+            } else {
+                intersection[0].and(bits);
+            }
+        });
+        return !missing[0] && intersection[0] != null && !intersection[0].isEmpty();
+    }
+
+    /**
+     * Invoke {@code consumer} for each wild card {@link PartitionAttributes} which {@code partition} belongs to.
+     */
+    @SuppressWarnings("unchecked")
+    private void forEachWildCard(final PartitionAttributes partition, final Consumer<PartitionAttributes> consumer) {
+        if (lookupKeys != null) {
+            for (Key[] keys : lookupKeys) {
+                final PartitionAttributesBuilder builder = partitionAttributesBuilderFunc.apply(keys.length);
+                boolean allPresent = true;
+                for (Key key : keys) {
+                    final Object value = partition.get(key);
+                    if (value == null) {
+                        allPresent = false;
+                        break;
+                    }
+                    builder.add(key, value);
+                }
+                if (allPresent) {
+                    consumer.accept(builder.build());
+                }
+            }
+            return;
+        }
+
+        final List<Object> entries = new ArrayList<>(partition.size() << 1);
+        partition.forEach((key, value) -> {
+            entries.add(key);
+            entries.add(value);
+        });
+        final int numCombinations = 1 << partition.size();
+        for (int i = 1; i < numCombinations; ++i) {
+            final PartitionAttributesBuilder builder = partitionAttributesBuilderFunc.apply(bitCount(i));
+            int remainingBits = i;
+            do {
+                final int entriesIndex = numberOfTrailingZeros(remainingBits);
+                remainingBits &= ~(1 << entriesIndex);
+                builder.add((Key) entries.get(entriesIndex << 1), entries.get((entriesIndex << 1) + 1));
+            } while (remainingBits != 0);
+            consumer.accept(builder.build());
+        }
+    }
+
+    private Completable closeAllValues(boolean graceful) {
+        List<Completable> completables = new ArrayList<>(wildCardToValueMap.size());
+        wildCardToValueMap.forEach((attributes, value) -> completables.add(closeValue(value, graceful)));
+        return Completable.completed().mergeDelayError(completables);
+    }
+
+    private static Completable closeValue(final AsyncCloseable value, final boolean graceful) {
+        return graceful ? value.closeAsyncGracefully() : value.closeAsync();
+    }
+
+    private static final class AbsoluteEntry {
+        final int bitIndex;
+        int refCount;
+
+        AbsoluteEntry(final int bitIndex) {
+            this.bitIndex = bitIndex;
+            refCount = 1;
+        }
+    }
+
+    boolean isEmpty() {
+        return absoluteToBitIndex.isEmpty() && wildCardToValueMap.isEmpty();
+    }
+
+    int size() {
+        return absoluteToBitIndex.size();
+    }
+
+    int wildCardIndexSize() {
+        return wildCardToValueMap.size();
+    }
+}
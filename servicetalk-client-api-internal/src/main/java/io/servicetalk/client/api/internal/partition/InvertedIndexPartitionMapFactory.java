@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api.internal.partition;
+
+import io.servicetalk.client.api.partition.PartitionAttributes;
+import io.servicetalk.client.api.partition.PartitionAttributes.Key;
+import io.servicetalk.client.api.partition.PartitionMap;
+import io.servicetalk.client.api.partition.PartitionMapFactory;
+import io.servicetalk.concurrent.api.AsyncCloseable;
+
+import java.util.Collection;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link PartitionMapFactory} that generates {@link InvertedIndexPartitionMap} type objects.
+ * <p>
+ * Use {@link #forLookupKeys(Collection)} to only create the partitions that are actually looked up, which avoids
+ * materializing every combination of attributes.
+ */
+public final class InvertedIndexPartitionMapFactory implements PartitionMapFactory {
+    /**
+     * A {@link PartitionMapFactory} which creates partitions for all combinations of attributes.
+     * <p>
+     * Without knowing which combinations of {@link Key}s are used to select a partition, every combination must exist
+     * when an address is added: a partition receives the addresses that belong to it as they are added and removed,
+     * so it can not be created lazily on the first lookup without missing the addresses that were added before. This
+     * instance therefore still creates {@code 2^n - 1} partitions for {@code n} attributes, and only avoids copying all
+     * partitions on each update and reference counting each combination. Prefer {@link #forLookupKeys(Collection)}
+     * to also avoid the combinations that are never looked up.
+     */
+    public static final PartitionMapFactory INSTANCE = new InvertedIndexPartitionMapFactory(null);
+
+    @Nullable
+    private final Key[][] lookupKeys;
+
+    private InvertedIndexPartitionMapFactory(@Nullable final Key[][] lookupKeys) {
+        this.lookupKeys = lookupKeys;
+    }
+
+    /**
+     * Create a {@link PartitionMapFactory} which only creates partitions for the passed combinations of {@link Key}s.
+     * <p>
+     * Each {@link PartitionAttributes} used to select a partition must contain exactly one of these combinations of
+     * {@link Key}s, other {@link PartitionAttributes} will not match any partition.
+     *
+     * @param lookupKeys The combinations of {@link Key}s which are used to select partitions.
+     * @return a {@link PartitionMapFactory} which only creates partitions for the passed combinations of {@link Key}s.
+     */
+    public static PartitionMapFactory forLookupKeys(final Collection<? extends Collection<? extends Key>> lookupKeys) {
+        if (lookupKeys.isEmpty()) {
+            throw new IllegalArgumentException("lookupKeys must not be empty");
+        }
+        final Key[][] keys = new Key[lookupKeys.size()][];
+        int i = 0;
+        for (Collection<? extends Key> combination : lookupKeys) {
+            if (combination.isEmpty()) {
+                throw new IllegalArgumentException("lookupKeys must not contain an empty combination");
+            }
+            keys[i++] = combination.toArray(new Key[0]);
+        }
+        return new InvertedIndexPartitionMapFactory(keys);
+    }
+
+    @Override
+    public <T extends AsyncCloseable> PartitionMap<T> newPartitionMap(Function<PartitionAttributes, T> valueFactory) {
+        return new InvertedIndexPartitionMap<>(valueFactory, DefaultPartitionAttributesBuilder::new, lookupKeys);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api.internal.partition;
+
+import io.servicetalk.client.api.partition.PartitionAttributes;
+import io.servicetalk.client.api.partition.PartitionAttributes.Key;
+import io.servicetalk.client.api.partition.PartitionMap;
+import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.servicetalk.concurrent.api.AsyncCloseables.emptyAsyncCloseable;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexPartitionMapTest {
+    private static final Key<Integer> DC_ID = Key.newKey("dc");
+    private static final Key<Integer> SHARD_ID = Key.newKey("shard");
+    private static final Key<Boolean> IS_MAIN = Key.newKey("main");
+
+    @Test
+    void testAllCombinationsMatchPowerSet() {
+        InvertedIndexPartitionMap<ListenableAsyncCloseable> map =
+                new InvertedIndexPartitionMap<>(address -> emptyAsyncCloseable());
+        assertEquals(7, map.add(host(1, 10, false)).size());
+        assertMapSize(map, 1, 7);
+        assertEquals(7, map.add(host(1, 10, true)).size());
+        assertMapSize(map, 2, 11);
+        assertEquals(7, map.add(host(1, 9, true)).size());
+        assertMapSize(map, 3, 15);
+
+        assertNotNull(map.get(attributes(DC_ID, 1)));
+        assertNotNull(map.get(new DefaultPartitionAttributesBuilder(2).add(SHARD_ID, 10).add(IS_MAIN, true).build()));
+        assertNull(map.get(new DefaultPartitionAttributesBuilder(2).add(SHARD_ID, 9).add(IS_MAIN, false).build()));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    void testRemoveOfOverlappingAttributesPreservesValue() {
+        InvertedIndexPartitionMap<ListenableAsyncCloseable> map =
+                new InvertedIndexPartitionMap<>(address -> emptyAsyncCloseable());
+        map.add(host(1, 10, false));
+        map.add(host(1, 9, true));
+        final ListenableAsyncCloseable dc = map.get(attributes(DC_ID, 1));
+        assertNotNull(dc);
+
+        List<ListenableAsyncCloseable> removed = map.remove(host(1, 9, true));
+        assertEquals(7, removed.size());
+        assertTrue(removed.contains(dc));
+        assertSame(dc, map.get(attributes(DC_ID, 1)), "Shared partition must be preserved.");
+        assertNull(map.get(attributes(SHARD_ID, 9)));
+        assertNull(map.get(attributes(IS_MAIN, true)));
+        assertNotNull(map.get(attributes(SHARD_ID, 10)));
+        assertMapSize(map, 1, 7);
+
+        map.remove(host(1, 10, false));
+        assertTrue(map.isEmpty(), "Map is not empty after removing all partitions.");
+        assertTrue(map.remove(host(1, 10, false)).isEmpty());
+    }
+
+    @Test
+    void testAddDuplicatePartitions() {
+        InvertedIndexPartitionMap<ListenableAsyncCloseable> map =
+                new InvertedIndexPartitionMap<>(address -> emptyAsyncCloseable());
+        List<ListenableAsyncCloseable> added1 = map.add(host(1, 10, true));
+        List<ListenableAsyncCloseable> added2 = map.add(host(1, 10, true));
+        assertEquals(added1, added2, "Added partitions are not equal.");
+        assertEquals(1, map.size(), "Same partition added twice.");
+        assertEquals(added1, map.remove(host(1, 10, true)));
+        assertEquals(1, map.size(), "Partition removed while it is still referenced.");
+        final ListenableAsyncCloseable dc = map.get(attributes(DC_ID, 1));
+        assertNotNull(dc, "Partition not preserved after the first remove.");
+        assertTrue(added1.contains(dc));
+        assertEquals(added1, map.remove(host(1, 10, true)));
+        assertTrue(map.isEmpty(), "Map is not empty after removing the partition.");
+    }
+
+    @Test
+    void testLookupKeysOnlyCreatesConfiguredPartitions() {
+        PartitionMap<ListenableAsyncCloseable> map = InvertedIndexPartitionMapFactory.forLookupKeys(
+                asList(singletonList(DC_ID), asList(DC_ID, SHARD_ID)))
+                .newPartitionMap(address -> emptyAsyncCloseable());
+        assertEquals(2, map.add(host(1, 10, true)).size());
+        assertEquals(2, map.add(host(1, 9, true)).size());
+
+        assertNotNull(map.get(attributes(DC_ID, 1)));
+        assertNotNull(map.get(new DefaultPartitionAttributesBuilder(2).add(DC_ID, 1).add(SHARD_ID, 9).build()));
+        assertNull(map.get(attributes(SHARD_ID, 9)), "Partition created for a combination which is not configured.");
+        assertNull(map.get(attributes(IS_MAIN, true)), "Partition created for a combination which is not configured.");
+
+        // A host without all keys of a combination does not belong to the partitions of that combination.
+        assertEquals(1, map.add(attributes(DC_ID, 2)).size());
+    }
+
+    @Test
+    void testAddEmptyPartitionAttributesThrows() {
+        InvertedIndexPartitionMap<ListenableAsyncCloseable> map =
+                new InvertedIndexPartitionMap<>(address -> emptyAsyncCloseable());
+        assertThrows(IllegalArgumentException.class, () -> map.add(new DefaultPartitionAttributesBuilder(0).build()));
+    }
+
+    private static void assertMapSize(InvertedIndexPartitionMap<ListenableAsyncCloseable> map, int size,
+                                      int indexSize) {
+        assertEquals(size == 0, map.isEmpty());
+        assertEquals(size, map.size());
+        assertEquals(indexSize, map.wildCardIndexSize());
+    }
+
+    private static <T> PartitionAttributes attributes(Key<T> key, T value) {
+        return new DefaultPartitionAttributesBuilder(1).add(key, value).build();
+    }
+
+    private static PartitionAttributes host(int dc, int shard, boolean main) {
+        return new DefaultPartitionAttributesBuilder(3).add(DC_ID, dc).add(SHARD_ID, shard).add(IS_MAIN, main)
+                .build();
+    }
+}
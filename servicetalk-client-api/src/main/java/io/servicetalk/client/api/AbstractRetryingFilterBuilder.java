@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import io.servicetalk.concurrent.api.BiIntFunction;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Executor;
 import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.RetryBudget;
 import io.servicetalk.concurrent.api.RetryStrategies;
 import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.transport.api.RetryableException;
@@ -29,6 +30,8 @@ import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.Completable.completed;
 import static io.servicetalk.concurrent.api.Completable.failed;
+import static io.servicetalk.concurrent.api.RetryStrategies.newTokenBucketRetryBudget;
+import static io.servicetalk.concurrent.api.RetryStrategies.retryWithBudget;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithConstantBackoffDeltaJitter;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithConstantBackoffFullJitter;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithExponentialBackoffDeltaJitter;
@@ -49,6 +52,8 @@ public abstract class AbstractRetryingFilterBuilder<Builder
         extends AbstractRetryingFilterBuilder<Builder, Filter, Meta>, Filter, Meta> {
     private static final Duration FULL_JITTER = ofDays(1024);
     private int maxRetries;
+    private int retryBudgetPercent;
+    private int maxRetryBurst;
     @Nullable
     private BiPredicate<Meta, Throwable> retryForPredicate;
 
@@ -71,6 +76,28 @@ public abstract class AbstractRetryingFilterBuilder<Builder
         return castThis();
     }
 
+    /**
+     * Bounds the total rate of retries with a token bucket {@link RetryBudget}, in addition to the maximum number of
+     * retries per operation. Each built filter creates one budget per client or connection it is applied to, which is
+     * shared by all operations of that client or connection.
+     *
+     * @param retryPercent Percentage of original operations that are allowed to be retried
+     * @param maxRetryBurst Maximum number of retries allowed in a burst, when there were no recent operations
+     * @return {@code this}
+     * @see RetryStrategies#newTokenBucketRetryBudget(int, int)
+     */
+    public final Builder retryBudget(final int retryPercent, final int maxRetryBurst) {
+        if (retryPercent <= 0) {
+            throw new IllegalArgumentException("retryPercent: " + retryPercent + " (expected: >0)");
+        }
+        if (maxRetryBurst <= 0) {
+            throw new IllegalArgumentException("maxRetryBurst: " + maxRetryBurst + " (expected: >0)");
+        }
+        this.retryBudgetPercent = retryPercent;
+        this.maxRetryBurst = maxRetryBurst;
+        return castThis();
+    }
+
     /**
      * Overrides the default criterion for determining which requests or errors should be retried.
      *
@@ -253,7 +280,7 @@ public abstract class AbstractRetryingFilterBuilder<Builder
                                                              final boolean exponential) {
         return new ReadOnlyRetryableSettings<>(maxRetries > 0 ? maxRetries : (exponential ? 2 : 1),
                 retryForPredicate != null ? retryForPredicate : defaultRetryForPredicate(),
-                initialDelay, jitter, maxDelay, timerExecutor, exponential);
+                initialDelay, jitter, maxDelay, timerExecutor, exponential, retryBudgetPercent, maxRetryBurst);
     }
 
     /**
@@ -274,6 +301,8 @@ public abstract class AbstractRetryingFilterBuilder<Builder
         @Nullable
         private final Executor timerExecutor;
         private final boolean exponential;
+        private final int retryBudgetPercent;
+        private final int maxRetryBurst;
 
         private ReadOnlyRetryableSettings(final int maxRetries,
                                           final BiPredicate<Meta, Throwable> retryForPredicate,
@@ -281,7 +310,9 @@ public abstract class AbstractRetryingFilterBuilder<Builder
                                           @Nullable final Duration jitter,
                                           @Nullable final Duration maxDelay,
                                           @Nullable final Executor timerExecutor,
-                                          final boolean exponential) {
+                                          final boolean exponential,
+                                          final int retryBudgetPercent,
+                                          final int maxRetryBurst) {
             this.maxRetries = maxRetries;
             this.retryForPredicate = retryForPredicate;
             this.initialDelay = initialDelay;
@@ -289,6 +320,8 @@ public abstract class AbstractRetryingFilterBuilder<Builder
             this.exponential = exponential;
             this.jitter = jitter;
             this.maxDelay = maxDelay;
+            this.retryBudgetPercent = retryBudgetPercent;
+            this.maxRetryBurst = maxRetryBurst;
         }
 
         /**
@@ -302,6 +335,37 @@ public abstract class AbstractRetryingFilterBuilder<Builder
             return retryForPredicate.test(meta, throwable);
         }
 
+        /**
+         * Creates a new {@link RetryBudget} to be shared by all operations of a single client or connection.
+         *
+         * @return a new {@link RetryBudget}, or {@code null} if no retry budget was configured
+         */
+        @Nullable
+        public RetryBudget newRetryBudget() {
+            return retryBudgetPercent > 0 ? newTokenBucketRetryBudget(retryBudgetPercent, maxRetryBurst) : null;
+        }
+
+        /**
+         * Builds a new retry strategy {@link BiIntFunction} like {@link #newStrategy(Executor)}, which additionally
+         * rejects retries once the passed {@link RetryBudget} is exhausted. Retries which exceed the maximum number of
+         * retries do not withdraw from the budget.
+         *
+         * @param alternativeTimerExecutor {@link Executor} to be used to schedule timers for backoff if no executor
+         * was provided at the build time
+         * @param retryBudget {@link RetryBudget} to withdraw from before every retry, or {@code null} to not bound the
+         * rate of retries
+         * @return a new retry strategy {@link BiIntFunction}
+         */
+        public BiIntFunction<Throwable, Completable> newStrategy(final Executor alternativeTimerExecutor,
+                                                                 @Nullable final RetryBudget retryBudget) {
+            final BiIntFunction<Throwable, Completable> strategy = newStrategy(alternativeTimerExecutor);
+            if (retryBudget == null) {
+                return strategy;
+            }
+            final BiIntFunction<Throwable, Completable> budgeted = retryWithBudget(retryBudget, strategy);
+            return (count, throwable) -> count <= maxRetries ? budgeted.apply(count, throwable) : failed(throwable);
+        }
+
         /**
          * Builds a new retry strategy {@link BiIntFunction} for retrying with
          * {@link Publisher#retryWhen(BiIntFunction)}, {@link Single#retryWhen(BiIntFunction)}, and
@@ -15,9 +15,14 @@
  */
 package io.servicetalk.client.api;
 
+import io.servicetalk.concurrent.api.Executor;
 import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
 
+import java.time.Duration;
 import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * A data-structure capable of holding arbitrary number of clients and bridging lifecycle events across all clients
@@ -50,4 +55,96 @@ public interface ClientGroup<Key, Client extends ListenableAsyncCloseable> exten
     static <Key, Client extends ListenableAsyncCloseable> ClientGroup<Key, Client> from(Function<Key, Client> factory) {
         return new DefaultClientGroup<>(factory);
     }
+
+    /**
+     * Creates a {@link Builder} for a {@link ClientGroup} based on a {@code factory} of clients of type
+     * {@code Client}, which allows to bound the number of clients held by the group.
+     *
+     * @param factory {@link Function} will be called every time {@link #get(Object)} is called with a non-existent
+     * {@link Key}.
+     * @param <Key> the type of key used for client lookup and creation
+     * @param <Client> the type of client stored in the group
+     * @return a new {@link Builder}.
+     */
+    static <Key, Client extends ListenableAsyncCloseable> Builder<Key, Client> builder(
+            Function<Key, Client> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * A builder of {@link ClientGroup}.
+     * <p>
+     * Clients evicted from the group are closed {@link ListenableAsyncCloseable#closeAsyncGracefully() gracefully}, so
+     * requests already in progress complete, and a subsequent {@link ClientGroup#get(Object)} for the same key creates
+     * a new client.
+     *
+     * @param <Key> the type of key used for client lookup and creation
+     * @param <Client> the type of client stored in the group
+     */
+    final class Builder<Key, Client extends ListenableAsyncCloseable> {
+        private final Function<Key, Client> factory;
+        private int maxSize = Integer.MAX_VALUE;
+        private long idleTimeoutNanos;
+        @Nullable
+        private Executor executor;
+        @Nullable
+        private ClientGroupObserver<? super Key> observer;
+
+        private Builder(final Function<Key, Client> factory) {
+            this.factory = requireNonNull(factory);
+        }
+
+        /**
+         * Sets the maximum number of clients held by the group. When a new client exceeds this limit, the least
+         * recently used client is evicted.
+         *
+         * @param maxSize the maximum number of clients held by the group.
+         * @return {@code this}.
+         */
+        public Builder<Key, Client> maxSize(final int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize: " + maxSize + " (expected >0)");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the duration after which a client that was not returned from {@link ClientGroup#get(Object)} is evicted.
+         * Idle clients are detected periodically, so a client may be evicted up to {@code 1.5 * idleTimeout} after its
+         * last use.
+         *
+         * @param idleTimeout the duration after which an unused client is evicted.
+         * @param executor the {@link Executor} used to schedule detection of idle clients.
+         * @return {@code this}.
+         */
+        public Builder<Key, Client> idleTimeout(final Duration idleTimeout, final Executor executor) {
+            if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalArgumentException("idleTimeout: " + idleTimeout + " (expected >0)");
+            }
+            this.idleTimeoutNanos = idleTimeout.toNanos();
+            this.executor = requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets a {@link ClientGroupObserver} which is notified when clients are added to or removed from the group.
+         *
+         * @param observer the {@link ClientGroupObserver}.
+         * @return {@code this}.
+         */
+        public Builder<Key, Client> observer(final ClientGroupObserver<? super Key> observer) {
+            this.observer = requireNonNull(observer);
+            return this;
+        }
+
+        /**
+         * Builds a new {@link ClientGroup}.
+         *
+         * @return a new {@link ClientGroup}.
+         */
+        public ClientGroup<Key, Client> build() {
+            return new DefaultClientGroup<>(factory, maxSize, idleTimeoutNanos, executor, observer);
+        }
+    }
 }
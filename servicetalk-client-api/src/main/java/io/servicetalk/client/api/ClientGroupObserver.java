@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.client.api;
+
+/**
+ * An observer of the clients managed by a {@link ClientGroup}.
+ * <p>
+ * Callbacks may be invoked concurrently from different threads and must not block.
+ *
+ * @param <Key> the type of key used for client lookup
+ */
+public interface ClientGroupObserver<Key> {
+
+    /**
+     * Callback when a new client is added to the {@link ClientGroup}.
+     *
+     * @param key the key of the new client.
+     * @param size the number of clients in the group after the client was added.
+     */
+    default void onClientAdded(Key key, int size) {
+    }
+
+    /**
+     * Callback when a client is removed from the {@link ClientGroup}.
+     *
+     * @param key the key of the removed client.
+     * @param cause the {@link RemovalCause} for the client removal.
+     * @param size the number of clients in the group after the client was removed.
+     */
+    default void onClientRemoved(Key key, RemovalCause cause, int size) {
+    }
+
+    /**
+     * The reason a client was removed from a {@link ClientGroup}.
+     */
+    enum RemovalCause {
+        /**
+         * The client was not used for longer than the configured idle timeout and was evicted.
+         */
+        IDLE,
+        /**
+         * The group reached its maximum size and the least recently used client was evicted.
+         */
+        MAX_SIZE,
+        /**
+         * The client was closed, either on its own or because the {@link ClientGroup} was closed.
+         */
+        CLOSED
+    }
+}
@@ -15,27 +15,39 @@
  */
 package io.servicetalk.client.api;
 
+import io.servicetalk.client.api.ClientGroupObserver.RemovalCause;
 import io.servicetalk.concurrent.Cancellable;
 import io.servicetalk.concurrent.CompletableSource.Subscriber;
 import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Executor;
 import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
 
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.CLOSED;
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.IDLE;
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.MAX_SIZE;
 import static io.servicetalk.concurrent.api.AsyncCloseables.toAsyncCloseable;
 import static io.servicetalk.concurrent.api.Completable.completed;
 import static io.servicetalk.concurrent.api.Completable.failed;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
 
 /**
- * Default implementation for {@link ClientGroup} as returned from {@link ClientGroup#from(Function)}.
+ * Default implementation for {@link ClientGroup} as returned from {@link ClientGroup#from(Function)} and
+ * {@link ClientGroup.Builder#build()}.
  *
  * @param <Key> the type of key used for client lookup
  * @param <Client> the type of client stored in the group
@@ -44,8 +56,12 @@ final class DefaultClientGroup<Key, Client extends ListenableAsyncCloseable> imp
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultClientGroup.class);
     private static final String CLOSED_EXCEPTION_MSG = "This group has been closed";
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<DefaultClientGroup> sizeUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(DefaultClientGroup.class, "size");
 
-    private static final ListenableAsyncCloseable PLACEHOLDER_CLIENT = new ListenableAsyncCloseable() {
+    private static final long EVICTED = Long.MIN_VALUE;
+    private static final ClientEntry PLACEHOLDER_ENTRY = new ClientEntry(new ListenableAsyncCloseable() {
         private static final String PLACEHOLDER_EXCEPTION_MSG =
                 "This placeholder Client should never be returned from the ClientGroup)";
         @Override
@@ -57,25 +73,72 @@ final class DefaultClientGroup<Key, Client extends ListenableAsyncCloseable> imp
         public Completable closeAsync() {
             return failed(new UnsupportedOperationException(PLACEHOLDER_EXCEPTION_MSG));
         }
-    };
+    }, 0);
 
     private volatile boolean closed;
-    private final ConcurrentMap<Key, ListenableAsyncCloseable> clientMap = new ConcurrentHashMap<>();
+    private volatile int size;
+    @Nullable
+    private volatile Cancellable idleCheck;
+    private final ConcurrentMap<Key, ClientEntry> clientMap = new ConcurrentHashMap<>();
     private final Function<Key, Client> clientFactory;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final boolean trackAccess;
+    @Nullable
+    private final Executor executor;
+    @Nullable
+    private final ClientGroupObserver<? super Key> observer;
+    private final LongSupplier nanoClock;
     private final ListenableAsyncCloseable asyncCloseable = toAsyncCloseable(graceful -> {
                 closed = true;
+                final Cancellable idleCheck = this.idleCheck;
+                if (idleCheck != null) {
+                    idleCheck.cancel();
+                }
                 return completed().mergeDelayError(
                         clientMap.keySet().stream()
-                                .map(clientMap::remove)
-                                .filter(client -> client != null && client != PLACEHOLDER_CLIENT)
-                                .map(closeable -> graceful ? closeable.closeAsyncGracefully() : closeable.closeAsync())
+                                .map(key -> removeEntry(key, CLOSED))
+                                .filter(entry -> entry != null && entry != PLACEHOLDER_ENTRY)
+                                .map(entry -> graceful ? entry.client.closeAsyncGracefully() :
+                                        entry.client.closeAsync())
                                 .collect(toList())
                 );
             }
     );
 
     DefaultClientGroup(final Function<Key, Client> factory) {
+        this(factory, Integer.MAX_VALUE, 0, null, null);
+    }
+
+    DefaultClientGroup(final Function<Key, Client> factory, final int maxSize, final long idleTimeoutNanos,
+                       @Nullable final Executor executor, @Nullable final ClientGroupObserver<? super Key> observer) {
+        this(factory, maxSize, idleTimeoutNanos, executor, observer, System::nanoTime);
+    }
+
+    // Visible for testing
+    DefaultClientGroup(final Function<Key, Client> factory, final int maxSize, final long idleTimeoutNanos,
+                       @Nullable final Executor executor, @Nullable final ClientGroupObserver<? super Key> observer,
+                       final LongSupplier nanoClock) {
         clientFactory = requireNonNull(factory);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize + " (expected >0)");
+        }
+        if (idleTimeoutNanos < 0) {
+            throw new IllegalArgumentException("idleTimeoutNanos: " + idleTimeoutNanos + " (expected >=0)");
+        }
+        if (idleTimeoutNanos > 0 && executor == null) {
+            throw new IllegalArgumentException("executor is required for idleTimeoutNanos: " + idleTimeoutNanos);
+        }
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.executor = executor;
+        this.observer = observer;
+        this.nanoClock = requireNonNull(nanoClock);
+        // Only pay for the clock and the write on every get() if the access time is used for eviction.
+        trackAccess = maxSize != Integer.MAX_VALUE || idleTimeoutNanos > 0;
+        if (idleTimeoutNanos > 0) {
+            scheduleIdleCheck();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -84,72 +147,241 @@ final class DefaultClientGroup<Key, Client extends ListenableAsyncCloseable> imp
         // It is assumed that clientFactory will not acquire synchronization primitives which may be held by threads
         // in the spin/wait loop below to avoid livelock. This allows us to avoid acquiring locks/monitors
         // for the expected steady state where the key will already exist in the map.
-        ListenableAsyncCloseable client;
+        ClientEntry entry;
         for (;;) {
             // It is expected that the majority of the time the key will already exist in the map, and so we try the
             // less expensive "get" operation first because "computeIfAbsent" may incur extra synchronization, while it
             // checks existence of the key in the concurrent hash map.
-            client = clientMap.get(key);
-            if (client != null && client != PLACEHOLDER_CLIENT) {
-                return (Client) client;
+            entry = clientMap.get(key);
+            if (entry == PLACEHOLDER_ENTRY) {
+                continue;
             }
-            if (client == PLACEHOLDER_CLIENT) {
+            if (entry != null) {
+                if (touch(entry)) {
+                    return (Client) entry.client;
+                }
+                // The entry is being evicted, spin until it is removed from the map and create a new client.
                 continue;
             }
 
-            // Attempt to "reserve" this key with a PLACEHOLDER_CLIENT so we can later create a new client and insert
-            // the "real" client instead of the PLACEHOLDER_CLIENT. Placeholder will make sure that we call factory only
+            // Attempt to "reserve" this key with a PLACEHOLDER_ENTRY so we can later create a new client and insert
+            // the "real" client instead of the PLACEHOLDER_ENTRY. Placeholder will make sure that we call factory only
             // once. This is necessary to avoid execution of the user code while holding a wide lock in
-            // "computeIfAbsent". Basically, we are also holding a "per-key lock" here with the PLACEHOLDER_CLIENT as a
+            // "computeIfAbsent". Basically, we are also holding a "per-key lock" here with the PLACEHOLDER_ENTRY as a
             // subsequent select with the same key does a spin-loop. The difference between "computeIfAbsent" and here
             // is that "computeIfAbsent" will lock the bin/bucket for the key but here we just lock the key.
-            client = clientMap.putIfAbsent(key, PLACEHOLDER_CLIENT);
-            if (client == null) {
+            entry = clientMap.putIfAbsent(key, PLACEHOLDER_ENTRY);
+            if (entry == null) {
                 break; // Create new client using clientFactory below
             }
-            if (client != PLACEHOLDER_CLIENT) {
-                return (Client) client;
+            if (entry != PLACEHOLDER_ENTRY && touch(entry)) {
+                return (Client) entry.client;
             }
         }
 
-        // Initialize new client while other requests are spinning until PLACEHOLDER_CLIENT is swapped out.
+        // Initialize new client while other requests are spinning until PLACEHOLDER_ENTRY is swapped out.
 
         if (closed) {
-            final boolean removed = clientMap.remove(key, PLACEHOLDER_CLIENT);
-            assert removed : "Expected to remove PLACEHOLDER_CLIENT";
+            final boolean removed = clientMap.remove(key, PLACEHOLDER_ENTRY);
+            assert removed : "Expected to remove PLACEHOLDER_ENTRY";
             throw new IllegalStateException(CLOSED_EXCEPTION_MSG);
         }
 
+        final ListenableAsyncCloseable client;
         try {
             client = requireNonNull(clientFactory.apply(key), "Newly created client can not be null");
         } catch (Throwable t) {
-            clientMap.remove(key); // PLACEHOLDER_CLIENT
+            clientMap.remove(key); // PLACEHOLDER_ENTRY
             throw new IllegalArgumentException("Failed to create new client", t);
         }
 
-        clientMap.put(key, client); // Overwrite PLACEHOLDER_CLIENT
-        toSource(client.onClose()).subscribe(new RemoveClientOnClose(key, client));
+        entry = new ClientEntry(client, trackAccess ? nanoClock.getAsLong() : 0);
+        clientMap.put(key, entry); // Overwrite PLACEHOLDER_ENTRY
+        final int newSize = sizeUpdater.incrementAndGet(this);
+        if (observer != null) {
+            observer.onClientAdded(key, newSize);
+        }
+        toSource(client.onClose()).subscribe(new RemoveClientOnClose(key, entry));
         LOGGER.debug("A new client {} was created", client);
 
         if (closed) {
             // group has been closed after a new client was created
-            if (clientMap.remove(key) != null) { // not closed by closing thread
+            if (removeEntry(key, CLOSED) != null) { // not closed by closing thread
                 client.closeAsync().subscribe();
                 LOGGER.debug("Recently created client {} was removed and closed, group {} closed", client, this);
             }
             throw new IllegalStateException(CLOSED_EXCEPTION_MSG);
         }
 
+        if (newSize > maxSize) {
+            evictLeastRecentlyUsed(key);
+        }
         return (Client) client;
     }
 
+    /**
+     * Record an access of the passed {@link ClientEntry}.
+     *
+     * @param entry the {@link ClientEntry} which was accessed.
+     * @return {@code false} if the entry is being evicted and its client must not be returned.
+     */
+    private boolean touch(final ClientEntry entry) {
+        return !trackAccess || entry.touch(nanoClock.getAsLong());
+    }
+
+    /**
+     * Evict the least recently used clients until the size of the group is within {@link #maxSize}. The scan is linear
+     * in the size of the group, but it is only done when a new client is added to a full group.
+     *
+     * @param newKey the key of the client which was just added, this client is never evicted.
+     */
+    private void evictLeastRecentlyUsed(final Key newKey) {
+        while (size > maxSize) {
+            Key lruKey = null;
+            ClientEntry lruEntry = null;
+            long lruAccessNanos = 0;
+            for (Entry<Key, ClientEntry> mapEntry : clientMap.entrySet()) {
+                final ClientEntry entry = mapEntry.getValue();
+                final long lastAccessNanos = entry.lastAccessNanos;
+                if (entry != PLACEHOLDER_ENTRY && lastAccessNanos != EVICTED && !newKey.equals(mapEntry.getKey()) &&
+                        (lruEntry == null || lastAccessNanos - lruAccessNanos < 0)) {
+                    lruKey = mapEntry.getKey();
+                    lruEntry = entry;
+                    lruAccessNanos = lastAccessNanos;
+                }
+            }
+            if (lruEntry == null) {
+                return;
+            }
+            // If the entry was accessed after the scan, it is no longer the least recently used one: scan again.
+            evict(lruKey, lruEntry, lruAccessNanos, MAX_SIZE);
+        }
+    }
+
+    private void scheduleIdleCheck() {
+        assert executor != null;
+        // Checking twice per idleTimeout bounds the time an idle client is kept to 1.5 * idleTimeout.
+        final Cancellable cancellable = executor.schedule(this::evictIdle, idleTimeoutNanos >>> 1, NANOSECONDS);
+        idleCheck = cancellable;
+        if (closed) {
+            cancellable.cancel();
+        }
+    }
+
+    private void evictIdle() {
+        if (closed) {
+            return;
+        }
+        try {
+            final long now = nanoClock.getAsLong();
+            for (Entry<Key, ClientEntry> mapEntry : clientMap.entrySet()) {
+                final ClientEntry entry = mapEntry.getValue();
+                final long lastAccessNanos = entry.lastAccessNanos;
+                if (entry != PLACEHOLDER_ENTRY && lastAccessNanos != EVICTED &&
+                        now - lastAccessNanos >= idleTimeoutNanos) {
+                    evict(mapEntry.getKey(), entry, lastAccessNanos, IDLE);
+                }
+            }
+        } catch (Throwable t) {
+            LOGGER.warn("Unexpected error while evicting idle clients from group {}", this, t);
+        } finally {
+            if (!closed) {
+                scheduleIdleCheck();
+            }
+        }
+    }
+
+    /**
+     * Evict the passed {@link ClientEntry} if it was not accessed since it was selected for eviction.
+     *
+     * @param key the key of the entry.
+     * @param entry the {@link ClientEntry} to evict.
+     * @param expectedLastAccessNanos the last access time observed when the entry was selected for eviction.
+     * @param cause the {@link RemovalCause}.
+     */
+    private void evict(final Key key, final ClientEntry entry, final long expectedLastAccessNanos,
+                       final RemovalCause cause) {
+        // Claiming the entry first makes eviction and get() mutually exclusive: either get() accessed the entry
+        // and it is not evicted, or get() observes the claim and does not return a client which is about to be
+        // closed.
+        if (entry.tryEvict(expectedLastAccessNanos) && removeEntry(key, entry, cause)) {
+            LOGGER.debug("Client {} for key {} was evicted from group {}, cause: {}", entry.client, key, this, cause);
+            entry.client.closeAsyncGracefully().subscribe();
+        }
+    }
+
+    @Nullable
+    private ClientEntry removeEntry(final Key key, final RemovalCause cause) {
+        final ClientEntry removed = clientMap.remove(key);
+        if (removed != null && removed != PLACEHOLDER_ENTRY) {
+            onRemoved(key, cause);
+        }
+        return removed;
+    }
+
+    private boolean removeEntry(final Key key, final ClientEntry entry, final RemovalCause cause) {
+        if (clientMap.remove(key, entry)) {
+            onRemoved(key, cause);
+            return true;
+        }
+        return false;
+    }
+
+    private void onRemoved(final Key key, final RemovalCause cause) {
+        final int newSize = sizeUpdater.decrementAndGet(this);
+        if (observer != null) {
+            observer.onClientRemoved(key, cause, newSize);
+        }
+    }
+
+    /**
+     * Number of clients held by the group, excluding clients which are being created.
+     *
+     * @return the number of clients held by the group.
+     */
+    int size() {
+        return size;
+    }
+
+    private static final class ClientEntry {
+        private static final AtomicLongFieldUpdater<ClientEntry> lastAccessUpdater =
+                AtomicLongFieldUpdater.newUpdater(ClientEntry.class, "lastAccessNanos");
+
+        final ListenableAsyncCloseable client;
+        volatile long lastAccessNanos;
+
+        ClientEntry(final ListenableAsyncCloseable client, final long lastAccessNanos) {
+            this.client = client;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+
+        boolean touch(final long nowNanos) {
+            for (;;) {
+                final long lastAccessNanos = this.lastAccessNanos;
+                if (lastAccessNanos == EVICTED) {
+                    return false;
+                }
+                // Always change the value, otherwise an eviction which observed the previous value can not tell
+                // that the entry was accessed in between.
+                final long next = nowNanos - lastAccessNanos > 0 ? nowNanos : lastAccessNanos + 1;
+                if (lastAccessUpdater.compareAndSet(this, lastAccessNanos, next == EVICTED ? next + 1 : next)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean tryEvict(final long expectedLastAccessNanos) {
+            return lastAccessUpdater.compareAndSet(this, expectedLastAccessNanos, EVICTED);
+        }
+    }
+
     private final class RemoveClientOnClose implements Subscriber {
         private final Key key;
-        private final ListenableAsyncCloseable newClient;
+        private final ClientEntry newEntry;
 
-        RemoveClientOnClose(final Key key, final ListenableAsyncCloseable newClient) {
+        RemoveClientOnClose(final Key key, final ClientEntry newEntry) {
             this.key = key;
-            this.newClient = newClient;
+            this.newEntry = newEntry;
         }
 
         @Override
@@ -159,12 +391,12 @@ final class DefaultClientGroup<Key, Client extends ListenableAsyncCloseable> imp
 
         @Override
         public void onComplete() {
-            clientMap.remove(key, newClient);
+            removeEntry(key, newEntry, CLOSED);
         }
 
         @Override
         public void onError(final Throwable t) {
-            clientMap.remove(key, newClient);
+            removeEntry(key, newEntry, CLOSED);
         }
     }
 
@@ -182,4 +414,9 @@ final class DefaultClientGroup<Key, Client extends ListenableAsyncCloseable> imp
     public Completable closeAsyncGracefully() {
         return asyncCloseable.closeAsyncGracefully();
     }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + size + ", maxSize=" + maxSize + '}';
+    }
 }
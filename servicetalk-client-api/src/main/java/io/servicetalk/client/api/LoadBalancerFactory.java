@@ -17,6 +17,8 @@ package io.servicetalk.client.api;
 
 import io.servicetalk.concurrent.api.Publisher;
 
+import java.util.Collection;
+
 /**
  * A factory for creating {@link LoadBalancer} instances.
  *
@@ -39,4 +41,30 @@ public interface LoadBalancerFactory<ResolvedAddress, C extends LoadBalancedConn
     <T extends C> LoadBalancer<T> newLoadBalancer(
             Publisher<? extends ServiceDiscovererEvent<ResolvedAddress>> eventPublisher,
             ConnectionFactory<ResolvedAddress, T> connectionFactory);
+
+    /**
+     * Create a new {@link LoadBalancer} which consumes {@link ServiceDiscovererEvent}s in batches, as they are
+     * emitted by {@link ServiceDiscoverer#discover(Object)}.
+     * <p>
+     * Delivering a batch at once allows the {@link LoadBalancer} to apply all changes from a single resolution with a
+     * single update of its internal state. The default implementation flattens the batches and delegates to
+     * {@link #newLoadBalancer(Publisher, ConnectionFactory)}.
+     * @param targetResource A {@link String} representation of the target resource for which the created instance
+     * will perform load balancing. Bear in mind, load balancing is performed over a collection of hosts provided
+     * via the {@code eventPublisher} which may not correspond directly to a single unresolved address, but potentially
+     * a merged collection.
+     * @param eventPublisher A stream of {@link Collection}s of {@link ServiceDiscovererEvent}s which the
+     * {@link LoadBalancer} can use to connect to physical hosts. Typically generated from a {@link ServiceDiscoverer}.
+     * @param connectionFactory {@link ConnectionFactory} that the returned {@link LoadBalancer} will use to generate
+     * new connections. Returned {@link LoadBalancer} will own the responsibility for this {@link ConnectionFactory}
+     * and hence will call {@link ConnectionFactory#closeAsync()} when {@link LoadBalancer#closeAsync()} is called.
+     * @param <T> Type of connections created by the passed {@link ConnectionFactory}.
+     * @return a new {@link LoadBalancer}.
+     */
+    default <T extends C> LoadBalancer<T> newLoadBalancer(
+            String targetResource,
+            Publisher<? extends Collection<? extends ServiceDiscovererEvent<ResolvedAddress>>> eventPublisher,
+            ConnectionFactory<ResolvedAddress, T> connectionFactory) {
+        return newLoadBalancer(eventPublisher.flatMapConcatIterable(events -> events), connectionFactory);
+    }
 }
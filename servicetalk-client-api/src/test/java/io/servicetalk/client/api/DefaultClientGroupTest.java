@@ -15,14 +15,34 @@
  */
 package io.servicetalk.client.api;
 
+import io.servicetalk.client.api.ClientGroupObserver.RemovalCause;
+import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.ListenableAsyncCloseable;
+import io.servicetalk.concurrent.api.TestExecutor;
 import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.CLOSED;
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.IDLE;
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.MAX_SIZE;
 import static io.servicetalk.concurrent.api.AsyncCloseables.emptyAsyncCloseable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.fail;
 
 public class DefaultClientGroupTest {
@@ -50,4 +70,142 @@ public class DefaultClientGroupTest {
             // Expected
         }
     }
+
+    @Test
+    public void maxSizeEvictsLeastRecentlyUsedClient() {
+        final TestExecutor executor = new TestExecutor();
+        final RecordingObserver observer = new RecordingObserver();
+        DefaultClientGroup<String, TestClient> cg =
+                new DefaultClientGroup<>(s -> new TestClient(), 2, 0, null, observer, executor::currentNanos);
+
+        final TestClient foo = cg.get("foo");
+        executor.advanceTimeBy(1, MILLISECONDS);
+        final TestClient bar = cg.get("bar");
+        executor.advanceTimeBy(1, MILLISECONDS);
+        assertThat(cg.get("foo"), is(sameInstance(foo)));
+        executor.advanceTimeBy(1, MILLISECONDS);
+        cg.get("baz");
+
+        assertThat("Least recently used client not closed gracefully", bar.closedGracefully, is(true));
+        assertThat(foo.closedGracefully, is(false));
+        assertThat(cg.size(), is(2));
+        assertThat(observer.events, contains("added foo 1", "added bar 2", "added baz 3",
+                "removed bar " + MAX_SIZE + " 2"));
+        assertThat("Evicted client not re-created", cg.get("bar"), is(not(sameInstance(bar))));
+    }
+
+    @Test
+    public void idleClientIsEvicted() {
+        final TestExecutor executor = new TestExecutor();
+        final RecordingObserver observer = new RecordingObserver();
+        DefaultClientGroup<String, TestClient> cg = new DefaultClientGroup<>(s -> new TestClient(), Integer.MAX_VALUE,
+                SECONDS.toNanos(10), executor, observer, executor::currentNanos);
+
+        final TestClient foo = cg.get("foo");
+        final TestClient bar = cg.get("bar");
+        executor.advanceTimeBy(5, SECONDS);
+        assertThat(cg.get("bar"), is(sameInstance(bar)));
+        executor.advanceTimeBy(5, SECONDS);
+
+        assertThat("Idle client not closed gracefully", foo.closedGracefully, is(true));
+        assertThat(bar.closedGracefully, is(false));
+        assertThat(cg.size(), is(1));
+
+        executor.advanceTimeBy(10, SECONDS);
+        assertThat(bar.closedGracefully, is(true));
+        assertThat(cg.size(), is(0));
+        assertThat(observer.events, contains("added foo 1", "added bar 2",
+                "removed foo " + IDLE + " 1", "removed bar " + IDLE + " 0"));
+    }
+
+    @Test
+    public void closeCancelsIdleCheck() throws Exception {
+        final TestExecutor executor = new TestExecutor();
+        final RecordingObserver observer = new RecordingObserver();
+        DefaultClientGroup<String, TestClient> cg = new DefaultClientGroup<>(s -> new TestClient(), Integer.MAX_VALUE,
+                NANOSECONDS.convert(10, SECONDS), executor, observer, executor::currentNanos);
+        cg.get("foo");
+        cg.closeAsync().toFuture().get();
+
+        assertThat(executor.scheduledTasksPending(), is(0));
+        assertThat(observer.events, contains("added foo 1", "removed foo " + CLOSED + " 0"));
+    }
+
+    @Test
+    public void idleEvictionDoesNotCloseClientReturnedByConcurrentGet() throws Exception {
+        final TestExecutor executor = new TestExecutor();
+        final AtomicLong clock = new AtomicLong();
+        final long idleTimeoutNanos = SECONDS.toNanos(10);
+        DefaultClientGroup<String, TestClient> cg = new DefaultClientGroup<>(s -> new TestClient(), Integer.MAX_VALUE,
+                idleTimeoutNanos, executor, null, clock::get);
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread getter = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    final TestClient client = cg.get("foo");
+                    // The clock does not advance while get() runs, so the returned client can not become idle until
+                    // the next idle check.
+                    if (client.closedGracefully) {
+                        throw new AssertionError("get() returned a client which was evicted");
+                    }
+                }
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        getter.start();
+        try {
+            for (int i = 0; i < 1000 && error.get() == null; ++i) {
+                // The idle check runs every idleTimeout/2, advance by a full idleTimeout so that every access before
+                // the advance is considered idle.
+                clock.addAndGet(idleTimeoutNanos);
+                executor.advanceTimeBy(idleTimeoutNanos >>> 1, NANOSECONDS);
+                executor.advanceTimeBy(idleTimeoutNanos >>> 1, NANOSECONDS);
+            }
+        } finally {
+            done.set(true);
+            getter.join();
+        }
+        final Throwable t = error.get();
+        if (t != null) {
+            throw new AssertionError("Getter thread failed", t);
+        }
+    }
+
+    private static final class TestClient implements ListenableAsyncCloseable {
+        private final ListenableAsyncCloseable delegate = emptyAsyncCloseable();
+        volatile boolean closedGracefully;
+
+        @Override
+        public Completable onClose() {
+            return delegate.onClose();
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return delegate.closeAsync();
+        }
+
+        @Override
+        public Completable closeAsyncGracefully() {
+            closedGracefully = true;
+            return delegate.closeAsyncGracefully();
+        }
+    }
+
+    private static final class RecordingObserver implements ClientGroupObserver<String> {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onClientAdded(final String key, final int size) {
+            events.add("added " + key + ' ' + size);
+        }
+
+        @Override
+        public void onClientRemoved(final String key, final RemovalCause cause, final int size) {
+            events.add("removed " + key + ' ' + cause + ' ' + size);
+        }
+    }
 }
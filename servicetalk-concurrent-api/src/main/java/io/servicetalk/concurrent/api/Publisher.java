@@ -59,6 +59,7 @@ import static io.servicetalk.concurrent.api.PublisherDoOnUtils.doOnErrorSupplier
 import static io.servicetalk.concurrent.api.PublisherDoOnUtils.doOnNextSupplier;
 import static io.servicetalk.concurrent.api.PublisherDoOnUtils.doOnRequestSupplier;
 import static io.servicetalk.concurrent.api.PublisherDoOnUtils.doOnSubscribeSupplier;
+import static io.servicetalk.concurrent.api.PublisherFlatMapMerge.FLAT_MAP_DEFAULT_CONCURRENCY;
 import static io.servicetalk.concurrent.internal.SignalOffloaders.newOffloaderFor;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.deliverErrorFromSource;
 import static io.servicetalk.utils.internal.DurationUtils.toNanos;
@@ -1088,6 +1089,90 @@ public abstract class Publisher<T> {
         return new PublisherFlatMapSingle<>(this, mapper, maxDelayedErrorsHint, maxConcurrency, executor);
     }
 
+    /**
+     * Map each element of this {@link Publisher} into a {@link Single}&lt;{@link R}&gt; and flatten all signals
+     * emitted from each mapped {@link Single}&lt;{@link R}&gt; into the returned
+     * {@link Publisher}&lt;{@link R}&gt;, preserving the order of the items emitted by this {@link Publisher}.
+     * <p>
+     * Mapped {@link Single}s are subscribed to concurrently, but their results are emitted in the same order as the
+     * items they were mapped from. This provides a data transformation in sequential programming similar to:
+     * <pre>{@code
+     *     ExecutorService e = ...;
+     *     List<Future<R>> futures = ...;
+     *     for (T t : resultOfThisPublisher()) {
+     *         // Note that flatMap process results in parallel.
+     *         futures.add(e.submit(() -> {
+     *             return mapper.apply(t); // Asynchronous result is flatten into a value by this operator.
+     *         }));
+     *     }
+     *     List<R> results = new ArrayList<>(futures.size());
+     *     // Results are emitted in the order of the source items.
+     *     for (Future<R> future : futures) {
+     *         R r = future.get(); // Throws if the processing for this item failed.
+     *         results.add(r);
+     *     }
+     *     return results;
+     * }</pre>
+     * To control the amount of concurrent processing done by this operator see
+     * {@link #flatMapConcatSingle(Function, int)}.
+     *
+     * @param mapper {@link Function} to convert each item emitted by this {@link Publisher} into a {@link Single}.
+     * @param <R> Type of items emitted by the returned {@link Publisher}.
+     * @return A new {@link Publisher} that emits the results of each single produced by {@code mapper} in the order of
+     * the items emitted by this {@link Publisher}.
+     *
+     * @see <a href="http://reactivex.io/documentation/operators/flatmap.html">ReactiveX flatMap operator.</a>
+     * @see #flatMapConcatSingle(Function, int)
+     */
+    public final <R> Publisher<R> flatMapConcatSingle(Function<? super T, ? extends Single<? extends R>> mapper) {
+        return flatMapConcatSingle(mapper, FLAT_MAP_DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Map each element of this {@link Publisher} into a {@link Single}&lt;{@link R}&gt; and flatten all signals
+     * emitted from each mapped {@link Single}&lt;{@link R}&gt; into the returned
+     * {@link Publisher}&lt;{@link R}&gt;, preserving the order of the items emitted by this {@link Publisher}.
+     * <p>
+     * Up to {@code maxConcurrency} mapped {@link Single}s are subscribed to concurrently, but their results are emitted
+     * in the same order as the items they were mapped from. A result that arrives before the results of earlier items
+     * is buffered, and keeps counting against {@code maxConcurrency} until it is emitted. Hence, at most
+     * {@code maxConcurrency} results are buffered at any time. If a mapped {@link Single} fails, the error is emitted
+     * after the results of all earlier items.
+     * <p>
+     * This method provides a data transformation in sequential programming similar to:
+     * <pre>{@code
+     *     ExecutorService e = ...;
+     *     List<Future<R>> futures = ...;
+     *     for (T t : resultOfThisPublisher()) {
+     *         // Note that flatMap process results in parallel.
+     *         futures.add(e.submit(() -> {
+     *             return mapper.apply(t); // Asynchronous result is flatten into a value by this operator.
+     *         }));
+     *     }
+     *     List<R> results = new ArrayList<>(futures.size());
+     *     // Results are emitted in the order of the source items.
+     *     for (Future<R> future : futures) {
+     *         R r = future.get(); // Throws if the processing for this item failed.
+     *         results.add(r);
+     *     }
+     *     return results;
+     * }</pre>
+     *
+     * @param mapper {@link Function} to convert each item emitted by this {@link Publisher} into a {@link Single}.
+     * @param maxConcurrency Maximum active or buffered {@link Single}s at any time.
+     * Even if the number of items requested by a {@link Subscriber} is more than this number, this will never request
+     * more than this number at any point.
+     * @param <R> Type of items emitted by the returned {@link Publisher}.
+     * @return A new {@link Publisher} that emits the results of each single produced by {@code mapper} in the order of
+     * the items emitted by this {@link Publisher}.
+     *
+     * @see <a href="http://reactivex.io/documentation/operators/flatmap.html">ReactiveX flatMap operator.</a>
+     */
+    public final <R> Publisher<R> flatMapConcatSingle(Function<? super T, ? extends Single<? extends R>> mapper,
+                                                      int maxConcurrency) {
+        return PublisherFlatMapConcatSingle.flatMapConcatSingle(this, mapper, maxConcurrency);
+    }
+
     /**
      * Map each element of this {@link Publisher} into a {@link Completable} and flatten all signals
      * such that the returned {@link Completable} terminates when all mapped {@link Completable}s have terminated
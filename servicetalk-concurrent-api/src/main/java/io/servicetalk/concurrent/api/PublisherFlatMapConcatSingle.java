@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.SingleSource;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.Publisher.defer;
+import static io.servicetalk.concurrent.internal.ConcurrentUtils.releaseLock;
+import static io.servicetalk.concurrent.internal.ConcurrentUtils.tryAcquireLock;
+import static io.servicetalk.utils.internal.PlatformDependent.newUnboundedSpscQueue;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * As returned by {@link Publisher#flatMapConcatSingle(Function, int)} and its variants.
+ * <p>
+ * This reuses {@link PublisherFlatMapSingle} for concurrency and demand management, and wraps each mapped
+ * {@link Single} such that its result is only delivered after the results of all {@link Single}s mapped from earlier
+ * items. Since a {@link Single} does not count against the {@code maxConcurrency} of {@link PublisherFlatMapSingle}
+ * until its result is delivered, the number of results waiting to be re-ordered is bounded by {@code maxConcurrency}.
+ */
+final class PublisherFlatMapConcatSingle {
+    /**
+     * Initial capacity of the queue of mapped {@link Single}s, it grows on demand up to {@code maxConcurrency}.
+     */
+    private static final int MAX_INITIAL_QUEUE_CAPACITY = 16;
+
+    private PublisherFlatMapConcatSingle() {
+        // No instances.
+    }
+
+    static <T, R> Publisher<R> flatMapConcatSingle(final Publisher<T> original,
+                                                   final Function<? super T, ? extends Single<? extends R>> mapper,
+                                                   final int maxConcurrency) {
+        requireNonNull(mapper);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency: " + maxConcurrency + " (expected > 0)");
+        }
+        return defer(() -> {
+            final OrderedResults<R> results = new OrderedResults<>(maxConcurrency);
+            return original.flatMapMergeSingle(t -> results.enqueue(requireNonNull(mapper.apply(t))), maxConcurrency)
+                    .subscribeShareContext();
+        });
+    }
+
+    private static final class OrderedResults<R> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<OrderedResults> drainingUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(OrderedResults.class, "draining");
+
+        @SuppressWarnings("unused")
+        private volatile int draining;
+        /**
+         * Only offered to from {@link #enqueue(Single)} which is called from the serial {@code onNext} of
+         * {@link PublisherFlatMapSingle}, and only polled within the draining lock.
+         */
+        private final Queue<OrderedSingle<R>> singles;
+
+        OrderedResults(final int maxConcurrency) {
+            singles = newUnboundedSpscQueue(min(maxConcurrency, MAX_INITIAL_QUEUE_CAPACITY));
+        }
+
+        Single<R> enqueue(final Single<? extends R> single) {
+            final OrderedSingle<R> ordered = new OrderedSingle<>(this, single);
+            // Enqueue before the Single is subscribed, so the queue order is the source order.
+            singles.offer(ordered);
+            return ordered;
+        }
+
+        void drain() {
+            boolean tryAcquire = true;
+            while (tryAcquire && tryAcquireLock(drainingUpdater, this)) {
+                try {
+                    OrderedSingle<R> head;
+                    while ((head = singles.peek()) != null && head.terminated) {
+                        singles.poll();
+                        head.deliver();
+                    }
+                } finally {
+                    tryAcquire = !releaseLock(drainingUpdater, this);
+                }
+            }
+        }
+    }
+
+    private static final class OrderedSingle<R> extends Single<R> implements SingleSource.Subscriber<R> {
+        private final OrderedResults<R> results;
+        private final Single<? extends R> original;
+        /**
+         * Set before subscribing to {@link #original}, visible to the drain loop via {@link #terminated}.
+         */
+        @Nullable
+        private SingleSource.Subscriber<? super R> target;
+        @Nullable
+        private R result;
+        @Nullable
+        private Throwable cause;
+        private volatile boolean terminated;
+
+        OrderedSingle(final OrderedResults<R> results, final Single<? extends R> original) {
+            this.results = results;
+            this.original = original;
+        }
+
+        @Override
+        protected void handleSubscribe(final SingleSource.Subscriber<? super R> subscriber) {
+            target = subscriber;
+            original.subscribeInternal(this);
+        }
+
+        @Override
+        public void onSubscribe(final Cancellable cancellable) {
+            assert target != null;
+            target.onSubscribe(cancellable);
+        }
+
+        @Override
+        public void onSuccess(@Nullable final R result) {
+            this.result = result;
+            terminated = true;
+            results.drain();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            cause = t;
+            terminated = true;
+            results.drain();
+        }
+
+        void deliver() {
+            assert target != null;
+            if (cause != null) {
+                target.onError(cause);
+            } else {
+                target.onSuccess(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+/**
+ * A budget which bounds the rate of retries relative to the rate of original operations.
+ * <p>
+ * Every original operation {@link #deposit() deposits} into the budget and every retry has to
+ * {@link #tryWithdraw() withdraw} from it. When the budget is exhausted, retries are rejected until enough original
+ * operations have been deposited again. This prevents retries from multiplying the load on a degraded backend.
+ *
+ * @see RetryStrategies#newTokenBucketRetryBudget(int, int)
+ * @see RetryStrategies#retryWithBudget(RetryBudget, BiIntFunction)
+ */
+public interface RetryBudget {
+
+    /**
+     * Records an original (not retried) operation.
+     */
+    void deposit();
+
+    /**
+     * Attempts to spend the budget for a single retry.
+     *
+     * @return {@code true} if the retry is allowed, {@code false} if the budget is exhausted.
+     */
+    boolean tryWithdraw();
+}
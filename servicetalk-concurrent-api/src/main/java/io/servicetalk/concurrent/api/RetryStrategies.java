@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -297,6 +297,43 @@ public final class RetryStrategies {
         }
     }
 
+    /**
+     * Creates a new {@link RetryBudget} backed by a token bucket. Every original operation deposits
+     * {@code retryPercent / 100} of a token and every retry withdraws a whole token, so that in steady state retries
+     * are limited to {@code retryPercent} percent of the original operations.
+     * <p>
+     * The bucket starts full and never holds more than {@code maxRetryBurst} tokens, which bounds the number of
+     * retries allowed in a burst, for example when a client just started.
+     *
+     * @param retryPercent Percentage of original operations that are allowed to be retried
+     * @param maxRetryBurst Maximum number of tokens the bucket can hold
+     * @return A new {@link RetryBudget} which should be shared by all operations of a single client
+     */
+    public static RetryBudget newTokenBucketRetryBudget(final int retryPercent, final int maxRetryBurst) {
+        return new TokenBucketRetryBudget(retryPercent, maxRetryBurst);
+    }
+
+    /**
+     * Creates a new retry function that rejects retries once the passed {@link RetryBudget} is exhausted and
+     * otherwise delegates to the passed {@code strategy}.
+     * <p>
+     * The returned {@link BiIntFunction} only {@link RetryBudget#tryWithdraw() withdraws} from the budget. Users are
+     * responsible for {@link RetryBudget#deposit() depositing} on every original operation.
+     *
+     * @param budget {@link RetryBudget} to withdraw from before every retry
+     * @param strategy A {@link BiIntFunction} that decides how to retry if the budget allows it
+     * @return A {@link BiIntFunction} to be used for retries which given a retry count and a {@link Throwable} returns
+     * a {@link Completable} that terminates successfully when the source has to be retried or terminates with error
+     * if the source should not be retried for the passed {@link Throwable}
+     */
+    public static BiIntFunction<Throwable, Completable> retryWithBudget(
+            final RetryBudget budget,
+            final BiIntFunction<Throwable, Completable> strategy) {
+        requireNonNull(budget);
+        requireNonNull(strategy);
+        return (retryCount, cause) -> budget.tryWithdraw() ? strategy.apply(retryCount, cause) : failed(cause);
+    }
+
     static void checkJitterDelta(long jitterNanos, long delayNanos) {
         if (jitterNanos > delayNanos || Long.MAX_VALUE - delayNanos < jitterNanos) {
             throw new IllegalArgumentException("jitter " + jitterNanos +
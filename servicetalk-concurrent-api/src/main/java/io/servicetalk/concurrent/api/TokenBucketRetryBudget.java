@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A {@link RetryBudget} backed by a token bucket. Each deposit adds a fraction of a token and each retry costs a whole
+ * token. Tokens are tracked in thousandths to keep the accounting lock-free.
+ */
+final class TokenBucketRetryBudget implements RetryBudget {
+    private static final long TOKEN = 1000;
+    private static final AtomicLongFieldUpdater<TokenBucketRetryBudget> balanceUpdater =
+            AtomicLongFieldUpdater.newUpdater(TokenBucketRetryBudget.class, "balance");
+
+    private final long depositAmount;
+    private final long maxBalance;
+    private volatile long balance;
+
+    TokenBucketRetryBudget(final int retryPercent, final int maxRetryBurst) {
+        if (retryPercent <= 0) {
+            throw new IllegalArgumentException("retryPercent: " + retryPercent + " (expected: >0)");
+        }
+        if (maxRetryBurst <= 0) {
+            throw new IllegalArgumentException("maxRetryBurst: " + maxRetryBurst + " (expected: >0)");
+        }
+        depositAmount = retryPercent * TOKEN / 100;
+        maxBalance = maxRetryBurst * TOKEN;
+        // Start full so that a client which just started can still retry a few failures.
+        balance = maxBalance;
+    }
+
+    @Override
+    public void deposit() {
+        for (;;) {
+            final long current = balance;
+            if (current >= maxBalance ||
+                    balanceUpdater.compareAndSet(this, current, Math.min(maxBalance, current + depositAmount))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean tryWithdraw() {
+        for (;;) {
+            final long current = balance;
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balanceUpdater.compareAndSet(this, current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{depositAmount=" + depositAmount + ", maxBalance=" + maxBalance +
+                ", balance=" + balance + '}';
+    }
+}
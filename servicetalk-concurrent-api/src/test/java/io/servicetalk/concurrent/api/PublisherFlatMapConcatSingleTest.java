@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.concurrent.api;
+
+import io.servicetalk.concurrent.test.internal.TestPublisherSubscriber;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.servicetalk.concurrent.api.Publisher.fromIterable;
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PublisherFlatMapConcatSingleTest {
+    private final TestPublisherSubscriber<Integer> subscriber = new TestPublisherSubscriber<>();
+    private final TestPublisher<Integer> source = new TestPublisher<>();
+    private final TestSubscription subscription = new TestSubscription();
+    private final List<LegacyTestSingle<Integer>> emittedSingles = new ArrayList<>();
+    private static ExecutorService executorService;
+    private static Executor executor;
+
+    @BeforeAll
+    static void beforeClass() {
+        executorService = Executors.newFixedThreadPool(10);
+        executor = io.servicetalk.concurrent.api.Executors.from(executorService);
+    }
+
+    @AfterAll
+    static void afterClass() throws Exception {
+        executor.closeAsync().toFuture().get();
+    }
+
+    @Test
+    void concurrentResultsAreOrdered() throws Exception {
+        final List<Integer> elements = range(0, 1000).boxed().collect(toList());
+        final Single<List<Integer>> single = fromIterable(elements)
+                .flatMapConcatSingle(x -> executor.timer(ThreadLocalRandom.current().nextInt(100), MICROSECONDS)
+                        .toSingle().map(__ -> x), 64)
+                .collect(ArrayList::new, (ints, i) -> {
+                    ints.add(i);
+                    return ints;
+                });
+        for (int i = 0; i < 10; i++) {
+            assertThat("Unexpected items received", single.toFuture().get(), equalTo(elements));
+        }
+    }
+
+    @Test
+    void outOfOrderResultIsBuffered() {
+        subscribe(3);
+        subscriber.awaitSubscription().request(3);
+        source.onNext(1, 2, 3);
+        assertThat("Unexpected number of Singles emitted.", emittedSingles, hasSize(3));
+
+        emittedSingles.get(2).onSuccess(30);
+        emittedSingles.get(1).onSuccess(20);
+        assertThat(subscriber.pollAllOnNext(), is(empty()));
+
+        emittedSingles.get(0).onSuccess(10);
+        assertThat(subscriber.takeOnNext(3), contains(10, 20, 30));
+        source.onComplete();
+        subscriber.awaitOnComplete();
+    }
+
+    @Test
+    void bufferedResultsCountAgainstMaxConcurrency() {
+        subscribe(2);
+        subscriber.awaitSubscription().request(10);
+        assertThat(subscription.requested(), is(2L));
+
+        source.onNext(1, 2);
+        emittedSingles.get(1).onSuccess(20);
+        // The result of the second Single is buffered, so no more items are requested.
+        assertThat(subscription.requested(), is(2L));
+
+        emittedSingles.get(0).onSuccess(10);
+        assertThat(subscriber.takeOnNext(2), contains(10, 20));
+        assertThat(subscription.requested(), is(4L));
+    }
+
+    @Test
+    void errorIsDeliveredInOrder() {
+        subscribe(2);
+        subscriber.awaitSubscription().request(2);
+        source.onNext(1, 2);
+
+        emittedSingles.get(1).onError(DELIBERATE_EXCEPTION);
+        assertThat(subscriber.pollAllOnNext(), is(empty()));
+
+        emittedSingles.get(0).onSuccess(10);
+        assertThat(subscriber.takeOnNext(), is(10));
+        assertThat(subscriber.awaitOnError(), sameInstance(DELIBERATE_EXCEPTION));
+        subscription.awaitCancelledUninterruptibly();
+    }
+
+    @Test
+    void invalidMaxConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> source.flatMapConcatSingle(Single::succeeded, 0));
+    }
+
+    private void subscribe(int maxConcurrency) {
+        toSource(source.flatMapConcatSingle(integer -> {
+            LegacyTestSingle<Integer> s = new LegacyTestSingle<>();
+            emittedSingles.add(s);
+            return s;
+        }, maxConcurrency)).subscribe(subscriber);
+        source.onSubscribe(subscription);
+    }
+}
@@ -22,6 +22,9 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.function.UnaryOperator;
 
+import static io.servicetalk.concurrent.api.Completable.completed;
+import static io.servicetalk.concurrent.api.RetryStrategies.newTokenBucketRetryBudget;
+import static io.servicetalk.concurrent.api.RetryStrategies.retryWithBudget;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithConstantBackoffDeltaJitter;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithExponentialBackoffDeltaJitter;
 import static io.servicetalk.concurrent.api.RetryStrategies.retryWithExponentialBackoffFullJitter;
@@ -34,6 +37,7 @@ import static java.time.Duration.ofNanos;
 import static java.time.Duration.ofSeconds;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 class RetryStrategiesTest extends RedoStrategiesTest {
@@ -144,6 +148,38 @@ class RetryStrategiesTest extends RedoStrategiesTest {
                 ofSeconds(1), ofMillis(10), ofDays(10), timerExecutor));
     }
 
+    @Test
+    void testRetryBudget() throws Exception {
+        RetryBudget budget = newTokenBucketRetryBudget(50, 1);
+        RetryStrategy strategy = new RetryStrategy(retryWithBudget(budget, (count, cause) -> completed()));
+        // The budget starts full, so the first retry is allowed.
+        strategy.invokeAndListen(DELIBERATE_EXCEPTION).awaitOnComplete();
+        assertThat(strategy.invokeAndListen(DELIBERATE_EXCEPTION).awaitOnError(), is(DELIBERATE_EXCEPTION));
+
+        // A single deposit is worth half a retry.
+        budget.deposit();
+        assertThat(strategy.invokeAndListen(DELIBERATE_EXCEPTION).awaitOnError(), is(DELIBERATE_EXCEPTION));
+        budget.deposit();
+        strategy.invokeAndListen(DELIBERATE_EXCEPTION).awaitOnComplete();
+    }
+
+    @Test
+    void testRetryBudgetIsBounded() {
+        RetryBudget budget = newTokenBucketRetryBudget(100, 2);
+        for (int i = 0; i < 10; ++i) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw(), is(true));
+        assertThat(budget.tryWithdraw(), is(true));
+        assertThat(budget.tryWithdraw(), is(false));
+    }
+
+    @Test
+    void testRetryBudgetInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> newTokenBucketRetryBudget(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> newTokenBucketRetryBudget(1, 0));
+    }
+
     private void testCauseFilter(BiIntFunction<Throwable, Completable> actualStrategy) {
         RetryStrategy strategy = new RetryStrategy(actualStrategy);
         io.servicetalk.concurrent.test.internal.TestCompletableSubscriber subscriber =
@@ -17,6 +17,10 @@ package io.servicetalk.concurrent.internal;
 
 import io.servicetalk.concurrent.Executor;
 
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.min;
+
 /**
  * A factory for creating different {@link SignalOffloader}s.
  */
@@ -52,6 +56,12 @@ public final class SignalOffloaders {
         }
     };
 
+    /**
+     * Upper bound for the initial capacity of the signal queue used by batched offloaders, larger batches grow the
+     * queue on demand.
+     */
+    private static final int MAX_BATCHED_QUEUE_INITIAL_CAPACITY = 1024;
+
     private static final SignalOffloaderFactory DEFAULT_OFFLOADER_FACTORY = TASK_BASED_OFFLOADER_FACTORY;
 
     private SignalOffloaders() {
@@ -85,6 +95,35 @@ public final class SignalOffloaders {
         return TASK_BASED_OFFLOADER_FACTORY;
     }
 
+    /**
+     * Return a {@link SignalOffloaderFactory} that drains signals in bounded batches per task. A task delivers at most
+     * {@code maxBatchSize} signals or delivers signals for at most {@code fairnessQuantum}, whichever comes first,
+     * before it re-submits itself to the {@link Executor} to let other tasks run.
+     *
+     * @param maxBatchSize Maximum number of signals delivered by a single task.
+     * @param fairnessQuantum Maximum duration for which a single task delivers signals, or {@code 0} to only bound a
+     * task by {@code maxBatchSize}.
+     * @param unit {@link TimeUnit} for {@code fairnessQuantum}.
+     * @return A {@link SignalOffloaderFactory} that drains signals in bounded batches per task.
+     */
+    public static SignalOffloaderFactory batchedTaskBasedOffloaderFactory(final int maxBatchSize,
+                                                                          final long fairnessQuantum,
+                                                                          final TimeUnit unit) {
+        final long fairnessQuantumNanos = unit.toNanos(fairnessQuantum);
+        validateBatchParameters(maxBatchSize, fairnessQuantumNanos);
+        return new SignalOffloaderFactory() {
+            @Override
+            public SignalOffloader newSignalOffloader(final Executor executor) {
+                return newBatchedTaskBasedOffloader0(executor, maxBatchSize, fairnessQuantumNanos);
+            }
+
+            @Override
+            public boolean hasThreadAffinity() {
+                return false;
+            }
+        };
+    }
+
     /**
      * Create a new instance of {@link SignalOffloader} using the passed {@code executor}.
      *
@@ -108,6 +147,25 @@ public final class SignalOffloaders {
         return new TaskBasedSignalOffloader(executor);
     }
 
+    /**
+     * Create a new instance of {@link SignalOffloader} using the passed {@code executor} that drains signals in bounded
+     * batches per task.
+     *
+     * @param executor {@link Executor} to be used by the returned {@link SignalOffloader} to offload signals.
+     * @param maxBatchSize Maximum number of signals delivered by a single task.
+     * @param fairnessQuantum Maximum duration for which a single task delivers signals, or {@code 0} to only bound a
+     * task by {@code maxBatchSize}.
+     * @param unit {@link TimeUnit} for {@code fairnessQuantum}.
+     * @return Newly created {@link SignalOffloader}.
+     * @see #batchedTaskBasedOffloaderFactory(int, long, TimeUnit)
+     */
+    public static SignalOffloader newBatchedTaskBasedOffloader(final Executor executor, final int maxBatchSize,
+                                                               final long fairnessQuantum, final TimeUnit unit) {
+        final long fairnessQuantumNanos = unit.toNanos(fairnessQuantum);
+        validateBatchParameters(maxBatchSize, fairnessQuantumNanos);
+        return newBatchedTaskBasedOffloader0(executor, maxBatchSize, fairnessQuantumNanos);
+    }
+
     /**
      * Create a new instance of {@link SignalOffloader} using the passed {@code executor} that captures a thread for
      * its lifetime.
@@ -119,6 +177,22 @@ public final class SignalOffloaders {
         return new ThreadBasedSignalOffloader(executor);
     }
 
+    private static SignalOffloader newBatchedTaskBasedOffloader0(final Executor executor, final int maxBatchSize,
+                                                                 final long fairnessQuantumNanos) {
+        // Pre-size the queue so that a full batch fits in the first chunk.
+        return new TaskBasedSignalOffloader(executor, min(maxBatchSize, MAX_BATCHED_QUEUE_INITIAL_CAPACITY),
+                maxBatchSize, fairnessQuantumNanos);
+    }
+
+    private static void validateBatchParameters(final int maxBatchSize, final long fairnessQuantumNanos) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize: " + maxBatchSize + " (expected > 0)");
+        }
+        if (fairnessQuantumNanos < 0) {
+            throw new IllegalArgumentException("fairnessQuantum: " + fairnessQuantumNanos + "ns (expected >= 0)");
+        }
+    }
+
     /**
      * Returns {@code true} if the passed {@link Executor} honors thread affinity.
      *
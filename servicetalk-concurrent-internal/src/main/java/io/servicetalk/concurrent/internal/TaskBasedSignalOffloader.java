@@ -40,6 +40,7 @@ import static io.servicetalk.concurrent.internal.SubscriberUtils.safeOnComplete;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.safeOnError;
 import static io.servicetalk.concurrent.internal.SubscriberUtils.safeOnSuccess;
 import static io.servicetalk.utils.internal.PlatformDependent.newUnboundedSpscQueue;
+import static java.lang.System.nanoTime;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
 
@@ -48,6 +49,10 @@ import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
  * Instead it enqueues multiple tasks to the provided {@link Consumer executor} and hence is susceptible to not having
  * enough capacity in the {@link Consumer executor} when sending signals as compared to detecting insufficient capacity
  * earlier as with {@link ThreadBasedSignalOffloader}.
+ * <p>
+ * Signals to a {@link Subscriber} are drained in batches by a single task. A task can optionally be bounded by a
+ * maximum number of signals and/or a time quantum, after which it re-submits itself to the {@link Executor} to give
+ * other tasks a fair chance to run.
  */
 final class TaskBasedSignalOffloader implements SignalOffloader {
 
@@ -56,6 +61,8 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
 
     private final Executor executor;
     private final int publisherSignalQueueInitialCapacity;
+    private final int maxSignalsPerTask;
+    private final long fairnessQuantumNanos;
 
     TaskBasedSignalOffloader(final Executor executor) {
         this(executor, 2);
@@ -68,13 +75,37 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
      * @param publisherSignalQueueInitialCapacity Initial capacity for the queue of signals to a {@link Subscriber}.
      */
     TaskBasedSignalOffloader(final Executor executor, final int publisherSignalQueueInitialCapacity) {
+        this(executor, publisherSignalQueueInitialCapacity, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * New instance.
+     *
+     * @param executor A {@link Executor} to use for offloading signals.
+     * @param publisherSignalQueueInitialCapacity Initial capacity for the queue of signals to a {@link Subscriber}.
+     * @param maxSignalsPerTask Maximum number of signals delivered to a {@link Subscriber} by a single task before the
+     * task yields the executor thread.
+     * @param fairnessQuantumNanos Maximum duration in nanoseconds a single task delivers signals to a
+     * {@link Subscriber} before it yields the executor thread, or {@code 0} to not bound a task by time.
+     */
+    TaskBasedSignalOffloader(final Executor executor, final int publisherSignalQueueInitialCapacity,
+                             final int maxSignalsPerTask, final long fairnessQuantumNanos) {
+        if (maxSignalsPerTask <= 0) {
+            throw new IllegalArgumentException("maxSignalsPerTask: " + maxSignalsPerTask + " (expected > 0)");
+        }
+        if (fairnessQuantumNanos < 0) {
+            throw new IllegalArgumentException("fairnessQuantumNanos: " + fairnessQuantumNanos + " (expected >= 0)");
+        }
         this.executor = requireNonNull(executor);
         this.publisherSignalQueueInitialCapacity = publisherSignalQueueInitialCapacity;
+        this.maxSignalsPerTask = maxSignalsPerTask;
+        this.fairnessQuantumNanos = fairnessQuantumNanos;
     }
 
     @Override
     public <T> Subscriber<? super T> offloadSubscriber(final Subscriber<? super T> subscriber) {
-        return new OffloadedSubscriber<>(subscriber, executor, publisherSignalQueueInitialCapacity);
+        return new OffloadedSubscriber<>(subscriber, executor, publisherSignalQueueInitialCapacity,
+                maxSignalsPerTask, fairnessQuantumNanos);
     }
 
     @Override
@@ -289,6 +320,8 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
         private final Subscriber<? super T> target;
         private final Executor executor;
         private final Queue<Object> signals;
+        private final int maxSignalsPerTask;
+        private final long fairnessQuantumNanos;
         // Set in onSubscribe before we enqueue the task which provides memory visibility inside the task.
         // Since any further action happens after onSubscribe, we always guarantee visibility of this field inside
         // run()
@@ -296,9 +329,12 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
         private Subscription subscription;
 
         OffloadedSubscriber(final Subscriber<? super T> target, final Executor executor,
-                                    final int publisherSignalQueueInitialCapacity) {
+                            final int publisherSignalQueueInitialCapacity, final int maxSignalsPerTask,
+                            final long fairnessQuantumNanos) {
             this.target = target;
             this.executor = executor;
+            this.maxSignalsPerTask = maxSignalsPerTask;
+            this.fairnessQuantumNanos = fairnessQuantumNanos;
             // Queue is bounded by request-n
             signals = newUnboundedSpscQueue(publisherSignalQueueInitialCapacity);
         }
@@ -327,6 +363,8 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
         @Override
         public void run() {
             state = STATE_EXECUTING;
+            int signalsInTask = 0;
+            long taskStartNanos = fairnessQuantumNanos == 0 ? 0 : nanoTime();
             for (;;) {
                 Object signal;
                 while ((signal = signals.poll()) != null) {
@@ -362,6 +400,16 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
                             return; // We can't interact with the queue any more because we terminated, so bail.
                         }
                     }
+                    if (++signalsInTask >= maxSignalsPerTask ||
+                            (fairnessQuantumNanos != 0 && nanoTime() - taskStartNanos >= fairnessQuantumNanos)) {
+                        // This task used up its budget, if there are more signals, yield the executor thread to other
+                        // tasks and continue draining from a new task.
+                        if (!signals.isEmpty() && yieldToExecutor()) {
+                            return; // Another task now owns the queue, so bail.
+                        }
+                        signalsInTask = 0;
+                        taskStartNanos = fairnessQuantumNanos == 0 ? 0 : nanoTime();
+                    }
                 }
                 for (;;) {
                     final int cState = state;
@@ -380,6 +428,28 @@ final class TaskBasedSignalOffloader implements SignalOffloader {
             }
         }
 
+        /**
+         * Re-submit this task to the {@link Executor} to resume delivering signals later.
+         *
+         * @return {@code true} if this task was re-submitted and the caller must not interact with the queue anymore,
+         * {@code false} if the {@link Executor} rejected the task and the caller must continue draining the queue.
+         */
+        private boolean yieldToExecutor() {
+            // Only the task can move the state out of STATE_EXECUTING/STATE_ENQUEUED, and the producer does not submit
+            // a task when it observes STATE_ENQUEUED.
+            state = STATE_ENQUEUED;
+            try {
+                executor.execute(this);
+                return true;
+            } catch (Throwable t) {
+                // The Executor is inadequately provisioned, continue delivering signals from the current thread.
+                LOGGER.debug("Failed to yield to the executor {}, continuing to deliver signals to {}.", executor,
+                        target, t);
+                state = STATE_EXECUTING;
+                return false;
+            }
+        }
+
         private void clearSignalsFromExecutorThread() {
             do {
                 state = STATE_TERMINATING;
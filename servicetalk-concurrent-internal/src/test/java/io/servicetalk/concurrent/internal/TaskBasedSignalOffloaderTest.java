@@ -351,6 +351,30 @@ public class TaskBasedSignalOffloaderTest extends AbstractSignalOffloaderTest<Ta
         sendOverlappingSignals(2, offloaded, 4, error(DELIBERATE_EXCEPTION));
     }
 
+    @Test
+    public void offloadSubscriberBatchedYieldsExecutor() {
+        offloader = new TaskBasedSignalOffloader(executor, 2, 2, 0);
+        Subscriber<? super Integer> offloaded = offloader.offloadSubscriber(pubSub);
+        sendSubscriptionAndVerify(offloaded);
+        offloaded.onNext(1);
+        offloaded.onNext(2);
+        offloaded.onNext(3);
+        offloaded.onNext(4);
+        offloaded.onComplete();
+        verify(executor.mock, times(2)).execute(any());
+        verifyNoMoreInteractions(pubSub);
+
+        // Each task delivers at most 2 signals and then re-submits itself for the remaining signals.
+        assertThat("Unexpected tasks executed.", executor.executeAllTasks(), is(3));
+        verify(executor.mock, times(4)).execute(any());
+        verify(pubSub).onNext(1);
+        verify(pubSub).onNext(2);
+        verify(pubSub).onNext(3);
+        verify(pubSub).onNext(4);
+        verify(pubSub).onComplete();
+        verifyNoMoreInteractions(pubSub);
+    }
+
     @Test
     public void offloadSubscriberNoOverlappingSignals() {
         sendNonOverlappingSignals(offloader.offloadSubscriber(pubSub), 1, 2, 3, complete());
@@ -55,6 +55,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -87,6 +88,9 @@ import static io.servicetalk.dns.discovery.netty.DnsClients.mapEventList;
 import static io.servicetalk.transport.netty.internal.BuilderUtils.datagramChannel;
 import static io.servicetalk.transport.netty.internal.BuilderUtils.socketChannel;
 import static io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutors.toEventLoopAwareNettyIoExecutor;
+import static io.servicetalk.transport.netty.internal.GlobalExecutionContext.globalExecutionContext;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.System.nanoTime;
 import static java.nio.ByteBuffer.wrap;
 import static java.util.Collections.emptyList;
@@ -115,6 +119,11 @@ final class DefaultDnsClient implements DnsClient {
     private final int srvConcurrency;
     private final boolean srvFilterDuplicateEvents;
     private final boolean inactiveEventsOnError;
+    private final long minTtlNanos;
+    private final long maxStaleNanos;
+    private final double prefetchRatio;
+    @Nullable
+    private final DnsCacheSnapshot snapshot;
     private boolean closed;
 
     DefaultDnsClient(final IoExecutor ioExecutor, final int minTTL, int srvConcurrency, boolean inactiveEventsOnError,
@@ -124,13 +133,21 @@ final class DefaultDnsClient implements DnsClient {
                      @Nullable final Boolean optResourceEnabled, @Nullable final Duration queryTimeout,
                      @Nullable final DnsResolverAddressTypes dnsResolverAddressTypes,
                      @Nullable final DnsServerAddressStreamProvider dnsServerAddressStreamProvider,
-                     @Nullable final DnsServiceDiscovererObserver observer) {
+                     @Nullable final DnsServiceDiscovererObserver observer, final Duration maxStaleDuration,
+                     final double prefetchRatio, @Nullable final Path cacheSnapshotFile) {
         if (srvConcurrency <= 0) {
             throw new IllegalArgumentException("srvConcurrency: " + srvConcurrency + " (expected >0)");
         }
+        if (prefetchRatio <= 0 || prefetchRatio > 1) {
+            throw new IllegalArgumentException("prefetchRatio: " + prefetchRatio + " (expected (0, 1])");
+        }
         this.srvConcurrency = srvConcurrency;
         this.srvFilterDuplicateEvents = srvFilterDuplicateEvents;
         this.inactiveEventsOnError = inactiveEventsOnError;
+        this.minTtlNanos = SECONDS.toNanos(minTTL);
+        this.maxStaleNanos = maxStaleDuration.toNanos();
+        this.prefetchRatio = prefetchRatio;
+        this.snapshot = cacheSnapshotFile == null ? null : DnsCacheSnapshot.load(cacheSnapshotFile);
         // Implementation of this class expects to use only single EventLoop from IoExecutor
         this.nettyIoExecutor = toEventLoopAwareNettyIoExecutor(ioExecutor).next();
         // We must use nettyIoExecutor for the repeater for thread safety!
@@ -139,11 +156,16 @@ final class DefaultDnsClient implements DnsClient {
         this.ttlCache = new MinTtlCache(new DefaultDnsCache(minTTL, Integer.MAX_VALUE, minTTL), minTTL);
         this.observer = observer;
         asyncCloseable = toAsyncCloseable(graceful -> {
+            final Completable closeResolver;
             if (nettyIoExecutor.isCurrentThreadEventLoop()) {
                 closeAsync0();
-                return completed();
+                closeResolver = completed();
+            } else {
+                closeResolver = nettyIoExecutor.asExecutor().submit(this::closeAsync0);
             }
-            return nettyIoExecutor.asExecutor().submit(this::closeAsync0);
+            // Saving the snapshot performs blocking IO, so it must not run on the IO thread.
+            return snapshot == null ? closeResolver :
+                    closeResolver.concat(globalExecutionContext().executor().submit(snapshot::save));
         });
         final EventLoop eventLoop = this.nettyIoExecutor.eventLoopGroup().next();
         @SuppressWarnings("unchecked")
@@ -376,6 +398,10 @@ final class DefaultDnsClient implements DnsClient {
                 @Override
                 protected Future<DnsAnswer<InetAddress>> doDnsQuery() {
                     ttlCache.prepareForResolution(name);
+                    if (prefetchRatio < 1) {
+                        // The query may run before the cached entries expire, make sure it isn't answered from cache.
+                        ttlCache.clear(name);
+                    }
                     Promise<DnsAnswer<InetAddress>> dnsAnswerPromise = ImmediateEventExecutor.INSTANCE.newPromise();
                     resolver.resolveAll(name).addListener(completedFuture -> {
                         Throwable cause = completedFuture.cause();
@@ -387,6 +413,9 @@ final class DefaultDnsClient implements DnsClient {
                                 @SuppressWarnings("unchecked")
                                 final List<InetAddress> addresses = (List<InetAddress>) completedFuture.getNow();
                                 dnsAnswer = new DnsAnswer<>(addresses, SECONDS.toNanos(ttlCache.minTtl(name)));
+                                if (snapshot != null) {
+                                    snapshot.update(name, addresses);
+                                }
                             } catch (Throwable cause2) {
                                 dnsAnswerPromise.setFailure(cause2);
                                 return;
@@ -401,6 +430,11 @@ final class DefaultDnsClient implements DnsClient {
                 protected Comparator<InetAddress> comparator() {
                     return INET_ADDRESS_COMPARATOR;
                 }
+
+                @Override
+                protected List<InetAddress> initialAddresses() {
+                    return snapshot == null ? emptyList() : snapshot.addresses(name);
+                }
             };
         }
     }
@@ -494,6 +528,8 @@ final class DefaultDnsClient implements DnsClient {
             private long pendingRequests;
             private List<T> activeAddresses;
             private long resolveDoneNoScheduleTime;
+            private long lastResolvedTime;
+            private boolean initialAddressesEmitted;
             @Nullable
             private Cancellable cancellableForQuery;
             private long ttlNanos;
@@ -518,6 +554,15 @@ final class DefaultDnsClient implements DnsClient {
              */
             protected abstract Comparator<T> comparator();
 
+            /**
+             * Returns the addresses to emit before the first DNS query completes.
+             *
+             * @return a mutable {@link List} of addresses to emit before the first DNS query completes
+             */
+            protected List<T> initialAddresses() {
+                return emptyList();
+            }
+
             @Override
             public final void request(final long n) {
                 if (nettyIoExecutor.isCurrentThreadEventLoop()) {
@@ -547,18 +592,57 @@ final class DefaultDnsClient implements DnsClient {
                 pendingRequests = addWithOverflowProtection(pendingRequests, n);
                 if (cancellableForQuery == null) {
                     if (ttlNanos < 0) {
-                        doQuery0();
+                        if (initialAddressesEmitted || !emitInitialAddresses0()) {
+                            doQuery0();
+                        }
                     } else {
                         final long durationNs = nanoTime() - resolveDoneNoScheduleTime;
-                        if (durationNs > ttlNanos) {
+                        final long refreshNanos = refreshNanos(ttlNanos);
+                        if (durationNs > refreshNanos) {
                             doQuery0();
                         } else {
-                            scheduleQuery0(ttlNanos - durationNs);
+                            scheduleQuery0(refreshNanos - durationNs);
                         }
                     }
                 }
             }
 
+            private boolean emitInitialAddresses0() {
+                assertInEventloop();
+                final List<T> addresses = initialAddresses();
+                if (addresses.isEmpty()) {
+                    return false;
+                }
+                final List<ServiceDiscovererEvent<T>> events =
+                        calculateDifference(activeAddresses, addresses, comparator(), null);
+                if (events == null) {
+                    return false;
+                }
+                activeAddresses = addresses;
+                initialAddressesEmitted = true;
+                // Initial addresses were not resolved and may be outdated. ttlNanos stays unset so that the first DNS
+                // query is issued right away, either now or on the next request, and they are not served as stale.
+                if (--pendingRequests > 0) {
+                    scheduleQuery0(0);
+                } else {
+                    cancellableForQuery = null;
+                }
+                try {
+                    LOGGER.debug("DnsClient {}, sending initial events for address: {} (size {}) {}.",
+                            DefaultDnsClient.this, AbstractDnsPublisher.this, events.size(), events);
+
+                    subscriber.onNext(events);
+                } catch (final Throwable error) {
+                    handleTerminalError0(error);
+                }
+                return true;
+            }
+
+            private long refreshNanos(final long ttlNanos) {
+                // Clamp after applying the ratio, so refreshes are never scheduled more often than the min TTL.
+                return prefetchRatio < 1 ? max(minTtlNanos, (long) (ttlNanos * prefetchRatio)) : ttlNanos;
+            }
+
             private void doQuery0() {
                 assertInEventloop();
 
@@ -634,7 +718,16 @@ final class DefaultDnsClient implements DnsClient {
                 final Throwable cause = addressFuture.cause();
                 if (cause != null) {
                     reportResolutionFailed(resolutionObserver, cause);
-                    cancelAndTerminate0(cause);
+                    final long staleNanos = nanoTime() - lastResolvedTime;
+                    if (maxStaleNanos > 0 && ttlNanos >= 0 && !activeAddresses.isEmpty() &&
+                            staleNanos < maxStaleNanos) {
+                        LOGGER.debug("DnsClient {}, resolution failed for {}, keep serving last known addresses " +
+                                        "(size {}) {}.", DefaultDnsClient.this, AbstractDnsPublisher.this,
+                                activeAddresses.size(), activeAddresses, cause);
+                        scheduleQuery0(min(minTtlNanos, maxStaleNanos - staleNanos));
+                    } else {
+                        cancelAndTerminate0(cause);
+                    }
                 } else {
                     // DNS lookup can return duplicate InetAddress
                     final DnsAnswer<T> dnsAnswer = addressFuture.getNow();
@@ -643,10 +736,11 @@ final class DefaultDnsClient implements DnsClient {
                             comparator(), resolutionObserver == null ? null : (nAvailable, nUnavailable) ->
                                     reportResolutionResult(resolutionObserver, dnsAnswer, nAvailable, nUnavailable));
                     ttlNanos = dnsAnswer.ttlNanos();
+                    lastResolvedTime = nanoTime();
                     if (events != null) {
                         activeAddresses = addresses;
                         if (--pendingRequests > 0) {
-                            scheduleQuery0(ttlNanos);
+                            scheduleQuery0(refreshNanos(ttlNanos));
                         } else {
                             resolveDoneNoScheduleTime = nanoTime();
                             cancellableForQuery = null;
@@ -664,7 +758,7 @@ final class DefaultDnsClient implements DnsClient {
                                 DefaultDnsClient.this, AbstractDnsPublisher.this, activeAddresses.size(),
                                 activeAddresses);
 
-                        scheduleQuery0(ttlNanos);
+                        scheduleQuery0(refreshNanos(ttlNanos));
                     }
                 }
             }
@@ -21,12 +21,14 @@ import io.servicetalk.transport.api.HostAndPort;
 import io.servicetalk.transport.api.IoExecutor;
 
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.time.Duration;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.dns.discovery.netty.DnsClients.asHostAndPortDiscoverer;
 import static io.servicetalk.dns.discovery.netty.DnsClients.asSrvDiscoverer;
 import static io.servicetalk.transport.netty.internal.GlobalExecutionContext.globalExecutionContext;
+import static java.time.Duration.ZERO;
 import static java.time.Duration.ofSeconds;
 import static java.util.Objects.requireNonNull;
 
@@ -60,6 +62,10 @@ public final class DefaultDnsServiceDiscovererBuilder {
     private DnsClientFilterFactory filterFactory;
     @Nullable
     private DnsServiceDiscovererObserver observer;
+    private Duration maxStaleDuration = ZERO;
+    private double prefetchRatio = 1;
+    @Nullable
+    private Path cacheSnapshotFile;
 
     /**
      * The minimum allowed TTL. This will be the minimum poll interval.
@@ -175,6 +181,59 @@ public final class DefaultDnsServiceDiscovererBuilder {
         return this;
     }
 
+    /**
+     * Keep serving the last successfully resolved addresses while DNS queries fail, for up to
+     * {@code maxStaleDuration} after the last successful resolution.
+     * <p>
+     * While serving stale addresses, failed queries are retried every {@link #minTTL(int) min TTL}. If the DNS
+     * queries keep failing after {@code maxStaleDuration} elapsed, the failure is propagated. By default stale
+     * addresses are not served and the first failed query is propagated.
+     *
+     * @param maxStaleDuration the maximum amount of time to serve stale addresses for, {@link Duration#ZERO} to
+     * disable.
+     * @return {@code this}.
+     */
+    public DefaultDnsServiceDiscovererBuilder serveStale(final Duration maxStaleDuration) {
+        if (maxStaleDuration.isNegative()) {
+            throw new IllegalArgumentException("maxStaleDuration: " + maxStaleDuration + " (expected >=0)");
+        }
+        this.maxStaleDuration = maxStaleDuration;
+        return this;
+    }
+
+    /**
+     * Refresh resolved addresses asynchronously before their TTL expires.
+     * <p>
+     * The next DNS query for a name is issued once {@code prefetchRatio} of its TTL elapsed, so that the answer is
+     * up-to-date when the cached entries expire. A value of {@code 1} (the default) issues the next query when the TTL
+     * expires. The next query is never issued sooner than the {@link #minTTL(int) min TTL}.
+     *
+     * @param prefetchRatio the fraction of the TTL after which the next DNS query is issued, in range {@code (0, 1]}.
+     * @return {@code this}.
+     */
+    public DefaultDnsServiceDiscovererBuilder prefetchRatio(final double prefetchRatio) {
+        if (prefetchRatio <= 0 || prefetchRatio > 1) {
+            throw new IllegalArgumentException("prefetchRatio: " + prefetchRatio + " (expected (0, 1])");
+        }
+        this.prefetchRatio = prefetchRatio;
+        return this;
+    }
+
+    /**
+     * Sets a local file used to persist the last resolved addresses for faster cold start.
+     * <p>
+     * The file is read when the {@link ServiceDiscoverer} is built and the addresses it contains are emitted before
+     * the first DNS query for the name completes. The file is written when the {@link ServiceDiscoverer} is closed.
+     * Only <a href="https://tools.ietf.org/html/rfc1035">host address</a> lookups are persisted.
+     *
+     * @param cacheSnapshotFile the file used to persist the last resolved addresses.
+     * @return {@code this}.
+     */
+    public DefaultDnsServiceDiscovererBuilder cacheSnapshotFile(final Path cacheSnapshotFile) {
+        this.cacheSnapshotFile = requireNonNull(cacheSnapshotFile);
+        return this;
+    }
+
     /**
      * Build a new {@link ServiceDiscoverer} which queries
      * <a href="https://tools.ietf.org/html/rfc2782">SRV Resource Records</a> corresponding to {@code serviceName}. For
@@ -273,7 +332,8 @@ public final class DefaultDnsServiceDiscovererBuilder {
                 ioExecutor == null ? globalExecutionContext().ioExecutor() : ioExecutor, minTTLSeconds, srvConcurrency,
                 inactiveEventsOnError, completeOncePreferredResolved, srvFilterDuplicateEvents,
                 srvHostNameRepeatInitialDelay, srvHostNameRepeatJitter, maxUdpPayloadSize, ndots, optResourceEnabled,
-                queryTimeout, dnsResolverAddressTypes, dnsServerAddressStreamProvider, observer);
+                queryTimeout, dnsResolverAddressTypes, dnsServerAddressStreamProvider, observer, maxStaleDuration,
+                prefetchRatio, cacheSnapshotFile);
         return filterFactory == null ? rawClient : filterFactory.create(rawClient);
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.dns.discovery.netty;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.netty.util.NetUtil.createInetAddressFromIpAddressString;
+import static io.netty.util.NetUtil.toAddressString;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A snapshot of the last successfully resolved addresses per hostname, which can be persisted to a local file and used
+ * as the initial answer after a restart, before the first DNS query completes.
+ * <p>
+ * The file contains one line per hostname: the hostname followed by the space separated IP addresses.
+ */
+final class DnsCacheSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DnsCacheSnapshot.class);
+
+    private final Path file;
+    private final Map<String, List<InetAddress>> entries;
+
+    private DnsCacheSnapshot(final Path file, final Map<String, List<InetAddress>> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Load a snapshot from the passed {@code file}. If the file does not exist or can not be read, an empty snapshot
+     * is returned which will be persisted to the same {@code file} on {@link #save()}.
+     *
+     * @param file the file to load from and save to.
+     * @return a new {@link DnsCacheSnapshot}.
+     */
+    static DnsCacheSnapshot load(final Path file) {
+        final Map<String, List<InetAddress>> entries = new ConcurrentHashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String[] parts = line.trim().split(" ");
+                    if (parts.length < 2) {
+                        continue;
+                    }
+                    final List<InetAddress> addresses = new ArrayList<>(parts.length - 1);
+                    for (int i = 1; i < parts.length; ++i) {
+                        final InetAddress address = createInetAddressFromIpAddressString(parts[i]);
+                        if (address != null) {
+                            addresses.add(address);
+                        }
+                    }
+                    if (!addresses.isEmpty()) {
+                        entries.put(parts[0], unmodifiableList(addresses));
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Failed to load DNS cache snapshot from {}, starting with an empty snapshot.", file, e);
+                entries.clear();
+            }
+        }
+        return new DnsCacheSnapshot(file, entries);
+    }
+
+    /**
+     * Get a mutable copy of the addresses last resolved for {@code hostname}.
+     *
+     * @param hostname the hostname.
+     * @return a mutable copy of the addresses last resolved for {@code hostname}, or an empty {@link List}.
+     */
+    List<InetAddress> addresses(final String hostname) {
+        final List<InetAddress> addresses = entries.get(hostname);
+        return addresses == null ? emptyList() : new ArrayList<>(addresses);
+    }
+
+    /**
+     * Record the addresses resolved for {@code hostname}.
+     *
+     * @param hostname the hostname.
+     * @param addresses the resolved addresses.
+     */
+    void update(final String hostname, final List<InetAddress> addresses) {
+        if (addresses.isEmpty()) {
+            entries.remove(hostname);
+        } else {
+            entries.put(hostname, unmodifiableList(new ArrayList<>(addresses)));
+        }
+    }
+
+    /**
+     * Persist the snapshot to the file. This method performs blocking IO and must not be called on an IO thread.
+     */
+    void save() {
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            final Path tmp = parent == null ? Files.createTempFile("dns", ".snapshot") :
+                    Files.createTempFile(parent, "dns", ".snapshot");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, UTF_8)) {
+                for (Entry<String, List<InetAddress>> entry : entries.entrySet()) {
+                    writer.write(entry.getKey());
+                    for (InetAddress address : entry.getValue()) {
+                        writer.write(' ');
+                        writer.write(toAddressString(address));
+                    }
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save DNS cache snapshot to {}.", file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DnsCacheSnapshot{" +
+                "file=" + file +
+                ", size=" + entries.size() +
+                '}';
+    }
+}
@@ -32,6 +32,8 @@ import org.junit.jupiter.api.Test;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -56,16 +58,20 @@ import static io.servicetalk.transport.netty.NettyIoExecutors.createIoExecutor;
 import static io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutors.toEventLoopAwareNettyIoExecutor;
 import static java.net.InetAddress.getByName;
 import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.function.Function.identity;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -662,6 +668,113 @@ class DefaultDnsClientTest {
         assertEvent(subscriber.takeOnNext(), ip, true);
     }
 
+    @Test
+    void serveStaleWhileResolutionFails() throws Exception {
+        client.closeAsync().toFuture().get();
+        client = dnsClientBuilder().serveStale(ofSeconds(30)).build();
+        final String ip1 = nextIp();
+        final String domain = "servicetalk.io";
+        recordStore.addIPv4Address(domain, DEFAULT_TTL, ip1);
+
+        TestPublisherSubscriber<ServiceDiscovererEvent<InetAddress>> subscriber = dnsQuery(domain);
+        Subscription subscription = subscriber.awaitSubscription();
+        subscription.request(3);
+        assertEvent(subscriber.takeOnNext(), ip1, true);
+
+        // Queries fail, but the last known address keeps being served without an error.
+        recordStore.removeIPv4Address(domain, DEFAULT_TTL, ip1);
+        assertThat(subscriber.pollTerminal(3, SECONDS), nullValue());
+
+        final String ip2 = nextIp();
+        recordStore.addIPv4Address(domain, DEFAULT_TTL, ip2);
+        List<ServiceDiscovererEvent<InetAddress>> signals = subscriber.takeOnNext(2);
+        assertHasEvent(signals, ip2, true);
+        assertHasEvent(signals, ip1, false);
+    }
+
+    @Test
+    void cacheSnapshotServesLastKnownAddresses() throws Exception {
+        final Path snapshotFile = Files.createTempFile("servicetalk", ".dns");
+        try {
+            client.closeAsync().toFuture().get();
+            client = dnsClientBuilder().cacheSnapshotFile(snapshotFile).build();
+            final String ip = nextIp();
+            final String domain = "servicetalk.io";
+            recordStore.addIPv4Address(domain, DEFAULT_TTL, ip);
+
+            TestPublisherSubscriber<ServiceDiscovererEvent<InetAddress>> subscriber = dnsQuery(domain);
+            subscriber.awaitSubscription().request(1);
+            assertEvent(subscriber.takeOnNext(), ip, true);
+            // Closing the client saves the snapshot.
+            client.closeAsync().toFuture().get();
+
+            recordStore.removeIPv4Address(domain, DEFAULT_TTL, ip);
+            client = dnsClientBuilder().cacheSnapshotFile(snapshotFile).build();
+            subscriber = dnsQuery(domain);
+            subscriber.awaitSubscription().request(2);
+            // The snapshot is used before the first query completes.
+            assertEvent(subscriber.takeOnNext(), ip, true);
+            assertThat(subscriber.awaitOnError(), instanceOf(UnknownHostException.class));
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    @Test
+    void prefetchRefreshesBeforeTtlExpires() throws Exception {
+        client.closeAsync().toFuture().get();
+        client = dnsClientBuilder().prefetchRatio(0.25).build();
+        final int ttl = 8;
+        final String ip1 = nextIp();
+        final String domain = "servicetalk.io";
+        recordStore.addIPv4Address(domain, ttl, ip1);
+
+        TestPublisherSubscriber<ServiceDiscovererEvent<InetAddress>> subscriber = dnsQuery(domain);
+        subscriber.awaitSubscription().request(3);
+        assertEvent(subscriber.takeOnNext(), ip1, true);
+
+        final String ip2 = nextIp();
+        recordStore.removeIPv4Address(domain, ttl, ip1);
+        recordStore.addIPv4Address(domain, ttl, ip2);
+        // The change is discovered after a quarter of the TTL, well before the TTL expires.
+        final long startNanos = System.nanoTime();
+        List<ServiceDiscovererEvent<InetAddress>> signals = subscriber.takeOnNext(2);
+        assertThat(System.nanoTime() - startNanos, lessThan(SECONDS.toNanos(ttl)));
+        assertHasEvent(signals, ip2, true);
+        assertHasEvent(signals, ip1, false);
+    }
+
+    @Test
+    void prefetchDoesNotRefreshBeforeMinTtl() throws Exception {
+        client.closeAsync().toFuture().get();
+        final int minTtl = 2;
+        client = dnsClientBuilder().minTTL(minTtl).prefetchRatio(0.25).build();
+        final int ttl = 4;
+        final String ip1 = nextIp();
+        final String domain = "servicetalk.io";
+        recordStore.addIPv4Address(domain, ttl, ip1);
+
+        TestPublisherSubscriber<ServiceDiscovererEvent<InetAddress>> subscriber = dnsQuery(domain);
+        subscriber.awaitSubscription().request(3);
+        assertEvent(subscriber.takeOnNext(), ip1, true);
+
+        final String ip2 = nextIp();
+        recordStore.removeIPv4Address(domain, ttl, ip1);
+        recordStore.addIPv4Address(domain, ttl, ip2);
+        // A quarter of the TTL is below the min TTL, so the next query waits for the min TTL.
+        final long startNanos = System.nanoTime();
+        List<ServiceDiscovererEvent<InetAddress>> signals = subscriber.takeOnNext(2);
+        assertThat(System.nanoTime() - startNanos, greaterThan(MILLISECONDS.toNanos(1500)));
+        assertHasEvent(signals, ip2, true);
+        assertHasEvent(signals, ip1, false);
+    }
+
+    @Test
+    void invalidPrefetchRatio() {
+        assertThrows(IllegalArgumentException.class, () -> dnsClientBuilder().prefetchRatio(0));
+        assertThrows(IllegalArgumentException.class, () -> dnsClientBuilder().prefetchRatio(1.5));
+    }
+
     @Test
     void preferIpv4() throws Exception {
         client.closeAsync().toFuture().get();
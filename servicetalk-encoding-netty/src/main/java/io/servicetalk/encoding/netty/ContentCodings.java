@@ -64,4 +64,16 @@ public final class ContentCodings {
     public static ZipContentCodecBuilder deflate() {
         return new ZipContentCodecBuilder.DeflateContentCodecBuilder();
     }
+
+    /**
+     * Returns a raw DEFLATE (<a href="https://tools.ietf.org/html/rfc1951">RFC 1951</a>, without the zlib header and
+     * checksum) based {@link ZipContentCodecBuilder} that allows building a customizable {@link ContentCodec}.
+     * <p>
+     * This is not an HTTP content-coding, but the format used by extensions such as WebSocket permessage-deflate.
+     * @return a raw DEFLATE based {@link ZipContentCodecBuilder} that allows building
+     *          a customizable raw DEFLATE {@link ContentCodec}
+     */
+    public static ZipContentCodecBuilder rawDeflate() {
+        return new ZipContentCodecBuilder.RawDeflateContentCodecBuilder();
+    }
 }
@@ -113,4 +113,17 @@ public abstract class ZipContentCodecBuilder {
             );
         }
     }
+
+    static final class RawDeflateContentCodecBuilder extends ZipContentCodecBuilder {
+
+        private static final CharSequence DEFLATE_RAW = newAsciiString("deflate-raw");
+
+        @Override
+        public ContentCodec build() {
+            return new NettyChannelContentCodec(DEFLATE_RAW,
+                    () -> new JdkZlibEncoder(ZlibWrapper.NONE, compressionLevel()),
+                    () -> new JdkZlibDecoder(ZlibWrapper.NONE, maxChunkSize())
+            );
+        }
+    }
 }
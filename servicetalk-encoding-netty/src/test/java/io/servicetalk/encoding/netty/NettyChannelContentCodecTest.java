@@ -35,8 +35,10 @@ import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 import static io.servicetalk.buffer.api.EmptyBuffer.EMPTY_BUFFER;
 import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
@@ -71,6 +73,7 @@ public class NettyChannelContentCodecTest {
         return new ContentCodec[]{
                 ContentCodings.gzipDefault(),
                 ContentCodings.deflateDefault(),
+                ContentCodings.rawDeflate().build(),
         };
     }
 
@@ -159,6 +162,33 @@ public class NettyChannelContentCodecTest {
         assertThat(new String(inflated, 0, read, US_ASCII), equalTo(INPUT));
     }
 
+    @Test
+    public void testRawDeflateIntegrationWithJDK() throws Exception {
+        ContentCodec codec = ContentCodings.rawDeflate().build();
+
+        // Deflate with JDK and inflate with ST
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(INPUT.getBytes(US_ASCII));
+        deflater.finish();
+        byte[] deflated = new byte[1024 * 2];
+        int deflatedLength = deflater.deflate(deflated);
+        deflater.end();
+
+        Buffer decoded = codec.decode(DEFAULT_ALLOCATOR.wrap(deflated, 0, deflatedLength), DEFAULT_ALLOCATOR);
+        assertThat(decoded.toString(US_ASCII), equalTo(INPUT));
+
+        // Deflate with ST and inflate with JDK
+        Buffer encoded = codec.encode(DEFAULT_ALLOCATOR.fromAscii(INPUT), DEFAULT_ALLOCATOR);
+
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(encoded.array(), encoded.arrayOffset() + encoded.readerIndex(), encoded.readableBytes());
+        byte[] inflated = new byte[1024 * 2];
+        int read = inflater.inflate(inflated);
+        inflater.end();
+
+        assertThat(new String(inflated, 0, read, US_ASCII), equalTo(INPUT));
+    }
+
     @Test
     public void testEncodePublisher()
             throws ExecutionException, InterruptedException {
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.api;
+
+import io.servicetalk.encoding.api.ContentCodec;
+import io.servicetalk.http.api.HttpMetaData;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.api.CharSequences.contentEquals;
+import static io.servicetalk.encoding.api.Identity.identity;
+import static io.servicetalk.grpc.api.GrpcUtils.GRPC_ACCEPT_ENCODING_KEY;
+import static io.servicetalk.grpc.api.GrpcUtils.negotiateAcceptedEncoding;
+
+/**
+ * Negotiates the response encoding of a route and remembers the result for the last seen
+ * {@code grpc-accept-encoding} header value.
+ * <p>
+ * Clients typically send the same header value with every call, so the header is parsed once instead of for each call.
+ */
+final class AcceptedEncodingCache {
+    private final List<ContentCodec> supportedCodings;
+    @Nullable
+    private volatile Negotiated last;
+
+    AcceptedEncodingCache(final List<ContentCodec> supportedCodings) {
+        this.supportedCodings = supportedCodings;
+    }
+
+    /**
+     * Returns the codings supported by the route.
+     *
+     * @return the codings supported by the route.
+     */
+    List<ContentCodec> supportedCodings() {
+        return supportedCodings;
+    }
+
+    /**
+     * Establish a commonly accepted encoding between server and client.
+     *
+     * @param httpMetaData The client metadata to extract relevant headers from.
+     * @return The {@link ContentCodec} that satisfies both client and server needs, identity otherwise.
+     * @see GrpcUtils#negotiateAcceptedEncoding(HttpMetaData, List)
+     */
+    ContentCodec negotiate(final HttpMetaData httpMetaData) {
+        final CharSequence acceptEncoding = httpMetaData.headers().get(GRPC_ACCEPT_ENCODING_KEY);
+        if (acceptEncoding == null || supportedCodings.isEmpty()) {
+            return identity();
+        }
+        final Negotiated last = this.last;
+        if (last != null && contentEquals(last.acceptEncoding, acceptEncoding)) {
+            return last.encoding;
+        }
+        final ContentCodec encoding = negotiateAcceptedEncoding(acceptEncoding, supportedCodings);
+        // Header values may be backed by mutable memory, keep an immutable copy.
+        this.last = new Negotiated(acceptEncoding.toString(), encoding);
+        return encoding;
+    }
+
+    private static final class Negotiated {
+        final String acceptEncoding;
+        final ContentCodec encoding;
+
+        Negotiated(final String acceptEncoding, final ContentCodec encoding) {
+            this.acceptEncoding = acceptEncoding;
+            this.encoding = encoding;
+        }
+    }
+}
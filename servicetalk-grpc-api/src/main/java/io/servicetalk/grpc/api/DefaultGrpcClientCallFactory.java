@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import io.servicetalk.concurrent.BlockingIterator;
 import io.servicetalk.concurrent.api.AsyncContext;
 import io.servicetalk.concurrent.api.Completable;
 import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.encoding.api.ContentCodec;
 import io.servicetalk.http.api.BlockingHttpClient;
 import io.servicetalk.http.api.BlockingStreamingHttpClient;
@@ -36,6 +37,7 @@ import java.util.List;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.internal.BlockingIterables.singletonBlockingIterable;
+import static io.servicetalk.grpc.api.GrpcStatusCode.DEADLINE_EXCEEDED;
 import static io.servicetalk.grpc.api.GrpcUtils.initRequest;
 import static io.servicetalk.grpc.api.GrpcUtils.readGrpcMessageEncoding;
 import static io.servicetalk.grpc.api.GrpcUtils.toGrpcException;
@@ -69,6 +71,9 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         final List<ContentCodec> supportedCodings = serializationProvider.supportedMessageCodings();
         return (metadata, request) -> {
             Duration timeout = timeoutForRequest(metadata.timeout());
+            if (isDeadlineExceeded(timeout)) {
+                return Single.failed(newDeadlineExceededException());
+            }
             final HttpRequest httpRequest = newAggregatedRequest(metadata, request, client,
                     serializationProvider, supportedCodings, timeout, requestClass);
             @Nullable
@@ -91,6 +96,9 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         return (metadata, request) -> {
             final StreamingHttpRequest httpRequest = streamingHttpClient.post(metadata.path());
             Duration timeout = timeoutForRequest(metadata.timeout());
+            if (isDeadlineExceeded(timeout)) {
+                return Publisher.failed(newDeadlineExceededException());
+            }
             initRequest(httpRequest, supportedCodings, timeout);
             httpRequest.payloadBody(request.map(GrpcUtils::uncheckedCast),
                     serializationProvider.serializerFor(metadata.requestEncoding(), requestClass));
@@ -134,6 +142,9 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         final BlockingHttpClient client = streamingHttpClient.asBlockingClient();
         return (metadata, request) -> {
             Duration timeout = timeoutForRequest(metadata.timeout());
+            if (isDeadlineExceeded(timeout)) {
+                throw newDeadlineExceededException();
+            }
             final HttpRequest httpRequest = newAggregatedRequest(metadata, request, client,
                     serializationProvider, supportedCodings, timeout, requestClass);
             @Nullable
@@ -162,6 +173,9 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
         return (metadata, request) -> {
             final BlockingStreamingHttpRequest httpRequest = client.post(metadata.path());
             Duration timeout = timeoutForRequest(metadata.timeout());
+            if (isDeadlineExceeded(timeout)) {
+                throw newDeadlineExceededException();
+            }
             initRequest(httpRequest, supportedCodings, timeout);
             httpRequest.payloadBody(request, serializationProvider
                     .serializerFor(metadata.requestEncoding(), requestClass));
@@ -260,4 +274,19 @@ final class DefaultGrpcClientCallFactory implements GrpcClientCallFactory {
 
         return null != timeout ? timeout : defaultTimeout;
     }
+
+    /**
+     * Determines if the deadline inherited from the async context already passed, in which case the request is failed
+     * without being sent.
+     *
+     * @param timeout the timeout determined by {@link #timeoutForRequest(Duration)}
+     * @return {@code true} if no time is left for the request.
+     */
+    private static boolean isDeadlineExceeded(@Nullable Duration timeout) {
+        return null != timeout && (timeout.isNegative() || timeout.isZero());
+    }
+
+    private static GrpcStatusException newDeadlineExceededException() {
+        return new GrpcStatus(DEADLINE_EXCEEDED, null, "Deadline exceeded before the request was sent").asException();
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.api;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpExecutionStrategyInfluencer;
+import io.servicetalk.http.api.HttpServiceContext;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpResponseFactory;
+import io.servicetalk.http.api.StreamingHttpService;
+import io.servicetalk.http.api.StreamingHttpServiceFilter;
+import io.servicetalk.http.api.StreamingHttpServiceFilterFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.grpc.api.GrpcStatusCode.DEADLINE_EXCEEDED;
+import static io.servicetalk.grpc.api.GrpcUtils.newErrorResponse;
+import static io.servicetalk.grpc.internal.DeadlineUtils.GRPC_DEADLINE_KEY;
+import static io.servicetalk.grpc.internal.DeadlineUtils.GRPC_TIMEOUT_HEADER_KEY;
+import static io.servicetalk.grpc.internal.DeadlineUtils.parseTimeoutHeader;
+
+/**
+ * A filter which enforces the <a href="https://grpc.io/blog/deadlines/">deadline</a> of gRPC requests.
+ * <p>
+ * The {@code grpc-timeout} header is converted to a deadline and stored in {@link AsyncContext}, so that client
+ * requests created while handling the request only get the remaining time. Requests which arrive without any remaining
+ * time are rejected with {@link GrpcStatusCode#DEADLINE_EXCEEDED} without invoking the service.
+ */
+final class GrpcDeadlineServiceFilter implements StreamingHttpServiceFilterFactory, HttpExecutionStrategyInfluencer {
+    static final GrpcDeadlineServiceFilter INSTANCE = new GrpcDeadlineServiceFilter();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GrpcDeadlineServiceFilter.class);
+    private static final String DEADLINE_EXCEEDED_DESCRIPTION = "Deadline exceeded before the request was processed";
+
+    private GrpcDeadlineServiceFilter() {
+        // singleton
+    }
+
+    @Override
+    public StreamingHttpServiceFilter create(final StreamingHttpService service) {
+        return new StreamingHttpServiceFilter(service) {
+            @Override
+            public Single<StreamingHttpResponse> handle(final HttpServiceContext ctx,
+                                                        final StreamingHttpRequest request,
+                                                        final StreamingHttpResponseFactory responseFactory) {
+                final CharSequence timeoutValue = request.headers().get(GRPC_TIMEOUT_HEADER_KEY);
+                if (timeoutValue == null) {
+                    return delegate().handle(ctx, request, responseFactory);
+                }
+                final Duration timeout;
+                try {
+                    timeout = parseTimeoutHeader(timeoutValue);
+                } catch (IllegalArgumentException e) {
+                    // Malformed values are reported by the filters which apply the timeout.
+                    return delegate().handle(ctx, request, responseFactory);
+                }
+                final long timeoutNanos = toNanosSaturated(timeout);
+                if (timeoutNanos <= 0) {
+                    return succeeded(newDeadlineExceededResponse(ctx, responseFactory));
+                }
+                try {
+                    AsyncContext.put(GRPC_DEADLINE_KEY, System.nanoTime() + timeoutNanos);
+                } catch (UnsupportedOperationException ignored) {
+                    LOGGER.debug("Async context disabled, deadlines will not be propagated to client requests");
+                }
+                return delegate().handle(ctx, request, responseFactory);
+            }
+        };
+    }
+
+    @Override
+    public HttpExecutionStrategy influenceStrategy(final HttpExecutionStrategy strategy) {
+        // No influence - no blocking
+        return strategy;
+    }
+
+    /**
+     * Decorates a route so that it is not invoked if the deadline of the request expired, for example while the request
+     * was waiting to be offloaded to the route's {@link io.servicetalk.concurrent.api.Executor}.
+     *
+     * @param route the route to decorate.
+     * @return a {@link StreamingHttpService} which rejects requests with an expired deadline.
+     */
+    static StreamingHttpService rejectExpired(final StreamingHttpService route) {
+        return new StreamingHttpServiceFilter(route) {
+            @Override
+            public Single<StreamingHttpResponse> handle(final HttpServiceContext ctx,
+                                                        final StreamingHttpRequest request,
+                                                        final StreamingHttpResponseFactory responseFactory) {
+                @Nullable
+                final Long deadline = AsyncContext.get(GRPC_DEADLINE_KEY);
+                return deadline != null && deadline - System.nanoTime() <= 0 ?
+                        succeeded(newDeadlineExceededResponse(ctx, responseFactory)) :
+                        delegate().handle(ctx, request, responseFactory);
+            }
+        };
+    }
+
+    private static StreamingHttpResponse newDeadlineExceededResponse(
+            final HttpServiceContext ctx, final StreamingHttpResponseFactory responseFactory) {
+        return newErrorResponse(responseFactory, null, new GrpcStatus(DEADLINE_EXCEEDED, null,
+                DEADLINE_EXCEEDED_DESCRIPTION), null, ctx.executionContext().bufferAllocator());
+    }
+
+    private static long toNanosSaturated(final Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.api;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.grpc.api.GrpcStatusCode.OK;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link GrpcRouteObserver} which maintains lightweight counters for every method: number of calls, number of
+ * failed calls and a latency histogram.
+ * <p>
+ * The latency histogram has {@link #LATENCY_BUCKETS} buckets with exponentially growing bounds. Bucket {@code 0}
+ * counts calls shorter than one microsecond, bucket {@code i} counts calls which took at least {@code 2^(i - 1)} and
+ * less than {@code 2^i} microseconds, and the last bucket counts all longer calls.
+ */
+public final class GrpcRouteMetrics implements GrpcRouteObserver {
+    /**
+     * The number of buckets of the latency histogram.
+     */
+    public static final int LATENCY_BUCKETS = 32;
+
+    private final ConcurrentMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    @Override
+    public MethodMetrics onMethodBound(final String path) {
+        return methods.computeIfAbsent(requireNonNull(path), MethodMetrics::new);
+    }
+
+    /**
+     * Returns the {@link MethodMetrics} of a method.
+     *
+     * @param path the path of the method, for example {@code /package.Service/Method}
+     * @return the {@link MethodMetrics} of the method, or {@code null} if the method is not bound to a server
+     */
+    @Nullable
+    public MethodMetrics method(final String path) {
+        return methods.get(path);
+    }
+
+    /**
+     * Returns the {@link MethodMetrics} of all methods bound to a server.
+     *
+     * @return the {@link MethodMetrics} of all methods bound to a server
+     */
+    public Collection<MethodMetrics> methods() {
+        return unmodifiableCollection(methods.values());
+    }
+
+    /**
+     * Counters of a single method.
+     */
+    public static final class MethodMetrics implements MethodObserver {
+        private final String path;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+        MethodMetrics(final String path) {
+            this.path = path;
+        }
+
+        /**
+         * Returns the path of the method.
+         *
+         * @return the path of the method
+         */
+        public String path() {
+            return path;
+        }
+
+        /**
+         * Returns the number of calls routed to the method, including calls which are still in progress.
+         *
+         * @return the number of calls routed to the method
+         */
+        public long calls() {
+            return calls.sum();
+        }
+
+        /**
+         * Returns the number of calls which finished with a status other than {@link GrpcStatusCode#OK}.
+         *
+         * @return the number of failed calls
+         */
+        public long errors() {
+            return errors.sum();
+        }
+
+        /**
+         * Returns a snapshot of the latency histogram of finished calls.
+         *
+         * @return an array of {@link #LATENCY_BUCKETS} counters, see {@link GrpcRouteMetrics} for the bucket bounds
+         */
+        public long[] latencyHistogram() {
+            final long[] snapshot = new long[LATENCY_BUCKETS];
+            for (int i = 0; i < snapshot.length; ++i) {
+                snapshot[i] = latencyHistogram.get(i);
+            }
+            return snapshot;
+        }
+
+        @Override
+        public void onCallStarted() {
+            calls.increment();
+        }
+
+        @Override
+        public void onCallFinished(final GrpcStatusCode status, final long durationNanos) {
+            if (status != OK) {
+                errors.increment();
+            }
+            latencyHistogram.incrementAndGet(latencyBucket(durationNanos));
+        }
+
+        static int latencyBucket(final long durationNanos) {
+            final long micros = NANOSECONDS.toMicros(max(0, durationNanos));
+            return min(LATENCY_BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{path=" + path + ", calls=" + calls() + ", errors=" + errors() + '}';
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.api;
+
+/**
+ * An observer that provides visibility into calls of the <a href="https://www.grpc.io">gRPC</a> methods handled by a
+ * server.
+ * <p>
+ * Callbacks are invoked on the hot path of every call, implementations are expected to be cheap and not block.
+ *
+ * @see GrpcRouteMetrics
+ */
+@FunctionalInterface
+public interface GrpcRouteObserver {
+
+    /**
+     * Notifies that a method is bound to the server. It is invoked once per method when the server starts, which
+     * allows per-method state to be allocated up front.
+     *
+     * @param path the path of the method, for example {@code /package.Service/Method}
+     * @return {@link MethodObserver} that provides visibility into calls of the method
+     */
+    MethodObserver onMethodBound(String path);
+
+    /**
+     * An observer that provides visibility into calls of a single method.
+     */
+    interface MethodObserver {
+
+        /**
+         * Notifies that a call was routed to the method.
+         */
+        void onCallStarted();
+
+        /**
+         * Notifies that a call finished.
+         *
+         * @param status the {@link GrpcStatusCode} of the call, {@link GrpcStatusCode#CANCELLED} if the response was
+         * cancelled or {@link GrpcStatusCode#UNKNOWN} if the response failed without a status
+         * @param durationNanos the duration of the call in nanoseconds, from routing until the response completed
+         */
+        void onCallFinished(GrpcStatusCode status, long durationNanos);
+    }
+}
@@ -65,6 +65,7 @@ import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.grpc.api.GrpcDeadlineServiceFilter.rejectExpired;
 import static io.servicetalk.grpc.api.GrpcRouteConversions.toAsyncCloseable;
 import static io.servicetalk.grpc.api.GrpcRouteConversions.toRequestStreamingRoute;
 import static io.servicetalk.grpc.api.GrpcRouteConversions.toResponseStreamingRoute;
@@ -73,7 +74,6 @@ import static io.servicetalk.grpc.api.GrpcRouteConversions.toStreaming;
 import static io.servicetalk.grpc.api.GrpcStatus.fromCodeValue;
 import static io.servicetalk.grpc.api.GrpcStatusCode.INVALID_ARGUMENT;
 import static io.servicetalk.grpc.api.GrpcStatusCode.UNIMPLEMENTED;
-import static io.servicetalk.grpc.api.GrpcUtils.negotiateAcceptedEncoding;
 import static io.servicetalk.grpc.api.GrpcUtils.newErrorResponse;
 import static io.servicetalk.grpc.api.GrpcUtils.newResponse;
 import static io.servicetalk.grpc.api.GrpcUtils.readGrpcMessageEncoding;
@@ -115,11 +115,13 @@ final class GrpcRouter {
 
     Single<ServerContext> bind(final ServerBinder binder, final ExecutionContext executionContext) {
         final CompositeCloseable closeable = AsyncCloseables.newCompositeCloseable();
+        @Nullable
+        final GrpcRouteObserver observer = binder.routeObserver();
         final Map<String, StreamingHttpService> allRoutes = new HashMap<>();
-        populateRoutes(executionContext, allRoutes, routes, closeable);
-        populateRoutes(executionContext, allRoutes, streamingRoutes, closeable);
-        populateRoutes(executionContext, allRoutes, blockingRoutes, closeable);
-        populateRoutes(executionContext, allRoutes, blockingStreamingRoutes, closeable);
+        populateRoutes(executionContext, allRoutes, routes, closeable, observer);
+        populateRoutes(executionContext, allRoutes, streamingRoutes, closeable, observer);
+        populateRoutes(executionContext, allRoutes, blockingRoutes, closeable, observer);
+        populateRoutes(executionContext, allRoutes, blockingStreamingRoutes, closeable, observer);
 
         // TODO: Optimize to bind a specific programming model service based on routes
         return binder.bindStreaming(new StreamingHttpService() {
@@ -128,13 +130,22 @@ final class GrpcRouter {
                                                         final StreamingHttpRequest request,
                                                         final StreamingHttpResponseFactory responseFactory) {
                 final StreamingHttpService service;
-                if (!POST.equals(request.method()) || (service = allRoutes.get(request.path())) == null) {
+                if (!POST.equals(request.method()) || (service = route(request)) == null) {
                     return NOT_FOUND_SERVICE.handle(ctx, request, responseFactory);
                 } else {
                     return service.handle(ctx, request, responseFactory);
                 }
             }
 
+            @Nullable
+            private StreamingHttpService route(final StreamingHttpRequest request) {
+                // gRPC clients send the path of the method as the request-target, which allows to find the route
+                // without parsing the request-target and decoding the path. Other request-targets, for example with
+                // percent-encoded characters, are resolved using the decoded path.
+                final StreamingHttpService service = allRoutes.get(request.requestTarget());
+                return service != null ? service : allRoutes.get(request.path());
+            }
+
             @Override
             public Completable closeAsync() {
                 return closeable.closeAsync();
@@ -150,13 +161,19 @@ final class GrpcRouter {
     private static void populateRoutes(final ExecutionContext executionContext,
                                        final Map<String, StreamingHttpService> allRoutes,
                                        final Map<String, RouteProvider> routes,
-                                       final CompositeCloseable closeable) {
+                                       final CompositeCloseable closeable,
+                                       @Nullable final GrpcRouteObserver observer) {
         for (Map.Entry<String, RouteProvider> entry : routes.entrySet()) {
             final String path = entry.getKey();
             final ServiceAdapterHolder adapterHolder = entry.getValue().buildRoute(executionContext);
             final StreamingHttpService route = closeable.append(adapterHolder.adaptor());
-            verifyNoOverrides(allRoutes.put(path, adapterHolder.serviceInvocationStrategy()
-                    .offloadService(executionContext.executor(), route)), path, emptyMap());
+            // Check the deadline after offloading, requests may expire while waiting for the executor.
+            StreamingHttpService service = adapterHolder.serviceInvocationStrategy()
+                    .offloadService(executionContext.executor(), rejectExpired(route));
+            if (observer != null) {
+                service = new ObservingRouteService(service, observer.onMethodBound(path));
+            }
+            verifyNoOverrides(allRoutes.put(path, service), path, emptyMap());
         }
     }
 
@@ -240,6 +257,8 @@ final class GrpcRouter {
                 final String path, @Nullable final GrpcExecutionStrategy executionStrategy,
                 final Route<Req, Resp> route, final Class<Req> requestClass,
                 final Class<Resp> responseClass, final GrpcSerializationProvider serializationProvider) {
+            final AcceptedEncodingCache encodings =
+                    new AcceptedEncodingCache(serializationProvider.supportedMessageCodings());
             verifyNoOverrides(routes.put(path, new RouteProvider(executionContext -> toStreamingHttpService(
                     new HttpService() {
 
@@ -250,10 +269,9 @@ final class GrpcRouter {
                             ContentCodec responseEncoding;
                             GrpcServiceContext serviceContext = null;
                             try {
-                                final List<ContentCodec> supportedCodings =
-                                        serializationProvider.supportedMessageCodings();
-                                responseEncoding = negotiateAcceptedEncoding(request, supportedCodings);
-                                serviceContext = new DefaultGrpcServiceContext(request.path(), ctx, supportedCodings);
+                                final List<ContentCodec> supportedCodings = encodings.supportedCodings();
+                                responseEncoding = encodings.negotiate(request);
+                                serviceContext = new DefaultGrpcServiceContext(path, ctx, supportedCodings);
                                 final HttpDeserializer<Req> deserializer =
                                         serializationProvider.deserializerFor(
                                                 readGrpcMessageEncoding(request, supportedCodings), requestClass);
@@ -296,6 +314,8 @@ final class GrpcRouter {
                 final String path, @Nullable final GrpcExecutionStrategy executionStrategy,
                 final StreamingRoute<Req, Resp> route, final Class<Req> requestClass,
                 final Class<Resp> responseClass, final GrpcSerializationProvider serializationProvider) {
+            final AcceptedEncodingCache encodings =
+                    new AcceptedEncodingCache(serializationProvider.supportedMessageCodings());
             verifyNoOverrides(streamingRoutes.put(path, new RouteProvider(executionContext -> {
                 final StreamingHttpService service = new StreamingHttpService() {
 
@@ -307,10 +327,9 @@ final class GrpcRouter {
                         GrpcServiceContext serviceContext = null;
 
                         try {
-                            final List<ContentCodec> supportedCodings =
-                                    serializationProvider.supportedMessageCodings();
-                            responseEncoding = negotiateAcceptedEncoding(request, supportedCodings);
-                            serviceContext = new DefaultGrpcServiceContext(request.path(), ctx, supportedCodings);
+                            final List<ContentCodec> supportedCodings = encodings.supportedCodings();
+                            responseEncoding = encodings.negotiate(request);
+                            serviceContext = new DefaultGrpcServiceContext(path, ctx, supportedCodings);
                             final HttpDeserializer<Req> deserializer =
                                     serializationProvider.deserializerFor(
                                             readGrpcMessageEncoding(request, supportedCodings), requestClass);
@@ -444,6 +463,8 @@ final class GrpcRouter {
                 final String path, @Nullable final GrpcExecutionStrategy executionStrategy,
                 final BlockingRoute<Req, Resp> route, final Class<Req> requestClass,
                 final Class<Resp> responseClass, final GrpcSerializationProvider serializationProvider) {
+            final AcceptedEncodingCache encodings =
+                    new AcceptedEncodingCache(serializationProvider.supportedMessageCodings());
             verifyNoOverrides(blockingRoutes.put(path, new RouteProvider(executionContext ->
                     toStreamingHttpService(new BlockingHttpService() {
 
@@ -453,10 +474,9 @@ final class GrpcRouter {
                             ContentCodec responseEncoding;
                             GrpcServiceContext serviceContext = null;
                             try {
-                                final List<ContentCodec> supportedCodings =
-                                        serializationProvider.supportedMessageCodings();
-                                responseEncoding = negotiateAcceptedEncoding(request, supportedCodings);
-                                serviceContext = new DefaultGrpcServiceContext(request.path(), ctx, supportedCodings);
+                                final List<ContentCodec> supportedCodings = encodings.supportedCodings();
+                                responseEncoding = encodings.negotiate(request);
+                                serviceContext = new DefaultGrpcServiceContext(path, ctx, supportedCodings);
                                 final HttpDeserializer<Req> deserializer =
                                         serializationProvider.deserializerFor(
                                                 readGrpcMessageEncoding(request, supportedCodings), requestClass);
@@ -506,17 +526,17 @@ final class GrpcRouter {
                 final String path, @Nullable final GrpcExecutionStrategy executionStrategy,
                 final BlockingStreamingRoute<Req, Resp> route, final Class<Req> requestClass,
                 final Class<Resp> responseClass, final GrpcSerializationProvider serializationProvider) {
+            final AcceptedEncodingCache encodings =
+                    new AcceptedEncodingCache(serializationProvider.supportedMessageCodings());
             verifyNoOverrides(blockingStreamingRoutes.put(path, new RouteProvider(executionContext ->
                     toStreamingHttpService(new BlockingStreamingHttpService() {
                         @Override
                         public void handle(final HttpServiceContext ctx, final BlockingStreamingHttpRequest request,
                                            final BlockingStreamingHttpServerResponse response) throws Exception {
-                            final List<ContentCodec> supportedCodings =
-                                    serializationProvider.supportedMessageCodings();
-                            final ContentCodec responseEncoding = negotiateAcceptedEncoding(request,
-                                    supportedCodings);
+                            final List<ContentCodec> supportedCodings = encodings.supportedCodings();
+                            final ContentCodec responseEncoding = encodings.negotiate(request);
                             final GrpcServiceContext serviceContext =
-                                    new DefaultGrpcServiceContext(request.path(), ctx, supportedCodings);
+                                    new DefaultGrpcServiceContext(path, ctx, supportedCodings);
                             final HttpDeserializer<Req> deserializer = serializationProvider.deserializerFor(
                                     readGrpcMessageEncoding(request, supportedCodings), requestClass);
                             final HttpSerializer<Resp> serializer =
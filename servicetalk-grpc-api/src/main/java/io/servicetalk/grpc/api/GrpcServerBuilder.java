@@ -65,6 +65,7 @@ public abstract class GrpcServerBuilder {
     protected static final AsyncContextMap.Key<Long> GRPC_DEADLINE_KEY = DeadlineUtils.GRPC_DEADLINE_KEY;
 
     private boolean appendedCatchAllFilter;
+    private boolean appendedDeadlineFilter;
 
     /**
      * Configurations of various underlying protocol versions.
@@ -180,6 +181,15 @@ public abstract class GrpcServerBuilder {
      */
     public abstract GrpcServerBuilder transportObserver(TransportObserver transportObserver);
 
+    /**
+     * Sets a {@link GrpcRouteObserver} that provides visibility into calls of individual methods.
+     *
+     * @param routeObserver A {@link GrpcRouteObserver} that provides visibility into calls of individual methods.
+     * @return {@code this}.
+     * @see GrpcRouteMetrics
+     */
+    public abstract GrpcServerBuilder routeObserver(GrpcRouteObserver routeObserver);
+
     /**
      * Disables automatic consumption of request {@link StreamingHttpRequest#payloadBody() payload body} when it is not
      * consumed by the service.
@@ -231,6 +241,7 @@ public abstract class GrpcServerBuilder {
      */
     public final GrpcServerBuilder appendHttpServiceFilter(StreamingHttpServiceFilterFactory factory) {
         appendCatchAllFilterIfRequired();
+        appendDeadlineFilterIfRequired();
         doAppendHttpServiceFilter(factory);
         return this;
     }
@@ -254,6 +265,7 @@ public abstract class GrpcServerBuilder {
     public final GrpcServerBuilder appendHttpServiceFilter(Predicate<StreamingHttpRequest> predicate,
                                                            StreamingHttpServiceFilterFactory factory) {
         appendCatchAllFilterIfRequired();
+        appendDeadlineFilterIfRequired();
         doAppendHttpServiceFilter(predicate, factory);
         return this;
     }
@@ -308,6 +320,7 @@ public abstract class GrpcServerBuilder {
      * the server could not be started.
      */
     public final Single<ServerContext> listen(GrpcServiceFactory<?, ?, ?>... serviceFactories) {
+        appendDeadlineFilterIfRequired();
         return doListen(GrpcServiceFactory.merge(serviceFactories));
     }
 
@@ -393,6 +406,15 @@ public abstract class GrpcServerBuilder {
         }
     }
 
+    private void appendDeadlineFilterIfRequired() {
+        // The deadline filter precedes all user filters, so requests which expired before reaching this server are
+        // rejected before doing any work and all filters observe the deadline in AsyncContext.
+        if (!appendedDeadlineFilter) {
+            doAppendHttpServiceFilter(GrpcDeadlineServiceFilter.INSTANCE);
+            appendedDeadlineFilter = true;
+        }
+    }
+
     static final class CatchAllHttpServiceFilter extends StreamingHttpServiceFilter {
         CatchAllHttpServiceFilter(final StreamingHttpService service) {
             super(service);
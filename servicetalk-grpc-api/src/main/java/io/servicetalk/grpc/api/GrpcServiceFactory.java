@@ -177,6 +177,17 @@ public abstract class GrpcServiceFactory<Filter extends Service, Service extends
          * if the server could not be started.
          */
         Single<ServerContext> bindBlockingStreaming(BlockingStreamingHttpService service);
+
+        /**
+         * Returns the {@link GrpcRouteObserver} to notify about calls of the bound methods.
+         *
+         * @return the {@link GrpcRouteObserver} to notify about calls of the bound methods or {@code null} if calls are
+         * not observed.
+         */
+        @Nullable
+        default GrpcRouteObserver routeObserver() {
+            return null;
+        }
     }
 
     private static final class MergedServiceFactory extends GrpcServiceFactory {
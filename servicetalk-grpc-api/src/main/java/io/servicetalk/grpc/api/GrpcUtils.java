@@ -74,13 +74,13 @@ final class GrpcUtils {
 
     // TODO could/should add "+proto"
     private static final CharSequence GRPC_CONTENT_TYPE = newAsciiString("application/grpc");
-    private static final CharSequence GRPC_STATUS_CODE_TRAILER = newAsciiString("grpc-status");
+    static final CharSequence GRPC_STATUS_CODE_TRAILER = newAsciiString("grpc-status");
     private static final CharSequence GRPC_STATUS_DETAILS_TRAILER = newAsciiString("grpc-status-details-bin");
     private static final CharSequence GRPC_STATUS_MESSAGE_TRAILER = newAsciiString("grpc-message");
     // TODO (nkant): add project version
     private static final CharSequence GRPC_USER_AGENT = newAsciiString("grpc-service-talk/");
     private static final CharSequence GRPC_MESSAGE_ENCODING_KEY = newAsciiString("grpc-encoding");
-    private static final CharSequence GRPC_ACCEPT_ENCODING_KEY = newAsciiString("grpc-accept-encoding");
+    static final CharSequence GRPC_ACCEPT_ENCODING_KEY = newAsciiString("grpc-accept-encoding");
     private static final GrpcStatus STATUS_OK = GrpcStatus.fromCodeValue(GrpcStatusCode.OK.value());
     private static final ConcurrentMap<List<ContentCodec>, CharSequence> ENCODINGS_HEADER_CACHE =
             new ConcurrentHashMap<>();
@@ -354,7 +354,19 @@ final class GrpcUtils {
             final HttpMetaData httpMetaData,
             final List<ContentCodec> allowedCodings) {
 
-        CharSequence acceptEncHeaderValue = httpMetaData.headers().get(GRPC_ACCEPT_ENCODING_KEY);
+        return negotiateAcceptedEncoding(httpMetaData.headers().get(GRPC_ACCEPT_ENCODING_KEY), allowedCodings);
+    }
+
+    /**
+     * Establish a commonly accepted encoding between server and client, according to the supported-codings
+     * on the server side and the value of the {@code 'Accepted-Encoding'} header of the request.
+     *
+     * @param acceptEncHeaderValue The value of the {@code 'Accepted-Encoding'} header, or {@code null} if absent.
+     * @param allowedCodings The server supported codings as configured.
+     * @return The {@link ContentCodec} that satisfies both client and server needs, identity otherwise.
+     */
+    static ContentCodec negotiateAcceptedEncoding(@Nullable final CharSequence acceptEncHeaderValue,
+                                                  final List<ContentCodec> allowedCodings) {
         ContentCodec encoding = HeaderUtils.negotiateAcceptedEncoding(acceptEncHeaderValue, allowedCodings);
         return encoding == null ? identity() : encoding;
     }
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.api;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.SingleTerminalSignalConsumer;
+import io.servicetalk.concurrent.api.TerminalSignalConsumer;
+import io.servicetalk.grpc.api.GrpcRouteObserver.MethodObserver;
+import io.servicetalk.http.api.HttpHeaders;
+import io.servicetalk.http.api.HttpServiceContext;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpResponseFactory;
+import io.servicetalk.http.api.StreamingHttpService;
+import io.servicetalk.http.api.StreamingHttpServiceFilter;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.grpc.api.GrpcStatusCode.CANCELLED;
+import static io.servicetalk.grpc.api.GrpcStatusCode.UNKNOWN;
+import static io.servicetalk.grpc.api.GrpcStatusCode.fromCodeValue;
+import static io.servicetalk.grpc.api.GrpcUtils.GRPC_STATUS_CODE_TRAILER;
+
+/**
+ * A route which notifies a {@link MethodObserver} about every call.
+ * <p>
+ * The status of a call is taken from the response headers for trailers-only responses, otherwise from the trailers.
+ */
+final class ObservingRouteService extends StreamingHttpServiceFilter {
+    private final MethodObserver observer;
+
+    ObservingRouteService(final StreamingHttpService route, final MethodObserver observer) {
+        super(route);
+        this.observer = observer;
+    }
+
+    @Override
+    public Single<StreamingHttpResponse> handle(final HttpServiceContext ctx, final StreamingHttpRequest request,
+                                                final StreamingHttpResponseFactory responseFactory) {
+        final CallObserver call = new CallObserver(observer);
+        return delegate().handle(ctx, request, responseFactory)
+                .map(response -> {
+                    call.onHeaders(response.headers());
+                    return response.transformMessageBody(body -> body.beforeOnNext(call).beforeFinally(call));
+                })
+                .beforeFinally(call.responseConsumer());
+    }
+
+    private static final class CallObserver implements Consumer<Object>, TerminalSignalConsumer {
+        private static final AtomicIntegerFieldUpdater<CallObserver> finishedUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(CallObserver.class, "finished");
+
+        private final MethodObserver observer;
+        private final long startNanos;
+        @Nullable
+        private GrpcStatusCode status;
+        private volatile boolean responded;
+        private volatile int finished;
+
+        CallObserver(final MethodObserver observer) {
+            this.observer = observer;
+            startNanos = System.nanoTime();
+            observer.onCallStarted();
+        }
+
+        void onHeaders(final HttpHeaders headers) {
+            final CharSequence value = headers.get(GRPC_STATUS_CODE_TRAILER);
+            if (value != null) {
+                status = parseStatus(value);
+            }
+        }
+
+        SingleTerminalSignalConsumer<StreamingHttpResponse> responseConsumer() {
+            return new SingleTerminalSignalConsumer<StreamingHttpResponse>() {
+                @Override
+                public void onSuccess(@Nullable final StreamingHttpResponse result) {
+                    // The call finishes when the message body terminates.
+                    responded = true;
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    finish(UNKNOWN);
+                }
+
+                @Override
+                public void cancel() {
+                    // Cancellation after the response was produced is observed through the message body.
+                    if (!responded) {
+                        finish(CANCELLED);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void accept(final Object item) {
+            if (item instanceof HttpHeaders) {
+                onHeaders((HttpHeaders) item);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            final GrpcStatusCode status = this.status;
+            finish(status == null ? UNKNOWN : status);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            finish(UNKNOWN);
+        }
+
+        @Override
+        public void cancel() {
+            finish(CANCELLED);
+        }
+
+        private void finish(final GrpcStatusCode status) {
+            if (finishedUpdater.compareAndSet(this, 0, 1)) {
+                observer.onCallFinished(status, System.nanoTime() - startNanos);
+            }
+        }
+
+        private static GrpcStatusCode parseStatus(final CharSequence value) {
+            // Most status codes are a single digit, avoid allocating a String for them.
+            if (value.length() == 1) {
+                final char c = value.charAt(0);
+                return c >= '0' && c <= '9' ? fromCodeValue(c - '0') : UNKNOWN;
+            }
+            return fromCodeValue(value);
+        }
+    }
+}
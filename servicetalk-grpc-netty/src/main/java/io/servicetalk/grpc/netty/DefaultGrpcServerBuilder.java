@@ -19,6 +19,7 @@ import io.servicetalk.buffer.api.BufferAllocator;
 import io.servicetalk.concurrent.api.AsyncContext;
 import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.grpc.api.GrpcExecutionStrategy;
+import io.servicetalk.grpc.api.GrpcRouteObserver;
 import io.servicetalk.grpc.api.GrpcServerBuilder;
 import io.servicetalk.grpc.api.GrpcServerSecurityConfigurator;
 import io.servicetalk.grpc.api.GrpcServiceFactory;
@@ -59,6 +60,7 @@ import static io.servicetalk.grpc.internal.DeadlineUtils.GRPC_DEADLINE_KEY;
 import static io.servicetalk.grpc.internal.DeadlineUtils.readTimeoutHeader;
 import static io.servicetalk.http.netty.HttpProtocolConfigs.h2Default;
 import static io.servicetalk.utils.internal.DurationUtils.ensurePositive;
+import static java.util.Objects.requireNonNull;
 
 final class DefaultGrpcServerBuilder extends GrpcServerBuilder implements ServerBinder {
 
@@ -75,6 +77,8 @@ final class DefaultGrpcServerBuilder extends GrpcServerBuilder implements Server
      */
     @Nullable
     private Duration defaultTimeout;
+    @Nullable
+    private GrpcRouteObserver routeObserver;
     private boolean invokedBuild;
 
     DefaultGrpcServerBuilder(final HttpServerBuilder httpServerBuilder) {
@@ -147,6 +151,18 @@ final class DefaultGrpcServerBuilder extends GrpcServerBuilder implements Server
         return this;
     }
 
+    @Override
+    public GrpcServerBuilder routeObserver(final GrpcRouteObserver routeObserver) {
+        this.routeObserver = requireNonNull(routeObserver);
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public GrpcRouteObserver routeObserver() {
+        return routeObserver;
+    }
+
     @Override
     public GrpcServerBuilder disableDrainingRequestPayloadBody() {
         httpServerBuilder.disableDrainingRequestPayloadBody();
@@ -214,6 +230,13 @@ final class DefaultGrpcServerBuilder extends GrpcServerBuilder implements Server
              */
             @Override
             public @Nullable Duration apply(HttpRequestMetaData request) {
+                @Nullable
+                final Long requestDeadline = AsyncContext.get(GRPC_DEADLINE_KEY);
+                if (null != requestDeadline) {
+                    // The deadline was already derived from the GRPC timeout header by a preceding filter, only the
+                    // remaining time is left for processing the request.
+                    return Duration.ofNanos(requestDeadline - System.nanoTime());
+                }
                 @Nullable
                 Duration requestTimeout = readTimeoutHeader(request);
                 @Nullable
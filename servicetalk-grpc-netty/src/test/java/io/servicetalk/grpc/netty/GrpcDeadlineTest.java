@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.netty;
+
+import io.servicetalk.concurrent.api.AsyncContext;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.grpc.api.GrpcStatusException;
+import io.servicetalk.grpc.netty.TesterProto.TestRequest;
+import io.servicetalk.grpc.netty.TesterProto.TestResponse;
+import io.servicetalk.grpc.netty.TesterProto.Tester.BlockingTesterClient;
+import io.servicetalk.grpc.netty.TesterProto.Tester.ClientFactory;
+import io.servicetalk.grpc.netty.TesterProto.Tester.ServiceFactory;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.grpc.api.GrpcStatusCode.DEADLINE_EXCEEDED;
+import static io.servicetalk.grpc.internal.DeadlineUtils.GRPC_DEADLINE_KEY;
+import static io.servicetalk.grpc.internal.DeadlineUtils.GRPC_TIMEOUT_HEADER_KEY;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThrows;
+
+public class GrpcDeadlineTest {
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final ServerContext serverContext;
+
+    public GrpcDeadlineTest() throws Exception {
+        serverContext = GrpcServers.forAddress(localAddress(0)).listenAndAwait(new ServiceFactory.Builder()
+                .testBlocking((ctx, request) -> {
+                    invocations.incrementAndGet();
+                    // Respond with the remaining time, as would be inherited by client requests made by the service.
+                    final Long deadline = AsyncContext.get(GRPC_DEADLINE_KEY);
+                    return TestResponse.newBuilder().setMessage(deadline == null ? "none" :
+                            Long.toString(NANOSECONDS.toMillis(deadline - System.nanoTime()))).build();
+                })
+                .build());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serverContext.close();
+    }
+
+    @Test
+    public void remainingDeadlineIsAvailableToService() throws Exception {
+        try (BlockingTesterClient client = newClient("10S")) {
+            final long remainingMillis = Long.parseLong(client.test(request()).getMessage());
+            assertThat(remainingMillis, allOf(greaterThan(0L), lessThanOrEqualTo(10_000L)));
+        }
+    }
+
+    @Test
+    public void expiredRequestIsRejectedBeforeService() throws Exception {
+        try (BlockingTesterClient client = newClient("0n")) {
+            GrpcStatusException e = assertThrows(GrpcStatusException.class, () -> client.test(request()));
+            assertThat(e.status().code(), is(DEADLINE_EXCEEDED));
+        }
+        assertThat("Service invoked for an expired request", invocations.get(), is(0));
+    }
+
+    @Test
+    public void expiredContextDeadlineFailsClientRequestWithoutSending() throws Exception {
+        try (BlockingTesterClient client = newClient(null)) {
+            AsyncContext.put(GRPC_DEADLINE_KEY, System.nanoTime() - MILLISECONDS.toNanos(1));
+            try {
+                GrpcStatusException e = assertThrows(GrpcStatusException.class, () -> client.test(request()));
+                assertThat(e.status().code(), is(DEADLINE_EXCEEDED));
+            } finally {
+                AsyncContext.remove(GRPC_DEADLINE_KEY);
+            }
+        }
+        assertThat("Request sent after the deadline expired", invocations.get(), is(0));
+    }
+
+    private BlockingTesterClient newClient(@Nullable final String timeoutHeader) {
+        return GrpcClients.forAddress(serverHostAndPort(serverContext))
+                .appendHttpClientFilter(origin -> new StreamingHttpClientFilter(origin) {
+                    @Override
+                    protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                                    final HttpExecutionStrategy strategy,
+                                                                    final StreamingHttpRequest request) {
+                        if (timeoutHeader != null) {
+                            request.headers().set(GRPC_TIMEOUT_HEADER_KEY, timeoutHeader);
+                        }
+                        return delegate.request(strategy, request);
+                    }
+                })
+                .buildBlocking(new ClientFactory());
+    }
+
+    private static TestRequest request() {
+        return TestRequest.newBuilder().setName("name").build();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.grpc.netty;
+
+import io.servicetalk.concurrent.internal.ServiceTalkTestTimeout;
+import io.servicetalk.grpc.api.GrpcRouteMetrics;
+import io.servicetalk.grpc.api.GrpcRouteMetrics.MethodMetrics;
+import io.servicetalk.grpc.api.GrpcStatusException;
+import io.servicetalk.grpc.netty.TesterProto.TestRequest;
+import io.servicetalk.grpc.netty.TesterProto.TestResponse;
+import io.servicetalk.grpc.netty.TesterProto.Tester.BlockingTestRequestStreamRpc;
+import io.servicetalk.grpc.netty.TesterProto.Tester.BlockingTestRpc;
+import io.servicetalk.grpc.netty.TesterProto.Tester.BlockingTesterClient;
+import io.servicetalk.grpc.netty.TesterProto.Tester.ClientFactory;
+import io.servicetalk.grpc.netty.TesterProto.Tester.ServiceFactory;
+import io.servicetalk.grpc.netty.TesterProto.Tester.TestBiDiStreamRpc;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+
+import static io.servicetalk.grpc.api.GrpcStatusCode.INVALID_ARGUMENT;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+public class GrpcRouteMetricsTest {
+
+    @Rule
+    public final Timeout timeout = new ServiceTalkTestTimeout();
+
+    private final GrpcRouteMetrics metrics = new GrpcRouteMetrics();
+    private final ServerContext serverContext;
+    private final BlockingTesterClient client;
+
+    public GrpcRouteMetricsTest() throws Exception {
+        serverContext = GrpcServers.forAddress(localAddress(0))
+                .routeObserver(metrics)
+                .listenAndAwait(new ServiceFactory.Builder()
+                        .testBlocking((ctx, request) -> TestResponse.newBuilder().setMessage(request.getName()).build())
+                        .testRequestStreamBlocking((ctx, request) -> {
+                            throw INVALID_ARGUMENT.status().asException();
+                        })
+                        .build());
+        client = GrpcClients.forAddress(serverHostAndPort(serverContext)).buildBlocking(new ClientFactory());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            client.close();
+        } finally {
+            serverContext.close();
+        }
+    }
+
+    @Test
+    public void countsCallsAndErrorsPerMethod() throws Exception {
+        client.test(request());
+        client.test(request());
+        assertThrows(GrpcStatusException.class, () -> client.testRequestStream(singletonList(request())));
+
+        // Metrics are updated when the response completes, which may happen after the client received it.
+        final MethodMetrics test = awaitFinishedCalls(BlockingTestRpc.PATH, 2);
+        assertThat(test.calls(), is(2L));
+        assertThat(test.errors(), is(0L));
+
+        final MethodMetrics requestStream = awaitFinishedCalls(BlockingTestRequestStreamRpc.PATH, 1);
+        assertThat(requestStream.calls(), is(1L));
+        assertThat(requestStream.errors(), is(1L));
+    }
+
+    @Test
+    public void unboundMethodHasNoMetrics() {
+        assertThat(metrics.method(BlockingTestRpc.PATH), is(notNullValue()));
+        assertThat(metrics.method(TestBiDiStreamRpc.PATH), is(nullValue()));
+    }
+
+    private MethodMetrics awaitFinishedCalls(final String path, final long expected) throws InterruptedException {
+        final MethodMetrics methodMetrics = metrics.method(path);
+        assertThat(methodMetrics, is(notNullValue()));
+        while (Arrays.stream(methodMetrics.latencyHistogram()).sum() < expected) {
+            Thread.sleep(10);
+        }
+        return methodMetrics;
+    }
+
+    private static TestRequest request() {
+        return TestRequest.newBuilder().setName("name").build();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -51,6 +51,8 @@ class DefaultHttpRequestMetaData extends AbstractHttpMetaData implements HttpReq
     @Nullable
     private HttpQuery httpQuery;
     @Nullable
+    private RawQueryView rawQueryView;
+    @Nullable
     private Uri requestTargetUri;
     @Nullable
     private String pathDecoded;
@@ -258,7 +260,7 @@ class DefaultHttpRequestMetaData extends AbstractHttpMetaData implements HttpReq
     @Nullable
     @Override
     public String queryParameter(final String key) {
-        return lazyParseQueryString().get(key);
+        return httpQuery != null ? httpQuery.get(key) : lazyRawQueryView().get(key);
     }
 
     @Override
@@ -283,7 +285,7 @@ class DefaultHttpRequestMetaData extends AbstractHttpMetaData implements HttpReq
 
     @Override
     public boolean hasQueryParameter(final String key, final String value) {
-        return lazyParseQueryString().contains(key, value);
+        return httpQuery != null ? httpQuery.contains(key, value) : lazyRawQueryView().contains(key, value);
     }
 
     @Override
@@ -365,6 +367,16 @@ class DefaultHttpRequestMetaData extends AbstractHttpMetaData implements HttpReq
         return httpQuery;
     }
 
+    private RawQueryView lazyRawQueryView() {
+        // Read-only lookups scan the raw query instead of decoding all parameters, until a mutation or a full
+        // iteration materializes httpQuery.
+        if (rawQueryView == null) {
+            rawQueryView = new RawQueryView(lazyParseRequestTarget().query(), REQUEST_TARGET_CHARSET,
+                    DEFAULT_MAX_QUERY_PARAMS);
+        }
+        return rawQueryView;
+    }
+
     private Uri lazyParseRequestTarget() {
         if (requestTargetUri == null) {
             requestTargetUri = CONNECT.equals(method) ? new HttpAuthorityFormUri(requestTarget()) :
@@ -412,6 +424,7 @@ class DefaultHttpRequestMetaData extends AbstractHttpMetaData implements HttpReq
     private void invalidateParsedUri() {
         requestTargetUri = null;
         httpQuery = null;
+        rawQueryView = null;
         pathDecoded = null;
         queryDecoded = null;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2020-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,41 +28,48 @@ import static io.servicetalk.http.api.UriUtils.parsePort;
  */
 final class HttpAuthorityFormUri implements Uri {
     private final String uri;
-    private final String host;
+    // The host is recorded as offsets into uri and only materialized as a String when accessed.
+    private final int hostBegin;
+    private final int hostEnd;
     private final int port;
+    @Nullable
+    private String host;
 
     HttpAuthorityFormUri(final String uri) {
         int i = 0;
         int begin = 0;
-        String parsedHost = null;
+        int parsedHostBegin = -1;
+        int parsedHostEnd = -1;
         int parsedPort = -1;
         byte parsingIPv6 = 0; // 0 = not parsed, 1 = parsing, 2 = already parsed
         boolean foundColonForPort = false;
         while (i < uri.length()) {
             final char c = uri.charAt(i);
             if (c == '[') {
-                if (parsingIPv6 != 0 || parsedHost != null) {
+                if (parsingIPv6 != 0 || parsedHostBegin >= 0) {
                     throw new IllegalArgumentException("unexpected [");
                 }
                 parsingIPv6 = 1;
-                begin = i++; // post increment, preserve the '[' for original uri for pathEndIndex.
+                begin = i++; // post increment, preserve the '[' as part of the host.
             } else if (c == ']') {
                 if (parsingIPv6 == 0) {
                     throw new IllegalArgumentException("unexpected ]");
                 } else if (i - 1 <= begin) {
                     throw new IllegalArgumentException("empty ip literal");
                 }
-                // Copy the '[' and ']' characters. pathEndIndex depends upon retaining the uri contents.
-                parsedHost = uri.substring(begin, i + 1);
+                // The host retains the '[' and ']' characters.
+                parsedHostBegin = begin;
+                parsedHostEnd = i + 1;
                 foundColonForPort = false;
                 parsingIPv6 = 2;
                 begin = ++i;
             } else if (c == ':') {
                 if (parsingIPv6 == 0) {
-                    if (parsedHost != null) {
+                    if (parsedHostBegin >= 0) {
                         throw new IllegalArgumentException("duplicate/invalid host");
                     }
-                    parsedHost = uri.substring(begin, i);
+                    parsedHostBegin = begin;
+                    parsedHostEnd = i;
                 } else if (parsingIPv6 == 2 && begin != i) {
                     throw new IllegalArgumentException("Port must be immediately after IPv6address");
                 }
@@ -78,18 +85,20 @@ final class HttpAuthorityFormUri implements Uri {
             }
         }
 
-        if (parsedHost == null) {
+        if (parsedHostBegin < 0) {
             if (parsingIPv6 == 1) {
                 throw new IllegalArgumentException("missing closing ] for IP-literal");
             }
-            parsedHost = uri;
+            parsedHostBegin = 0;
+            parsedHostEnd = uri.length();
         } else if (foundColonForPort) {
             parsedPort = parsePort(uri, begin, uri.length());
-        } else if (parsedHost.length() != uri.length()) {
+        } else if (parsedHostEnd - parsedHostBegin != uri.length()) {
             throw new IllegalArgumentException("authority-form URI only supports the host component");
         }
 
-        host = parsedHost;
+        hostBegin = parsedHostBegin;
+        hostEnd = parsedHostEnd;
         port = parsedPort;
         this.uri = uri;
     }
@@ -107,6 +116,7 @@ final class HttpAuthorityFormUri implements Uri {
 
     @Override
     public String authority() {
+        final String host = host();
         StringBuilder sb = new StringBuilder(host.length() + 6); // 6 max port chars + `:`
         sb.append(host);
         if (port >= 0) {
@@ -123,6 +133,10 @@ final class HttpAuthorityFormUri implements Uri {
 
     @Override
     public String host() {
+        if (host == null) {
+            // substring returns uri itself if there is no port.
+            host = uri.substring(hostBegin, hostEnd);
+        }
         return host;
     }
 
@@ -162,9 +176,10 @@ final class HttpAuthorityFormUri implements Uri {
     static String encode(String requestTarget, Charset charset) {
         HttpAuthorityFormUri uri = new HttpAuthorityFormUri(requestTarget);
         StringBuilder sb = new StringBuilder(uri.uri.length() + 16);
-        if (!uri.host.isEmpty()) {
-            sb.append(uri.host.charAt(0) != '[' ?
-                    encodeComponent(HOST_NON_IP, uri.host, charset, true) : uri.host);
+        final String host = uri.host();
+        if (!host.isEmpty()) {
+            sb.append(host.charAt(0) != '[' ?
+                    encodeComponent(HOST_NON_IP, host, charset, true) : host);
         }
         if (uri.port >= 0) {
             sb.append(':').append(uri.port);
@@ -175,8 +190,9 @@ final class HttpAuthorityFormUri implements Uri {
     static String decode(String requestTarget, Charset charset) {
         HttpAuthorityFormUri uri = new HttpAuthorityFormUri(requestTarget);
         StringBuilder sb = new StringBuilder(uri.uri.length());
-        if (!uri.host.isEmpty()) {
-            sb.append(uri.host.charAt(0) != '[' ? decodeComponent(uri.host, charset) : uri.host);
+        final String host = uri.host();
+        if (!host.isEmpty()) {
+            sb.append(host.charAt(0) != '[' ? decodeComponent(host, charset) : host);
         }
         if (uri.port >= 0) {
             sb.append(':').append(uri.port);
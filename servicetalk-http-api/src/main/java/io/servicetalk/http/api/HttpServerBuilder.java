@@ -30,6 +30,7 @@ import io.servicetalk.transport.api.TransportObserver;
 
 import java.net.SocketOption;
 import java.net.StandardSocketOptions;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
@@ -193,6 +194,38 @@ public abstract class HttpServerBuilder {
      */
     public abstract HttpServerBuilder allowDropRequestTrailers(boolean allowDrop);
 
+    /**
+     * Sets the maximum age of a connection, after which the server asks the client to stop using it.
+     * <p>
+     * For HTTP/1.x a connection is closed as soon as no request is in flight, and responses to requests read after
+     * the maximum age carry {@code Connection: close}. For HTTP/2 a graceful close is initiated with a {@code GOAWAY}
+     * frame and the connection is closed once all active streams are done.
+     * In both cases in-flight requests complete normally, which allows long-lived client connections to be
+     * re-balanced across servers without resetting them.
+     * <p>
+     * The age of each connection is reduced by a random amount in the range of {@code [0, jitter]}, so that connections
+     * established at about the same time are not closed at the same time.
+     *
+     * @param maxAge the maximum age of a connection
+     * @param jitter the maximum random amount to subtract from {@code maxAge} for each connection, must be less than
+     * {@code maxAge}
+     * @return {@code this}.
+     */
+    public abstract HttpServerBuilder maxConnectionAge(Duration maxAge, Duration jitter);
+
+    /**
+     * Sets the maximum number of requests the server processes on a single connection, after which the server asks the
+     * client to stop using it.
+     * <p>
+     * For HTTP/1.x the response to the last request carries {@code Connection: close}. For HTTP/2 a graceful close is
+     * initiated with a {@code GOAWAY} frame once the last stream is opened. In both cases in-flight requests complete
+     * normally.
+     *
+     * @param maxRequests the maximum number of requests to process on a single connection
+     * @return {@code this}.
+     */
+    public abstract HttpServerBuilder maxRequestsPerConnection(int maxRequests);
+
     /**
      * Appends the filter to the chain of filters used to decorate the {@link ConnectionAcceptor} used by this builder.
      * <p>
@@ -17,6 +17,7 @@ package io.servicetalk.http.api;
 
 import io.servicetalk.buffer.api.BufferAllocator;
 import io.servicetalk.client.api.AutoRetryStrategyProvider;
+import io.servicetalk.client.api.ClientGroupObserver;
 import io.servicetalk.client.api.ConnectionFactoryFilter;
 import io.servicetalk.client.api.ServiceDiscoverer;
 import io.servicetalk.client.api.ServiceDiscovererEvent;
@@ -27,6 +28,7 @@ import io.servicetalk.transport.api.HostAndPort;
 import io.servicetalk.transport.api.IoExecutor;
 
 import java.net.SocketOption;
+import java.time.Duration;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
@@ -355,4 +357,30 @@ public abstract class MultiAddressHttpClientBuilder<U, R>
      * @return {@code this}.
      */
     public abstract MultiAddressHttpClientBuilder<U, R> maxRedirects(int maxRedirects);
+
+    /**
+     * Sets the maximum number of single-address clients kept by the multi-address client. When a client for a new
+     * address exceeds this limit, the least recently used client is closed gracefully.
+     *
+     * @param maxClients the maximum number of single-address clients.
+     * @return {@code this}.
+     */
+    public abstract MultiAddressHttpClientBuilder<U, R> maxClients(int maxClients);
+
+    /**
+     * Sets the duration after which a single-address client which did not receive any requests is closed gracefully.
+     * A subsequent request to the same address creates a new client.
+     *
+     * @param idleTimeout the duration after which an unused single-address client is closed.
+     * @return {@code this}.
+     */
+    public abstract MultiAddressHttpClientBuilder<U, R> clientIdleTimeout(Duration idleTimeout);
+
+    /**
+     * Sets a {@link ClientGroupObserver} which is notified when single-address clients are created and removed.
+     *
+     * @param observer the {@link ClientGroupObserver}.
+     * @return {@code this}.
+     */
+    public abstract MultiAddressHttpClientBuilder<U, R> clientGroupObserver(ClientGroupObserver<? super U> observer);
 }
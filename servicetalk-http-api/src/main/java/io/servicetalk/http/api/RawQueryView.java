@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import java.nio.charset.Charset;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.http.api.UriUtils.decodeComponent;
+
+/**
+ * A read-only view over a raw, percent-encoded query string which answers lookups by scanning the string on demand.
+ * <p>
+ * Unlike {@link HttpQuery}, which decodes every key and value into a {@link java.util.Map} up front, this view only
+ * materializes the value of the requested key. Keys that do not contain percent-encoded characters are compared
+ * in place against the raw string. The parameter boundaries are tracked by a small cursor per lookup, so the view
+ * can be shared by concurrent readers and a lookup allocates little beyond the returned value.
+ * <p>
+ * Parameters are delimited the same way as {@link UriUtils#decodeQueryParams(String, Charset, int)}.
+ */
+final class RawQueryView {
+    private final String rawQuery;
+    private final Charset charset;
+    private final int maxParams;
+    private final int from;
+    private final int limit;
+
+    RawQueryView(@Nullable final String rawQuery, final Charset charset, final int maxParams) {
+        if (maxParams <= 0) {
+            throw new IllegalArgumentException("maxParams: " + maxParams + " (expected: > 0)");
+        }
+        this.rawQuery = rawQuery == null ? "" : rawQuery;
+        this.charset = charset;
+        this.maxParams = maxParams;
+        from = !this.rawQuery.isEmpty() && this.rawQuery.charAt(0) == '?' ? 1 : 0;
+        final int fragmentStart = this.rawQuery.indexOf('#', from);
+        limit = fragmentStart < 0 ? this.rawQuery.length() : fragmentStart;
+    }
+
+    /**
+     * Get the first decoded value for {@code key}.
+     *
+     * @param key the decoded key.
+     * @return the first decoded value for {@code key}, or {@code null} if there is no such parameter.
+     */
+    @Nullable
+    String get(final String key) {
+        final Cursor cursor = new Cursor();
+        while (cursor.next()) {
+            if (cursor.keyMatches(key)) {
+                return cursor.valueStart == cursor.valueEnd ? "" :
+                        decodeComponent(rawQuery.substring(cursor.valueStart, cursor.valueEnd), charset);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determine if a parameter with {@code key} and {@code value} exists.
+     *
+     * @param key the decoded key.
+     * @param value the decoded value.
+     * @return {@code true} if a parameter with {@code key} and {@code value} exists.
+     */
+    boolean contains(final String key, final String value) {
+        final Cursor cursor = new Cursor();
+        while (cursor.next()) {
+            if (cursor.keyMatches(key) && regionMatches(cursor.valueStart, cursor.valueEnd, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean regionMatches(final int start, final int end, final String decoded) {
+        for (int i = start; i < end; ++i) {
+            if (rawQuery.charAt(i) == '%') {
+                return decoded.equals(decodeComponent(rawQuery.substring(start, end), charset));
+            }
+        }
+        return end - start == decoded.length() && rawQuery.regionMatches(start, decoded, 0, end - start);
+    }
+
+    /**
+     * Cursor over the parameters of a single lookup. The view itself is immutable, so concurrent and reentrant
+     * lookups do not interfere with each other.
+     */
+    private final class Cursor {
+        private int position = from;
+        private int paramCount;
+        int nameStart;
+        int nameEnd;
+        int valueStart;
+        int valueEnd;
+
+        boolean next() {
+            int nameStart = position;
+            int valueStart = -1;
+            for (int i = position; i < limit; ++i) {
+                switch (rawQuery.charAt(i)) {
+                    case '=':
+                        if (nameStart == i) {
+                            nameStart = i + 1;
+                        } else if (valueStart < nameStart) {
+                            valueStart = i + 1;
+                        }
+                        break;
+                    case '&':
+                    case ';':
+                        if (nameStart < i) {
+                            set(nameStart, valueStart, i);
+                            return true;
+                        }
+                        nameStart = i + 1;
+                        break;
+                    default:
+                        // continue
+                }
+            }
+            if (nameStart < limit) {
+                set(nameStart, valueStart, limit);
+                return true;
+            }
+            position = limit;
+            return false;
+        }
+
+        private void set(final int nameStart, final int valueStart, final int end) {
+            if (++paramCount > maxParams) {
+                throw new IllegalStateException("maxParams[" + maxParams + "] exceeded");
+            }
+            this.nameStart = nameStart;
+            if (valueStart <= nameStart) {
+                nameEnd = end;
+                this.valueStart = end;
+            } else {
+                nameEnd = valueStart - 1;
+                this.valueStart = valueStart;
+            }
+            valueEnd = end;
+            position = end + 1;
+        }
+
+        boolean keyMatches(final String key) {
+            return regionMatches(nameStart, nameEnd, key);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,14 +39,24 @@ final class Uri3986 implements Uri {
     @SuppressWarnings("StringOperationCanBeSimplified")
     private static final String NULL_COMPONENT = new String(""); // instance equality required!
     private final String uri;
+    // Components are recorded as offsets into uri and only materialized as a String when accessed.
+    // A begin/end offset of -1 indicates the component is not present.
+    private final int schemeEnd;
+    private final int userInfoBegin;
+    private final int userInfoEnd;
+    private final int hostBegin;
+    private final int hostEnd;
+    private final int port;
+    private final int pathBegin;
+    private final int pathEnd;
     @Nullable
-    private final String scheme;
+    private String scheme;
     @Nullable
-    private final String userInfo;
+    private String userInfo;
     @Nullable
-    private final String host;
-    private final int port;
-    private final String path;
+    private String host;
+    @Nullable
+    private String path;
     @Nullable
     private String query;
     @Nullable
@@ -66,18 +76,21 @@ final class Uri3986 implements Uri {
     Uri3986(final String uri) {
         int i = 0;
         int begin = 0;
-        String parsedScheme = null;
-        String parsedUserInfo = null;
-        String parsedHost = null;
+        int parsedSchemeEnd = -1;
+        int parsedUserInfoBegin = -1;
+        int parsedUserInfoEnd = -1;
+        int parsedHostBegin = -1;
+        int parsedHostEnd = -1;
         int parsedPort = -1;
-        String parsedPath = null;
+        int parsedPathBegin = -1;
+        int parsedPathEnd = -1;
         boolean eligibleToParseScheme = true;
 
         outerloop:
         while (i < uri.length()) {
             final char c = uri.charAt(i);
             if (c == '/') {
-                if (begin == i && parsedHost == null && uri.length() - 1 > i && uri.charAt(i + 1) == '/') {
+                if (begin == i && parsedHostBegin < 0 && uri.length() - 1 > i && uri.charAt(i + 1) == '/') {
                     // authority   = [ userinfo "@" ] host [ ":" port ]
                     i += 2;
                     begin = i;
@@ -87,36 +100,39 @@ final class Uri3986 implements Uri {
                     while (i < uri.length()) {
                         final char c2 = uri.charAt(i);
                         if (c2 == '@') {
-                            if (parsedUserInfo != null) {
+                            if (parsedUserInfoBegin >= 0) {
                                 throw new IllegalArgumentException("duplicate userinfo");
                             }
                             // Userinfo has `:` as valid. If we previously parsed the host throw it away.
-                            parsedUserInfo = uri.substring(authorityBegin, i);
-                            parsedHost = null;
+                            parsedUserInfoBegin = authorityBegin;
+                            parsedUserInfoEnd = i;
+                            parsedHostBegin = -1;
                             begin = ++i;
                         } else if (c2 == '[') {
-                            if (parsingIPv6 != 0 || parsedHost != null) {
+                            if (parsingIPv6 != 0 || parsedHostBegin >= 0) {
                                 throw new IllegalArgumentException("unexpected [");
                             }
                             parsingIPv6 = 1;
-                            begin = i++; // post increment, preserve the '[' for original uri for pathEndIndex.
+                            begin = i++; // post increment, preserve the '[' as part of the host.
                         } else if (c2 == ']') {
                             if (parsingIPv6 == 0) {
                                 throw new IllegalArgumentException("unexpected ]");
                             } else if (i - 1 <= begin) {
                                 throw new IllegalArgumentException("empty ip literal");
                             }
-                            // Copy the '[' and ']' characters. pathEndIndex depends upon retaining the uri contents.
-                            parsedHost = uri.substring(begin, i + 1);
+                            // The host retains the '[' and ']' characters.
+                            parsedHostBegin = begin;
+                            parsedHostEnd = i + 1;
                             foundColonForPort = false;
                             parsingIPv6 = 2;
                             begin = ++i;
                         } else if (c2 == ':') {
                             if (parsingIPv6 == 0) {
-                                if (parsedHost != null) {
+                                if (parsedHostBegin >= 0) {
                                     throw new IllegalArgumentException("duplicate/invalid host");
                                 }
-                                parsedHost = uri.substring(begin, i);
+                                parsedHostBegin = begin;
+                                parsedHostEnd = i;
                             } else if (parsingIPv6 == 2 && begin != i) {
                                 throw new IllegalArgumentException("Port must be immediately after IPv6address");
                             }
@@ -126,19 +142,21 @@ final class Uri3986 implements Uri {
                                 foundColonForPort = true;
                             }
                         } else if (c2 == '?' || c2 == '#' || c2 == '/') {
-                            if (parsedHost == null) {
+                            if (parsedHostBegin < 0) {
                                 if (parsingIPv6 == 1) {
                                     throw new IllegalArgumentException("missing closing ] for IP-literal");
                                 }
-                                parsedHost = uri.substring(begin, i);
+                                parsedHostBegin = begin;
+                                parsedHostEnd = i;
                             } else if (foundColonForPort) {
                                 parsedPort = parsePort(uri, begin, i);
                             }
                             if (c2 == '/') {
-                                begin = i++; // post increment, preserve the '/' for original uri for pathEndIndex.
+                                begin = i++; // post increment, preserve the '/' as part of the path.
                                 continue outerloop;
                             } else {
-                                parsedPath = "";
+                                parsedPathBegin = i;
+                                parsedPathEnd = i;
                                 begin = ++i;
                                 break outerloop;
                             }
@@ -147,11 +165,12 @@ final class Uri3986 implements Uri {
                         }
                     }
                     if (i == uri.length()) {
-                        if (parsedHost == null) {
+                        if (parsedHostBegin < 0) {
                             if (parsingIPv6 == 1) {
                                 throw new IllegalArgumentException("missing closing ] for IP-literal");
                             }
-                            parsedHost = uri.substring(begin);
+                            parsedHostBegin = begin;
+                            parsedHostEnd = i;
                         } else if (foundColonForPort) {
                             parsedPort = parsePort(uri, begin, i);
                         }
@@ -161,34 +180,38 @@ final class Uri3986 implements Uri {
                     eligibleToParseScheme = false;
                     ++i;
                 }
-            } else if (c == ':' && begin == 0 && parsedScheme == null && eligibleToParseScheme) {
+            } else if (c == ':' && begin == 0 && parsedSchemeEnd < 0 && eligibleToParseScheme) {
                 if (i == 0) {
                     throw new IllegalArgumentException("empty scheme");
                 }
-                parsedScheme = uri.substring(0, i);
+                parsedSchemeEnd = i;
                 begin = ++i;
                 // We don't enforce the following, browsers still generate these types of requests.
                 // https://tools.ietf.org/html/rfc3986#section-3.3
                 // > In addition, a URI reference (Section 4.1) may be a relative-path reference,
                 //   in which case the first path segment cannot contain a colon (":") character.
             } else if (c == '?' || c == '#') {
-                parsedPath = uri.substring(begin, i);
+                parsedPathBegin = begin;
+                parsedPathEnd = i;
                 break;
             } else {
                 ++i;
             }
         }
 
-        if (i == uri.length()) {
-            parsedPath = uri.substring(begin);
+        if (parsedPathEnd < 0) {
+            parsedPathBegin = begin;
+            parsedPathEnd = uri.length();
         }
-        assert parsedPath != null;
 
-        scheme = parsedScheme;
-        userInfo = parsedUserInfo;
-        host = parsedHost;
+        schemeEnd = parsedSchemeEnd;
+        userInfoBegin = parsedUserInfoBegin;
+        userInfoEnd = parsedUserInfoEnd;
+        hostBegin = parsedHostBegin;
+        hostEnd = parsedHostEnd;
         port = parsedPort;
-        path = parsedPath;
+        pathBegin = parsedPathBegin;
+        pathEnd = parsedPathEnd;
         this.uri = uri;
     }
 
@@ -200,15 +223,20 @@ final class Uri3986 implements Uri {
     @Nullable
     @Override
     public String scheme() {
+        if (scheme == null && schemeEnd >= 0) {
+            scheme = uri.substring(0, schemeEnd);
+        }
         return scheme;
     }
 
     @Nullable
     @Override
     public String authority() {
+        final String host = host();
         if (host == null) {
             return null;
         }
+        final String userInfo = userInfo();
         final StringBuilder sb;
         if (userInfo == null) {
             sb = new StringBuilder(host.length() + 6); // 6 max port chars + `:`
@@ -227,12 +255,18 @@ final class Uri3986 implements Uri {
     @Nullable
     @Override
     public String userInfo() {
+        if (userInfo == null && userInfoBegin >= 0) {
+            userInfo = uri.substring(userInfoBegin, userInfoEnd);
+        }
         return userInfo;
     }
 
     @Nullable
     @Override
     public String host() {
+        if (host == null && hostBegin >= 0) {
+            host = uri.substring(hostBegin, hostEnd);
+        }
         return host;
     }
 
@@ -243,12 +277,16 @@ final class Uri3986 implements Uri {
 
     @Override
     public String path() {
+        if (path == null) {
+            // substring returns uri itself for the common origin-form request-target without query or fragment.
+            path = uri.substring(pathBegin, pathEnd);
+        }
         return path;
     }
 
     @Override
     public String path(final Charset charset) {
-        return decodeComponent(path, charset);
+        return decodeComponent(path(), charset);
     }
 
     @Override
@@ -257,14 +295,13 @@ final class Uri3986 implements Uri {
             return unwrapNullableComponent(query);
         }
 
-        final int pathEndIndex = pathEndIndex();
-        if (pathEndIndex >= uri.length() || uri.charAt(pathEndIndex) != '?') {
+        if (pathEnd >= uri.length() || uri.charAt(pathEnd) != '?') {
             query = NULL_COMPONENT;
             return null;
         }
-        final int fragmentStart = uri.indexOf('#', pathEndIndex + 1);
-        query = fragmentStart < 0 ? uri.substring(pathEndIndex + 1) :
-                        uri.substring(pathEndIndex + 1, fragmentStart);
+        final int fragmentStart = uri.indexOf('#', pathEnd + 1);
+        query = fragmentStart < 0 ? uri.substring(pathEnd + 1) :
+                        uri.substring(pathEnd + 1, fragmentStart);
         return query;
     }
 
@@ -281,13 +318,12 @@ final class Uri3986 implements Uri {
             return unwrapNullableComponent(fragment);
         }
 
-        final int pathEndIndex = pathEndIndex();
-        if (pathEndIndex >= uri.length()) {
+        if (pathEnd >= uri.length()) {
             fragment = NULL_COMPONENT;
             return null;
         }
 
-        final int fragmentStart = uri.indexOf('#', pathEndIndex);
+        final int fragmentStart = uri.indexOf('#', pathEnd);
         if (fragmentStart < 0) {
             fragment = NULL_COMPONENT;
             return null;
@@ -302,38 +338,18 @@ final class Uri3986 implements Uri {
         return component == NULL_COMPONENT ? null : component;
     }
 
-    private int pathEndIndex() {
-        int i = 0;
-        if (scheme != null) {
-            i = scheme.length() + 1; // ':'
-        }
-        if (host != null) {
-            // The authority component is preceded by a double slash ("//")
-            // authority   = [ userinfo "@" ] host [ ":" port ]
-            i += host.length() + 2; // '/' '/'
-            if (userInfo != null) {
-                i += userInfo.length() + 1; // '@'
-            }
-            if (port >= 0) {
-                i += numberOfDigits(port) + 1; // ':'
-            }
-        }
-        i += path.length();
-        return i;
-    }
-
     @Override
     public boolean equals(final Object o) {
         if (!(o instanceof Uri3986)) {
             return false;
         }
         final Uri3986 rhs = (Uri3986) o;
-        return port == rhs.port && Objects.equals(host, rhs.host);
+        return port == rhs.port && Objects.equals(host(), rhs.host());
     }
 
     @Override
     public int hashCode() {
-        return 31 * (31 + port + Objects.hashCode(host));
+        return 31 * (31 + port + Objects.hashCode(host()));
     }
 
     @Override
@@ -344,20 +360,23 @@ final class Uri3986 implements Uri {
     static String encode(String requestTarget, Charset charset, boolean preservePctEncoding) {
         Uri3986 uri = new Uri3986(requestTarget);
         StringBuilder sb = new StringBuilder(uri.uri.length() + 16);
-        if (uri.scheme != null) {
-            sb.append(uri.scheme).append(':');
+        final String scheme = uri.scheme();
+        if (scheme != null) {
+            sb.append(scheme).append(':');
         }
-        if (uri.host != null) {
+        final String host = uri.host();
+        if (host != null) {
             // The authority component is preceded by a double slash ("//")
             // authority   = [ userinfo "@" ] host [ ":" port ]
             sb.append("//");
-            if (uri.userInfo != null) {
-                sb.append(encodeComponent(USER_INFO, uri.userInfo, charset, preservePctEncoding)).append('@');
+            final String userInfo = uri.userInfo();
+            if (userInfo != null) {
+                sb.append(encodeComponent(USER_INFO, userInfo, charset, preservePctEncoding)).append('@');
             }
 
-            if (!uri.host.isEmpty()) {
-                sb.append(uri.host.charAt(0) != '[' ?
-                        encodeComponent(HOST_NON_IP, uri.host, charset, preservePctEncoding) : uri.host);
+            if (!host.isEmpty()) {
+                sb.append(host.charAt(0) != '[' ?
+                        encodeComponent(HOST_NON_IP, host, charset, preservePctEncoding) : host);
             }
             if (uri.port >= 0) {
                 sb.append(':').append(uri.port);
@@ -385,18 +404,21 @@ final class Uri3986 implements Uri {
     static String decode(String requestTarget, Charset charset) {
         Uri3986 uri = new Uri3986(requestTarget);
         StringBuilder sb = new StringBuilder(uri.uri.length());
-        if (uri.scheme != null) {
-            sb.append(uri.scheme).append(':');
+        final String scheme = uri.scheme();
+        if (scheme != null) {
+            sb.append(scheme).append(':');
         }
-        if (uri.host != null) {
+        final String host = uri.host();
+        if (host != null) {
             // The authority component is preceded by a double slash ("//")
             // authority   = [ userinfo "@" ] host [ ":" port ]
             sb.append("//");
-            if (uri.userInfo != null) {
-                sb.append(decodeComponent(uri.userInfo, charset)).append('@');
+            final String userInfo = uri.userInfo();
+            if (userInfo != null) {
+                sb.append(decodeComponent(userInfo, charset)).append('@');
             }
-            if (!uri.host.isEmpty()) {
-                sb.append(uri.host.charAt(0) != '[' ? decodeComponent(uri.host, charset) : uri.host);
+            if (!host.isEmpty()) {
+                sb.append(host.charAt(0) != '[' ? decodeComponent(host, charset) : host);
             }
             if (uri.port >= 0) {
                 sb.append(':').append(uri.port);
@@ -420,19 +442,4 @@ final class Uri3986 implements Uri {
         }
         return sb.toString();
     }
-
-    private static int numberOfDigits(int port) {
-        if (port < 10000) {
-            if (port < 1000) {
-                if (port < 100) {
-                    return port < 10 ? 1 : 2;
-                }
-                return 3;
-            }
-            return 4;
-        } else if (port <= 65535) {
-            return 5;
-        }
-        throw new IllegalArgumentException("port out of bounds: " + port);
-    }
 }
@@ -22,6 +22,7 @@ import static io.servicetalk.http.api.HttpAuthorityFormUri.encode;
 import static io.servicetalk.http.api.Uri3986Test.verifyUri;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SuppressWarnings("PMD.AvoidUsingHardCodedIP")
@@ -56,6 +57,12 @@ class HttpAuthorityFormUriTest {
         verifyAuthForm("244.244.244.244", "244.244.244.244", -1);
     }
 
+    @Test
+    void regNameIsNotCopied() {
+        final String requestTarget = "www.example.com";
+        assertSame(requestTarget, new HttpAuthorityFormUri(requestTarget).host());
+    }
+
     @Test
     void ipv6InvalidNegativePort() {
         assertThrows(IllegalArgumentException.class, () -> new HttpAuthorityFormUri("[::1]:-1"));
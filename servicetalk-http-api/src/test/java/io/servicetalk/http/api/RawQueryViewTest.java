@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.servicetalk.http.api.UriUtils.decodeQueryParams;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RawQueryViewTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "?", "a=b", "?a=b", "a=b&c=d;e=f", "a=1&a=2&b", "a&b=&=c&&d=e", "==a=b=c",
+            "k%20ey=v%20alue&key=plain", "%E2%82%AC=euro&x=%E2%82%AC", "a=b#c=d", "a=b&c", "&&", "a=&b=="})
+    void agreesWithDecodedMap(String rawQuery) {
+        final Map<String, List<String>> expected = decodeQueryParams(rawQuery, UTF_8, 1024);
+        final RawQueryView view = new RawQueryView(rawQuery, UTF_8, 1024);
+        for (Map.Entry<String, List<String>> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().get(0), view.get(entry.getKey()), "key: " + entry.getKey());
+            for (String value : entry.getValue()) {
+                assertTrue(view.contains(entry.getKey(), value), entry.getKey() + "=" + value);
+            }
+            assertFalse(view.contains(entry.getKey(), "missing"));
+        }
+        assertNull(view.get("missing"));
+    }
+
+    @Test
+    void nullQuery() {
+        final RawQueryView view = new RawQueryView(null, UTF_8, 1024);
+        assertNull(view.get("a"));
+        assertFalse(view.contains("a", ""));
+    }
+
+    @Test
+    void repeatedLookups() {
+        final RawQueryView view = new RawQueryView("a=1&b=2&c=3", UTF_8, 1024);
+        assertEquals("3", view.get("c"));
+        assertEquals("1", view.get("a"));
+        assertEquals("2", view.get("b"));
+        assertEquals("3", view.get("c"));
+    }
+
+    @Test
+    void concurrentLookups() throws Exception {
+        final RawQueryView view = new RawQueryView("a=1&b=2&c=3&d=4", UTF_8, 1024);
+        final String[] keys = {"a", "b", "c", "d"};
+        final ExecutorService executor = Executors.newFixedThreadPool(keys.length);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < keys.length; ++t) {
+                final String key = keys[t];
+                final String value = String.valueOf(t + 1);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; ++i) {
+                        assertEquals(value, view.get(key));
+                        assertTrue(view.contains(key, value));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void maxParamsExceeded() {
+        final RawQueryView view = new RawQueryView("a=1&b=2&c=3", UTF_8, 2);
+        assertEquals("1", view.get("a"));
+        assertThrows(IllegalStateException.class, () -> view.get("c"));
+        assertThrows(IllegalArgumentException.class, () -> new RawQueryView("a=1", UTF_8, 0));
+    }
+}
@@ -32,6 +32,7 @@ import static java.util.regex.Pattern.compile;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -613,6 +614,19 @@ class Uri3986Test {
         assertThrows(IllegalArgumentException.class, () -> new Uri3986("http://[::1]foo:8080"));
     }
 
+    @Test
+    void portWithLeadingZero() {
+        final String uri = "http://apple.com:080/path/is/here?queryname=value#tag";
+        verifyUri(new Uri3986(uri), uri, "http", null, "apple.com", 80, "/path/is/here", "/path/is/here",
+                "queryname=value", "queryname=value", "tag");
+    }
+
+    @Test
+    void originFormPathIsNotCopied() {
+        final String requestTarget = "/path/is/here";
+        assertThat(new Uri3986(requestTarget).path(), is(sameInstance(requestTarget)));
+    }
+
     @Test
     void ipv6ContentAfterPort() {
         assertThrows(IllegalArgumentException.class, () -> new Uri3986("http://[::1]:8080foo"));
@@ -38,7 +38,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
+import static io.servicetalk.buffer.netty.BufferUtils.release;
 import static io.servicetalk.buffer.netty.BufferUtils.toByteBuf;
+import static io.servicetalk.buffer.netty.BufferUtils.unpooledAllocator;
 import static io.servicetalk.http.api.HttpApiConversions.isPayloadEmpty;
 import static io.servicetalk.http.api.HttpApiConversions.mayHaveTrailers;
 import static io.servicetalk.http.netty.H2ToStH1Utils.h1HeadersToH2Headers;
@@ -58,7 +60,8 @@ abstract class AbstractH2DuplexHandler extends ChannelDuplexHandler {
 
     AbstractH2DuplexHandler(BufferAllocator allocator, HttpHeadersFactory headersFactory, CloseHandler closeHandler,
                             StreamObserver observer) {
-        this.allocator = allocator;
+        // Inbound data is handed over to user code that is not required to release it, so it is never pooled.
+        this.allocator = unpooledAllocator(allocator);
         this.headersFactory = headersFactory;
         this.closeHandler = closeHandler;
         this.observer = observer;
@@ -87,6 +90,8 @@ abstract class AbstractH2DuplexHandler extends ChannelDuplexHandler {
         if (buffer.readableBytes() > 0) {
             ctx.write(new DefaultHttp2DataFrame(encodeAndRetain(buffer), false), promise);
         } else {
+            // Pooled buffers are owned by the transport once written, so release the one which is dropped.
+            release(buffer);
             promise.setSuccess();
         }
     }
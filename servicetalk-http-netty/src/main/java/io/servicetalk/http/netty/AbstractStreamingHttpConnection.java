@@ -39,6 +39,7 @@ import io.servicetalk.transport.netty.internal.NettyConnectionContext;
 
 import javax.annotation.Nullable;
 
+import static io.servicetalk.buffer.netty.BufferUtils.unpooledAllocator;
 import static io.servicetalk.concurrent.api.Publisher.failed;
 import static io.servicetalk.concurrent.api.Publisher.from;
 import static io.servicetalk.concurrent.api.Single.defer;
@@ -133,7 +134,8 @@ abstract class AbstractStreamingHttpConnection<CC extends NettyConnectionContext
 
     private StreamingHttpResponse newSplicedResponse(HttpResponseMetaData meta, Publisher<Object> pub) {
         return newTransportResponse(meta.status(), meta.version(), meta.headers(),
-                executionContext.bufferAllocator(), pub, allowDropTrailersReadFromTransport, headersFactory);
+                unpooledAllocator(executionContext.bufferAllocator()), pub, allowDropTrailersReadFromTransport,
+                headersFactory);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2020-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,10 +36,14 @@ import io.servicetalk.http.api.StreamingHttpResponse;
 import io.servicetalk.http.api.StreamingHttpResponseFactory;
 import io.servicetalk.loadbalancer.RoundRobinLoadBalancer.RoundRobinLoadBalancerFactory;
 
+import java.util.Collection;
+
 import static io.servicetalk.http.api.HttpExecutionStrategyInfluencer.defaultStreamingInfluencer;
 import static io.servicetalk.loadbalancer.RoundRobinLoadBalancer.newRoundRobinFactory;
 import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Default implementation of {@link HttpLoadBalancerFactory}.
@@ -65,6 +69,14 @@ public final class DefaultHttpLoadBalancerFactory<ResolvedAddress>
         return rawFactory.newLoadBalancer(eventPublisher, cf);
     }
 
+    @Override
+    public <T extends FilterableStreamingHttpLoadBalancedConnection> LoadBalancer<T> newLoadBalancer(
+            final String targetResource,
+            final Publisher<? extends Collection<? extends ServiceDiscovererEvent<ResolvedAddress>>> eventPublisher,
+            final ConnectionFactory<ResolvedAddress, T> cf) {
+        return rawFactory.newLoadBalancer(targetResource, eventPublisher, cf);
+    }
+
     @Override
     public FilterableStreamingHttpLoadBalancedConnection toLoadBalancedConnection(
             final FilterableStreamingHttpConnection connection) {
@@ -149,7 +161,14 @@ public final class DefaultHttpLoadBalancerFactory<ResolvedAddress>
 
         @Override
         public int score() {
-            return MAX_VALUE;
+            final HttpConnectionContext ctx = delegate.connectionContext();
+            if (!(ctx instanceof H2ParentConnectionContext)) {
+                return MAX_VALUE;
+            }
+            // Prefer connections with a lower PING round-trip time. Connections without a sample yet get the highest
+            // score so that new connections are not starved before their first measurement.
+            final long rttNanos = ((H2ParentConnectionContext) ctx).roundTripTimeNanos();
+            return rttNanos < 0 ? MAX_VALUE : MAX_VALUE - (int) min(NANOSECONDS.toMicros(rttNanos), MAX_VALUE - 1);
         }
 
         @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import io.servicetalk.transport.api.TransportObserver;
 
 import java.net.SocketAddress;
 import java.net.SocketOption;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.BooleanSupplier;
 import javax.annotation.Nullable;
@@ -126,6 +127,18 @@ final class DefaultHttpServerBuilder extends HttpServerBuilder {
         return this;
     }
 
+    @Override
+    public HttpServerBuilder maxConnectionAge(final Duration maxAge, final Duration jitter) {
+        config.maxConnectionAge(maxAge, jitter);
+        return this;
+    }
+
+    @Override
+    public HttpServerBuilder maxRequestsPerConnection(final int maxRequests) {
+        config.maxRequestsPerConnection(maxRequests);
+        return this;
+    }
+
     @Override
     public HttpServerBuilder ioExecutor(final IoExecutor ioExecutor) {
         executionContextBuilder.ioExecutor(ioExecutor);
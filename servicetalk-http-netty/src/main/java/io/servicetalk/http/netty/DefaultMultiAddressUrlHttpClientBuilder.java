@@ -18,6 +18,7 @@ package io.servicetalk.http.netty;
 import io.servicetalk.buffer.api.BufferAllocator;
 import io.servicetalk.client.api.AutoRetryStrategyProvider;
 import io.servicetalk.client.api.ClientGroup;
+import io.servicetalk.client.api.ClientGroupObserver;
 import io.servicetalk.client.api.ConnectionFactoryFilter;
 import io.servicetalk.client.api.ServiceDiscoverer;
 import io.servicetalk.client.api.ServiceDiscovererEvent;
@@ -58,6 +59,7 @@ import io.servicetalk.transport.api.IoExecutor;
 
 import java.net.InetSocketAddress;
 import java.net.SocketOption;
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
@@ -103,6 +105,11 @@ final class DefaultMultiAddressUrlHttpClientBuilder
     private BiConsumer<HostAndPort, ClientSecurityConfigurator> sslConfigFunction;
     @Nullable
     private SingleAddressInitializer<HostAndPort, InetSocketAddress> singleAddressInitializer;
+    private int maxClients = Integer.MAX_VALUE;
+    @Nullable
+    private Duration clientIdleTimeout;
+    @Nullable
+    private ClientGroupObserver<? super HostAndPort> clientGroupObserver;
 
     DefaultMultiAddressUrlHttpClientBuilder(
             final DefaultSingleAddressHttpClientBuilder<HostAndPort, InetSocketAddress> builderTemplate) {
@@ -118,9 +125,18 @@ final class DefaultMultiAddressUrlHttpClientBuilder
             final ClientFactory clientFactory = new ClientFactory(buildContext.builder,
                     clientFilterFactory, unresolvedAddressToHostFunction, sslConfigFunction, singleAddressInitializer);
 
-            final CachingKeyFactory keyFactory = closeables.prepend(new CachingKeyFactory());
+            final CachingKeyFactory keyFactory = closeables.prepend(new CachingKeyFactory(maxClients));
+            final ClientGroup.Builder<UrlKey, FilterableStreamingHttpClient> groupBuilder =
+                    ClientGroup.<UrlKey, FilterableStreamingHttpClient>builder(clientFactory)
+                            .observer(new UrlKeyGroupObserver(keyFactory, clientGroupObserver));
+            if (maxClients != Integer.MAX_VALUE) {
+                groupBuilder.maxSize(maxClients);
+            }
+            if (clientIdleTimeout != null) {
+                groupBuilder.idleTimeout(clientIdleTimeout, buildContext.executionContext.executor());
+            }
             FilterableStreamingHttpClient urlClient = closeables.prepend(
-                    new StreamingUrlHttpClient(buildContext.executionContext, clientFactory, keyFactory,
+                    new StreamingUrlHttpClient(buildContext.executionContext, groupBuilder.build(), keyFactory,
                             defaultReqRespFactory(buildContext.httpConfig().asReadOnly(),
                                     buildContext.executionContext.bufferAllocator())));
 
@@ -144,6 +160,11 @@ final class DefaultMultiAddressUrlHttpClientBuilder
             implements Function<HttpRequestMetaData, UrlKey>, AsyncCloseable {
 
         private final ConcurrentMap<String, UrlKey> urlKeyCache = new ConcurrentHashMap<>();
+        private final int maxSize;
+
+        CachingKeyFactory(final int maxSize) {
+            this.maxSize = maxSize;
+        }
 
         @Override
         public UrlKey apply(final HttpRequestMetaData metaData) {
@@ -165,10 +186,24 @@ final class DefaultMultiAddressUrlHttpClientBuilder
 
             metaData.requestTarget(absoluteToRelativeFormRequestTarget(metaData.requestTarget(), scheme, host));
 
-            final String key = scheme + ':' + host + ':' + port;
+            final String key = cacheKey(scheme, host, port);
             final UrlKey urlKey = urlKeyCache.get(key);
-            return urlKey != null ? urlKey : urlKeyCache.computeIfAbsent(key, ignore ->
-                    new UrlKey(scheme, HostAndPort.of(host, port)));
+            if (urlKey != null) {
+                return urlKey;
+            }
+            // Entries are invalidated when the client for the key is removed from the group, the size check only
+            // protects against keys for which the client was never created. UrlKey has value semantics, so not
+            // caching a key does not change which client is selected.
+            return urlKeyCache.size() >= maxSize ? new UrlKey(scheme, HostAndPort.of(host, port)) :
+                    urlKeyCache.computeIfAbsent(key, ignore -> new UrlKey(scheme, HostAndPort.of(host, port)));
+        }
+
+        void invalidate(final UrlKey urlKey) {
+            urlKeyCache.remove(cacheKey(urlKey.scheme, urlKey.hostAndPort.hostName(), urlKey.hostAndPort.port()));
+        }
+
+        private static String cacheKey(final String scheme, final String host, final int port) {
+            return scheme + ':' + host + ':' + port;
         }
 
         // This code is similar to io.servicetalk.http.utils.RedirectSingle#absoluteToRelativeFormRequestTarget
@@ -223,6 +258,33 @@ final class DefaultMultiAddressUrlHttpClientBuilder
         }
     }
 
+    private static final class UrlKeyGroupObserver implements ClientGroupObserver<UrlKey> {
+        private final CachingKeyFactory keyFactory;
+        @Nullable
+        private final ClientGroupObserver<? super HostAndPort> delegate;
+
+        UrlKeyGroupObserver(final CachingKeyFactory keyFactory,
+                            @Nullable final ClientGroupObserver<? super HostAndPort> delegate) {
+            this.keyFactory = keyFactory;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onClientAdded(final UrlKey key, final int size) {
+            if (delegate != null) {
+                delegate.onClientAdded(key.hostAndPort, size);
+            }
+        }
+
+        @Override
+        public void onClientRemoved(final UrlKey key, final RemovalCause cause, final int size) {
+            keyFactory.invalidate(key);
+            if (delegate != null) {
+                delegate.onClientRemoved(key.hostAndPort, cause, size);
+            }
+        }
+    }
+
     private static final class ClientFactory implements Function<UrlKey, FilterableStreamingHttpClient> {
         private static final ClientSslConfig DEFAULT_CLIENT_SSL_CONFIG = new ClientSslConfigBuilder().build();
         private final DefaultSingleAddressHttpClientBuilder<HostAndPort, InetSocketAddress> builderTemplate;
@@ -289,11 +351,11 @@ final class DefaultMultiAddressUrlHttpClientBuilder
         private final ListenableAsyncCloseable closeable;
 
         StreamingUrlHttpClient(final HttpExecutionContext executionContext,
-                               final Function<UrlKey, FilterableStreamingHttpClient> clientFactory,
+                               final ClientGroup<UrlKey, FilterableStreamingHttpClient> group,
                                final CachingKeyFactory keyFactory,
                                final StreamingHttpRequestResponseFactory reqRespFactory) {
             this.reqRespFactory = requireNonNull(reqRespFactory);
-            this.group = ClientGroup.from(clientFactory);
+            this.group = group;
             this.keyFactory = keyFactory;
             CompositeCloseable compositeCloseable = newCompositeCloseable();
             compositeCloseable.append(group);
@@ -452,6 +514,32 @@ final class DefaultMultiAddressUrlHttpClientBuilder
         return this;
     }
 
+    @Override
+    public MultiAddressHttpClientBuilder<HostAndPort, InetSocketAddress> maxClients(final int maxClients) {
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("maxClients: " + maxClients + " (expected >0)");
+        }
+        this.maxClients = maxClients;
+        return this;
+    }
+
+    @Override
+    public MultiAddressHttpClientBuilder<HostAndPort, InetSocketAddress> clientIdleTimeout(
+            final Duration idleTimeout) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout: " + idleTimeout + " (expected >0)");
+        }
+        this.clientIdleTimeout = idleTimeout;
+        return this;
+    }
+
+    @Override
+    public MultiAddressHttpClientBuilder<HostAndPort, InetSocketAddress> clientGroupObserver(
+            final ClientGroupObserver<? super HostAndPort> observer) {
+        this.clientGroupObserver = requireNonNull(observer);
+        return this;
+    }
+
     @Override
     public MultiAddressHttpClientBuilder<HostAndPort, InetSocketAddress> unresolvedAddressToHost(
             Function<HostAndPort, CharSequence> unresolvedAddressToHostFunction) {
@@ -60,6 +60,7 @@ import io.servicetalk.logging.api.LogLevel;
 import io.servicetalk.transport.api.IoExecutor;
 
 import java.net.SocketOption;
+import java.util.Collection;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -71,7 +72,6 @@ import static io.servicetalk.http.netty.DefaultSingleAddressHttpClientBuilder.SD
 import static io.servicetalk.http.netty.DefaultSingleAddressHttpClientBuilder.SD_RETRY_STRATEGY_JITTER;
 import static io.servicetalk.http.netty.DefaultSingleAddressHttpClientBuilder.defaultReqRespFactory;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Function.identity;
 
 class DefaultPartitionedHttpClientBuilder<U, R> extends PartitionedHttpClientBuilder<U, R> {
 
@@ -117,8 +117,8 @@ class DefaultPartitionedHttpClientBuilder<U, R> extends PartitionedHttpClientBui
             return builder.buildStreaming();
         };
 
-        final Publisher<PartitionedServiceDiscovererEvent<R>> psdEvents = psd.discover(buildContext.address())
-                .flatMapConcatIterable(identity());
+        final Publisher<Collection<PartitionedServiceDiscovererEvent<R>>> psdEvents =
+                psd.discover(buildContext.address());
 
         DefaultPartitionedStreamingHttpClientFilter<U, R> partitionedClient =
                 new DefaultPartitionedStreamingHttpClientFilter<>(psdEvents, serviceDiscoveryMaxQueueSize,
@@ -145,7 +145,7 @@ class DefaultPartitionedHttpClientBuilder<U, R> extends PartitionedHttpClientBui
         private final StreamingHttpRequestResponseFactory reqRespFactory;
 
         DefaultPartitionedStreamingHttpClientFilter(
-                final Publisher<PartitionedServiceDiscovererEvent<R>> psdEvents,
+                final Publisher<Collection<PartitionedServiceDiscovererEvent<R>>> psdEvents,
                 final int psdMaxQueueSize,
                 final PartitionedClientFactory<U, R, FilterableStreamingHttpClient> clientFactory,
                 final Function<HttpRequestMetaData, PartitionAttributesBuilder> pabf,
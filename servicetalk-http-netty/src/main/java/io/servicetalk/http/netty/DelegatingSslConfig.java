@@ -20,6 +20,7 @@ import io.servicetalk.transport.api.SslProvider;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.KeyManagerFactory;
@@ -107,4 +108,10 @@ abstract class DelegatingSslConfig<T extends SslConfig> implements SslConfig {
     public SslProvider provider() {
         return delegate.provider();
     }
+
+    @Nullable
+    @Override
+    public Executor handshakeTaskExecutor() {
+        return delegate.handshakeTaskExecutor();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,32 @@ public interface H1ProtocolConfig extends HttpProtocolConfig {
      */
     int maxPipelinedRequests();
 
+    /**
+     * Maximum number of pipelined HTTP requests a server dispatches concurrently on a single connection.
+     * <p>
+     * {@code 1} means a request is only dispatched after the response to the previous request has been written. Larger
+     * values allow requests that have already been read to be processed while earlier responses are still in progress.
+     * Responses are always written in the order of the requests, so responses that complete early are buffered, see
+     * {@link #maxBufferedPipelinedResponseBytes()}.
+     * <p>
+     * <b>Note:</b> requests are still read one after another, the next request is only read once the payload body of
+     * the previous request has been consumed.
+     *
+     * @return maximum number of pipelined HTTP requests a server dispatches concurrently on a single connection
+     */
+    int maxConcurrentPipelinedRequests();
+
+    /**
+     * Maximum number of payload body bytes a server buffers for each response that can not be written yet because
+     * responses to earlier pipelined requests are still in progress.
+     * <p>
+     * Once this bound is reached, no more data is requested from the response until it can be written. This setting
+     * has no effect unless {@link #maxConcurrentPipelinedRequests()} is greater than {@code 1}.
+     *
+     * @return maximum number of payload body bytes a server buffers for each response that can not be written yet
+     */
+    int maxBufferedPipelinedResponseBytes();
+
     /**
      * Maximum length of the HTTP <a href="https://tools.ietf.org/html/rfc7230#section-3.1">start line</a> for an HTTP
      * message.
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,8 @@ public final class H1ProtocolConfigBuilder {
     private static final H1SpecExceptions DEFAULT_H1_SPEC_EXCEPTIONS = new H1SpecExceptions.Builder().build();
 
     private int maxPipelinedRequests = 1;
+    private int maxConcurrentPipelinedRequests = 1;
+    private int maxBufferedPipelinedResponseBytes = 65536;
     private int maxStartLineLength = 4096;
     private int maxHeaderFieldLength = 8192;
     private HttpHeadersFactory headersFactory = DefaultHttpHeadersFactory.INSTANCE;
@@ -70,6 +72,50 @@ public final class H1ProtocolConfigBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of pipelined HTTP requests a server dispatches concurrently on a single connection.
+     * <p>
+     * {@code 1} means a request is only dispatched after the response to the previous request has been written. Larger
+     * values allow requests that have already been read to be processed while earlier responses are still in progress.
+     * Responses are always written in the order of the requests, so responses that complete early are buffered, see
+     * {@link #maxBufferedPipelinedResponseBytes(int)}.
+     * <p>
+     * <b>Note:</b> requests are still read one after another, the next request is only read once the payload body of
+     * the previous request has been consumed.
+     *
+     * @param maxConcurrentPipelinedRequests maximum number of pipelined HTTP requests a server dispatches concurrently
+     * on a single connection
+     * @return {@code this}
+     */
+    public H1ProtocolConfigBuilder maxConcurrentPipelinedRequests(final int maxConcurrentPipelinedRequests) {
+        if (maxConcurrentPipelinedRequests <= 0) {
+            throw new IllegalArgumentException("maxConcurrentPipelinedRequests: " + maxConcurrentPipelinedRequests +
+                    " (expected > 0)");
+        }
+        this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of payload body bytes a server buffers for each response that can not be written yet
+     * because responses to earlier pipelined requests are still in progress.
+     * <p>
+     * Once this bound is reached, no more data is requested from the response until it can be written. This setting
+     * has no effect unless {@link #maxConcurrentPipelinedRequests(int)} is greater than {@code 1}.
+     *
+     * @param maxBufferedPipelinedResponseBytes maximum number of payload body bytes a server buffers for each response
+     * that can not be written yet
+     * @return {@code this}
+     */
+    public H1ProtocolConfigBuilder maxBufferedPipelinedResponseBytes(final int maxBufferedPipelinedResponseBytes) {
+        if (maxBufferedPipelinedResponseBytes <= 0) {
+            throw new IllegalArgumentException("maxBufferedPipelinedResponseBytes: " +
+                    maxBufferedPipelinedResponseBytes + " (expected > 0)");
+        }
+        this.maxBufferedPipelinedResponseBytes = maxBufferedPipelinedResponseBytes;
+        return this;
+    }
+
     /**
      * Sets the maximum length of the HTTP <a href="https://tools.ietf.org/html/rfc7230#section-3.1">start line</a> for
      * an HTTP message.
@@ -150,14 +196,17 @@ public final class H1ProtocolConfigBuilder {
      * @return a new {@link H1ProtocolConfig}
      */
     public H1ProtocolConfig build() {
-        return new DefaultH1ProtocolConfig(headersFactory, maxPipelinedRequests, maxStartLineLength,
-                maxHeaderFieldLength, headersEncodedSizeEstimate, trailersEncodedSizeEstimate, specExceptions);
+        return new DefaultH1ProtocolConfig(headersFactory, maxPipelinedRequests, maxConcurrentPipelinedRequests,
+                maxBufferedPipelinedResponseBytes, maxStartLineLength, maxHeaderFieldLength, headersEncodedSizeEstimate,
+                trailersEncodedSizeEstimate, specExceptions);
     }
 
     private static final class DefaultH1ProtocolConfig implements H1ProtocolConfig {
 
         private final HttpHeadersFactory headersFactory;
         private final int maxPipelinedRequests;
+        private final int maxConcurrentPipelinedRequests;
+        private final int maxBufferedPipelinedResponseBytes;
         private final int maxStartLineLength;
         private final int maxHeaderFieldLength;
         private final int headersEncodedSizeEstimate;
@@ -165,11 +214,14 @@ public final class H1ProtocolConfigBuilder {
         private final H1SpecExceptions specExceptions;
 
         DefaultH1ProtocolConfig(final HttpHeadersFactory headersFactory, final int maxPipelinedRequests,
+                                final int maxConcurrentPipelinedRequests, final int maxBufferedPipelinedResponseBytes,
                                 final int maxStartLineLength, final int maxHeaderFieldLength,
                                 final int headersEncodedSizeEstimate, final int trailersEncodedSizeEstimate,
                                 final H1SpecExceptions specExceptions) {
             this.headersFactory = headersFactory;
             this.maxPipelinedRequests = maxPipelinedRequests;
+            this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
+            this.maxBufferedPipelinedResponseBytes = maxBufferedPipelinedResponseBytes;
             this.maxStartLineLength = maxStartLineLength;
             this.maxHeaderFieldLength = maxHeaderFieldLength;
             this.headersEncodedSizeEstimate = headersEncodedSizeEstimate;
@@ -187,6 +239,16 @@ public final class H1ProtocolConfigBuilder {
             return maxPipelinedRequests;
         }
 
+        @Override
+        public int maxConcurrentPipelinedRequests() {
+            return maxConcurrentPipelinedRequests;
+        }
+
+        @Override
+        public int maxBufferedPipelinedResponseBytes() {
+            return maxBufferedPipelinedResponseBytes;
+        }
+
         @Override
         public int maxStartLineLength() {
             return maxStartLineLength;
@@ -119,7 +119,8 @@ final class H2ClientParentConnectionContext extends H2ParentConnectionContext {
                 final ChannelPipeline pipeline;
                 try {
                     delayedCancellable = new DelayedCancellable();
-                    KeepAliveManager keepAliveManager = new KeepAliveManager(channel, config.keepAlivePolicy());
+                    KeepAliveManager keepAliveManager = new KeepAliveManager(channel, config.keepAlivePolicy(),
+                            config.pingRttInterval());
                     H2ClientParentConnectionContext connection = new H2ClientParentConnectionContext(channel,
                             allocator, executor, parentFlushStrategy, idleTimeoutMs, executionStrategy,
                             keepAliveManager);
@@ -209,6 +210,11 @@ final class H2ClientParentConnectionContext extends H2ParentConnectionContext {
             }
         }
 
+        @Override
+        void pingAcknowledged(final long roundTripTimeNanos) {
+            multiplexedObserver.pingAcknowledged(roundTripTimeNanos);
+        }
+
         @Override
         boolean ackSettings(final ChannelHandlerContext ctx, final Http2SettingsFrame settingsFrame) {
             final Long maxConcurrentStreams = settingsFrame.settings().maxConcurrentStreams();
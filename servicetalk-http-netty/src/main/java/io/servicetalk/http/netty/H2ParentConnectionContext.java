@@ -158,6 +158,15 @@ class H2ParentConnectionContext extends NettyChannelListenableAsyncCloseable imp
         keepAliveManager.trackActiveStream(streamChannel);
     }
 
+    /**
+     * Returns the most recently measured PING round-trip time of this connection.
+     *
+     * @return the most recently measured PING round-trip time in nanoseconds, or {@code -1} if not measured yet.
+     */
+    final long roundTripTimeNanos() {
+        return keepAliveManager.roundTripTimeNanos();
+    }
+
     abstract static class AbstractH2ParentConnection extends ChannelInboundHandlerAdapter {
         final H2ParentConnectionContext parentContext;
         final boolean waitForSslHandshake;
@@ -182,6 +191,8 @@ class H2ParentConnectionContext extends NettyChannelListenableAsyncCloseable imp
 
         abstract boolean ackSettings(ChannelHandlerContext ctx, Http2SettingsFrame settingsFrame);
 
+        abstract void pingAcknowledged(long roundTripTimeNanos);
+
         @Override
         public final void handlerAdded(ChannelHandlerContext ctx) {
             final Channel channel = ctx.channel();
@@ -259,7 +270,10 @@ class H2ParentConnectionContext extends NettyChannelListenableAsyncCloseable imp
                 // exhausted so we shouldn't rely upon our peer to close the transport.
                 parentContext.keepAliveManager.initiateGracefulClose(parentContext.onClosing::onComplete);
             } else if (msg instanceof Http2PingFrame) {
-                parentContext.keepAliveManager.pingReceived((Http2PingFrame) msg);
+                final long roundTripTimeNanos = parentContext.keepAliveManager.pingReceived((Http2PingFrame) msg);
+                if (roundTripTimeNanos >= 0) {
+                    pingAcknowledged(roundTripTimeNanos);
+                }
             } else if (!(msg instanceof Http2SettingsAckFrame)) { // we ignore SETTINGS(ACK)
                 ctx.fireChannelRead(msg);
             }
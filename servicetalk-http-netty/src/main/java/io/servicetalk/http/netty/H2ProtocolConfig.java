@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,21 @@ public interface H2ProtocolConfig extends HttpProtocolConfig {
     @Nullable
     KeepAlivePolicy keepAlivePolicy();
 
+    /**
+     * Interval at which a <a href="https://tools.ietf.org/html/rfc7540#section-6.7">PING frame</a> is sent to measure
+     * the round-trip time of the connection. PING frames are not sent while the connection has no active streams,
+     * unless the {@link #keepAlivePolicy()} allows them {@link KeepAlivePolicy#withoutActiveStreams() without active
+     * streams}, so that sampling does not keep an idle connection open.
+     * <p>
+     * Measured values are reported to {@link io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver}
+     * and, for client connections, used as the connection's {@link io.servicetalk.client.api.ScoreSupplier#score()}.
+     *
+     * @return interval at which PING frames are sent to measure round-trip time or {@code null} if sampling is
+     * disabled.
+     */
+    @Nullable
+    Duration pingRttInterval();
+
     /**
      * A policy for sending <a href="https://tools.ietf.org/html/rfc7540#section-6.7">PING frames</a> to the peer.
      */
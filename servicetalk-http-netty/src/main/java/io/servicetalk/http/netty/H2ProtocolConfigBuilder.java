@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import io.servicetalk.logging.api.LogLevel;
 import io.servicetalk.logging.api.UserDataLoggerConfig;
 import io.servicetalk.logging.slf4j.internal.DefaultUserDataLoggerConfig;
 
+import java.time.Duration;
 import java.util.function.BiPredicate;
 import java.util.function.BooleanSupplier;
 import javax.annotation.Nullable;
@@ -29,6 +30,7 @@ import javax.annotation.Nullable;
 import static io.servicetalk.http.netty.H2HeadersFactory.DEFAULT_SENSITIVITY_DETECTOR;
 import static io.servicetalk.http.netty.H2KeepAlivePolicies.DISABLE_KEEP_ALIVE;
 import static io.servicetalk.logging.api.LogLevel.TRACE;
+import static io.servicetalk.utils.internal.DurationUtils.ensurePositive;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -44,6 +46,8 @@ public final class H2ProtocolConfigBuilder {
     private UserDataLoggerConfig frameLoggerConfig;
     @Nullable
     private KeepAlivePolicy keepAlivePolicy;
+    @Nullable
+    private Duration pingRttInterval;
 
     H2ProtocolConfigBuilder() {
     }
@@ -115,6 +119,19 @@ public final class H2ProtocolConfigBuilder {
         return this;
     }
 
+    /**
+     * Sets the interval at which a <a href="https://tools.ietf.org/html/rfc7540#section-6.7">PING frame</a> is sent to
+     * measure the round-trip time of the connection. Sampling is disabled by default.
+     *
+     * @param interval interval at which PING frames are sent to measure round-trip time.
+     * @return {@code this}
+     * @see H2ProtocolConfig#pingRttInterval()
+     */
+    public H2ProtocolConfigBuilder pingRttInterval(final Duration interval) {
+        this.pingRttInterval = ensurePositive(interval, "interval");
+        return this;
+    }
+
     /**
      * Builds {@link H2ProtocolConfig}.
      *
@@ -122,7 +139,7 @@ public final class H2ProtocolConfigBuilder {
      */
     public H2ProtocolConfig build() {
         return new DefaultH2ProtocolConfig(headersFactory, headersSensitivityDetector, frameLoggerConfig,
-                keepAlivePolicy);
+                keepAlivePolicy, pingRttInterval);
     }
 
     private static final class DefaultH2ProtocolConfig implements H2ProtocolConfig {
@@ -133,15 +150,19 @@ public final class H2ProtocolConfigBuilder {
         private final UserDataLoggerConfig frameLoggerConfig;
         @Nullable
         private final KeepAlivePolicy keepAlivePolicy;
+        @Nullable
+        private final Duration pingRttInterval;
 
         DefaultH2ProtocolConfig(final HttpHeadersFactory headersFactory,
                                 final BiPredicate<CharSequence, CharSequence> headersSensitivityDetector,
                                 @Nullable final UserDataLoggerConfig frameLoggerConfig,
-                                @Nullable final KeepAlivePolicy keepAlivePolicy) {
+                                @Nullable final KeepAlivePolicy keepAlivePolicy,
+                                @Nullable final Duration pingRttInterval) {
             this.headersFactory = headersFactory;
             this.headersSensitivityDetector = headersSensitivityDetector;
             this.frameLoggerConfig = frameLoggerConfig;
             this.keepAlivePolicy = keepAlivePolicy;
+            this.pingRttInterval = pingRttInterval;
         }
 
         @Override
@@ -165,5 +186,11 @@ public final class H2ProtocolConfigBuilder {
         public KeepAlivePolicy keepAlivePolicy() {
             return keepAlivePolicy;
         }
+
+        @Nullable
+        @Override
+        public Duration pingRttInterval() {
+            return pingRttInterval;
+        }
     }
 }
@@ -56,6 +56,7 @@ import static io.servicetalk.concurrent.internal.SubscriberUtils.deliverErrorFro
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_2_0;
 import static io.servicetalk.http.netty.HeaderUtils.LAST_CHUNK_PREDICATE;
 import static io.servicetalk.http.netty.HttpDebugUtils.showPipeline;
+import static io.servicetalk.http.netty.NettyHttpServer.scheduleMaxConnectionAge;
 import static io.servicetalk.transport.netty.internal.ChannelSet.CHANNEL_CLOSEABLE_KEY;
 import static io.servicetalk.transport.netty.internal.CloseHandler.forNonPipelined;
 import static java.util.Objects.requireNonNull;
@@ -117,7 +118,8 @@ final class H2ServerParentConnectionContext extends H2ParentConnectionContext im
                 final ChannelPipeline pipeline;
                 try {
                     delayedCancellable = new DelayedCancellable();
-                    KeepAliveManager keepAliveManager = new KeepAliveManager(channel, h2ServerConfig.keepAlivePolicy());
+                    KeepAliveManager keepAliveManager = new KeepAliveManager(channel,
+                            h2ServerConfig.keepAlivePolicy(), h2ServerConfig.pingRttInterval());
                     final FlushStrategy parentFlushStrategy = config.tcpConfig().flushStrategy();
                     final BufferAllocator allocator = httpExecutionContext.bufferAllocator();
                     final Executor executor = httpExecutionContext.executor();
@@ -140,9 +142,15 @@ final class H2ServerParentConnectionContext extends H2ParentConnectionContext im
 
                     new H2ServerParentChannelInitializer(h2ServerConfig,
                         new io.netty.channel.ChannelInitializer<Http2StreamChannel>() {
+                            private int streamCount;
+
                             @Override
                             protected void initChannel(final Http2StreamChannel streamChannel) {
                                 connection.trackActiveStream(streamChannel);
+                                if (++streamCount == config.maxRequestsPerConnection()) {
+                                    // Send GOAWAY, streams opened before it is received are still processed.
+                                    connection.closeAsyncGracefully().subscribe();
+                                }
                                 StreamObserver streamObserver =
                                         parentChannelInitializer.multiplexedObserver.onNewStream();
 
@@ -174,9 +182,11 @@ final class H2ServerParentConnectionContext extends H2ParentConnectionContext im
                                 // ServiceTalk HTTP service handler
                                 new NettyHttpServerConnection(streamConnection, service, executionStrategy, HTTP_2_0,
                                         h2ServerConfig.headersFactory(), drainRequestPayloadBody,
-                                        config.allowDropTrailersReadFromTransport()).process(false);
+                                        config.allowDropTrailersReadFromTransport(), 1, Integer.MAX_VALUE, 0)
+                                        .process(false);
                             }
                     }).init(channel);
+                    scheduleMaxConnectionAge(channel, config, () -> connection.closeAsyncGracefully().subscribe());
                 } catch (Throwable cause) {
                     ChannelCloseUtils.close(channel, cause);
                     deliverErrorFromSource(subscriber, cause);
@@ -229,6 +239,11 @@ final class H2ServerParentConnectionContext extends H2ParentConnectionContext im
             }
         }
 
+        @Override
+        void pingAcknowledged(final long roundTripTimeNanos) {
+            multiplexedObserver.pingAcknowledged(roundTripTimeNanos);
+        }
+
         @Override
         boolean ackSettings(final ChannelHandlerContext ctx, final Http2SettingsFrame settingsFrame) {
             // Server side doesn't asynchronously need to ACK the settings because there is no need to coordinate
@@ -57,6 +57,10 @@ enum HttpKeepAlive {
         return responseKeepAlive(metaData).shouldCloseConnection;
     }
 
+    boolean shouldCloseConnection() {
+        return shouldCloseConnection;
+    }
+
     void addConnectionHeaderIfNecessary(final StreamingHttpResponse response) {
         if (shouldAddConnectionHeader) {
             if (shouldCloseConnection) {
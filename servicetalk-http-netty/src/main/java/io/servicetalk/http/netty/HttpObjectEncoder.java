@@ -40,6 +40,7 @@ import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
 import io.netty.util.concurrent.PromiseCombiner;
 
 import java.util.Map;
@@ -56,12 +57,15 @@ import static io.netty.handler.codec.http.HttpConstants.LF;
 import static io.netty.handler.codec.http.HttpConstants.SP;
 import static io.netty.util.internal.StringUtil.simpleClassName;
 import static io.servicetalk.buffer.api.CharSequences.unwrapBuffer;
+import static io.servicetalk.buffer.netty.BufferUtils.isPooled;
 import static io.servicetalk.buffer.netty.BufferUtils.newBufferFrom;
+import static io.servicetalk.buffer.netty.BufferUtils.release;
 import static io.servicetalk.buffer.netty.BufferUtils.toByteBufNoThrow;
 import static io.servicetalk.http.api.HeaderUtils.isTransferEncodingChunked;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
 import static io.servicetalk.http.netty.HttpKeepAlive.shouldClose;
+import static io.servicetalk.transport.netty.internal.FileRegionUtils.toFileRegionOrNull;
 import static java.lang.Long.toHexString;
 import static java.lang.Math.max;
 import static java.nio.charset.StandardCharsets.US_ASCII;
@@ -159,7 +163,8 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
                 //
                 // See https://github.com/netty/netty/issues/2983 for more information.
                 // We can directly write EMPTY_BUFFER here because there is no need to worry about the buffer being
-                // already released.
+                // already released. Pooled buffers are owned by the transport once written, so release it instead.
+                release(stBuffer);
                 ctx.write(EMPTY_BUFFER, promise);
             } else {
                 switch (state) {
@@ -168,7 +173,7 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
                     case ST_CONTENT_NON_CHUNK:
                         final long contentLength = stBuffer.readableBytes();
                         if (contentLength > 0) {
-                            ctx.write(encodeAndRetain(stBuffer), promise);
+                            ctx.write(encodeAndRetain(ctx, stBuffer), promise);
                             break;
                         }
 
@@ -179,6 +184,7 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
                         // issues these will be propagated as the caller of the encodeAndRetain(...) method will
                         // release the original buffer. Writing an empty buffer will not actually write anything on
                         // the wire, so if there is a user error with msg it will not be visible externally
+                        release(stBuffer);
                         ctx.write(EMPTY_BUFFER, promise);
                         break;
                     case ST_CONTENT_CHUNK:
@@ -272,13 +278,13 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
                 throw e;
             }
             promiseCombiner.add(ctx.write(buf));
-            promiseCombiner.add(ctx.write(encodeAndRetain(msg)));
+            promiseCombiner.add(ctx.write(encodeAndRetain(ctx, msg)));
             promiseCombiner.add(ctx.write(CRLF_BUF.duplicate()));
         } else {
             assert contentLength == 0;
             // Need to produce some output otherwise an
             // IllegalStateException will be thrown
-            promiseCombiner.add(ctx.write(encodeAndRetain(msg)));
+            promiseCombiner.add(ctx.write(encodeAndRetain(ctx, msg)));
         }
     }
 
@@ -352,11 +358,19 @@ abstract class HttpObjectEncoder<T extends HttpMetaData> extends ChannelOutbound
         }
     }
 
+    private static Object encodeAndRetain(ChannelHandlerContext ctx, Buffer msg) {
+        // Plaintext HTTP/1.x writes the content of a FileRegionBuffer with sendfile, other connections fall back to
+        // its memory-mapped content.
+        final FileRegion fileRegion = toFileRegionOrNull(ctx.channel(), msg);
+        return fileRegion != null ? fileRegion : encodeAndRetain(msg);
+    }
+
     static ByteBuf encodeAndRetain(Buffer msg) {
         // We still want to retain the objects we encode because otherwise folks may hold on to references of objects
-        // with a 0 reference count and get an IllegalReferenceCountException.
-        // TODO(scott): add support for file region
-        return toByteBuf(msg).retain();
+        // with a 0 reference count and get an IllegalReferenceCountException. Pooled buffers are the exception: their
+        // ownership is transferred to the transport, which releases them back to the pool after the write completes.
+        final ByteBuf byteBuf = toByteBuf(msg);
+        return isPooled(byteBuf) ? byteBuf : byteBuf.retain();
     }
 
     private static ByteBuf toByteBuf(Buffer buffer) {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,16 +18,24 @@ package io.servicetalk.http.netty;
 import io.servicetalk.tcp.netty.internal.TcpServerConfig;
 import io.servicetalk.transport.api.ServerSslConfig;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import javax.annotation.Nullable;
 
+import static io.servicetalk.utils.internal.DurationUtils.ensurePositive;
+import static io.servicetalk.utils.internal.DurationUtils.toNanos;
+import static java.util.Objects.requireNonNull;
+
 final class HttpServerConfig {
 
     private final TcpServerConfig tcpConfig;
     private final HttpConfig httpConfig;
+    private long maxConnectionAgeNanos;
+    private long maxConnectionAgeJitterNanos;
+    private int maxRequestsPerConnection;
 
     HttpServerConfig() {
         tcpConfig = new TcpServerConfig();
@@ -42,6 +50,34 @@ final class HttpServerConfig {
         return httpConfig;
     }
 
+    long maxConnectionAgeNanos() {
+        return maxConnectionAgeNanos;
+    }
+
+    long maxConnectionAgeJitterNanos() {
+        return maxConnectionAgeJitterNanos;
+    }
+
+    void maxConnectionAge(final Duration maxAge, final Duration jitter) {
+        ensurePositive(maxAge, "maxAge");
+        if (requireNonNull(jitter, "jitter").isNegative() || jitter.compareTo(maxAge) >= 0) {
+            throw new IllegalArgumentException("jitter: " + jitter + " (expected >= 0 and < maxAge: " + maxAge + ')');
+        }
+        maxConnectionAgeNanos = toNanos(maxAge);
+        maxConnectionAgeJitterNanos = toNanos(jitter);
+    }
+
+    int maxRequestsPerConnection() {
+        return maxRequestsPerConnection;
+    }
+
+    void maxRequestsPerConnection(final int maxRequests) {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests: " + maxRequests + " (expected > 0)");
+        }
+        maxRequestsPerConnection = maxRequests;
+    }
+
     ReadOnlyHttpServerConfig asReadOnly() {
         applySslConfigOverrides();
         final ReadOnlyHttpServerConfig roConfig = new ReadOnlyHttpServerConfig(this);
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2020-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import io.netty.util.concurrent.GenericFutureListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -38,6 +39,7 @@ import javax.annotation.Nullable;
 import static io.netty.handler.codec.http2.Http2Error.NO_ERROR;
 import static io.servicetalk.http.netty.H2KeepAlivePolicies.DEFAULT_ACK_TIMEOUT;
 import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
@@ -49,6 +51,7 @@ final class KeepAliveManager {
             AtomicIntegerFieldUpdater.newUpdater(KeepAliveManager.class, "activeChildChannels");
     private static final long GRACEFUL_CLOSE_PING_CONTENT = ThreadLocalRandom.current().nextLong();
     private static final long KEEP_ALIVE_PING_CONTENT = ThreadLocalRandom.current().nextLong();
+    private static final long NO_PING_PENDING = -1;
     private static final Object CLOSED = new Object();
     private static final Object GRACEFUL_CLOSE_START = new Object();
     private static final Object GRACEFUL_CLOSE_SECOND_GO_AWAY_SENT = new Object();
@@ -56,10 +59,13 @@ final class KeepAliveManager {
     private static final Object KEEP_ALIVE_ACK_TIMEDOUT = new Object();
 
     private volatile int activeChildChannels;
+    private volatile long roundTripTimeNanos = -1;
 
     private final Channel channel;
     private final long pingAckTimeoutNanos;
+    private final long rttPingIntervalNanos;
     private final boolean disallowKeepAliveWithoutActiveStreams;
+    private final boolean rttPingWithoutActiveStreams;
     private final Scheduler scheduler;
 
     // below state should only be accessed from eventloop
@@ -89,10 +95,16 @@ final class KeepAliveManager {
     @Nullable
     private Object keepAliveState;
     @Nullable
+    private Future<?> rttPingFuture;
+    private long keepAlivePingSentNanos = NO_PING_PENDING;
+    private long rttPingSentNanos = NO_PING_PENDING;
+    private long rttPingContent;
+    @Nullable
     private final GenericFutureListener<Future<? super Void>> pingWriteCompletionListener;
 
-    KeepAliveManager(final Channel channel, @Nullable final KeepAlivePolicy keepAlivePolicy) {
-        this(channel, keepAlivePolicy, (task, delay, unit) ->
+    KeepAliveManager(final Channel channel, @Nullable final KeepAlivePolicy keepAlivePolicy,
+                     @Nullable final Duration rttPingInterval) {
+        this(channel, keepAlivePolicy, rttPingInterval, (task, delay, unit) ->
                 channel.eventLoop().schedule(task, delay, unit),
                 (ch, idlenessThresholdSeconds, onIdle) -> ch.pipeline().addLast(
                         new IdleStateHandler(idlenessThresholdSeconds, idlenessThresholdSeconds, 0) {
@@ -104,11 +116,14 @@ final class KeepAliveManager {
     }
 
     KeepAliveManager(final Channel channel, @Nullable final KeepAlivePolicy keepAlivePolicy,
-                     final Scheduler scheduler, final IdlenessDetector idlenessDetector) {
+                     @Nullable final Duration rttPingInterval, final Scheduler scheduler,
+                     final IdlenessDetector idlenessDetector) {
         this.channel = channel;
         this.scheduler = scheduler;
+        rttPingIntervalNanos = rttPingInterval == null ? 0 : rttPingInterval.toNanos();
         if (keepAlivePolicy != null) {
             disallowKeepAliveWithoutActiveStreams = !keepAlivePolicy.withoutActiveStreams();
+            rttPingWithoutActiveStreams = keepAlivePolicy.withoutActiveStreams();
             pingAckTimeoutNanos = keepAlivePolicy.ackTimeout().toNanos();
             pingWriteCompletionListener = future -> {
                 if (future.isSuccess() && keepAliveState == KEEP_ALIVE_ACK_PENDING) {
@@ -134,12 +149,30 @@ final class KeepAliveManager {
             idlenessDetector.configure(channel, idleInSeconds, this::channelIdle);
         } else {
             disallowKeepAliveWithoutActiveStreams = false;
+            rttPingWithoutActiveStreams = false;
             pingAckTimeoutNanos = DEFAULT_ACK_TIMEOUT.toNanos();
             pingWriteCompletionListener = null;
         }
+        if (rttPingInterval != null) {
+            // Scheduled last, so the task sees all fields assigned. The Future is only accessed from the eventloop,
+            // which this constructor may not run on.
+            final EventLoop eventLoop = channel.eventLoop();
+            if (eventLoop.inEventLoop()) {
+                scheduleRttPing();
+            } else {
+                eventLoop.execute(this::scheduleRttPing);
+            }
+        }
     }
 
-    void pingReceived(final Http2PingFrame pingFrame) {
+    /**
+     * Process a received PING frame.
+     *
+     * @param pingFrame the received {@link Http2PingFrame}.
+     * @return the round-trip time in nanoseconds if the passed {@code pingFrame} acknowledges a PING sent by this
+     * manager that was timed, {@code -1} otherwise.
+     */
+    long pingReceived(final Http2PingFrame pingFrame) {
         assert channel.eventLoop().inEventLoop();
 
         if (pingFrame.ack()) {
@@ -151,11 +184,29 @@ final class KeepAliveManager {
             } else if (pingAckContent == KEEP_ALIVE_PING_CONTENT) {
                 cancelIfStateIsAFuture(keepAliveState);
                 keepAliveState = null;
+                final long sentNanos = keepAlivePingSentNanos;
+                keepAlivePingSentNanos = NO_PING_PENDING;
+                return recordRoundTripTime(sentNanos);
+            } else if (rttPingSentNanos != NO_PING_PENDING && pingAckContent == rttPingContent) {
+                final long sentNanos = rttPingSentNanos;
+                rttPingSentNanos = NO_PING_PENDING;
+                return recordRoundTripTime(sentNanos);
             }
         } else {
             // Send an ack for the received ping
             channel.writeAndFlush(new DefaultHttp2PingFrame(pingFrame.content(), true));
         }
+        return -1;
+    }
+
+    /**
+     * Returns the most recently measured PING round-trip time.
+     *
+     * @return the most recently measured PING round-trip time in nanoseconds, or {@code -1} if no PING has been
+     * acknowledged yet.
+     */
+    long roundTripTimeNanos() {
+        return roundTripTimeNanos;
     }
 
     void trackActiveStream(final Channel streamChannel) {
@@ -173,8 +224,10 @@ final class KeepAliveManager {
 
         cancelIfStateIsAFuture(gracefulCloseState);
         cancelIfStateIsAFuture(keepAliveState);
+        cancelIfStateIsAFuture(rttPingFuture);
         gracefulCloseState = CLOSED;
         keepAliveState = CLOSED;
+        rttPingFuture = null;
     }
 
     void initiateGracefulClose(final Runnable whenInitiated) {
@@ -195,6 +248,7 @@ final class KeepAliveManager {
         }
         // idleness detected for the first time, send a ping to detect closure, if any.
         keepAliveState = KEEP_ALIVE_ACK_PENDING;
+        keepAlivePingSentNanos = nanoTime();
         channel.writeAndFlush(new DefaultHttp2PingFrame(KEEP_ALIVE_PING_CONTENT, false))
                 .addListener(pingWriteCompletionListener);
     }
@@ -232,6 +286,48 @@ final class KeepAliveManager {
         void configure(Channel channel, int idlenessThresholdSeconds, Runnable onIdle);
     }
 
+    private void scheduleRttPing() {
+        assert channel.eventLoop().inEventLoop();
+
+        if (gracefulCloseState != null) {
+            // Stop sampling once the connection is closing or closed.
+            return;
+        }
+        rttPingFuture = scheduler.afterDuration(this::sendRttPing, rttPingIntervalNanos, NANOSECONDS);
+    }
+
+    private void sendRttPing() {
+        assert channel.eventLoop().inEventLoop();
+
+        if (gracefulCloseState != null) {
+            return;
+        }
+        // PINGs on an idle connection would reset the idleness detection of both peers, so the connection would never
+        // be closed for being idle. Only sample idle connections if keep-alive PINGs are allowed on them anyway.
+        if (activeChildChannels == 0 && !rttPingWithoutActiveStreams) {
+            scheduleRttPing();
+            return;
+        }
+        // Skip this sample if the previous PING is still unacknowledged, unless its ack timed out. Each PING carries
+        // new content, so a late ack for an expired PING is not mistaken for an ack of the next one.
+        final long now = nanoTime();
+        if (rttPingSentNanos == NO_PING_PENDING || now - rttPingSentNanos >= pingAckTimeoutNanos) {
+            rttPingSentNanos = now;
+            rttPingContent = ThreadLocalRandom.current().nextLong();
+            channel.writeAndFlush(new DefaultHttp2PingFrame(rttPingContent, false));
+        }
+        scheduleRttPing();
+    }
+
+    private long recordRoundTripTime(final long sentNanos) {
+        if (sentNanos == NO_PING_PENDING) {
+            return -1;
+        }
+        final long rttNanos = nanoTime() - sentNanos;
+        roundTripTimeNanos = rttNanos;
+        return rttNanos;
+    }
+
     private void doCloseAsyncGracefully0(final Runnable whenInitiated) {
         assert channel.eventLoop().inEventLoop();
 
@@ -308,8 +404,8 @@ final class KeepAliveManager {
             try {
                 ((Future<?>) state).cancel(true);
             } catch (Throwable t) {
-                LOGGER.debug("Failed to cancel {} scheduled future.",
-                        state == keepAliveState ? "keep-alive" : "graceful close", t);
+                LOGGER.debug("Failed to cancel {} scheduled future.", state == keepAliveState ? "keep-alive" :
+                        state == rttPingFuture ? "round-trip time PING" : "graceful close", t);
             }
         }
     }
@@ -18,6 +18,7 @@ package io.servicetalk.http.netty;
 import io.servicetalk.concurrent.Cancellable;
 import io.servicetalk.concurrent.CompletableSource;
 import io.servicetalk.concurrent.CompletableSource.Processor;
+import io.servicetalk.concurrent.PublisherSource;
 import io.servicetalk.concurrent.PublisherSource.Subscriber;
 import io.servicetalk.concurrent.PublisherSource.Subscription;
 import io.servicetalk.concurrent.api.Completable;
@@ -27,6 +28,7 @@ import io.servicetalk.concurrent.api.Processors;
 import io.servicetalk.concurrent.api.Publisher;
 import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.concurrent.api.internal.SubscribableCompletable;
+import io.servicetalk.concurrent.internal.DelayedSubscription;
 import io.servicetalk.concurrent.internal.DuplicateSubscribeException;
 import io.servicetalk.concurrent.internal.RejectedSubscribeError;
 import io.servicetalk.concurrent.internal.TerminalNotification;
@@ -65,6 +67,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.DecoderException;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,17 +78,21 @@ import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLSession;
 
 import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static io.servicetalk.buffer.netty.BufferUtils.unpooledAllocator;
 import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
 import static io.servicetalk.concurrent.api.AsyncCloseables.toListenableAsyncCloseable;
 import static io.servicetalk.concurrent.api.Completable.completed;
 import static io.servicetalk.concurrent.api.Completable.defer;
+import static io.servicetalk.concurrent.api.Processors.newPublisherProcessor;
 import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.http.api.HttpHeaderNames.CONTENT_LENGTH;
 import static io.servicetalk.http.api.HttpHeaderValues.ZERO;
@@ -97,11 +104,14 @@ import static io.servicetalk.http.netty.HeaderUtils.addResponseTransferEncodingI
 import static io.servicetalk.http.netty.HeaderUtils.canAddResponseContentLength;
 import static io.servicetalk.http.netty.HeaderUtils.setResponseContentLength;
 import static io.servicetalk.http.netty.HttpDebugUtils.showPipeline;
+import static io.servicetalk.http.netty.HttpKeepAlive.CLOSE_ADD_HEADER;
+import static io.servicetalk.http.netty.PrefetchedResponsePublisher.prefetch;
 import static io.servicetalk.transport.netty.internal.CloseHandler.CloseEvent.CHANNEL_CLOSED_INBOUND;
 import static io.servicetalk.transport.netty.internal.CloseHandler.forPipelinedRequestResponse;
 import static io.servicetalk.transport.netty.internal.SplittingFlushStrategy.FlushBoundaryProvider.FlushBoundary.End;
 import static io.servicetalk.transport.netty.internal.SplittingFlushStrategy.FlushBoundaryProvider.FlushBoundary.InProgress;
 import static io.servicetalk.transport.netty.internal.SplittingFlushStrategy.FlushBoundaryProvider.FlushBoundary.Start;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 final class NettyHttpServer {
 
@@ -159,9 +169,33 @@ final class NettyHttpServer {
                 closeHandler, config.tcpConfig().flushStrategy(), config.tcpConfig().idleTimeoutMs(),
                 initializer.andThen(getChannelInitializer(getByteBufAllocator(httpExecutionContext.bufferAllocator()),
                         h1Config, closeHandler)), httpExecutionContext.executionStrategy(), HTTP_1_1, observer, false)
-                .map(conn -> new NettyHttpServerConnection(conn, service, httpExecutionContext.executionStrategy(),
-                        HTTP_1_1, h1Config.headersFactory(), drainRequestPayloadBody,
-                        config.allowDropTrailersReadFromTransport())), HTTP_1_1, channel);
+                .map(conn -> {
+                    final NettyHttpServerConnection serverConnection = new NettyHttpServerConnection(conn, service,
+                            httpExecutionContext.executionStrategy(), HTTP_1_1, h1Config.headersFactory(),
+                            drainRequestPayloadBody, config.allowDropTrailersReadFromTransport(),
+                            h1Config.maxConcurrentPipelinedRequests(), h1Config.maxBufferedPipelinedResponseBytes(),
+                            config.maxRequestsPerConnection());
+                    scheduleMaxConnectionAge(channel, config, serverConnection::maxConnectionAgeReached);
+                    return serverConnection;
+                }), HTTP_1_1, channel);
+    }
+
+    /**
+     * Schedules {@code onMaxAge} to run once the connection for the passed {@link Channel} reached its maximum age, if
+     * configured.
+     *
+     * @param channel the {@link Channel} of the connection
+     * @param config the server configuration
+     * @param onMaxAge {@link Runnable} to run on the event loop of the {@link Channel} when it reached its maximum age
+     */
+    static void scheduleMaxConnectionAge(final Channel channel, final ReadOnlyHttpServerConfig config,
+                                         final Runnable onMaxAge) {
+        final long maxAgeNanos = config.nextMaxConnectionAgeNanos();
+        if (maxAgeNanos <= 0) {
+            return;
+        }
+        final ScheduledFuture<?> maxAgeFuture = channel.eventLoop().schedule(onMaxAge, maxAgeNanos, NANOSECONDS);
+        channel.closeFuture().addListener(f -> maxAgeFuture.cancel(false));
     }
 
     private static ChannelInitializer getChannelInitializer(final ByteBufAllocator alloc, final H1ProtocolConfig config,
@@ -223,6 +257,9 @@ final class NettyHttpServer {
 
     static final class NettyHttpServerConnection extends HttpServiceContext implements NettyConnectionContext {
         private static final Logger LOGGER = LoggerFactory.getLogger(NettyHttpServerConnection.class);
+        private static final int CLOSING = -1;
+        private static final AtomicIntegerFieldUpdater<NettyHttpServerConnection> requestsInFlightUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(NettyHttpServerConnection.class, "requestsInFlight");
         private final StreamingHttpService service;
         private final HttpExecutionStrategy strategy;
         private final NettyConnection<Object, Object> connection;
@@ -231,6 +268,19 @@ final class NettyHttpServer {
         private final SplittingFlushStrategy splittingFlushStrategy;
         private final boolean drainRequestPayloadBody;
         private final boolean requireTrailerHeader;
+        private final int maxConcurrentPipelinedRequests;
+        private final int maxBufferedPipelinedResponseBytes;
+        private final int maxRequestsPerConnection;
+        /**
+         * Only accessed while reading requests, which happens sequentially.
+         */
+        private int requestCount;
+        private volatile boolean maxConnectionAgeReached;
+        /**
+         * Number of requests that were read and whose response is not yet done, or {@link #CLOSING} once the connection
+         * is closed because it reached its maximum age while no request was in flight.
+         */
+        private volatile int requestsInFlight;
 
         NettyHttpServerConnection(final NettyConnection<Object, Object> connection,
                                   final StreamingHttpService service,
@@ -238,7 +288,10 @@ final class NettyHttpServer {
                                   final HttpProtocolVersion version,
                                   final HttpHeadersFactory headersFactory,
                                   final boolean drainRequestPayloadBody,
-                                  final boolean requireTrailerHeader) {
+                                  final boolean requireTrailerHeader,
+                                  final int maxConcurrentPipelinedRequests,
+                                  final int maxBufferedPipelinedResponseBytes,
+                                  final int maxRequestsPerConnection) {
             super(headersFactory,
                     new DefaultHttpResponseFactory(headersFactory, connection.executionContext().bufferAllocator(),
                             version),
@@ -266,6 +319,57 @@ final class NettyHttpServer {
             connection.updateFlushStrategy((current, isCurrentOriginal) -> splittingFlushStrategy);
             this.drainRequestPayloadBody = drainRequestPayloadBody;
             this.requireTrailerHeader = requireTrailerHeader;
+            this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
+            this.maxBufferedPipelinedResponseBytes = maxBufferedPipelinedResponseBytes;
+            this.maxRequestsPerConnection = maxRequestsPerConnection;
+        }
+
+        void maxConnectionAgeReached() {
+            maxConnectionAgeReached = true;
+            // An idle connection may never see another request so it is closed right away, a busy one is closed once
+            // its requests in flight are done.
+            closeIfIdleAndMaxAgeReached();
+        }
+
+        private void closeIfIdleAndMaxAgeReached() {
+            if (maxConnectionAgeReached && requestsInFlightUpdater.compareAndSet(this, 0, CLOSING)) {
+                connection.closeAsyncGracefully().subscribe();
+            }
+        }
+
+        private void requestStarted() {
+            for (;;) {
+                final int inFlight = requestsInFlight;
+                if (inFlight == CLOSING || requestsInFlightUpdater.compareAndSet(this, inFlight, inFlight + 1)) {
+                    return;
+                }
+            }
+        }
+
+        private void requestFinished() {
+            for (;;) {
+                final int inFlight = requestsInFlight;
+                if (inFlight == CLOSING) {
+                    return;
+                }
+                if (requestsInFlightUpdater.compareAndSet(this, inFlight, inFlight - 1)) {
+                    if (inFlight == 1) {
+                        closeIfIdleAndMaxAgeReached();
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Determines if the connection should be closed after the response to the request that was just read, because
+         * it reached its maximum age or the maximum number of requests.
+         *
+         * @return {@code true} if the connection should be closed after the response to the current request
+         */
+        private boolean closeAfterCurrentRequest() {
+            return maxConnectionAgeReached ||
+                    (maxRequestsPerConnection > 0 && ++requestCount >= maxRequestsPerConnection);
         }
 
         void process(final boolean handleMultipleRequests) {
@@ -273,8 +377,8 @@ final class NettyHttpServer {
                     connection.read().liftSyncToSingle(new SpliceFlatStreamToMetaSingle<>(
                             (HttpRequestMetaData meta, Publisher<Object> payload) ->
                                     newTransportRequest(meta.method(), meta.requestTarget(), meta.version(),
-                                            meta.headers(), executionContext().bufferAllocator(), payload,
-                                            requireTrailerHeader, headersFactory)));
+                                            meta.headers(), unpooledAllocator(executionContext().bufferAllocator()),
+                                            payload, requireTrailerHeader, headersFactory)));
             toSource(handleRequestAndWriteResponse(requestSingle, handleMultipleRequests))
                     .subscribe(new ErrorLoggingHttpSubscriber());
         }
@@ -291,81 +395,162 @@ final class NettyHttpServer {
 
         private Completable handleRequestAndWriteResponse(final Single<StreamingHttpRequest> requestSingle,
                                                           final boolean handleMultipleRequests) {
+            if (handleMultipleRequests && maxConcurrentPipelinedRequests > 1) {
+                return connection.write(handleConcurrentPipelinedRequests(requestSingle));
+            }
             final Publisher<Object> responseObjectPublisher = requestSingle.flatMapPublisher(rawRequest -> {
                 // We transform the request and delay the completion of the result flattened stream to avoid
                 // resubscribing to the NettyChannelPublisher before the previous subscriber has terminated. Otherwise
                 // we may attempt to do duplicate subscribe on NettyChannelPublisher, which will result in a connection
                 // closure.
+                requestStarted();
                 final SingleSubscriberProcessor requestCompletion = new SingleSubscriberProcessor();
-                final AtomicBoolean payloadSubscribed = drainRequestPayloadBody ? new AtomicBoolean() : null;
-                final StreamingHttpRequest request = rawRequest.transformMessageBody(
-                        // Cancellation is assumed to close the connection, or be ignored if this Subscriber has already
-                        // terminated. That means we don't need to trigger the processor as completed because we don't
-                        // care about processing more requests.
-                        payload -> payload.afterSubscriber(() -> {
-                            if (drainRequestPayloadBody) {
-                                payloadSubscribed.set(true);
-                            }
-                            return new Subscriber<Object>() {
-                                @Override
-                                public void onSubscribe(final Subscription s) {
-                                }
-
-                                @Override
-                                public void onNext(final Object obj) {
-                                }
+                return handleRequest(rawRequest, keepAlive(rawRequest), requestCompletion, true)
+                        .concat(requestCompletion);
+            });
+            return connection.write(handleMultipleRequests ? responseObjectPublisher.repeat(val -> true) :
+                    responseObjectPublisher);
+        }
 
-                                @Override
-                                public void onError(final Throwable t) {
-                                    // After the response payload has terminated, we may attempt to subscribe to the
-                                    // request payload and drain/discard the content (in case the user forgets to
-                                    // consume the stream). However this means we may introduce a duplicate subscribe
-                                    // and this doesn't mean the request content has not terminated.
-                                    if (!drainRequestPayloadBody || !(t instanceof RejectedSubscribeError)) {
-                                        requestCompletion.onComplete();
+        private Publisher<Object> handleConcurrentPipelinedRequests(final Single<StreamingHttpRequest> requestSingle) {
+            final AtomicBoolean closeRequested = new AtomicBoolean();
+            final Publisher<Publisher<Object>> responses = requestSingle.flatMapPublisher(rawRequest -> {
+                // Reading of the next request is still delayed until the payload body of this request has been
+                // consumed, but the service is invoked right away and its response is buffered until all earlier
+                // responses have been written.
+                requestStarted();
+                final HttpKeepAlive keepAlive = keepAlive(rawRequest);
+                // The connection is closed after the response to this request, so requests pipelined after it are
+                // neither read nor dispatched to the service.
+                closeRequested.set(keepAlive.shouldCloseConnection());
+                final SingleSubscriberProcessor requestCompletion = new SingleSubscriberProcessor();
+                final Publisher<Object> response = prefetch(handleRequest(rawRequest, keepAlive, requestCompletion,
+                        false)
+                        // A response that never gets written must not stay subscribed after the connection closed.
+                        .takeUntil(connection.onClose()), maxBufferedPipelinedResponseBytes);
+                return Publisher.<Publisher<Object>>from(response).concat(requestCompletion);
+            }).repeat(val -> !closeRequested.get());
+
+            return Publisher.defer(() -> {
+                // Responses are requested ahead of the writes to dispatch up to maxConcurrentPipelinedRequests at a
+                // time, and are then written one after another in the order of the requests.
+                final PublisherSource.Processor<Publisher<Object>, Publisher<Object>> dispatched =
+                        newPublisherProcessor(maxConcurrentPipelinedRequests + 1);
+                final DelayedSubscription requests = new DelayedSubscription();
+                toSource(responses).subscribe(new Subscriber<Publisher<Object>>() {
+                    @Override
+                    public void onSubscribe(final Subscription subscription) {
+                        requests.delayedSubscription(subscription);
+                    }
+
+                    @Override
+                    public void onNext(@Nullable final Publisher<Object> response) {
+                        dispatched.onNext(response);
+                    }
+
+                    @Override
+                    public void onError(final Throwable t) {
+                        // Deliver the error only after the responses to all requests read so far have been written.
+                        dispatched.onNext(Publisher.failed(t));
+                        dispatched.onComplete();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        dispatched.onComplete();
+                    }
+                });
+                requests.request(maxConcurrentPipelinedRequests);
+                return fromSource(dispatched)
+                        .flatMapMerge(response -> response
+                                .beforeOnNext(item -> {
+                                    if (item instanceof HttpResponseMetaData) {
+                                        updateFlushStrategyForApi((HttpResponseMetaData) item);
                                     }
-                                }
+                                })
+                                .afterFinally(() -> requests.request(1)), 1)
+                        .afterFinally(requests::cancel)
+                        .subscribeShareContext();
+            });
+        }
+
+        private void updateFlushStrategyForApi(final HttpResponseMetaData response) {
+            final FlushStrategy flushStrategy = determineFlushStrategyForApi(response);
+            if (flushStrategy != null) {
+                splittingFlushStrategy.updateFlushStrategy((prev, isOriginal) -> isOriginal ? flushStrategy : prev, 1);
+            }
+        }
+
+        private HttpKeepAlive keepAlive(final StreamingHttpRequest request) {
+            return closeAfterCurrentRequest() ? CLOSE_ADD_HEADER : HttpKeepAlive.responseKeepAlive(request);
+        }
+
+        private Publisher<Object> handleRequest(final StreamingHttpRequest rawRequest,
+                                                final HttpKeepAlive keepAlive,
+                                                final SingleSubscriberProcessor requestCompletion,
+                                                final boolean updateFlushStrategy) {
+            final AtomicBoolean payloadSubscribed = drainRequestPayloadBody ? new AtomicBoolean() : null;
+            final StreamingHttpRequest request = rawRequest.transformMessageBody(
+                    // Cancellation is assumed to close the connection, or be ignored if this Subscriber has already
+                    // terminated. That means we don't need to trigger the processor as completed because we don't
+                    // care about processing more requests.
+                    payload -> payload.afterSubscriber(() -> {
+                        if (drainRequestPayloadBody) {
+                            payloadSubscribed.set(true);
+                        }
+                        return new Subscriber<Object>() {
+                            @Override
+                            public void onSubscribe(final Subscription s) {
+                            }
 
-                                @Override
-                                public void onComplete() {
+                            @Override
+                            public void onNext(final Object obj) {
+                            }
+
+                            @Override
+                            public void onError(final Throwable t) {
+                                // After the response payload has terminated, we may attempt to subscribe to the
+                                // request payload and drain/discard the content (in case the user forgets to
+                                // consume the stream). However this means we may introduce a duplicate subscribe
+                                // and this doesn't mean the request content has not terminated.
+                                if (!drainRequestPayloadBody || !(t instanceof RejectedSubscribeError)) {
                                     requestCompletion.onComplete();
                                 }
-                            };
-                        }));
-
-                final HttpRequestMethod requestMethod = request.method();
-                final HttpKeepAlive keepAlive = HttpKeepAlive.responseKeepAlive(request);
-                Publisher<Object> responsePublisher = strategy
-                        .invokeService(executionContext().executor(), request,
-                                req -> service.handle(NettyHttpServerConnection.this, req, streamingResponseFactory())
-                                        .onErrorReturn(cause -> newErrorResponse(cause, executionContext.executor(),
-                                                        req.version(), keepAlive))
-                                        .flatMapPublisher(response -> {
-                                            keepAlive.addConnectionHeaderIfNecessary(response);
-
-                                            final FlushStrategy flushStrategy = determineFlushStrategyForApi(response);
-                                            if (flushStrategy != null) {
-                                                splittingFlushStrategy.updateFlushStrategy(
-                                                        (prev, isOriginal) -> isOriginal ? flushStrategy : prev, 1);
-                                            }
-                                            return handleResponse(requestMethod, response);
-                                        }),
-                                (cause, executor) -> from(newErrorResponse(cause, executor,
-                                        request.version(), keepAlive), EmptyHttpHeaders.INSTANCE));
-
-                if (drainRequestPayloadBody) {
-                    responsePublisher = responsePublisher.concat(defer(() -> payloadSubscribed.get() ?
-                                    completed() : request.messageBody().ignoreElements()
-                            // Discarding the request payload body is an operation which should not impact the state of
-                            // request/response processing. It's appropriate to recover from any error here.
-                            // ST may introduce RejectedSubscribeError if user already consumed the request payload body
-                            .onErrorComplete()));
-                }
+                            }
 
-                return responsePublisher.concat(requestCompletion);
-            });
-            return connection.write(handleMultipleRequests ? responseObjectPublisher.repeat(val -> true) :
-                    responseObjectPublisher);
+                            @Override
+                            public void onComplete() {
+                                requestCompletion.onComplete();
+                            }
+                        };
+                    }));
+
+            final HttpRequestMethod requestMethod = request.method();
+            Publisher<Object> responsePublisher = strategy
+                    .invokeService(executionContext().executor(), request,
+                            req -> service.handle(NettyHttpServerConnection.this, req, streamingResponseFactory())
+                                    .onErrorReturn(cause -> newErrorResponse(cause, executionContext.executor(),
+                                                    req.version(), keepAlive))
+                                    .flatMapPublisher(response -> {
+                                        keepAlive.addConnectionHeaderIfNecessary(response);
+                                        if (updateFlushStrategy) {
+                                            updateFlushStrategyForApi(response);
+                                        }
+                                        return handleResponse(requestMethod, response);
+                                    }),
+                            (cause, executor) -> from(newErrorResponse(cause, executor,
+                                    request.version(), keepAlive), EmptyHttpHeaders.INSTANCE));
+
+            if (drainRequestPayloadBody) {
+                responsePublisher = responsePublisher.concat(defer(() -> payloadSubscribed.get() ?
+                                completed() : request.messageBody().ignoreElements()
+                        // Discarding the request payload body is an operation which should not impact the state of
+                        // request/response processing. It's appropriate to recover from any error here.
+                        // ST may introduce RejectedSubscribeError if user already consumed the request payload body
+                        .onErrorComplete()));
+            }
+
+            return responsePublisher.afterFinally(this::requestFinished);
         }
 
         @Nonnull
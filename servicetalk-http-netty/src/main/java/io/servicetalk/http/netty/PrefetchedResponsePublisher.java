@@ -0,0 +1,237 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.PublisherSource.Subscriber;
+import io.servicetalk.concurrent.PublisherSource.Subscription;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.internal.SubscribablePublisher;
+import io.servicetalk.concurrent.internal.DelayedSubscription;
+import io.servicetalk.concurrent.internal.DuplicateSubscribeException;
+import io.servicetalk.concurrent.internal.FlowControlUtils;
+import io.servicetalk.concurrent.internal.TerminalNotification;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.concurrent.internal.ConcurrentUtils.releaseLock;
+import static io.servicetalk.concurrent.internal.ConcurrentUtils.tryAcquireLock;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.deliverErrorFromSource;
+import static io.servicetalk.concurrent.internal.SubscriberUtils.isRequestNValid;
+import static io.servicetalk.concurrent.internal.TerminalNotification.complete;
+import static io.servicetalk.utils.internal.PlatformDependent.newUnboundedSpscQueue;
+
+/**
+ * A {@link Publisher} of a flattened HTTP response that subscribes to the response eagerly and buffers its items until
+ * it is subscribed to itself.
+ * <p>
+ * This allows a pipelined response to be produced while the responses to earlier requests are still being written.
+ * While there is no {@link Subscriber}, items are requested one at a time for as long as the readable bytes of the
+ * buffered {@link Buffer}s are below a configured bound. Once subscribed, buffered items are delivered first and the
+ * demand of the {@link Subscriber} is then passed through to the response.
+ */
+final class PrefetchedResponsePublisher extends SubscribablePublisher<Object> {
+    private static final AtomicIntegerFieldUpdater<PrefetchedResponsePublisher> emittingUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(PrefetchedResponsePublisher.class, "emitting");
+    private static final AtomicReferenceFieldUpdater<PrefetchedResponsePublisher, Subscriber> subscriberUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(PrefetchedResponsePublisher.class, Subscriber.class, "subscriber");
+    private static final AtomicLongFieldUpdater<PrefetchedResponsePublisher> demandUpdater =
+            AtomicLongFieldUpdater.newUpdater(PrefetchedResponsePublisher.class, "demand");
+    private static final AtomicLongFieldUpdater<PrefetchedResponsePublisher> pendingUpdater =
+            AtomicLongFieldUpdater.newUpdater(PrefetchedResponsePublisher.class, "pending");
+    private static final AtomicLongFieldUpdater<PrefetchedResponsePublisher> queuedUpdater =
+            AtomicLongFieldUpdater.newUpdater(PrefetchedResponsePublisher.class, "queued");
+    private static final AtomicLongFieldUpdater<PrefetchedResponsePublisher> bufferedBytesUpdater =
+            AtomicLongFieldUpdater.newUpdater(PrefetchedResponsePublisher.class, "bufferedBytes");
+
+    private final long maxBufferedBytes;
+    private final DelayedSubscription subscription = new DelayedSubscription();
+    /**
+     * Only offered to from the serial {@code onNext} of the response, and only polled within the emitting lock.
+     */
+    private final Queue<Object> items = newUnboundedSpscQueue(4);
+
+    @SuppressWarnings("unused")
+    private volatile int emitting;
+    @Nullable
+    private volatile Subscriber subscriber;
+    /**
+     * {@link Subscriber} that can be emitted to, only set after {@link Subscriber#onSubscribe(Subscription)} returned.
+     */
+    @Nullable
+    private volatile Subscriber<? super Object> target;
+    /**
+     * Items requested by the {@link #target} which have not been emitted yet.
+     */
+    private volatile long demand;
+    /**
+     * Items requested from the response which have not been received yet.
+     */
+    private volatile long pending;
+    /**
+     * Items received from the response which have not been emitted yet.
+     */
+    private volatile long queued;
+    private volatile long bufferedBytes;
+    @Nullable
+    private volatile TerminalNotification terminal;
+    /**
+     * Only accessed within the emitting lock.
+     */
+    private boolean terminated;
+
+    private PrefetchedResponsePublisher(final long maxBufferedBytes) {
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    /**
+     * Subscribes to the passed {@code response} and buffers its items until the returned {@link Publisher} is
+     * subscribed.
+     *
+     * @param response the flattened HTTP response to subscribe to
+     * @param maxBufferedBytes the maximum number of readable bytes to buffer before the returned {@link Publisher} is
+     * subscribed
+     * @return a {@link Publisher} that emits the items of {@code response}, allows a single
+     * {@link Subscriber#subscribe(Subscriber) subscribe}
+     */
+    static Publisher<Object> prefetch(final Publisher<Object> response, final long maxBufferedBytes) {
+        if (maxBufferedBytes <= 0) {
+            throw new IllegalArgumentException("maxBufferedBytes: " + maxBufferedBytes + " (expected > 0)");
+        }
+        final PrefetchedResponsePublisher prefetched = new PrefetchedResponsePublisher(maxBufferedBytes);
+        toSource(response).subscribe(prefetched.new ResponseSubscriber());
+        return prefetched;
+    }
+
+    @Override
+    protected void handleSubscribe(final Subscriber<? super Object> newSubscriber) {
+        if (!subscriberUpdater.compareAndSet(this, null, newSubscriber)) {
+            deliverErrorFromSource(newSubscriber, new DuplicateSubscribeException(subscriber, newSubscriber));
+            return;
+        }
+        newSubscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(final long n) {
+                if (!isRequestNValid(n)) {
+                    // Let the response deliver the error for the invalid demand.
+                    subscription.request(n);
+                    return;
+                }
+                demandUpdater.accumulateAndGet(PrefetchedResponsePublisher.this, n,
+                        FlowControlUtils::addWithOverflowProtection);
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                subscription.cancel();
+            }
+        });
+        target = newSubscriber;
+        drain();
+    }
+
+    private void drain() {
+        boolean tryAcquire = true;
+        while (tryAcquire && tryAcquireLock(emittingUpdater, this)) {
+            try {
+                final Subscriber<? super Object> target = this.target;
+                if (target != null) {
+                    emit(target);
+                }
+                if (terminal == null) {
+                    requestFromResponse(target != null);
+                }
+            } finally {
+                tryAcquire = !releaseLock(emittingUpdater, this);
+            }
+        }
+    }
+
+    private void emit(final Subscriber<? super Object> target) {
+        if (terminated) {
+            return;
+        }
+        Object item;
+        while (demand > 0 && (item = items.poll()) != null) {
+            queuedUpdater.decrementAndGet(this);
+            demandUpdater.decrementAndGet(this);
+            if (item instanceof Buffer) {
+                bufferedBytesUpdater.addAndGet(this, -((Buffer) item).readableBytes());
+            }
+            target.onNext(item);
+        }
+        // The terminal signal is set after the last item was offered, so read it before checking the queue.
+        final TerminalNotification terminal = this.terminal;
+        if (terminal != null && items.isEmpty()) {
+            terminated = true;
+            terminal.terminate(target);
+        }
+    }
+
+    private void requestFromResponse(final boolean subscribed) {
+        // Items are offered before they are removed from pending, so pending has to be read before queued to never
+        // count an item as missing from both.
+        final long pending = this.pending;
+        if (subscribed) {
+            final long toRequest = demand - queued - pending;
+            if (toRequest > 0) {
+                pendingUpdater.addAndGet(this, toRequest);
+                subscription.request(toRequest);
+            }
+        } else if (pending == 0 && bufferedBytes < maxBufferedBytes) {
+            pendingUpdater.incrementAndGet(this);
+            subscription.request(1);
+        }
+    }
+
+    private final class ResponseSubscriber implements Subscriber<Object> {
+        @Override
+        public void onSubscribe(final Subscription s) {
+            subscription.delayedSubscription(s);
+            drain();
+        }
+
+        @Override
+        public void onNext(@Nullable final Object item) {
+            assert item != null;
+            if (item instanceof Buffer) {
+                bufferedBytesUpdater.addAndGet(PrefetchedResponsePublisher.this, ((Buffer) item).readableBytes());
+            }
+            items.offer(item);
+            queuedUpdater.incrementAndGet(PrefetchedResponsePublisher.this);
+            pendingUpdater.decrementAndGet(PrefetchedResponsePublisher.this);
+            drain();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            terminal = TerminalNotification.error(t);
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            terminal = complete();
+            drain();
+        }
+    }
+}
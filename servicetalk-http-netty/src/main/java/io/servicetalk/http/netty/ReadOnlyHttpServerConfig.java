@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package io.servicetalk.http.netty;
 
 import io.servicetalk.tcp.netty.internal.ReadOnlyTcpServerConfig;
 
+import java.util.concurrent.ThreadLocalRandom;
 import javax.annotation.Nullable;
 
 final class ReadOnlyHttpServerConfig {
@@ -27,6 +28,9 @@ final class ReadOnlyHttpServerConfig {
     @Nullable
     private final H2ProtocolConfig h2Config;
     private final boolean allowDropTrailers;
+    private final long maxConnectionAgeNanos;
+    private final long maxConnectionAgeJitterNanos;
+    private final int maxRequestsPerConnection;
 
     ReadOnlyHttpServerConfig(final HttpServerConfig from) {
         final HttpConfig configs = from.httpConfig();
@@ -34,6 +38,9 @@ final class ReadOnlyHttpServerConfig {
         h1Config = configs.h1Config();
         h2Config = configs.h2Config();
         allowDropTrailers = configs.allowDropTrailersReadFromTransport();
+        maxConnectionAgeNanos = from.maxConnectionAgeNanos();
+        maxConnectionAgeJitterNanos = from.maxConnectionAgeJitterNanos();
+        maxRequestsPerConnection = from.maxRequestsPerConnection();
     }
 
     ReadOnlyTcpServerConfig tcpConfig() {
@@ -54,6 +61,26 @@ final class ReadOnlyHttpServerConfig {
         return allowDropTrailers;
     }
 
+    /**
+     * Returns the maximum age for a new connection, including a random jitter.
+     *
+     * @return the maximum age for a new connection in nanoseconds, or {@code 0} if connections do not have a maximum
+     * age
+     */
+    long nextMaxConnectionAgeNanos() {
+        return maxConnectionAgeJitterNanos == 0 ? maxConnectionAgeNanos :
+                maxConnectionAgeNanos - ThreadLocalRandom.current().nextLong(maxConnectionAgeJitterNanos + 1);
+    }
+
+    /**
+     * Returns the maximum number of requests to process on a single connection.
+     *
+     * @return the maximum number of requests to process on a single connection, or {@code 0} if unlimited
+     */
+    int maxRequestsPerConnection() {
+        return maxRequestsPerConnection;
+    }
+
     boolean isH2PriorKnowledge() {
         return h2Config != null && h1Config == null;
     }
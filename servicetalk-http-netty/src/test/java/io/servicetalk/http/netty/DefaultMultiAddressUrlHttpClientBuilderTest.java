@@ -15,23 +15,41 @@
  */
 package io.servicetalk.http.netty;
 
+import io.servicetalk.client.api.ClientGroupObserver;
+import io.servicetalk.client.api.ClientGroupObserver.RemovalCause;
 import io.servicetalk.client.api.ServiceDiscoverer;
 import io.servicetalk.client.api.ServiceDiscovererEvent;
+import io.servicetalk.http.api.BlockingHttpClient;
 import io.servicetalk.http.api.BlockingHttpRequester;
 import io.servicetalk.http.api.BlockingStreamingHttpRequester;
 import io.servicetalk.http.api.HttpRequester;
 import io.servicetalk.http.api.StreamingHttpRequester;
 import io.servicetalk.transport.api.HostAndPort;
+import io.servicetalk.transport.api.ServerContext;
 import io.servicetalk.transport.netty.internal.ExecutionContextExtension;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.CLOSED;
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.IDLE;
+import static io.servicetalk.client.api.ClientGroupObserver.RemovalCause.MAX_SIZE;
 import static io.servicetalk.http.api.HttpExecutionStrategies.defaultStrategy;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.transport.netty.internal.AddressUtils.hostHeader;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
 import static io.servicetalk.transport.netty.internal.ExecutionContextExtension.immediate;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -93,4 +111,95 @@ class DefaultMultiAddressUrlHttpClientBuilderTest {
         newRequester.closeAsync().toFuture().get();
         verify(mockedServiceDiscoverer, never()).closeAsync();
     }
+
+    @Test
+    void maxClientsEvictsLeastRecentlyUsedClient() throws Exception {
+        final RecordingObserver observer = new RecordingObserver();
+        try (ServerContext server1 = newServer(); ServerContext server2 = newServer();
+             BlockingHttpClient client = HttpClients.forMultiAddressUrl()
+                     .maxClients(1)
+                     .clientGroupObserver(observer)
+                     .buildBlocking()) {
+            final HostAndPort address1 = serverHostAndPort(server1);
+            final HostAndPort address2 = serverHostAndPort(server2);
+            assertThat(client.request(client.get(url(address1))).status(), is(OK));
+            assertThat(client.request(client.get(url(address2))).status(), is(OK));
+
+            assertThat(observer.events.take(), is("added " + address1 + " 1"));
+            assertThat(observer.events.take(), is("added " + address2 + " 2"));
+            assertThat(observer.events.take(), is("removed " + address1 + ' ' + MAX_SIZE + " 1"));
+
+            // The evicted client is re-created on demand.
+            assertThat(client.request(client.get(url(address1))).status(), is(OK));
+            assertThat(observer.events.take(), is("added " + address1 + " 2"));
+            assertThat(observer.events.take(), is("removed " + address2 + ' ' + MAX_SIZE + " 1"));
+        }
+    }
+
+    @Test
+    void clientIdleTimeoutClosesIdleClient() throws Exception {
+        final RecordingObserver observer = new RecordingObserver();
+        try (ServerContext server = newServer();
+             BlockingHttpClient client = HttpClients.forMultiAddressUrl()
+                     .clientIdleTimeout(ofMillis(100))
+                     .clientGroupObserver(observer)
+                     .buildBlocking()) {
+            final HostAndPort address = serverHostAndPort(server);
+            assertThat(client.request(client.get(url(address))).status(), is(OK));
+
+            assertThat(observer.events.take(), is("added " + address + " 1"));
+            assertThat(observer.events.take(), is("removed " + address + ' ' + IDLE + " 0"));
+
+            // A request after the client was evicted creates a new client.
+            assertThat(client.request(client.get(url(address))).status(), is(OK));
+            assertThat(observer.events.take(), is("added " + address + " 1"));
+        }
+    }
+
+    @Test
+    void clientGroupObserverIsNotifiedOnClose() throws Exception {
+        final RecordingObserver observer = new RecordingObserver();
+        try (ServerContext server = newServer()) {
+            final HostAndPort address = serverHostAndPort(server);
+            try (BlockingHttpClient client = HttpClients.forMultiAddressUrl()
+                    .clientGroupObserver(observer)
+                    .buildBlocking()) {
+                assertThat(client.request(client.get(url(address))).status(), is(OK));
+            }
+            assertThat(observer.events.take(), is("added " + address + " 1"));
+            assertThat(observer.events.take(), is("removed " + address + ' ' + CLOSED + " 0"));
+        }
+    }
+
+    @Test
+    void invalidClientGroupArguments() {
+        assertThrows(IllegalArgumentException.class, () -> HttpClients.forMultiAddressUrl().maxClients(0));
+        assertThrows(IllegalArgumentException.class, () -> HttpClients.forMultiAddressUrl().clientIdleTimeout(ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> HttpClients.forMultiAddressUrl().clientIdleTimeout(ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> HttpClients.forMultiAddressUrl().clientGroupObserver(null));
+    }
+
+    private static ServerContext newServer() throws Exception {
+        return HttpServers.forAddress(localAddress(0))
+                .listenBlockingAndAwait((ctx, request, responseFactory) -> responseFactory.ok());
+    }
+
+    private static String url(final HostAndPort address) {
+        return "http://" + hostHeader(address) + '/';
+    }
+
+    private static final class RecordingObserver implements ClientGroupObserver<HostAndPort> {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onClientAdded(final HostAndPort key, final int size) {
+            events.add("added " + key + ' ' + size);
+        }
+
+        @Override
+        public void onClientRemoved(final HostAndPort key, final RemovalCause cause, final int size) {
+            events.add("removed " + key + ' ' + cause + ' ' + size);
+        }
+    }
 }
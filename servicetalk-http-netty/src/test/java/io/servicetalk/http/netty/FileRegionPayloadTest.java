@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.netty.FileRegionBuffer;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpProtocolConfig;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.HttpServerBuilder;
+import io.servicetalk.http.api.SingleAddressHttpClientBuilder;
+import io.servicetalk.test.resources.DefaultTestCerts;
+import io.servicetalk.transport.api.ClientSslConfigBuilder;
+import io.servicetalk.transport.api.ServerContext;
+import io.servicetalk.transport.api.ServerSslConfigBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.netty.FileRegionBuffers.newFileRegionBuffers;
+import static io.servicetalk.concurrent.api.Publisher.fromIterable;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1Default;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h2Default;
+import static io.servicetalk.test.resources.DefaultTestCerts.serverPemHostname;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class FileRegionPayloadTest {
+
+    private static final int FILE_SIZE = 1024 * 1024 + 7;
+    private static final int REGION_LENGTH = 64 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Nullable
+    private FileChannel file;
+    @Nullable
+    private ServerContext serverContext;
+    @Nullable
+    private BlockingHttpClient client;
+
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> protocols() {
+        return Stream.of(Arguments.of(h1Default(), false),
+                Arguments.of(h1Default(), true),
+                Arguments.of(h2Default(), false),
+                Arguments.of(h2Default(), true));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try {
+            if (client != null) {
+                client.close();
+            }
+            if (serverContext != null) {
+                serverContext.close();
+            }
+        } finally {
+            if (file != null) {
+                file.close();
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] protocol={0} ssl={1}")
+    @MethodSource("protocols")
+    void serveFile(HttpProtocolConfig protocol, boolean ssl) throws Exception {
+        final byte[] content = new byte[FILE_SIZE];
+        new Random().nextBytes(content);
+        final Path path = Files.write(tempDir.resolve("payload.bin"), content);
+        final FileChannel file = this.file = FileChannel.open(path, READ);
+
+        final HttpServerBuilder serverBuilder = HttpServers.forAddress(localAddress(0)).protocols(protocol);
+        if (ssl) {
+            serverBuilder.sslConfig(new ServerSslConfigBuilder(DefaultTestCerts::loadServerPem,
+                    DefaultTestCerts::loadServerKey).build());
+        }
+        final Queue<FileRegionBuffer> regions = new ConcurrentLinkedQueue<>();
+        serverContext = serverBuilder.listenStreamingAndAwait((ctx, request, responseFactory) ->
+                succeeded(responseFactory.ok().payloadBody(
+                        fromIterable(newFileRegionBuffers(file, 0, FILE_SIZE, REGION_LENGTH)).map(buffer -> {
+                            regions.add((FileRegionBuffer) buffer);
+                            return buffer;
+                        }))));
+
+        final SingleAddressHttpClientBuilder<?, ?> clientBuilder =
+                HttpClients.forSingleAddress(serverHostAndPort(serverContext)).protocols(protocol);
+        if (ssl) {
+            clientBuilder.sslConfig(new ClientSslConfigBuilder(DefaultTestCerts::loadServerCAPem)
+                    .peerHost(serverPemHostname()).build());
+        }
+        client = clientBuilder.buildBlocking();
+
+        final HttpResponse response = client.request(client.get("/"));
+        assertThat(response.status(), is(OK));
+        final Buffer payload = response.payloadBody();
+        assertThat(payload.readableBytes(), is(FILE_SIZE));
+        final byte[] received = new byte[FILE_SIZE];
+        payload.readBytes(received);
+        assertThat(received, is(content));
+
+        // Only plaintext HTTP/1.x writes the regions with sendfile, without mapping them to read their content.
+        final boolean sendfile = protocol instanceof H1ProtocolConfig && !ssl;
+        assertThat(regions, hasSize((FILE_SIZE + REGION_LENGTH - 1) / REGION_LENGTH));
+        for (FileRegionBuffer region : regions) {
+            assertThat(region.isMapped(), is(!sendfile));
+        }
+    }
+}
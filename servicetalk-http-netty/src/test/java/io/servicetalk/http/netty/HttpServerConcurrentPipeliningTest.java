@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.concurrent.SingleSource.Processor;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestPublisher;
+import io.servicetalk.concurrent.api.TestSubscription;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.HttpServerBuilder;
+import io.servicetalk.http.api.ReservedStreamingHttpConnection;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpService;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static io.servicetalk.buffer.api.CharSequences.newAsciiString;
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Processors.newSingleProcessor;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
+import static io.servicetalk.http.api.HttpExecutionStrategies.noOffloadsStrategy;
+import static io.servicetalk.http.api.HttpHeaderNames.CONNECTION;
+import static io.servicetalk.http.api.HttpHeaderValues.CLOSE;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpServerConcurrentPipeliningTest {
+    private static final CharSequence REQUEST_ID_HEADER = newAsciiString("request-id");
+    private static final int CHUNK_SIZE = 512;
+    private static final int NUM_CHUNKS = 8;
+
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = closeables.size() - 1; i >= 0; --i) {
+            closeables.get(i).close();
+        }
+    }
+
+    @Test
+    void slowResponseDoesNotBlockLaterRequests() throws Exception {
+        final Processor<StreamingHttpResponse, StreamingHttpResponse> firstResponse = newSingleProcessor();
+        ReservedStreamingHttpConnection connection = newConnection(h1().maxConcurrentPipelinedRequests(3),
+                (ctx, request, responseFactory) -> request.messageBody().ignoreElements().concat(
+                        Single.defer(() -> {
+                            final String requestId = requestId(request.headers().get(REQUEST_ID_HEADER));
+                            if ("0".equals(requestId)) {
+                                // Only completes once the last request has been dispatched concurrently.
+                                return fromSource(firstResponse);
+                            }
+                            if ("2".equals(requestId)) {
+                                firstResponse.onSuccess(responseFactory.ok().payloadBody(
+                                        from(ctx.executionContext().bufferAllocator().fromAscii("0"))));
+                            }
+                            return succeeded(responseFactory.ok().payloadBody(
+                                    from(ctx.executionContext().bufferAllocator().fromAscii(requestId))));
+                        })), false);
+
+        final List<Future<HttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            responses.add(request(connection, i));
+        }
+        for (int i = 0; i < 3; ++i) {
+            HttpResponse response = responses.get(i).get();
+            assertThat(response.headers().get(REQUEST_ID_HEADER).toString(), is(Integer.toString(i)));
+            assertThat(response.payloadBody().toString(US_ASCII), is(Integer.toString(i)));
+        }
+    }
+
+    @Test
+    void bufferedResponseIsBounded() throws Exception {
+        final Processor<StreamingHttpResponse, StreamingHttpResponse> firstResponse = newSingleProcessor();
+        final TestPublisher<Buffer> secondPayload = new TestPublisher<>();
+        final CountDownLatch secondPayloadSubscribed = new CountDownLatch(1);
+        ReservedStreamingHttpConnection connection = newConnection(h1().maxConcurrentPipelinedRequests(2)
+                        .maxBufferedPipelinedResponseBytes(2 * CHUNK_SIZE),
+                (ctx, request, responseFactory) -> request.messageBody().ignoreElements().concat(
+                        "0".equals(requestId(request.headers().get(REQUEST_ID_HEADER))) ? fromSource(firstResponse) :
+                                succeeded(responseFactory.ok().payloadBody(Publisher.defer(() -> {
+                                    secondPayloadSubscribed.countDown();
+                                    return secondPayload;
+                                })))), true);
+
+        final Future<HttpResponse> first = request(connection, 0);
+        final Future<HttpResponse> second = request(connection, 1);
+
+        secondPayloadSubscribed.await();
+        final TestSubscription subscription = new TestSubscription();
+        secondPayload.onSubscribe(subscription);
+        // Only as much data as the bound allows is requested while the first response is still in progress.
+        for (int i = 0; i < 2; ++i) {
+            subscription.awaitRequestN(i + 1);
+            secondPayload.onNext(newChunk());
+        }
+        assertThat(subscription.requested(), is(2L));
+
+        firstResponse.onSuccess(connection.httpResponseFactory().ok());
+        assertThat(first.get().headers().get(REQUEST_ID_HEADER).toString(), is("0"));
+
+        for (int i = 2; i < NUM_CHUNKS; ++i) {
+            subscription.awaitRequestN(i + 1);
+            secondPayload.onNext(newChunk());
+        }
+        secondPayload.onComplete();
+        assertThat(second.get().payloadBody().readableBytes(), is(NUM_CHUNKS * CHUNK_SIZE));
+    }
+
+    @Test
+    void requestsAfterConnectionCloseAreNotDispatched() throws Exception {
+        final Queue<String> received = new ConcurrentLinkedQueue<>();
+        ReservedStreamingHttpConnection connection = newConnection(h1().maxConcurrentPipelinedRequests(3),
+                (ctx, request, responseFactory) -> request.messageBody().ignoreElements().concat(
+                        Single.defer(() -> {
+                            received.add(requestId(request.headers().get(REQUEST_ID_HEADER)));
+                            return succeeded(responseFactory.ok());
+                        })), false);
+
+        final Future<HttpResponse> first = connection.request(connection.get("/")
+                .setHeader(REQUEST_ID_HEADER, "0").setHeader(CONNECTION, CLOSE))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture();
+        final Future<HttpResponse> second = request(connection, 1);
+
+        assertThat(first.get().headers().get(REQUEST_ID_HEADER).toString(), is("0"));
+        assertThrows(ExecutionException.class, second::get);
+        assertThat(received, contains("0"));
+    }
+
+    @Test
+    void invalidConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> h1().maxConcurrentPipelinedRequests(0));
+        assertThrows(IllegalArgumentException.class, () -> h1().maxBufferedPipelinedResponseBytes(0));
+    }
+
+    private ReservedStreamingHttpConnection newConnection(final H1ProtocolConfigBuilder serverConfig,
+                                                         final StreamingHttpService service,
+                                                         final boolean noOffloads) throws Exception {
+        HttpServerBuilder serverBuilder = HttpServers.forAddress(localAddress(0)).protocols(serverConfig.build());
+        if (noOffloads) {
+            serverBuilder.executionStrategy(noOffloadsStrategy());
+        }
+        ServerContext serverContext = serverBuilder.listenStreamingAndAwait((ctx, request, responseFactory) ->
+                service.handle(ctx, request, responseFactory).map(response -> {
+                    response.headers().set(REQUEST_ID_HEADER, requestId(request.headers().get(REQUEST_ID_HEADER)));
+                    return response;
+                }));
+        closeables.add(serverContext);
+        StreamingHttpClient client = HttpClients.forResolvedAddress(serverHostAndPort(serverContext))
+                .protocols(h1().maxPipelinedRequests(3).build())
+                .buildStreaming();
+        closeables.add(client);
+        ReservedStreamingHttpConnection connection = client.reserveConnection(client.get("/")).toFuture().get();
+        closeables.add(connection);
+        return connection;
+    }
+
+    private static Future<HttpResponse> request(final ReservedStreamingHttpConnection connection, final int id) {
+        return connection.request(connection.get("/").setHeader(REQUEST_ID_HEADER, Integer.toString(id)))
+                .flatMap(StreamingHttpResponse::toResponse).toFuture();
+    }
+
+    private static String requestId(final CharSequence requestId) {
+        return requestId.toString();
+    }
+
+    private static Buffer newChunk() {
+        return DEFAULT_ALLOCATOR.newBuffer(CHUNK_SIZE).writerIndex(CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpProtocolConfig;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.HttpServerBuilder;
+import io.servicetalk.http.api.ReservedBlockingHttpConnection;
+import io.servicetalk.http.api.StreamingHttpService;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpHeaderNames.CONNECTION;
+import static io.servicetalk.http.api.HttpHeaderValues.CLOSE;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1Default;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h2Default;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpServerConnectionLimitsTest {
+
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = closeables.size() - 1; i >= 0; --i) {
+            closeables.get(i).close();
+        }
+    }
+
+    @Test
+    void h1MaxRequestsPerConnection() throws Exception {
+        ReservedBlockingHttpConnection connection = newConnection(h1Default(),
+                builder -> builder.maxRequestsPerConnection(2));
+        HttpResponse first = connection.request(connection.get("/"));
+        assertThat(first.status(), is(OK));
+        assertFalse(first.headers().containsIgnoreCase(CONNECTION, CLOSE));
+
+        HttpResponse second = connection.request(connection.get("/"));
+        assertThat(second.status(), is(OK));
+        assertTrue(second.headers().containsIgnoreCase(CONNECTION, CLOSE));
+        connection.connectionContext().onClose().toFuture().get();
+    }
+
+    @Test
+    void h1MaxConnectionAge() throws Exception {
+        ReservedBlockingHttpConnection connection = newConnection(h1Default(),
+                builder -> builder.maxConnectionAge(ofMillis(50), ZERO));
+        // No request is in flight, so the server closes the connection as soon as it reaches its maximum age.
+        connection.connectionContext().onClose().toFuture().get();
+    }
+
+    @Test
+    void h1MaxConnectionAgeDuringSlowResponse() throws Exception {
+        ReservedBlockingHttpConnection connection = newConnection(h1Default(),
+                builder -> builder.maxConnectionAge(ofMillis(50), ZERO),
+                (ctx, request, responseFactory) -> ctx.executionContext().executor().timer(ofMillis(500))
+                        .concat(succeeded(responseFactory.ok())));
+        assertThat(connection.request(connection.get("/")).status(), is(OK));
+        // The maximum age is reached while the response is in progress, the connection is closed once the response is
+        // done even though the client does not send another request.
+        connection.connectionContext().onClose().toFuture().get();
+    }
+
+    @Test
+    void h2MaxRequestsPerConnection() throws Exception {
+        ReservedBlockingHttpConnection connection = newConnection(h2Default(),
+                builder -> builder.maxRequestsPerConnection(1));
+        assertThat(connection.request(connection.get("/")).status(), is(OK));
+        // The server sends GOAWAY after the first stream and closes the connection once it is done.
+        connection.connectionContext().onClose().toFuture().get();
+    }
+
+    @Test
+    void h2MaxConnectionAge() throws Exception {
+        ReservedBlockingHttpConnection connection = newConnection(h2Default(),
+                builder -> builder.maxConnectionAge(ofMillis(100), ofMillis(50)));
+        connection.connectionContext().onClose().toFuture().get();
+    }
+
+    @Test
+    void invalidArguments() {
+        HttpServerBuilder builder = HttpServers.forAddress(localAddress(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxRequestsPerConnection(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionAge(ZERO, ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionAge(ofSeconds(1), ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionAge(ofSeconds(1), ofSeconds(-1)));
+    }
+
+    private ReservedBlockingHttpConnection newConnection(final HttpProtocolConfig protocol,
+                                                        final UnaryOperator<HttpServerBuilder> configurator)
+            throws Exception {
+        return newConnection(protocol, configurator,
+                (ctx, request, responseFactory) -> succeeded(responseFactory.ok()));
+    }
+
+    private ReservedBlockingHttpConnection newConnection(final HttpProtocolConfig protocol,
+                                                        final UnaryOperator<HttpServerBuilder> configurator,
+                                                        final StreamingHttpService service) throws Exception {
+        ServerContext serverContext = configurator.apply(HttpServers.forAddress(localAddress(0))
+                .protocols(protocol))
+                .listenStreamingAndAwait(service);
+        closeables.add(serverContext);
+        BlockingHttpClient client = HttpClients.forResolvedAddress(serverHostAndPort(serverContext))
+                .protocols(protocol)
+                .buildBlocking();
+        closeables.add(client);
+        ReservedBlockingHttpConnection connection = client.reserveConnection(client.get("/"));
+        closeables.add(connection);
+        return connection;
+    }
+}
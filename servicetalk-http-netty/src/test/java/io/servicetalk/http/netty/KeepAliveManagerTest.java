@@ -27,14 +27,19 @@ import io.netty.util.concurrent.Promise;
 import org.hamcrest.Matcher;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
 
 import static io.servicetalk.http.netty.H2KeepAlivePolicies.DEFAULT_ACK_TIMEOUT;
 import static io.servicetalk.http.netty.H2KeepAlivePolicies.DEFAULT_IDLE_DURATION;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofSeconds;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -95,6 +100,105 @@ class KeepAliveManagerTest {
         assertThat("Channel unexpectedly closed.", channel.isOpen(), is(true));
     }
 
+    @Test
+    void keepAlivePingAckRecordsRoundTripTime() {
+        KeepAliveManager manager = newManager(false);
+        addActiveStream(manager);
+        assertThat("Unexpected round-trip time.", manager.roundTripTimeNanos(), is(-1L));
+        manager.channelIdle();
+        Http2PingFrame ping = verifyWrite(instanceOf(Http2PingFrame.class));
+        verifyPingAckTimeoutScheduled();
+
+        long rttNanos = manager.pingReceived(new DefaultHttp2PingFrame(ping.content(), true));
+        assertThat("Unexpected round-trip time.", rttNanos, is(greaterThanOrEqualTo(0L)));
+        assertThat("Unexpected round-trip time.", manager.roundTripTimeNanos(), is(rttNanos));
+    }
+
+    @Test
+    void rttPingSentOnInterval() {
+        KeepAliveManager manager = newManager(true, ofSeconds(1));
+        ScheduledTask rttTask = verifyRttPingScheduled();
+        rttTask.task.run();
+        Http2PingFrame ping = verifyWrite(instanceOf(Http2PingFrame.class));
+        verifyRttPingScheduled();
+
+        long rttNanos = manager.pingReceived(new DefaultHttp2PingFrame(ping.content(), true));
+        assertThat("Unexpected round-trip time.", rttNanos, is(greaterThanOrEqualTo(0L)));
+        assertThat("Unexpected round-trip time.", manager.roundTripTimeNanos(), is(rttNanos));
+        // A duplicate ack must not be timed again.
+        assertThat("Unexpected round-trip time.",
+                manager.pingReceived(new DefaultHttp2PingFrame(ping.content(), true)), is(-1L));
+        verifyNoWrite();
+    }
+
+    @Test
+    void rttPingSkippedWhileUnacknowledged() {
+        newManager(true, ofSeconds(1));
+        verifyRttPingScheduled().task.run();
+        verifyWrite(instanceOf(Http2PingFrame.class));
+
+        verifyRttPingScheduled().task.run();
+        verifyNoWrite();
+        verifyRttPingScheduled();
+    }
+
+    @Test
+    void rttPingSkippedWithoutActiveStreams() {
+        KeepAliveManager manager = newManager(false, ofSeconds(1));
+        verifyRttPingScheduled().task.run();
+        verifyNoWrite();
+
+        addActiveStream(manager);
+        verifyRttPingScheduled().task.run();
+        verifyWrite(instanceOf(Http2PingFrame.class));
+        verifyRttPingScheduled();
+    }
+
+    @Test
+    void rttPingSentAgainAfterAckTimeout() {
+        KeepAliveManager manager = newManager(true, ofSeconds(1), ZERO);
+        verifyRttPingScheduled().task.run();
+        Http2PingFrame lostPing = verifyWrite(instanceOf(Http2PingFrame.class));
+
+        verifyRttPingScheduled().task.run();
+        Http2PingFrame ping = verifyWrite(instanceOf(Http2PingFrame.class));
+        verifyRttPingScheduled();
+
+        // A late ack for the expired PING must not be timed against the PING sent after it.
+        assertThat("Unexpected round-trip time.",
+                manager.pingReceived(new DefaultHttp2PingFrame(lostPing.content(), true)), is(-1L));
+        assertThat("Unexpected round-trip time.",
+                manager.pingReceived(new DefaultHttp2PingFrame(ping.content(), true)),
+                is(greaterThanOrEqualTo(0L)));
+    }
+
+    @Test
+    void firstRttPingCancelledOnClose() {
+        KeepAliveManager manager = newManager(true, ofSeconds(1));
+        ScheduledTask rttTask = verifyRttPingScheduled();
+
+        manager.channelClosed();
+        assertThat("RTT PING task not cancelled.", rttTask.promise.isCancelled(), is(true));
+        rttTask.task.run();
+        verifyNoWrite();
+        verifyNoScheduledTasks();
+    }
+
+    @Test
+    void rttPingStopsOnClose() {
+        KeepAliveManager manager = newManager(true, ofSeconds(1));
+        ScheduledTask rttTask = verifyRttPingScheduled();
+        rttTask.task.run();
+        verifyWrite(instanceOf(Http2PingFrame.class));
+        ScheduledTask nextRttTask = verifyRttPingScheduled();
+
+        manager.channelClosed();
+        assertThat("RTT PING task not cancelled.", nextRttTask.promise.isCancelled(), is(true));
+        nextRttTask.task.run();
+        verifyNoWrite();
+        verifyNoScheduledTasks();
+    }
+
     @Test
     void keepAlivePingAckWithUnknownContent() {
         KeepAliveManager manager = newManager(false);
@@ -245,6 +349,13 @@ class KeepAliveManagerTest {
         return ackTimeoutTask;
     }
 
+    private ScheduledTask verifyRttPingScheduled() {
+        ScheduledTask rttTask = scheduledTasks.poll();
+        assertThat("RTT PING not scheduled.", rttTask, is(notNullValue()));
+        assertThat("Unexpected RTT PING interval.", rttTask.delayMillis, is(1000L));
+        return rttTask;
+    }
+
     private void sendGracefulClosePingAckAndVerifySecondGoAway(final KeepAliveManager manager,
                                                                final Http2PingFrame pingFrame) throws Exception {
         ScheduledTask pingAckTimeoutTask = scheduledTasks.take();
@@ -306,11 +417,21 @@ class KeepAliveManagerTest {
     }
 
     private KeepAliveManager newManager(final boolean allowPingWithoutActiveStreams) {
+        return newManager(allowPingWithoutActiveStreams, null);
+    }
+
+    private KeepAliveManager newManager(final boolean allowPingWithoutActiveStreams,
+                                        @Nullable final Duration rttPingInterval) {
+        return newManager(allowPingWithoutActiveStreams, rttPingInterval, DEFAULT_ACK_TIMEOUT);
+    }
+
+    private KeepAliveManager newManager(final boolean allowPingWithoutActiveStreams,
+                                        @Nullable final Duration rttPingInterval, final Duration ackTimeout) {
         KeepAlivePolicy policy = mock(KeepAlivePolicy.class);
         when(policy.idleDuration()).thenReturn(DEFAULT_IDLE_DURATION);
-        when(policy.ackTimeout()).thenReturn(DEFAULT_ACK_TIMEOUT);
+        when(policy.ackTimeout()).thenReturn(ackTimeout);
         when(policy.withoutActiveStreams()).thenReturn(allowPingWithoutActiveStreams);
-        return new KeepAliveManager(channel, policy,
+        return new KeepAliveManager(channel, policy, rttPingInterval,
                 (task, delay, unit) -> {
                     ChannelPromise promise = channel.newPromise();
                     ScheduledTask scheduledTask = new ScheduledTask(task, promise,
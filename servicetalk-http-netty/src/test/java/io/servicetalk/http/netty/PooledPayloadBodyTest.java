@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.HttpProtocolConfig;
+import io.servicetalk.http.api.HttpRequest;
+import io.servicetalk.http.api.HttpResponse;
+import io.servicetalk.http.api.HttpResponseStatus;
+import io.servicetalk.transport.api.ServerContext;
+
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetector.Level;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.POOLED_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferUtils.isPooled;
+import static io.servicetalk.buffer.netty.BufferUtils.release;
+import static io.servicetalk.buffer.netty.BufferUtils.toByteBuf;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.http.api.HttpResponseStatus.NO_CONTENT;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.api.HttpSerializationProviders.textSerializer;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h1Default;
+import static io.servicetalk.http.netty.HttpProtocolConfigs.h2Default;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class PooledPayloadBodyTest {
+
+    private static Level previousLevel = Level.SIMPLE;
+
+    private final Queue<Buffer> written = new ConcurrentLinkedQueue<>();
+    @Nullable
+    private ServerContext serverContext;
+    @Nullable
+    private BlockingHttpClient client;
+
+    @BeforeAll
+    static void enableLeakDetection() {
+        previousLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(Level.PARANOID);
+    }
+
+    @AfterAll
+    static void restoreLeakDetection() {
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+
+    @SuppressWarnings("unused")
+    private static Stream<HttpProtocolConfig> protocols() {
+        return Stream.of(h1Default(), h2Default());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try {
+            if (client != null) {
+                client.close();
+            }
+        } finally {
+            if (serverContext != null) {
+                serverContext.close();
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] protocol={0}")
+    @MethodSource("protocols")
+    void writtenBuffersAreReleased(HttpProtocolConfig protocol) throws Exception {
+        setUp(protocol, OK);
+        assert client != null;
+        final HttpResponse response = client.request(client.post("/")
+                .payloadBody(newPooledBuffer(POOLED_ALLOCATOR, "request")));
+        assertThat(response.status(), is(OK));
+        assertThat(response.payloadBody().toString(US_ASCII), is("helloworld"));
+        assertThat(isPooled(response.payloadBody()), is(false));
+
+        assertThat(written, hasSize(3));
+        assertReleasedByTransport();
+    }
+
+    @Test
+    void bufferWithoutContentIsReleased() throws Exception {
+        setUp(h1Default(), NO_CONTENT);
+        assert client != null;
+        final HttpResponse response = client.request(client.get("/"));
+        assertThat(response.status(), is(NO_CONTENT));
+        assertThat(response.payloadBody().readableBytes(), is(0));
+
+        assertThat(written, hasSize(2));
+        assertReleasedByTransport();
+    }
+
+    @ParameterizedTest(name = "{displayName} [{index}] protocol={0}")
+    @MethodSource("protocols")
+    void serializedBodiesAreReleased(HttpProtocolConfig protocol) throws Exception {
+        serverContext = HttpServers.forAddress(localAddress(0))
+                .protocols(protocol)
+                .bufferAllocator(POOLED_ALLOCATOR)
+                .listenAndAwait((ctx, request, responseFactory) ->
+                        succeeded(serialized(responseFactory.ok().payloadBody("hello", textSerializer()))));
+        client = HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                .protocols(protocol)
+                .bufferAllocator(POOLED_ALLOCATOR)
+                .buildBlocking();
+        final HttpResponse response = client.request(serialized(client.post("/")
+                .payloadBody("request", textSerializer())));
+        assertThat(response.status(), is(OK));
+        assertThat(response.payloadBody().toString(US_ASCII), is("hello"));
+
+        assertThat(written, hasSize(2));
+        assertReleasedByTransport();
+    }
+
+    private void assertReleasedByTransport() {
+        // Ownership of pooled buffers is transferred to the transport, nothing is left for the caller to release.
+        for (Buffer buffer : written) {
+            assertThat(toByteBuf(buffer).refCnt(), is(0));
+            assertThat(release(buffer), is(false));
+        }
+    }
+
+    private HttpRequest serialized(HttpRequest request) {
+        track(request.payloadBody());
+        return request;
+    }
+
+    private HttpResponse serialized(HttpResponse response) {
+        track(response.payloadBody());
+        return response;
+    }
+
+    private void setUp(HttpProtocolConfig protocol, HttpResponseStatus status) throws Exception {
+        serverContext = HttpServers.forAddress(localAddress(0))
+                .protocols(protocol)
+                .bufferAllocator(POOLED_ALLOCATOR)
+                .listenStreamingAndAwait((ctx, request, responseFactory) -> {
+                    final BufferAllocator alloc = ctx.executionContext().bufferAllocator();
+                    return request.payloadBody().ignoreElements().concat(succeeded(responseFactory.newResponse(status)
+                            .payloadBody(from(newPooledBuffer(alloc, "hello"), newPooledBuffer(alloc, "world")))));
+                });
+        client = HttpClients.forSingleAddress(serverHostAndPort(serverContext))
+                .protocols(protocol)
+                .bufferAllocator(POOLED_ALLOCATOR)
+                .buildBlocking();
+    }
+
+    private Buffer newPooledBuffer(BufferAllocator alloc, String content) {
+        return track(alloc.fromAscii(content));
+    }
+
+    private Buffer track(Buffer buffer) {
+        assertThat(isPooled(buffer), is(true));
+        written.add(buffer);
+        return buffer;
+    }
+}
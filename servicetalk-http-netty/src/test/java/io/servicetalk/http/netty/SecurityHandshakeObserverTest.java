@@ -41,7 +41,10 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import javax.net.ssl.SSLSession;
 
 import static io.servicetalk.http.api.HttpExecutionStrategies.defaultStrategy;
@@ -57,10 +60,13 @@ import static io.servicetalk.http.netty.TestServiceStreaming.SVC_ECHO;
 import static io.servicetalk.test.resources.DefaultTestCerts.serverPemHostname;
 import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
 import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -155,23 +161,49 @@ class SecurityHandshakeObserverTest {
         }
     }
 
+    @Test
+    void withHandshakeTaskExecutor() throws Exception {
+        ExecutorService handshakeTaskExecutor = newFixedThreadPool(2);
+        try {
+            verifyHandshakeObserved(HttpServers::forAddress, HttpClients::forSingleAddress, handshakeTaskExecutor);
+
+            verify(clientSecurityHandshakeObserver, atLeastOnce()).handshakeTaskStarted(anyLong());
+            verify(serverSecurityHandshakeObserver, atLeastOnce()).handshakeTaskStarted(anyLong());
+        } finally {
+            handshakeTaskExecutor.shutdownNow();
+        }
+    }
+
     private void verifyHandshakeObserved(Function<SocketAddress, HttpServerBuilder> serverBuilderFactory,
                                          Function<HostAndPort, SingleAddressHttpClientBuilder<HostAndPort,
                                              InetSocketAddress>> clientBuilderFactory) throws Exception {
+        verifyHandshakeObserved(serverBuilderFactory, clientBuilderFactory, null);
+    }
+
+    private void verifyHandshakeObserved(Function<SocketAddress, HttpServerBuilder> serverBuilderFactory,
+                                         Function<HostAndPort, SingleAddressHttpClientBuilder<HostAndPort,
+                                             InetSocketAddress>> clientBuilderFactory,
+                                         @Nullable Executor handshakeTaskExecutor) throws Exception {
+        ServerSslConfigBuilder serverSslConfigBuilder = new ServerSslConfigBuilder(
+                DefaultTestCerts::loadServerPem, DefaultTestCerts::loadServerKey);
+        ClientSslConfigBuilder clientSslConfigBuilder = new ClientSslConfigBuilder(DefaultTestCerts::loadServerCAPem)
+                .peerHost(serverPemHostname());
+        if (handshakeTaskExecutor != null) {
+            serverSslConfigBuilder.handshakeTaskExecutor(handshakeTaskExecutor);
+            clientSslConfigBuilder.handshakeTaskExecutor(handshakeTaskExecutor);
+        }
 
         try (ServerContext serverContext = serverBuilderFactory.apply(localAddress(0))
             .ioExecutor(SERVER_CTX.ioExecutor())
             .executionStrategy(defaultStrategy(SERVER_CTX.executor()))
-            .sslConfig(new ServerSslConfigBuilder(
-                        DefaultTestCerts::loadServerPem, DefaultTestCerts::loadServerKey).build())
+            .sslConfig(serverSslConfigBuilder.build())
             .transportObserver(serverTransportObserver)
             .listenStreamingAndAwait(new TestServiceStreaming());
 
              BlockingHttpClient client = clientBuilderFactory.apply(serverHostAndPort(serverContext))
                  .ioExecutor(CLIENT_CTX.ioExecutor())
                  .executionStrategy(defaultStrategy(CLIENT_CTX.executor()))
-                 .sslConfig(new ClientSslConfigBuilder(DefaultTestCerts::loadServerCAPem)
-                             .peerHost(serverPemHostname()).build())
+                 .sslConfig(clientSslConfigBuilder.build())
                  .appendConnectionFactoryFilter(
                      new TransportObserverConnectionFactoryFilter<>(clientTransportObserver))
                  .buildBlocking()) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.transport.api.ConnectionContext;
+
+import org.glassfish.jersey.internal.util.collection.Ref;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import javax.annotation.Priority;
+import javax.inject.Provider;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import static io.servicetalk.http.router.jersey.AbstractMessageBodyReaderWriter.isSse;
+import static io.servicetalk.http.router.jersey.EntityStreamTrackingWriterInterceptor.isOriginalEntityStream;
+import static io.servicetalk.http.router.jersey.internal.RequestProperties.setResponseBufferPublisher;
+import static javax.ws.rs.Priorities.ENTITY_CODER;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static javax.ws.rs.core.MediaType.WILDCARD;
+
+/**
+ * A {@link MessageBodyWriter} for common entity types which turns the entity into {@link Buffer}s and hands them to
+ * the ServiceTalk response directly, instead of writing the entity to the Jersey entity stream which is then copied
+ * into {@link Buffer}s.
+ * <p>
+ * If a {@link javax.ws.rs.ext.WriterInterceptor} has replaced the entity stream, the entity is written to the stream
+ * so that the interceptor observes the content, see {@link EntityStreamTrackingWriterInterceptor}.
+ *
+ * @param <T> the type of entity.
+ */
+@Priority(ENTITY_CODER)
+@Produces(WILDCARD)
+abstract class AbstractBufferMessageBodyWriter<T> implements MessageBodyWriter<T> {
+    private final Class<T> entityClass;
+
+    // We can not use `@Context ConnectionContext` directly because we would not see the latest version
+    // in case it has been rebound as part of offloading.
+    @Context
+    protected Provider<Ref<ConnectionContext>> ctxRefProvider;
+
+    @Context
+    protected Provider<ContainerRequestContext> requestCtxProvider;
+
+    protected AbstractBufferMessageBodyWriter(final Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    @Override
+    public final boolean isWriteable(final Class<?> type,
+                                     final Type genericType,
+                                     final Annotation[] annotations,
+                                     final MediaType mediaType) {
+        return !isSse(requestCtxProvider.get()) && entityClass.isAssignableFrom(type);
+    }
+
+    @Override
+    public final void writeTo(final T entity,
+                              final Class<?> type,
+                              final Type genericType,
+                              final Annotation[] annotations,
+                              final MediaType mediaType,
+                              final MultivaluedMap<String, Object> httpHeaders,
+                              final OutputStream entityStream) throws IOException {
+        if (isOriginalEntityStream(requestCtxProvider.get())) {
+            // No WriterInterceptor replaced the entity stream, nothing observes the bytes written to it.
+            writeTo(entity, mediaType, httpHeaders, ctxRefProvider.get().get().executionContext().bufferAllocator());
+        } else {
+            writeTo(entity, mediaType, entityStream);
+        }
+    }
+
+    /**
+     * Write the entity as the response body, without using the entity stream.
+     *
+     * @param entity the entity to write.
+     * @param mediaType the media type of the response.
+     * @param httpHeaders the response headers.
+     * @param allocator the {@link BufferAllocator} to use.
+     * @throws IOException if the entity can not be written.
+     * @see #setResponseBody(Publisher, long, MultivaluedMap)
+     */
+    abstract void writeTo(T entity, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                          BufferAllocator allocator) throws IOException;
+
+    /**
+     * Write the entity to an entity stream which has been replaced by a {@link javax.ws.rs.ext.WriterInterceptor}.
+     *
+     * @param entity the entity to write.
+     * @param mediaType the media type of the response.
+     * @param entityStream the entity stream to write to.
+     * @throws IOException if the entity can not be written.
+     */
+    abstract void writeTo(T entity, MediaType mediaType, OutputStream entityStream) throws IOException;
+
+    final void setResponseBody(final Publisher<Buffer> body, final long contentLength,
+                               final MultivaluedMap<String, Object> httpHeaders) {
+        httpHeaders.putSingle(CONTENT_LENGTH, contentLength);
+        setResponseBufferPublisher(body, requestCtxProvider.get());
+    }
+}
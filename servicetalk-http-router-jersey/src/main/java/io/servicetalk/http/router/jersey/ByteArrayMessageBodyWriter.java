@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import static io.servicetalk.concurrent.api.Publisher.from;
+
+/**
+ * Writes {@code byte[]} entities by wrapping them in a {@link io.servicetalk.buffer.api.Buffer}, without copying.
+ */
+final class ByteArrayMessageBodyWriter extends AbstractBufferMessageBodyWriter<byte[]> {
+    ByteArrayMessageBodyWriter() {
+        super(byte[].class);
+    }
+
+    @Override
+    void writeTo(final byte[] entity, final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                 final BufferAllocator allocator) {
+        setResponseBody(from(allocator.wrap(entity)), entity.length, httpHeaders);
+    }
+
+    @Override
+    void writeTo(final byte[] entity, final MediaType mediaType, final OutputStream entityStream) throws IOException {
+        entityStream.write(entity);
+    }
+}
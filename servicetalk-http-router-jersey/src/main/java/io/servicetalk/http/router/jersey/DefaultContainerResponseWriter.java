@@ -263,6 +263,9 @@ final class DefaultContainerResponseWriter implements ContainerResponseWriter {
                 headers.set(CONTENT_LENGTH, contentLength == 0 ? ZERO : Long.toString(contentLength));
                 headers.removeIgnoreCase(TRANSFER_ENCODING, CHUNKED);
             }
+        } else if (content != null) {
+            // MessageBodyWriters which bypass the entity stream set the content length of the entity they provide
+            headers.removeIgnoreCase(TRANSFER_ENCODING, CHUNKED);
         }
 
         responseSubscriber.onSuccess(response);
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import org.glassfish.jersey.message.internal.CommittingOutputStream;
+
+import java.io.IOException;
+import javax.annotation.Priority;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import static java.lang.Integer.MAX_VALUE;
+
+/**
+ * A {@link WriterInterceptor} which runs after all other {@link WriterInterceptor}s and records whether the entity
+ * stream is still the one created by Jersey, i.e. whether any other {@link WriterInterceptor} observes the bytes
+ * written to it.
+ * <p>
+ * Jersey wraps the entity stream before handing it to a {@link javax.ws.rs.ext.MessageBodyWriter}, so this can not be
+ * determined from the stream passed to the writer.
+ *
+ * @see AbstractBufferMessageBodyWriter
+ */
+@Priority(MAX_VALUE)
+final class EntityStreamTrackingWriterInterceptor implements WriterInterceptor {
+    private static final String ORIGINAL_ENTITY_STREAM =
+            EntityStreamTrackingWriterInterceptor.class.getName() + ".originalEntityStream";
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        context.setProperty(ORIGINAL_ENTITY_STREAM, context.getOutputStream() instanceof CommittingOutputStream);
+        try {
+            context.proceed();
+        } finally {
+            context.removeProperty(ORIGINAL_ENTITY_STREAM);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the entity is being written to the entity stream created by Jersey.
+     *
+     * @param requestCtx the {@link ContainerRequestContext} of the request that the entity is the response to.
+     * @return {@code true} if the entity is being written to the entity stream created by Jersey.
+     */
+    static boolean isOriginalEntityStream(final ContainerRequestContext requestCtx) {
+        return Boolean.TRUE.equals(requestCtx.getProperty(ORIGINAL_ENTITY_STREAM));
+    }
+}
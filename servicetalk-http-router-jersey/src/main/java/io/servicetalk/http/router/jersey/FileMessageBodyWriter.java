@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Publisher;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import static io.servicetalk.concurrent.api.Publisher.defer;
+import static io.servicetalk.concurrent.api.Publisher.failed;
+import static io.servicetalk.concurrent.api.Publisher.fromInputStream;
+import static org.glassfish.jersey.message.internal.ReaderWriter.BUFFER_SIZE;
+
+/**
+ * Writes {@link File} entities by reading chunks of the file into {@code byte[]}s which are wrapped in
+ * {@link Buffer}s, instead of copying the file through the entity stream.
+ * <p>
+ * The file is opened when the response body is subscribed, so it is not opened for responses which do not have a body
+ * (e.g. {@code HEAD}). Reading is blocking, so the response must be offloaded if the file system may block the
+ * IO thread.
+ */
+final class FileMessageBodyWriter extends AbstractBufferMessageBodyWriter<File> {
+    FileMessageBodyWriter() {
+        super(File.class);
+    }
+
+    @Override
+    void writeTo(final File entity, final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                 final BufferAllocator allocator) throws IOException {
+        if (!entity.isFile()) {
+            // Fail before the response headers are sent.
+            throw new FileNotFoundException(entity.getPath());
+        }
+        final Publisher<Buffer> body = defer(() -> {
+            try {
+                // Configured via the org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE property
+                return fromInputStream(new FileInputStream(entity), BUFFER_SIZE).map(allocator::wrap);
+            } catch (FileNotFoundException e) {
+                return failed(e);
+            }
+        });
+        setResponseBody(body, entity.length(), httpHeaders);
+    }
+
+    @Override
+    void writeTo(final File entity, final MediaType mediaType, final OutputStream entityStream) throws IOException {
+        try (InputStream in = new FileInputStream(entity)) {
+            ReaderWriter.writeTo(in, entityStream);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,10 @@ public final class ServiceTalkFeature implements Feature {
             context.register(BufferMessageBodyReaderWriter.class);
             context.register(BufferPublisherMessageBodyReaderWriter.class);
             context.register(BufferSingleMessageBodyReaderWriter.class);
+            context.register(ByteArrayMessageBodyWriter.class);
+            context.register(FileMessageBodyWriter.class);
+            context.register(StringMessageBodyWriter.class);
+            context.register(EntityStreamTrackingWriterInterceptor.class);
             context.register(EndpointEnhancingRequestFilter.class);
 
             context.register(new AbstractBinder() {
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.router.jersey;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.glassfish.jersey.message.internal.ReaderWriter.getCharset;
+
+/**
+ * Writes {@link String} entities by encoding them directly into a {@link Buffer}, instead of encoding them through a
+ * {@link java.io.Writer} to the entity stream.
+ */
+final class StringMessageBodyWriter extends AbstractBufferMessageBodyWriter<String> {
+    StringMessageBodyWriter() {
+        super(String.class);
+    }
+
+    @Override
+    void writeTo(final String entity, final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                 final BufferAllocator allocator) {
+        final Charset charset = getCharset(mediaType);
+        final Buffer buffer = UTF_8.equals(charset) ? allocator.fromUtf8(entity) :
+                allocator.fromSequence(entity, charset);
+        setResponseBody(from(buffer), buffer.readableBytes(), httpHeaders);
+    }
+
+    @Override
+    void writeTo(final String entity, final MediaType mediaType, final OutputStream entityStream) throws IOException {
+        entityStream.write(entity.getBytes(getCharset(mediaType)));
+    }
+}
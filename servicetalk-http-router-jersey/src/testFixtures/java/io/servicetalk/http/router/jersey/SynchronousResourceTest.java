@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,11 @@
 package io.servicetalk.http.router.jersey;
 
 import io.servicetalk.http.api.HttpResponseStatus;
+import io.servicetalk.http.api.StreamingHttpResponse;
 
 import org.junit.Test;
 
+import static io.servicetalk.http.api.HttpHeaderNames.TRANSFER_ENCODING;
 import static io.servicetalk.http.api.HttpHeaderValues.APPLICATION_JSON;
 import static io.servicetalk.http.api.HttpHeaderValues.TEXT_PLAIN;
 import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_0;
@@ -28,7 +30,9 @@ import static io.servicetalk.http.api.HttpResponseStatus.OK;
 import static io.servicetalk.http.api.HttpResponseStatus.PARTIAL_CONTENT;
 import static io.servicetalk.http.router.jersey.TestUtils.newLargePayload;
 import static io.servicetalk.http.router.jersey.resources.SynchronousResources.PATH;
+import static java.util.Arrays.fill;
 import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
 public class SynchronousResourceTest extends AbstractResourceTest {
@@ -80,6 +84,21 @@ public class SynchronousResourceTest extends AbstractResourceTest {
                 __ -> 16);
     }
 
+    @Test
+    public void getTextFile() {
+        sendAndAssertResponse(get("/text-file"), OK, TEXT_PLAIN, "DONE");
+    }
+
+    @Test
+    public void getLargeTextBypassesEntityStream() {
+        // Jersey buffers up to 8 KiB written to the entity stream to compute the content length, so a larger entity
+        // only has a content length if its writer bypassed the entity stream.
+        final int length = 64 * 1024;
+        final StreamingHttpResponse res = sendAndAssertResponse(get("/text-large?length=" + length), OK, TEXT_PLAIN,
+                is(newString(length, 'x')), __ -> length);
+        assertThat(res.headers().contains(TRANSFER_ENCODING), is(false));
+    }
+
     @Test
     public void postTextStrInPubOut() {
         sendAndAssertResponse(post("/text-strin-pubout", "bar2", TEXT_PLAIN), OK, TEXT_PLAIN, is("GOT: bar2"),
@@ -169,4 +188,10 @@ public class SynchronousResourceTest extends AbstractResourceTest {
                 jsonEquals("{\"authenticationScheme\":null,\"secure\":false,\"userPrincipal\":null}"),
                 getJsonResponseContentLengthExtractor());
     }
+
+    private static String newString(final int length, final char c) {
+        final char[] chars = new char[length];
+        fill(chars, c);
+        return new String(chars);
+    }
 }
@@ -29,7 +29,10 @@ import io.servicetalk.serialization.api.Serializer;
 import io.servicetalk.serialization.api.TypeHolder;
 import io.servicetalk.transport.api.ConnectionContext;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +67,7 @@ import static io.servicetalk.http.router.jersey.resources.SynchronousResources.P
 import static java.lang.System.arraycopy;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.fill;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.joining;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
@@ -189,6 +193,25 @@ public class SynchronousResources {
         return ctx.executionContext().bufferAllocator().fromAscii("DONE");
     }
 
+    @Produces(TEXT_PLAIN)
+    @Path("/text-file")
+    @GET
+    public File getTextFile() throws IOException {
+        final File file = File.createTempFile("servicetalk", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "DONE".getBytes(US_ASCII));
+        return file;
+    }
+
+    @Produces(TEXT_PLAIN)
+    @Path("/text-large")
+    @GET
+    public String getLargeText(@QueryParam("length") final int length) {
+        final char[] chars = new char[length];
+        fill(chars, 'x');
+        return new String(chars);
+    }
+
     @Consumes(TEXT_PLAIN)
     @Produces(TEXT_PLAIN)
     @Path("/text-buffer")
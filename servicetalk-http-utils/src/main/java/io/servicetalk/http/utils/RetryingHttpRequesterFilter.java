@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,12 @@ import io.servicetalk.client.api.AbstractRetryingFilterBuilder;
 import io.servicetalk.client.api.AbstractRetryingFilterBuilder.ReadOnlyRetryableSettings;
 import io.servicetalk.concurrent.api.BiIntFunction;
 import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Executor;
 import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.RetryBudget;
 import io.servicetalk.concurrent.api.RetryStrategies;
 import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.encoding.api.ContentCodec;
 import io.servicetalk.http.api.FilterableStreamingHttpClient;
 import io.servicetalk.http.api.FilterableStreamingHttpConnection;
 import io.servicetalk.http.api.HttpExecutionStrategy;
@@ -36,12 +39,31 @@ import io.servicetalk.http.api.StreamingHttpRequester;
 import io.servicetalk.http.api.StreamingHttpResponse;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.BiPredicate;
+import javax.annotation.Nullable;
 
 import static io.servicetalk.concurrent.api.Completable.failed;
+import static io.servicetalk.concurrent.api.Single.defer;
+import static io.servicetalk.concurrent.api.Single.never;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * A filter to enable retries for HTTP requests.
+ * <p>
+ * Optionally, the total rate of retries can be bounded by a {@link RetryBudget} (see
+ * {@link Builder#retryBudget(int, int)}) and <a href="https://tools.ietf.org/html/rfc7231#section-4.2.2">idempotent</a>
+ * requests can be hedged (see {@link Builder#hedgeIdempotentRequests(double, Duration)}).
  *
  * @see RetryStrategies
  */
@@ -50,15 +72,40 @@ public final class RetryingHttpRequesterFilter implements StreamingHttpClientFil
                                                           HttpExecutionStrategyInfluencer {
 
     private final ReadOnlyRetryableSettings<HttpRequestMetaData> settings;
+    private final double hedgePercentile;
+    @Nullable
+    private final Duration maxHedgeDelay;
 
-    private RetryingHttpRequesterFilter(final ReadOnlyRetryableSettings<HttpRequestMetaData> settings) {
+    private RetryingHttpRequesterFilter(final ReadOnlyRetryableSettings<HttpRequestMetaData> settings,
+                                        final double hedgePercentile, @Nullable final Duration maxHedgeDelay) {
         this.settings = settings;
+        this.hedgePercentile = hedgePercentile;
+        this.maxHedgeDelay = maxHedgeDelay;
     }
 
     private Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
                                                   final HttpExecutionStrategy strategy,
                                                   final StreamingHttpRequest request,
-                                                  final BiIntFunction<Throwable, Completable> retryStrategy) {
+                                                  final BiIntFunction<Throwable, Completable> retryStrategy,
+                                                  @Nullable final RetryBudget retryBudget,
+                                                  @Nullable final HedgeDelayTracker hedgeDelayTracker) {
+        if (retryBudget == null && hedgeDelayTracker == null) {
+            return retrying(delegate, strategy, request, retryStrategy);
+        }
+        return defer(() -> {
+            if (retryBudget != null) {
+                retryBudget.deposit();
+            }
+            return (hedgeDelayTracker != null && request.method().properties().isIdempotent() ?
+                    hedged(delegate, strategy, request, retryStrategy, retryBudget, hedgeDelayTracker) :
+                    retrying(delegate, strategy, request, retryStrategy)).subscribeShareContext();
+        });
+    }
+
+    private Single<StreamingHttpResponse> retrying(final StreamingHttpRequester delegate,
+                                                   final HttpExecutionStrategy strategy,
+                                                   final StreamingHttpRequest request,
+                                                   final BiIntFunction<Throwable, Completable> retryStrategy) {
         return delegate.request(strategy, request).retryWhen((count, t) -> {
             if (settings.isRetryable(request, t)) {
                 return retryStrategy.apply(count, t);
@@ -67,18 +114,65 @@ public final class RetryingHttpRequesterFilter implements StreamingHttpClientFil
         });
     }
 
+    private Single<StreamingHttpResponse> hedged(final StreamingHttpRequester delegate,
+                                                 final HttpExecutionStrategy strategy,
+                                                 final StreamingHttpRequest request,
+                                                 final BiIntFunction<Throwable, Completable> retryStrategy,
+                                                 @Nullable final RetryBudget retryBudget,
+                                                 final HedgeDelayTracker hedgeDelayTracker) {
+        final long startTime = nanoTime();
+        final HedgeState state = new HedgeState();
+        // The latency of the primary request is recorded whether it wins or not, otherwise only requests which are
+        // faster than the current delay contribute, and the delay only ever shrinks. If the hedge won, the primary is
+        // cancelled and the time until then is recorded as a lower bound of its latency.
+        final Single<StreamingHttpResponse> primary = state.attempt(retrying(delegate, strategy, request,
+                retryStrategy)
+                .whenOnSuccess(__ -> state.recordPrimaryLatency(hedgeDelayTracker, startTime))
+                .whenCancel(() -> {
+                    if (state.responded()) {
+                        state.recordPrimaryLatency(hedgeDelayTracker, startTime);
+                    }
+                }));
+        final Single<StreamingHttpResponse> hedge = hedgeDelayTracker.timer().concat(defer(() ->
+                state.tryStartHedge(retryBudget) ?
+                        state.attempt(retrying(delegate, strategy, copyOf(delegate, request), retryStrategy))
+                                .subscribeShareContext() :
+                        never()));
+        return primary.ambWith(hedge);
+    }
+
+    private static StreamingHttpRequest copyOf(final StreamingHttpRequester requester,
+                                               final StreamingHttpRequest request) {
+        // Both requests travel through the rest of the filter chain concurrently, so they must not share meta-data.
+        final StreamingHttpRequest copy = requester.newRequest(request.method(), request.requestTarget())
+                .version(request.version())
+                .transformMessageBody(__ -> request.messageBody());
+        copy.headers().add(request.headers());
+        final ContentCodec encoding = request.encoding();
+        if (encoding != null) {
+            copy.encoding(encoding);
+        }
+        return copy;
+    }
+
     @Override
     public StreamingHttpClientFilter create(final FilterableStreamingHttpClient client) {
         return new StreamingHttpClientFilter(client) {
 
+            @Nullable
+            private final RetryBudget retryBudget = settings.newRetryBudget();
             private final BiIntFunction<Throwable, Completable> retryStrategy =
-                    settings.newStrategy(client.executionContext().executor());
+                    settings.newStrategy(client.executionContext().executor(), retryBudget);
+            @Nullable
+            private final HedgeDelayTracker hedgeDelayTracker = maxHedgeDelay == null ? null :
+                    new HedgeDelayTracker(hedgePercentile, maxHedgeDelay, client.executionContext().executor());
 
             @Override
             protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
                                                             final HttpExecutionStrategy strategy,
                                                             final StreamingHttpRequest request) {
-                return RetryingHttpRequesterFilter.this.request(delegate, strategy, request, retryStrategy);
+                return RetryingHttpRequesterFilter.this.request(delegate, strategy, request, retryStrategy,
+                        retryBudget, hedgeDelayTracker);
             }
         };
     }
@@ -87,13 +181,17 @@ public final class RetryingHttpRequesterFilter implements StreamingHttpClientFil
     public StreamingHttpConnectionFilter create(final FilterableStreamingHttpConnection connection) {
         return new StreamingHttpConnectionFilter(connection) {
 
+            @Nullable
+            private final RetryBudget retryBudget = settings.newRetryBudget();
             private final BiIntFunction<Throwable, Completable> retryStrategy =
-                    settings.newStrategy(connection.executionContext().executor());
+                    settings.newStrategy(connection.executionContext().executor(), retryBudget);
 
             @Override
             public Single<StreamingHttpResponse> request(final HttpExecutionStrategy strategy,
                                                          final StreamingHttpRequest request) {
-                return RetryingHttpRequesterFilter.this.request(delegate(), strategy, request, retryStrategy);
+                // Hedging on the same connection does not help to avoid a slow backend, so it is only done by clients.
+                return RetryingHttpRequesterFilter.this.request(delegate(), strategy, request, retryStrategy,
+                        retryBudget, null);
             }
        };
     }
@@ -104,6 +202,97 @@ public final class RetryingHttpRequesterFilter implements StreamingHttpClientFil
         return strategy;
     }
 
+    /**
+     * Coordinates the primary and the hedged request: the first response wins and the other request is cancelled or,
+     * if it already produced a response, drained. An error is only propagated once no other request is in flight.
+     */
+    private static final class HedgeState {
+        private final AtomicInteger inFlight = new AtomicInteger(1);
+        private final AtomicBoolean responded = new AtomicBoolean();
+        private final AtomicBoolean primaryRecorded = new AtomicBoolean();
+
+        boolean responded() {
+            return responded.get();
+        }
+
+        void recordPrimaryLatency(final HedgeDelayTracker hedgeDelayTracker, final long startTime) {
+            if (primaryRecorded.compareAndSet(false, true)) {
+                hedgeDelayTracker.record(nanoTime() - startTime);
+            }
+        }
+
+        boolean tryStartHedge(@Nullable final RetryBudget retryBudget) {
+            if (responded.get() || (retryBudget != null && !retryBudget.tryWithdraw())) {
+                return false;
+            }
+            for (;;) {
+                final int current = inFlight.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        Single<StreamingHttpResponse> attempt(final Single<StreamingHttpResponse> response) {
+            return response.flatMap(resp -> {
+                if (responded.compareAndSet(false, true)) {
+                    return succeeded(resp);
+                }
+                // The other request won, release the connection used by this one.
+                resp.messageBody().ignoreElements().subscribe();
+                return Single.<StreamingHttpResponse>never();
+            }).onErrorResume(t -> inFlight.decrementAndGet() == 0 ? Single.failed(t) : never());
+        }
+    }
+
+    /**
+     * Tracks the latency of recent primary requests and derives the delay after which a hedged request is sent.
+     */
+    private static final class HedgeDelayTracker {
+        private static final int WINDOW = 512;
+        private static final int RECOMPUTE_INTERVAL = 64;
+
+        private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+        private final AtomicInteger sampleCount = new AtomicInteger();
+        private final double percentile;
+        private final long maxDelayNanos;
+        private final Executor timerExecutor;
+        private volatile long delayNanos;
+
+        HedgeDelayTracker(final double percentile, final Duration maxDelay, final Executor timerExecutor) {
+            this.percentile = percentile;
+            this.maxDelayNanos = maxDelay.toNanos();
+            this.timerExecutor = timerExecutor;
+            // Until enough latencies have been observed, wait for the maximum delay.
+            this.delayNanos = maxDelayNanos;
+        }
+
+        Completable timer() {
+            return timerExecutor.timer(delayNanos, NANOSECONDS);
+        }
+
+        void record(final long latencyNanos) {
+            final int index = sampleCount.getAndIncrement();
+            samples.set(index & (WINDOW - 1), latencyNanos);
+            if (((index + 1) & (RECOMPUTE_INTERVAL - 1)) == 0) {
+                recompute(index < 0 || index >= WINDOW - 1 ? WINDOW : index + 1);
+            }
+        }
+
+        private void recompute(final int count) {
+            final long[] sorted = new long[count];
+            for (int i = 0; i < count; ++i) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            final int rank = max(0, (int) ceil(percentile / 100 * count) - 1);
+            delayNanos = min(maxDelayNanos, sorted[rank]);
+        }
+    }
+
     /**
      * A builder for {@link RetryingHttpRequesterFilter}, which puts an upper bound on retry attempts.
      * To configure the maximum number of retry attempts see {@link #maxRetries(int)}.
@@ -111,10 +300,41 @@ public final class RetryingHttpRequesterFilter implements StreamingHttpClientFil
     public static final class Builder
             extends AbstractRetryingFilterBuilder<Builder, RetryingHttpRequesterFilter, HttpRequestMetaData> {
 
+        private double hedgePercentile;
+        @Nullable
+        private Duration maxHedgeDelay;
+
+        /**
+         * Enables hedging of <a href="https://tools.ietf.org/html/rfc7231#section-4.2.2">idempotent</a> requests by
+         * clients: if no response arrived after the observed {@code percentile} latency of recent requests, a second
+         * request is sent. The first response wins and the other request is cancelled.
+         * <p>
+         * Hedged requests withdraw from the {@link #retryBudget(int, int) retry budget} if one is configured. The
+         * same requirement for a replayable {@link StreamingHttpRequest#payloadBody() payload body} as for
+         * {@link #retryForIdempotentRequestsPredicate()} applies.
+         *
+         * @param percentile Percentile of the latency of recent requests after which a hedged request is sent, for
+         * example {@code 95}
+         * @param maxDelay Maximum delay after which a hedged request is sent, also used until enough latencies have
+         * been observed
+         * @return {@code this}
+         */
+        public Builder hedgeIdempotentRequests(final double percentile, final Duration maxDelay) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile: " + percentile + " (expected: (0, 100])");
+            }
+            if (requireNonNull(maxDelay).isNegative() || maxDelay.isZero()) {
+                throw new IllegalArgumentException("maxDelay: " + maxDelay + " (expected: >0)");
+            }
+            this.hedgePercentile = percentile;
+            this.maxHedgeDelay = maxDelay;
+            return this;
+        }
+
         @Override
         protected RetryingHttpRequesterFilter build(
                 final ReadOnlyRetryableSettings<HttpRequestMetaData> readOnlySettings) {
-            return new RetryingHttpRequesterFilter(readOnlySettings);
+            return new RetryingHttpRequesterFilter(readOnlySettings, hedgePercentile, maxHedgeDelay);
         }
 
         /**
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.http.utils;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestExecutor;
+import io.servicetalk.concurrent.api.TestSingle;
+import io.servicetalk.http.api.DefaultHttpHeadersFactory;
+import io.servicetalk.http.api.DefaultStreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.HttpExecutionContext;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.StreamingHttpClient;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpClientFilterFactory;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequestResponseFactory;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Single.defer;
+import static io.servicetalk.concurrent.api.Single.failed;
+import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
+import static io.servicetalk.http.api.FilterFactoryUtils.appendClientFilterFactory;
+import static io.servicetalk.http.api.HttpProtocolVersion.HTTP_1_1;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.api.TestStreamingHttpClient.from;
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RetryingHttpRequesterFilterTest {
+
+    private static final StreamingHttpRequestResponseFactory reqRespFactory =
+            new DefaultStreamingHttpRequestResponseFactory(DEFAULT_ALLOCATOR, DefaultHttpHeadersFactory.INSTANCE,
+                    HTTP_1_1);
+
+    private final TestExecutor executor = new TestExecutor();
+    private final HttpExecutionContext executionContext = mock(HttpExecutionContext.class);
+    private final BlockingQueue<TestSingle<StreamingHttpResponse>> responses = new LinkedBlockingQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(executionContext.executor()).thenReturn(executor);
+    }
+
+    @Test
+    void retryBudgetBoundsRetries() {
+        StreamingHttpClient client = newClient(new RetryingHttpRequesterFilter.Builder()
+                .maxRetries(3)
+                .retryFor((meta, t) -> true)
+                .retryBudget(10, 1)
+                .buildWithImmediateRetries(), () -> failed(DELIBERATE_EXCEPTION));
+
+        // The budget starts with a single token, so only one of the three allowed retries is done.
+        assertFailed(client.request(client.get("/")));
+        assertThat(requests.get(), is(2));
+
+        // A single request only deposits a tenth of a token, which is not enough for a retry.
+        assertFailed(client.request(client.get("/")));
+        assertThat(requests.get(), is(3));
+    }
+
+    @Test
+    void hedgedRequestWinsWhenPrimaryIsSlow() throws Exception {
+        StreamingHttpClient client = newClient(new RetryingHttpRequesterFilter.Builder()
+                .hedgeIdempotentRequests(95, ofMillis(100))
+                .buildWithImmediateRetries(), this::newResponse);
+
+        Future<StreamingHttpResponse> future = client.request(client.get("/")).toFuture();
+        responses.take();
+        assertThat(requests.get(), is(1));
+
+        executor.advanceTimeBy(100, MILLISECONDS);
+        TestSingle<StreamingHttpResponse> hedge = responses.take();
+        assertThat(requests.get(), is(2));
+
+        StreamingHttpResponse response = reqRespFactory.ok();
+        hedge.onSuccess(response);
+        assertThat(future.get(), is(sameInstance(response)));
+        assertThat("Primary request was not cancelled", cancelled.get(), is(1));
+    }
+
+    @Test
+    void primaryWinsBeforeHedgeDelay() throws Exception {
+        StreamingHttpClient client = newClient(new RetryingHttpRequesterFilter.Builder()
+                .hedgeIdempotentRequests(95, ofMillis(100))
+                .buildWithImmediateRetries(), this::newResponse);
+
+        Future<StreamingHttpResponse> future = client.request(client.get("/")).toFuture();
+        StreamingHttpResponse response = reqRespFactory.ok();
+        responses.take().onSuccess(response);
+        assertThat(future.get(), is(sameInstance(response)));
+
+        executor.advanceTimeBy(100, MILLISECONDS);
+        assertThat(requests.get(), is(1));
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void primaryErrorBeforeHedgeDelayIsPropagated() throws Exception {
+        StreamingHttpClient client = newClient(new RetryingHttpRequesterFilter.Builder()
+                .hedgeIdempotentRequests(95, ofMillis(100))
+                .buildWithImmediateRetries(), this::newResponse);
+
+        Future<StreamingHttpResponse> future = client.request(client.get("/")).toFuture();
+        responses.take().onError(DELIBERATE_EXCEPTION);
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertThat(e.getCause(), is(DELIBERATE_EXCEPTION));
+        assertThat(requests.get(), is(1));
+    }
+
+    @Test
+    void errorIsSuppressedWhileHedgeIsInFlight() throws Exception {
+        StreamingHttpClient client = newClient(new RetryingHttpRequesterFilter.Builder()
+                .hedgeIdempotentRequests(95, ofMillis(100))
+                .buildWithImmediateRetries(), this::newResponse);
+
+        Future<StreamingHttpResponse> future = client.request(client.get("/")).toFuture();
+        TestSingle<StreamingHttpResponse> primary = responses.take();
+        executor.advanceTimeBy(100, MILLISECONDS);
+        TestSingle<StreamingHttpResponse> hedge = responses.take();
+
+        primary.onError(DELIBERATE_EXCEPTION);
+        assertThat(future.isDone(), is(false));
+        StreamingHttpResponse response = reqRespFactory.ok();
+        hedge.onSuccess(response);
+        assertThat(future.get(), is(sameInstance(response)));
+    }
+
+    @Test
+    void nonIdempotentRequestsAreNotHedged() throws Exception {
+        StreamingHttpClient client = newClient(new RetryingHttpRequesterFilter.Builder()
+                .hedgeIdempotentRequests(95, ofMillis(100))
+                .buildWithImmediateRetries(), this::newResponse);
+
+        Future<StreamingHttpResponse> future = client.request(client.post("/")).toFuture();
+        TestSingle<StreamingHttpResponse> primary = responses.take();
+        executor.advanceTimeBy(100, MILLISECONDS);
+        assertThat(requests.get(), is(1));
+
+        primary.onSuccess(reqRespFactory.ok());
+        assertThat(future.get().status(), is(OK));
+    }
+
+    @Test
+    void invalidHedgingArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryingHttpRequesterFilter.Builder().hedgeIdempotentRequests(0, ofMillis(100)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryingHttpRequesterFilter.Builder().hedgeIdempotentRequests(101, ofMillis(100)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryingHttpRequesterFilter.Builder().hedgeIdempotentRequests(95, ofMillis(0)));
+    }
+
+    private Single<StreamingHttpResponse> newResponse() {
+        TestSingle<StreamingHttpResponse> response = new TestSingle<>();
+        responses.add(response);
+        return response;
+    }
+
+    private static void assertFailed(Single<StreamingHttpResponse> response) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> response.toFuture().get());
+        assertThat(e.getCause(), is(DELIBERATE_EXCEPTION));
+    }
+
+    private StreamingHttpClient newClient(RetryingHttpRequesterFilter filter,
+                                          Supplier<Single<StreamingHttpResponse>> responseSupplier) {
+        StreamingHttpClientFilterFactory transport = client -> new StreamingHttpClientFilter(client) {
+            @Override
+            protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                            final HttpExecutionStrategy strategy,
+                                                            final StreamingHttpRequest request) {
+                return defer(() -> {
+                    requests.incrementAndGet();
+                    return responseSupplier.get().whenCancel(cancelled::incrementAndGet);
+                });
+            }
+        };
+        return from(reqRespFactory, executionContext, appendClientFilterFactory(filter, transport));
+    }
+}
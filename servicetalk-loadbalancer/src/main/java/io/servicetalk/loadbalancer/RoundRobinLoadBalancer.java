@@ -40,6 +40,8 @@ import org.slf4j.LoggerFactory;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ThreadLocalRandom;
@@ -62,7 +64,6 @@ import static io.servicetalk.concurrent.api.Single.succeeded;
 import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
 import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
@@ -91,6 +92,7 @@ public final class RoundRobinLoadBalancer<ResolvedAddress, C extends LoadBalance
     private static final List<?> CLOSED_LIST = new ArrayList<>(0);
     private static final Object[] CLOSED_ARRAY = new Object[0];
     private static final Object[] EMPTY_ARRAY = new Object[0];
+    private static final String UNKNOWN_TARGET_RESOURCE = "unknown";
 
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<RoundRobinLoadBalancer, List> activeHostsUpdater =
@@ -120,6 +122,7 @@ public final class RoundRobinLoadBalancer<ResolvedAddress, C extends LoadBalance
     private volatile int index;
     private volatile List<Host<ResolvedAddress, C>> activeHosts = emptyList();
 
+    private final String targetResource;
     private final Publisher<Object> eventStream;
     private final SequentialCancellable discoveryCancellable = new SequentialCancellable();
     private final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory;
@@ -133,11 +136,29 @@ public final class RoundRobinLoadBalancer<ResolvedAddress, C extends LoadBalance
      */
     public RoundRobinLoadBalancer(final Publisher<? extends ServiceDiscovererEvent<ResolvedAddress>> eventPublisher,
                                   final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory) {
+        this(UNKNOWN_TARGET_RESOURCE, eventPublisher.map(Collections::singletonList), connectionFactory);
+    }
+
+    /**
+     * Creates a new instance which applies each emitted {@link Collection} of {@link ServiceDiscovererEvent}s as a
+     * single update of the active addresses.
+     *
+     * @param targetResource    {@link String} representation of the target resource for which this instance
+     * is performing load balancing.
+     * @param eventPublisher    provides a stream of batches of addresses to connect to.
+     * @param connectionFactory a function which creates new connections.
+     */
+    public RoundRobinLoadBalancer(
+            final String targetResource,
+            final Publisher<? extends Collection<? extends ServiceDiscovererEvent<ResolvedAddress>>> eventPublisher,
+            final ConnectionFactory<ResolvedAddress, ? extends C> connectionFactory) {
+        this.targetResource = requireNonNull(targetResource);
         Processor<Object, Object> eventStreamProcessor = newPublisherProcessorDropHeadOnOverflow(32);
         this.eventStream = fromSource(eventStreamProcessor);
         this.connectionFactory = requireNonNull(connectionFactory);
 
-        toSource(eventPublisher).subscribe(new Subscriber<ServiceDiscovererEvent<ResolvedAddress>>() {
+        toSource(eventPublisher).subscribe(
+                new Subscriber<Collection<? extends ServiceDiscovererEvent<ResolvedAddress>>>() {
 
             @Override
             public void onSubscribe(final Subscription s) {
@@ -150,54 +171,66 @@ public final class RoundRobinLoadBalancer<ResolvedAddress, C extends LoadBalance
             }
 
             @Override
-            public void onNext(final ServiceDiscovererEvent<ResolvedAddress> event) {
-                LOGGER.debug("Load balancer {}, received new ServiceDiscoverer event {}.", RoundRobinLoadBalancer.this,
-                        event);
-                @SuppressWarnings("unchecked")
-                final List<Host<ResolvedAddress, C>> activeAddresses =
-                    activeHostsUpdater.updateAndGet(RoundRobinLoadBalancer.this, oldHosts -> {
-                        if (oldHosts == CLOSED_LIST) {
-                            return CLOSED_LIST;
-                        }
+            public void onNext(final Collection<? extends ServiceDiscovererEvent<ResolvedAddress>> events) {
+                LOGGER.debug("Load balancer {}, received new ServiceDiscoverer events {}.",
+                        RoundRobinLoadBalancer.this, events);
+                if (events.isEmpty()) {
+                    return;
+                }
+                boolean sawUnavailable = false;
+                List<Host<ResolvedAddress, C>> oldHosts;
+                List<Host<ResolvedAddress, C>> newHosts;
+                List<Host<ResolvedAddress, C>> removedHosts;
+                for (;;) {
+                    @SuppressWarnings("unchecked")
+                    final List<Host<ResolvedAddress, C>> current = activeHostsUpdater.get(RoundRobinLoadBalancer.this);
+                    oldHosts = current;
+                    if (oldHosts == CLOSED_LIST) {
+                        return;
+                    }
+                    // Copy the active hosts once per batch and apply all events to the copy, this makes a resolution
+                    // which changes N addresses cost a single copy and a single CAS instead of N of each.
+                    newHosts = new ArrayList<>(oldHosts.size() + events.size());
+                    newHosts.addAll(oldHosts);
+                    removedHosts = emptyList();
+                    for (ServiceDiscovererEvent<ResolvedAddress> event : events) {
                         final ResolvedAddress addr = requireNonNull(event.address());
-                        @SuppressWarnings("unchecked")
-                        final List<Host<ResolvedAddress, C>> oldHostsTyped = (List<Host<ResolvedAddress, C>>) oldHosts;
                         if (event.isAvailable()) {
-                            if (oldHostsTyped.isEmpty()) {
-                                return singletonList(new Host<>(addr));
-                            }
-                            final List<Host<ResolvedAddress, C>> newHosts = new ArrayList<>(oldHostsTyped.size() + 1);
-                            newHosts.addAll(oldHostsTyped);
                             newHosts.add(new Host<>(addr));
-                            return newHosts;
-                        } else if (oldHostsTyped.isEmpty()) {
-                            return emptyList();
                         } else {
-                            final List<Host<ResolvedAddress, C>> newHosts = new ArrayList<>(oldHostsTyped.size() - 1);
-                            for (int i = 0; i < oldHostsTyped.size(); ++i) {
-                                final Host<ResolvedAddress, C> host = oldHostsTyped.get(i);
-                                if (host.address.equals(addr)) {
-                                    host.markInactive();
-                                    for (int x = i + 1; x < oldHostsTyped.size(); ++x) {
-                                        newHosts.add(oldHostsTyped.get(x));
+                            sawUnavailable = true;
+                            for (int i = 0; i < newHosts.size(); ++i) {
+                                if (newHosts.get(i).address.equals(addr)) {
+                                    if (removedHosts.isEmpty()) {
+                                        removedHosts = new ArrayList<>(2);
                                     }
-                                    return newHosts.isEmpty() ? emptyList() : newHosts;
-                                } else {
-                                    newHosts.add(host);
+                                    removedHosts.add(newHosts.remove(i));
+                                    break;
                                 }
                             }
-                            return newHosts;
                         }
-                    });
+                    }
+                    if (newHosts.isEmpty()) {
+                        newHosts = emptyList();
+                    }
+                    if (activeHostsUpdater.compareAndSet(RoundRobinLoadBalancer.this, oldHosts, newHosts)) {
+                        break;
+                    }
+                }
+
+                // Only deactivate hosts once the update has been applied, the loop may be retried.
+                for (Host<ResolvedAddress, C> host : removedHosts) {
+                    host.markInactive();
+                }
 
                 LOGGER.debug("Load balancer {} now using {} addresses: {}", RoundRobinLoadBalancer.this,
-                        activeAddresses.size(), activeAddresses);
+                        newHosts.size(), newHosts);
 
-                if (event.isAvailable()) {
-                    if (activeAddresses.size() == 1) {
+                if (oldHosts.isEmpty()) {
+                    if (!newHosts.isEmpty()) {
                         eventStreamProcessor.onNext(LOAD_BALANCER_READY_EVENT);
                     }
-                } else if (activeAddresses.isEmpty()) {
+                } else if (sawUnavailable && newHosts.isEmpty()) {
                     eventStreamProcessor.onNext(LOAD_BALANCER_NOT_READY_EVENT);
                 }
             }
@@ -330,6 +363,21 @@ public final class RoundRobinLoadBalancer<ResolvedAddress, C extends LoadBalance
                 final ConnectionFactory<ResolvedAddress, T> connectionFactory) {
             return new RoundRobinLoadBalancer<>(eventPublisher, connectionFactory);
         }
+
+        @Override
+        public <T extends C> LoadBalancer<T> newLoadBalancer(
+                final String targetResource,
+                final Publisher<? extends Collection<? extends ServiceDiscovererEvent<ResolvedAddress>>> eventPublisher,
+                final ConnectionFactory<ResolvedAddress, T> connectionFactory) {
+            return new RoundRobinLoadBalancer<>(targetResource, eventPublisher, connectionFactory);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RoundRobinLoadBalancer{" +
+                "targetResource=" + targetResource +
+                '}';
     }
 
     // Visible for testing
@@ -43,6 +43,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.Timeout;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -62,6 +63,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import static io.servicetalk.client.api.LoadBalancerReadyEvent.LOAD_BALANCER_NOT_READY_EVENT;
+import static io.servicetalk.client.api.LoadBalancerReadyEvent.LOAD_BALANCER_READY_EVENT;
 import static io.servicetalk.concurrent.api.AsyncCloseables.emptyAsyncCloseable;
 import static io.servicetalk.concurrent.api.BlockingTestUtils.awaitIndefinitely;
 import static io.servicetalk.concurrent.api.Single.failed;
@@ -69,6 +72,8 @@ import static io.servicetalk.concurrent.api.Single.succeeded;
 import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
 import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
 import static io.servicetalk.concurrent.internal.TestTimeoutConstants.DEFAULT_TIMEOUT_SECONDS;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toSet;
@@ -234,6 +239,36 @@ public class RoundRobinLoadBalancerTest {
                 both(hasProperty("key", is("address-1"))).and(hasProperty("value", is(empty())))));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void handleBatchedDiscoveryEvents() throws Exception {
+        final TestPublisher<Collection<ServiceDiscovererEvent<String>>> batchPublisher = new TestPublisher<>();
+        final RoundRobinLoadBalancer<String, TestLoadBalancedConnection> batchLb =
+                new RoundRobinLoadBalancer<>("test", batchPublisher, connectionFactory);
+        final List<Object> lbEvents = new CopyOnWriteArrayList<>();
+        batchLb.eventStream().forEach(lbEvents::add);
+        try {
+            batchPublisher.onNext(asList(upEvent("address-1"), upEvent("address-2"), upEvent("address-3")));
+            assertThat(batchLb.activeAddresses(), hasSize(3));
+            assertThat(lbEvents, contains(LOAD_BALANCER_READY_EVENT));
+
+            batchPublisher.onNext(asList(downEvent("address-1"), upEvent("address-4"), downEvent("address-3")));
+            assertThat(batchLb.activeAddresses(), hasItems(
+                    both(hasProperty("key", is("address-2"))).and(hasProperty("value", is(empty()))),
+                    both(hasProperty("key", is("address-4"))).and(hasProperty("value", is(empty())))));
+            assertThat(batchLb.activeAddresses(), hasSize(2));
+
+            batchPublisher.onNext(emptyList());
+            assertThat(batchLb.activeAddresses(), hasSize(2));
+
+            batchPublisher.onNext(asList(downEvent("address-2"), downEvent("address-4")));
+            assertThat(batchLb.activeAddresses(), is(empty()));
+            assertThat(lbEvents, contains(LOAD_BALANCER_READY_EVENT, LOAD_BALANCER_NOT_READY_EVENT));
+        } finally {
+            awaitIndefinitely(batchLb.closeAsync());
+        }
+    }
+
     @Test
     public void unknownAddressIsRemoved() {
         assertThat(lb.activeAddresses(), is(empty()));
@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.log4j2.mdc.utils;
+
+import org.apache.logging.log4j.util.BiConsumer;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.TriConsumer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+import static java.util.Arrays.binarySearch;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * An immutable {@link StringMap} which creates a new instance for each modification.
+ * <p>
+ * Keys are kept sorted in an array, which is compact and fast to search for the small number of entries typically
+ * stored in MDC. Modifications which only replace a value share the keys array with the original map. Because instances
+ * are never modified they can be handed to log4j for each log event without making a copy.
+ */
+final class CopyOnWriteStringMap implements StringMap {
+    private static final long serialVersionUID = 3419287304638164957L;
+    private static final String[] EMPTY_STRINGS = new String[0];
+    static final CopyOnWriteStringMap EMPTY = new CopyOnWriteStringMap(EMPTY_STRINGS, EMPTY_STRINGS);
+
+    private final String[] keys;
+    private final String[] values;
+    @Nullable
+    private transient volatile Map<String, String> immutableMap;
+
+    private CopyOnWriteStringMap(final String[] keys, final String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Returns a map which contains all entries of this map and the passed entry.
+     *
+     * @param key the key of the entry.
+     * @param value the value of the entry.
+     * @return a map which contains all entries of this map and the passed entry, {@code this} if the entry already
+     * exists.
+     */
+    CopyOnWriteStringMap with(final String key, @Nullable final String value) {
+        final int i = binarySearch(keys, key);
+        if (i >= 0) {
+            if (Objects.equals(values[i], value)) {
+                return this;
+            }
+            final String[] newValues = values.clone();
+            newValues[i] = value;
+            return new CopyOnWriteStringMap(keys, newValues);
+        }
+        final int insert = -(i + 1);
+        final String[] newKeys = new String[keys.length + 1];
+        final String[] newValues = new String[keys.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insert);
+        System.arraycopy(values, 0, newValues, 0, insert);
+        newKeys[insert] = key;
+        newValues[insert] = value;
+        System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+        System.arraycopy(values, insert, newValues, insert + 1, keys.length - insert);
+        return new CopyOnWriteStringMap(newKeys, newValues);
+    }
+
+    /**
+     * Returns a map which contains all entries of this map and the entries of the passed {@link Map}.
+     *
+     * @param map the entries to add.
+     * @return a map which contains all entries of this map and the entries of the passed {@link Map}.
+     */
+    CopyOnWriteStringMap withAll(final Map<String, String> map) {
+        CopyOnWriteStringMap result = this;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map which contains all entries of this map except the passed key.
+     *
+     * @param key the key to remove.
+     * @return a map which contains all entries of this map except the passed key, {@code this} if the key does not
+     * exist.
+     */
+    CopyOnWriteStringMap without(final String key) {
+        final int i = binarySearch(keys, key);
+        if (i < 0) {
+            return this;
+        }
+        if (keys.length == 1) {
+            return EMPTY;
+        }
+        final String[] newKeys = new String[keys.length - 1];
+        final String[] newValues = new String[keys.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, i);
+        System.arraycopy(values, 0, newValues, 0, i);
+        System.arraycopy(keys, i + 1, newKeys, i, newKeys.length - i);
+        System.arraycopy(values, i + 1, newValues, i, newValues.length - i);
+        return new CopyOnWriteStringMap(newKeys, newValues);
+    }
+
+    /**
+     * Returns a map which contains all entries of this map except the passed keys.
+     *
+     * @param keys the keys to remove.
+     * @return a map which contains all entries of this map except the passed keys.
+     */
+    CopyOnWriteStringMap withoutAll(final Iterable<String> keys) {
+        CopyOnWriteStringMap result = this;
+        for (String key : keys) {
+            result = result.without(key);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an unmodifiable {@link Map} view of this map. The view is created once and reused afterwards.
+     *
+     * @return an unmodifiable {@link Map} view of this map.
+     */
+    Map<String, String> immutableMap() {
+        Map<String, String> map = immutableMap;
+        if (map == null) {
+            // Concurrent callers may create multiple equivalent views, only one of them is retained.
+            map = unmodifiableMap(toMap());
+            immutableMap = map;
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, String> toMap() {
+        final Map<String, String> map = new HashMap<>(keys.length + (int) (keys.length * 0.25f + 1), 0.75f);
+        for (int i = 0; i < keys.length; ++i) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return binarySearch(keys, key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> void forEach(final BiConsumer<String, ? super V> action) {
+        for (int i = 0; i < keys.length; ++i) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V, S> void forEach(final TriConsumer<String, ? super V, S> action, final S state) {
+        for (int i = 0; i < keys.length; ++i) {
+            action.accept(keys[i], (V) values[i], state);
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V getValue(final String key) {
+        final int i = binarySearch(keys, key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void freeze() {
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    @Override
+    public void putAll(final ReadOnlyStringMap source) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putValue(final String key, final Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void remove(final String key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReadOnlyStringMap)) {
+            return false;
+        }
+        final ReadOnlyStringMap other = (ReadOnlyStringMap) o;
+        if (other.size() != keys.length) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; ++i) {
+            if (!other.containsKey(keys[i]) || !Objects.equals(values[i], other.getValue(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as Map#hashCode() so the hash code does not depend on the order of the entries.
+        int hash = 0;
+        for (int i = 0; i < keys.length; ++i) {
+            hash += keys[i].hashCode() ^ Objects.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(keys.length * 16 + 2).append('{');
+        for (int i = 0; i < keys.length; ++i) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append('=').append(values[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -21,29 +21,26 @@ import io.servicetalk.concurrent.api.AsyncContextMap.Key;
 
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.spi.CleanableThreadContextMap;
+import org.apache.logging.log4j.spi.CopyOnWrite;
 import org.apache.logging.log4j.spi.ReadOnlyThreadContextMap;
-import org.apache.logging.log4j.util.BiConsumer;
-import org.apache.logging.log4j.util.ReadOnlyStringMap;
 import org.apache.logging.log4j.util.StringMap;
-import org.apache.logging.log4j.util.TriConsumer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
-import static java.util.Collections.unmodifiableMap;
-
 /**
  * A {@link ThreadContext} that provides storage for MDC based upon {@link AsyncContext}.
+ * <p>
+ * The MDC is stored as an immutable map which is replaced on each modification. This allows log4j to use the map for
+ * each log event without making a copy (see {@link CopyOnWrite}), and keeps modifications made after an asynchronous
+ * boundary isolated in the same way as other {@link AsyncContext} values. Concurrent modifications of the same
+ * {@link AsyncContextMap} may be lost.
  */
-public class ServiceTalkThreadContextMap implements ReadOnlyThreadContextMap, CleanableThreadContextMap {
-    private static final Key<Map<String, String>> key = Key.newKey("log4j2Mdc");
-    @SuppressWarnings("IllegalInstantiationOfString")
-    private static final String NULL_STRING = "";
+public class ServiceTalkThreadContextMap implements ReadOnlyThreadContextMap, CleanableThreadContextMap, CopyOnWrite {
+    private static final Key<CopyOnWriteStringMap> key = Key.newKey("log4j2Mdc");
 
     private static final String[] KNOWN_CONFLICTS = {
             "io.servicetalk.log4j2.mdc.DefaultServiceTalkThreadContextMap",
@@ -88,23 +85,25 @@ public class ServiceTalkThreadContextMap implements ReadOnlyThreadContextMap, Cl
 
     @Override
     public final void put(String key, String value) {
-        getStorage().put(key, wrapNull(value));
+        final CopyOnWriteStringMap storage = getStorage();
+        setStorage(storage, storage.with(key, value));
     }
 
     @Nullable
     @Override
     public String get(String key) {
-        return unwrapNull(getStorage().get(key));
+        return getStorage().getValue(key);
     }
 
     @Override
     public final void remove(String key) {
-        getStorage().remove(key);
+        final CopyOnWriteStringMap storage = getStorage();
+        setStorage(storage, storage.without(key));
     }
 
     @Override
     public final void clear() {
-        getStorage().clear();
+        AsyncContext.remove(key);
     }
 
     @Override
@@ -114,21 +113,14 @@ public class ServiceTalkThreadContextMap implements ReadOnlyThreadContextMap, Cl
 
     @Override
     public Map<String, String> getCopy() {
-        return getCopy(getStorage());
+        return getStorage().toMap();
     }
 
     @Nullable
     @Override
     public Map<String, String> getImmutableMapOrNull() {
-        Map<String, String> storage = getStorage();
-        if (storage.isEmpty()) {
-            return null;
-        }
-        // We use a ConcurrentMap for the storage. So we make a best effort check to avoid a copy first, but it is
-        // possible that the map was modified after this check. Then we make a copy and check if the copy is actually
-        // empty before returning the unmodifiable map.
-        final Map<String, String> copy = getCopyOrNull(storage, true);
-        return copy == null ? null : unmodifiableMap(copy);
+        final CopyOnWriteStringMap storage = getStorage();
+        return storage.isEmpty() ? null : storage.immutableMap();
     }
 
     @Override
@@ -138,137 +130,36 @@ public class ServiceTalkThreadContextMap implements ReadOnlyThreadContextMap, Cl
 
     @Override
     public final void removeAll(Iterable<String> keys) {
-        final Map<String, String> storage = getStorage();
-        keys.forEach(storage::remove);
+        final CopyOnWriteStringMap storage = getStorage();
+        setStorage(storage, storage.withoutAll(keys));
     }
 
     @Override
     public final void putAll(Map<String, String> map) {
-        final Map<String, String> storage = getStorage();
-        for (Map.Entry<String, String> entry : map.entrySet()) {
-            storage.put(entry.getKey(), wrapNull(entry.getValue()));
-        }
+        final CopyOnWriteStringMap storage = getStorage();
+        setStorage(storage, storage.withAll(map));
     }
 
     @Override
     public StringMap getReadOnlyContextData() {
-        final Map<String, String> storage = getStorage();
-        return new StringMap() {
-            private static final long serialVersionUID = -1707426073379541244L;
-
-            @Override
-            public void clear() {
-                throw new UnsupportedOperationException();
-            }
-
-            @Override
-            public void freeze() {
-            }
-
-            @Override
-            public boolean isFrozen() {
-                return true;
-            }
-
-            @Override
-            public void putAll(ReadOnlyStringMap source) {
-                throw new UnsupportedOperationException();
-            }
-
-            @Override
-            public void putValue(String key, Object value) {
-                throw new UnsupportedOperationException();
-            }
-
-            @Override
-            public void remove(String key) {
-                throw new UnsupportedOperationException();
-            }
-
-            @Override
-            public Map<String, String> toMap() {
-                return getCopy(storage);
-            }
-
-            @Override
-            public boolean containsKey(String key) {
-                return storage.containsKey(key);
-            }
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public <V> void forEach(BiConsumer<String, ? super V> action) {
-                storage.forEach((key, value) -> action.accept(key, (V) unwrapNull(value)));
-            }
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public <V, S> void forEach(TriConsumer<String, ? super V, S> action, S state) {
-                storage.forEach((key, value) -> action.accept(key, (V) unwrapNull(value), state));
-            }
-
-            @Nullable
-            @SuppressWarnings("unchecked")
-            @Override
-            public <V> V getValue(String key) {
-                return (V) unwrapNull(storage.get(key));
-            }
-
-            @Override
-            public boolean isEmpty() {
-                return storage.isEmpty();
-            }
-
-            @Override
-            public int size() {
-                return storage.size();
-            }
-        };
+        // The storage is immutable, so it can be shared with log4j without a copy.
+        return getStorage();
     }
 
     @Nullable
     protected Map<String, String> getCopyOrNull() {
-        return getCopyOrNull(getStorage(), true);
+        final CopyOnWriteStringMap storage = getStorage();
+        return storage.isEmpty() ? null : storage.toMap();
     }
 
-    static Map<String, String> getStorage() {
-        AsyncContextMap context = AsyncContext.current();
-        Map<String, String> ret = context.get(key);
-        if (ret == null) {
-            // better be thread safe, since the context may be used in multiple operators which may use different
-            // threads MDC is typically small (e.g. <8) so start with 4 (which ConcurrentHashMap will double to 8).
-            ret = new ConcurrentHashMap<>(4);
-            AsyncContext.put(key, ret);
-        }
-        return ret;
+    static CopyOnWriteStringMap getStorage() {
+        final CopyOnWriteStringMap storage = AsyncContext.get(key);
+        return storage == null ? CopyOnWriteStringMap.EMPTY : storage;
     }
 
-    @Nullable
-    private static Map<String, String> getCopyOrNull(Map<String, String> storage, boolean emptyReturnNull) {
-        final int size = storage.size();
-        if (size == 0) {
-            return emptyReturnNull ? null : new HashMap<>(2);
-        }
-        Map<String, String> copy = new HashMap<>(size + (int) (size * 0.25f + 1), 0.75f);
-        for (Map.Entry<String, String> entry : storage.entrySet()) {
-            copy.put(entry.getKey(), unwrapNull(entry.getValue()));
+    private static void setStorage(CopyOnWriteStringMap current, CopyOnWriteStringMap updated) {
+        if (current != updated) {
+            AsyncContext.put(key, updated);
         }
-        return copy;
-    }
-
-    private static Map<String, String> getCopy(Map<String, String> storage) {
-        Map<String, String> copy = getCopyOrNull(storage, false);
-        assert copy != null;
-        return copy;
-    }
-
-    private static String wrapNull(@Nullable String value) {
-        return value == null ? NULL_STRING : value;
-    }
-
-    @SuppressWarnings("StringEquality")
-    @Nullable
-    private static String unwrapNull(String value) {
-        return value == NULL_STRING ? null : value;
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.log4j2.mdc.utils;
+
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.servicetalk.log4j2.mdc.utils.CopyOnWriteStringMap.EMPTY;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CopyOnWriteStringMapTest {
+    @Test
+    public void modificationsCreateNewInstances() {
+        CopyOnWriteStringMap map1 = EMPTY.with("b", "2");
+        CopyOnWriteStringMap map2 = map1.with("a", "1").with("c", "3");
+        assertEquals(0, EMPTY.size());
+        assertEquals(1, map1.size());
+        assertEquals(3, map2.size());
+        assertThat(map2.getValue("a"), is("1"));
+        assertThat(map2.getValue("b"), is("2"));
+        assertThat(map2.getValue("c"), is("3"));
+        assertThat(map1.getValue("a"), is(nullValue()));
+
+        CopyOnWriteStringMap map3 = map2.without("b");
+        assertEquals(2, map3.size());
+        assertFalse(map3.containsKey("b"));
+        assertTrue(map2.containsKey("b"));
+        assertThat(map3.without("a").without("c"), is(sameInstance(EMPTY)));
+    }
+
+    @Test
+    public void noOpModificationsReturnSameInstance() {
+        CopyOnWriteStringMap map = EMPTY.with("a", "1").with("b", null);
+        assertThat(map.with("a", "1"), is(sameInstance(map)));
+        assertThat(map.with("b", null), is(sameInstance(map)));
+        assertThat(map.without("c"), is(sameInstance(map)));
+        assertTrue(map.containsKey("b"));
+        assertThat(map.getValue("b"), is(nullValue()));
+    }
+
+    @Test
+    public void forEachIsSortedByKey() {
+        CopyOnWriteStringMap map = EMPTY.with("c", "3").with("a", "1").with("b", "2");
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + '=' + value));
+        assertThat(entries, contains("a=1", "b=2", "c=3"));
+
+        List<String> withState = new ArrayList<>();
+        map.<String, List<String>>forEach((key, value, state) -> state.add(key), withState);
+        assertThat(withState, contains("a", "b", "c"));
+    }
+
+    @Test
+    public void bulkOperations() {
+        Map<String, String> source = new HashMap<>();
+        source.put("a", "1");
+        source.put("b", "2");
+        CopyOnWriteStringMap map = EMPTY.with("c", "3").withAll(source);
+        assertEquals(3, map.size());
+        assertEquals(map.toMap(), map.immutableMap());
+        assertThat(map.immutableMap(), is(sameInstance(map.immutableMap())));
+        assertEquals(1, map.withoutAll(asList("a", "b", "d")).size());
+    }
+
+    @Test
+    public void equalsOtherStringMaps() {
+        CopyOnWriteStringMap map = EMPTY.with("a", "1").with("b", "2");
+        SortedArrayStringMap other = new SortedArrayStringMap();
+        other.putValue("b", "2");
+        other.putValue("a", "1");
+        assertEquals(map, other);
+        assertEquals(map.toMap().hashCode(), map.hashCode());
+        assertFalse(map.equals(map.with("a", "11")));
+        assertEquals("{a=1, b=2}", map.toString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void isImmutable() {
+        CopyOnWriteStringMap map = EMPTY.with("a", "1");
+        assertTrue(map.isFrozen());
+        map.putValue("b", "2");
+    }
+}
@@ -19,6 +19,7 @@ import io.servicetalk.concurrent.SingleSource.Subscriber;
 import io.servicetalk.concurrent.api.Single;
 
 import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.util.StringMap;
 import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -38,6 +39,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
 
@@ -136,4 +139,24 @@ public class ServiceTalkThreadContextMapTest {
             // expected
         }
     }
+
+    @Test
+    public void testReadOnlyContextDataIsNotCopied() {
+        ServiceTalkThreadContextMap map = new ServiceTalkThreadContextMap();
+        map.clear();
+        map.put("x", "10");
+        map.put("y", "20");
+        StringMap contextData = map.getReadOnlyContextData();
+        assertSame(contextData, map.getReadOnlyContextData());
+        assertSame(map.getImmutableMapOrNull(), map.getImmutableMapOrNull());
+        assertTrue(contextData.isFrozen());
+        assertEquals("10", contextData.getValue("x"));
+
+        map.put("x", "11");
+        assertEquals("10", contextData.getValue("x"));
+        assertEquals("11", map.getReadOnlyContextData().getValue("x"));
+        assertEquals(2, map.getReadOnlyContextData().size());
+        map.clear();
+        assertTrue(map.getReadOnlyContextData().isEmpty());
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpExecutionStrategyInfluencer;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static io.servicetalk.concurrent.api.Single.defer;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+abstract class AbstractMetricsHttpFilter implements HttpExecutionStrategyInfluencer {
+    private final Counter requests;
+    private final Counter failures;
+    private final Counter cancellations;
+    private final Counter[] responsesByClass;
+    private final LatencyRecorder latency;
+
+    AbstractMetricsHttpFilter(final MetricsRegistry registry, final String prefix) {
+        requests = registry.counter(prefix + ".requests");
+        failures = registry.counter(prefix + ".requests.failed");
+        cancellations = registry.counter(prefix + ".requests.cancelled");
+        latency = registry.latencyRecorder(prefix + ".requests.latency");
+        responsesByClass = new Counter[5];
+        for (int i = 0; i < responsesByClass.length; ++i) {
+            responsesByClass[i] = registry.counter(prefix + ".responses." + (i + 1) + "xx");
+        }
+    }
+
+    @Override
+    public final HttpExecutionStrategy influenceStrategy(final HttpExecutionStrategy strategy) {
+        // No influence since we do not block.
+        return strategy;
+    }
+
+    final Single<StreamingHttpResponse> track(final Supplier<Single<StreamingHttpResponse>> responseSupplier) {
+        return defer(() -> {
+            requests.increment();
+            final long startNanos = System.nanoTime();
+            final Single<StreamingHttpResponse> response;
+            try {
+                response = responseSupplier.get();
+            } catch (Throwable cause) {
+                latency.recordSince(startNanos);
+                failures.increment();
+                return Single.<StreamingHttpResponse>failed(cause);
+            }
+            // Cancel may be delivered after the response terminated, for example when the caller cancels after
+            // receiving the response. Every request is counted for only one of its outcomes.
+            final AtomicBoolean done = new AtomicBoolean();
+            return response.beforeOnSuccess(resp -> {
+                if (done.compareAndSet(false, true)) {
+                    latency.recordSince(startNanos);
+                    responsesByClass[min(responsesByClass.length, max(1, resp.status().code() / 100)) - 1]
+                            .increment();
+                }
+            }).beforeOnError(cause -> {
+                if (done.compareAndSet(false, true)) {
+                    latency.recordSince(startNanos);
+                    failures.increment();
+                }
+            }).beforeCancel(() -> {
+                if (done.compareAndSet(false, true)) {
+                    cancellations.increment();
+                }
+            }).subscribeShareContext();
+        });
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing counter. Updates are striped across cells so concurrent writers from different threads
+ * do not contend on a single memory location.
+ */
+public final class Counter {
+    private final LongAdder adder = new LongAdder();
+
+    Counter() {
+    }
+
+    /**
+     * Increment the counter by {@code 1}.
+     */
+    public void increment() {
+        adder.increment();
+    }
+
+    /**
+     * Add {@code delta} to the counter.
+     *
+     * @param delta the value to add.
+     */
+    public void add(long delta) {
+        adder.add(delta);
+    }
+
+    /**
+     * Get the current value of the counter.
+     * <p>
+     * This is not an atomic snapshot: concurrent updates may or may not be reflected.
+     *
+     * @return the current value of the counter.
+     */
+    public long sum() {
+        return adder.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
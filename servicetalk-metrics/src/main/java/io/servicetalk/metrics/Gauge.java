@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A gauge that tracks a value which can go up and down, such as the number of active connections.
+ */
+public final class Gauge {
+    private final LongAdder adder = new LongAdder();
+
+    Gauge() {
+    }
+
+    /**
+     * Increment the gauge by {@code 1}.
+     */
+    public void increment() {
+        adder.increment();
+    }
+
+    /**
+     * Decrement the gauge by {@code 1}.
+     */
+    public void decrement() {
+        adder.decrement();
+    }
+
+    /**
+     * Get the current value of the gauge.
+     *
+     * @return the current value of the gauge.
+     */
+    public long value() {
+        return adder.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.min;
+
+/**
+ * A lock-free histogram of latencies recorded in nanoseconds.
+ * <p>
+ * Values are stored in log-linear buckets: every power of two range is split into {@value #SUB_BUCKETS} equally sized
+ * sub-buckets, which bounds the relative error of any reported percentile to {@code 1/}{@value #SUB_BUCKETS} while
+ * covering the full {@code long} range with a fixed number of counters. Recording is a single atomic increment on a
+ * per-thread stripe, so concurrent recording threads do not contend on the same cache lines in the common case.
+ */
+public final class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+    static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+    private static final int MAX_STRIPES = 8;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyRecorder() {
+        this(min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+    }
+
+    LatencyRecorder(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency: " + concurrency + " (expected: >0)");
+        }
+        final int nStripes = Integer.highestOneBit(concurrency) == concurrency ? concurrency :
+                Integer.highestOneBit(concurrency) << 1;
+        stripes = new AtomicLongArray[nStripes];
+        for (int i = 0; i < nStripes; ++i) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+        stripeMask = nStripes - 1;
+    }
+
+    /**
+     * Record a single latency.
+     *
+     * @param durationNanos the latency in nanoseconds. Negative values, which may be observed if the clock source is
+     * not monotonic, are recorded as {@code 0}.
+     */
+    public void record(long durationNanos) {
+        if (durationNanos < 0) {
+            durationNanos = 0;
+        }
+        stripes[(int) Thread.currentThread().getId() & stripeMask].getAndIncrement(bucketIndex(durationNanos));
+        totalNanos.add(durationNanos);
+        long max = maxNanos.get();
+        while (durationNanos > max && !maxNanos.compareAndSet(max, durationNanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos}, as previously returned by {@link System#nanoTime()}.
+     *
+     * @param startNanos the start time obtained from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Take a snapshot of all latencies recorded so far.
+     * <p>
+     * The snapshot is not atomic with respect to concurrent {@link #record(long)} calls, each of which may or may not
+     * be reflected in the result.
+     *
+     * @return a snapshot of all latencies recorded so far.
+     */
+    public LatencySnapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; ++i) {
+                final long c = stripe.get(i);
+                counts[i] += c;
+                count += c;
+            }
+        }
+        return new LatencySnapshot(counts, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS + (index & SUB_BUCKET_MASK)) << shift;
+    }
+
+    static long bucketUpperBound(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+}
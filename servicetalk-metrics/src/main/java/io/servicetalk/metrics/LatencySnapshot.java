@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import static io.servicetalk.metrics.LatencyRecorder.bucketUpperBound;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * An immutable view of the latencies recorded by a {@link LatencyRecorder} at a point in time.
+ */
+public final class LatencySnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    LatencySnapshot(final long[] counts, final long count, final long totalNanos, final long maxNanos) {
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Get the number of recorded latencies.
+     *
+     * @return the number of recorded latencies.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Get the sum of all recorded latencies in nanoseconds.
+     *
+     * @return the sum of all recorded latencies in nanoseconds.
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Get the mean of all recorded latencies in nanoseconds.
+     *
+     * @return the mean of all recorded latencies in nanoseconds, or {@code 0} if nothing has been recorded.
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Get the largest recorded latency in nanoseconds.
+     *
+     * @return the largest recorded latency in nanoseconds, or {@code 0} if nothing has been recorded.
+     */
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Get the latency in nanoseconds at or below which {@code percentile} percent of recorded latencies fall.
+     * <p>
+     * The result is the upper bound of the bucket that contains the requested rank, so it may overestimate the exact
+     * value by up to {@code 1/16} of its magnitude, but never exceeds {@link #maxNanos()}.
+     *
+     * @param percentile the percentile in the range {@code [0, 100]}.
+     * @return the latency in nanoseconds at the requested percentile, or {@code 0} if nothing has been recorded.
+     */
+    public long percentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile: " + percentile + " (expected: [0, 100])");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = max(1, (long) ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return min(bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() +
+                "{count=" + count +
+                ", meanNanos=" + meanNanos() +
+                ", p50Nanos=" + percentileNanos(50) +
+                ", p99Nanos=" + percentileNanos(99) +
+                ", maxNanos=" + maxNanos +
+                '}';
+    }
+}
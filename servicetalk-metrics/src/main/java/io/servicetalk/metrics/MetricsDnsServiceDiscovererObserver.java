@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.dns.discovery.netty.DnsServiceDiscovererObserver;
+
+/**
+ * A {@link DnsServiceDiscovererObserver} that records DNS discovery and resolution events into a
+ * {@link MetricsRegistry}.
+ * <p>
+ * The following metrics are registered, each prefixed with the {@code prefix} passed to the constructor:
+ * <ul>
+ *     <li>{@code .discoveries} counter</li>
+ *     <li>{@code .resolutions}, {@code .resolutions.failed} and {@code .resolutions.records} counters</li>
+ *     <li>{@code .resolutions.latency} latency recorder</li>
+ * </ul>
+ */
+public final class MetricsDnsServiceDiscovererObserver implements DnsServiceDiscovererObserver {
+    private final Counter discoveries;
+    private final Counter resolutions;
+    private final Counter resolutionsFailed;
+    private final Counter resolvedRecords;
+    private final LatencyRecorder resolutionLatency;
+    private final DnsDiscoveryObserver discoveryObserver = name -> newResolution();
+
+    /**
+     * Create a new instance.
+     *
+     * @param registry the {@link MetricsRegistry} to register metrics with.
+     * @param prefix the prefix for the names of all registered metrics.
+     */
+    public MetricsDnsServiceDiscovererObserver(final MetricsRegistry registry, final String prefix) {
+        discoveries = registry.counter(prefix + ".discoveries");
+        resolutions = registry.counter(prefix + ".resolutions");
+        resolutionsFailed = registry.counter(prefix + ".resolutions.failed");
+        resolvedRecords = registry.counter(prefix + ".resolutions.records");
+        resolutionLatency = registry.latencyRecorder(prefix + ".resolutions.latency");
+    }
+
+    @Override
+    public DnsDiscoveryObserver onNewDiscovery(final String name) {
+        discoveries.increment();
+        return discoveryObserver;
+    }
+
+    private DnsResolutionObserver newResolution() {
+        resolutions.increment();
+        final long startNanos = System.nanoTime();
+        return new DnsResolutionObserver() {
+            @Override
+            public void resolutionFailed(final Throwable cause) {
+                resolutionLatency.recordSince(startNanos);
+                resolutionsFailed.increment();
+            }
+
+            @Override
+            public void resolutionCompleted(final ResolutionResult result) {
+                resolutionLatency.recordSince(startNanos);
+                resolvedRecords.add(result.resolvedRecords());
+            }
+        };
+    }
+}
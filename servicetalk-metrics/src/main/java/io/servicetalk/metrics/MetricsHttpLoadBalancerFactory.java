@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.client.api.ConnectionFactory;
+import io.servicetalk.client.api.LoadBalancedConnection;
+import io.servicetalk.client.api.LoadBalancer;
+import io.servicetalk.client.api.ServiceDiscovererEvent;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.FilterableStreamingHttpConnection;
+import io.servicetalk.http.api.FilterableStreamingHttpLoadBalancedConnection;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.HttpExecutionStrategyInfluencer;
+import io.servicetalk.http.api.HttpLoadBalancerFactory;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import static io.servicetalk.concurrent.api.Single.defer;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link HttpLoadBalancerFactory} that records the time spent selecting a connection into a
+ * {@link MetricsRegistry}, delegating the actual load balancing to another {@link HttpLoadBalancerFactory}.
+ * <p>
+ * The following metrics are registered, each prefixed with the {@code prefix} passed to the constructor:
+ * <ul>
+ *     <li>{@code .selections} and {@code .selections.failed} counters</li>
+ *     <li>{@code .selections.latency} latency recorder</li>
+ * </ul>
+ *
+ * @param <ResolvedAddress> The type of address after resolution.
+ */
+public final class MetricsHttpLoadBalancerFactory<ResolvedAddress>
+        implements HttpLoadBalancerFactory<ResolvedAddress>, HttpExecutionStrategyInfluencer {
+    private final HttpLoadBalancerFactory<ResolvedAddress> delegate;
+    private final Counter selections;
+    private final Counter selectionsFailed;
+    private final LatencyRecorder selectionLatency;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate the {@link HttpLoadBalancerFactory} to delegate to.
+     * @param registry the {@link MetricsRegistry} to register metrics with.
+     * @param prefix the prefix for the names of all registered metrics.
+     */
+    public MetricsHttpLoadBalancerFactory(final HttpLoadBalancerFactory<ResolvedAddress> delegate,
+                                          final MetricsRegistry registry, final String prefix) {
+        this.delegate = requireNonNull(delegate);
+        selections = registry.counter(prefix + ".selections");
+        selectionsFailed = registry.counter(prefix + ".selections.failed");
+        selectionLatency = registry.latencyRecorder(prefix + ".selections.latency");
+    }
+
+    @Override
+    public <T extends FilterableStreamingHttpLoadBalancedConnection> LoadBalancer<T> newLoadBalancer(
+            final Publisher<? extends ServiceDiscovererEvent<ResolvedAddress>> eventPublisher,
+            final ConnectionFactory<ResolvedAddress, T> cf) {
+        return new MetricsLoadBalancer<>(delegate.newLoadBalancer(eventPublisher, cf));
+    }
+
+    @Override
+    public <T extends FilterableStreamingHttpLoadBalancedConnection> LoadBalancer<T> newLoadBalancer(
+            final String targetResource,
+            final Publisher<? extends Collection<? extends ServiceDiscovererEvent<ResolvedAddress>>> eventPublisher,
+            final ConnectionFactory<ResolvedAddress, T> connectionFactory) {
+        return new MetricsLoadBalancer<>(delegate.newLoadBalancer(targetResource, eventPublisher, connectionFactory));
+    }
+
+    @Override
+    public FilterableStreamingHttpLoadBalancedConnection toLoadBalancedConnection(
+            final FilterableStreamingHttpConnection connection) {
+        return delegate.toLoadBalancedConnection(connection);
+    }
+
+    @Override
+    public HttpExecutionStrategy influenceStrategy(final HttpExecutionStrategy strategy) {
+        return delegate instanceof HttpExecutionStrategyInfluencer ?
+                ((HttpExecutionStrategyInfluencer) delegate).influenceStrategy(strategy) : strategy;
+    }
+
+    private final class MetricsLoadBalancer<C extends LoadBalancedConnection> implements LoadBalancer<C> {
+        private final LoadBalancer<C> delegate;
+
+        MetricsLoadBalancer(final LoadBalancer<C> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Single<C> selectConnection(final Predicate<C> selector) {
+            return defer(() -> {
+                selections.increment();
+                final long startNanos = System.nanoTime();
+                return delegate.selectConnection(selector)
+                        .beforeOnSuccess(__ -> selectionLatency.recordSince(startNanos))
+                        .beforeOnError(__ -> {
+                            selectionLatency.recordSince(startNanos);
+                            selectionsFailed.increment();
+                        }).subscribeShareContext();
+            });
+        }
+
+        @Override
+        public Publisher<Object> eventStream() {
+            return delegate.eventStream();
+        }
+
+        @Override
+        public Completable onClose() {
+            return delegate.onClose();
+        }
+
+        @Override
+        public Completable closeAsync() {
+            return delegate.closeAsync();
+        }
+
+        @Override
+        public Completable closeAsyncGracefully() {
+            return delegate.closeAsyncGracefully();
+        }
+    }
+}
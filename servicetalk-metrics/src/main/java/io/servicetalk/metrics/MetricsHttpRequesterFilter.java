@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.FilterableStreamingHttpClient;
+import io.servicetalk.http.api.FilterableStreamingHttpConnection;
+import io.servicetalk.http.api.HttpExecutionStrategy;
+import io.servicetalk.http.api.StreamingHttpClientFilter;
+import io.servicetalk.http.api.StreamingHttpClientFilterFactory;
+import io.servicetalk.http.api.StreamingHttpConnectionFilter;
+import io.servicetalk.http.api.StreamingHttpConnectionFilterFactory;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpRequester;
+import io.servicetalk.http.api.StreamingHttpResponse;
+
+/**
+ * An HTTP client and connection filter that records request metrics into a {@link MetricsRegistry}.
+ * <p>
+ * The following metrics are registered, each prefixed with the {@code prefix} passed to the constructor:
+ * <ul>
+ *     <li>{@code .requests}, {@code .requests.failed} and {@code .requests.cancelled} counters</li>
+ *     <li>{@code .responses.1xx} through {@code .responses.5xx} counters</li>
+ *     <li>{@code .requests.latency} latency recorder, measured until the response meta data is received</li>
+ * </ul>
+ */
+public final class MetricsHttpRequesterFilter extends AbstractMetricsHttpFilter
+        implements StreamingHttpClientFilterFactory, StreamingHttpConnectionFilterFactory {
+
+    /**
+     * Create a new instance.
+     *
+     * @param registry the {@link MetricsRegistry} to register metrics with.
+     * @param prefix the prefix for the names of all registered metrics.
+     */
+    public MetricsHttpRequesterFilter(final MetricsRegistry registry, final String prefix) {
+        super(registry, prefix);
+    }
+
+    @Override
+    public StreamingHttpClientFilter create(final FilterableStreamingHttpClient client) {
+        return new StreamingHttpClientFilter(client) {
+            @Override
+            protected Single<StreamingHttpResponse> request(final StreamingHttpRequester delegate,
+                                                            final HttpExecutionStrategy strategy,
+                                                            final StreamingHttpRequest request) {
+                return track(() -> delegate.request(strategy, request));
+            }
+        };
+    }
+
+    @Override
+    public StreamingHttpConnectionFilter create(final FilterableStreamingHttpConnection connection) {
+        return new StreamingHttpConnectionFilter(connection) {
+            @Override
+            public Single<StreamingHttpResponse> request(final HttpExecutionStrategy strategy,
+                                                         final StreamingHttpRequest request) {
+                return track(() -> delegate().request(strategy, request));
+            }
+        };
+    }
+}
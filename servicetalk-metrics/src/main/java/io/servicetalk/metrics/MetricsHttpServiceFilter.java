@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.http.api.HttpServiceContext;
+import io.servicetalk.http.api.StreamingHttpRequest;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.api.StreamingHttpResponseFactory;
+import io.servicetalk.http.api.StreamingHttpService;
+import io.servicetalk.http.api.StreamingHttpServiceFilter;
+import io.servicetalk.http.api.StreamingHttpServiceFilterFactory;
+
+/**
+ * An HTTP service filter that records request metrics into a {@link MetricsRegistry}.
+ * <p>
+ * The following metrics are registered, each prefixed with the {@code prefix} passed to the constructor:
+ * <ul>
+ *     <li>{@code .requests}, {@code .requests.failed} and {@code .requests.cancelled} counters</li>
+ *     <li>{@code .responses.1xx} through {@code .responses.5xx} counters</li>
+ *     <li>{@code .requests.latency} latency recorder, measured until the service produces the response meta data</li>
+ * </ul>
+ */
+public final class MetricsHttpServiceFilter extends AbstractMetricsHttpFilter
+        implements StreamingHttpServiceFilterFactory {
+
+    /**
+     * Create a new instance.
+     *
+     * @param registry the {@link MetricsRegistry} to register metrics with.
+     * @param prefix the prefix for the names of all registered metrics.
+     */
+    public MetricsHttpServiceFilter(final MetricsRegistry registry, final String prefix) {
+        super(registry, prefix);
+    }
+
+    @Override
+    public StreamingHttpServiceFilter create(final StreamingHttpService service) {
+        return new StreamingHttpServiceFilter(service) {
+            @Override
+            public Single<StreamingHttpResponse> handle(final HttpServiceContext ctx,
+                                                        final StreamingHttpRequest request,
+                                                        final StreamingHttpResponseFactory responseFactory) {
+                return track(() -> delegate().handle(ctx, request, responseFactory));
+            }
+        };
+    }
+}
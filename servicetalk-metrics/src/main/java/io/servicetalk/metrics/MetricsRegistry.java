@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A named collection of {@link Counter}s, {@link Gauge}s and {@link LatencyRecorder}s.
+ * <p>
+ * Metrics are created lazily on first access and live for as long as the registry. Lookups are expected to happen
+ * once at setup time; the returned instances are then updated directly on the hot path.
+ */
+public final class MetricsRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyRecorder> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Get or create the {@link Counter} with the passed {@code name}.
+     *
+     * @param name the name of the {@link Counter}.
+     * @return the {@link Counter} with the passed {@code name}.
+     */
+    public Counter counter(final String name) {
+        return counters.computeIfAbsent(requireNonNull(name), __ -> new Counter());
+    }
+
+    /**
+     * Get or create the {@link Gauge} with the passed {@code name}.
+     *
+     * @param name the name of the {@link Gauge}.
+     * @return the {@link Gauge} with the passed {@code name}.
+     */
+    public Gauge gauge(final String name) {
+        return gauges.computeIfAbsent(requireNonNull(name), __ -> new Gauge());
+    }
+
+    /**
+     * Get or create the {@link LatencyRecorder} with the passed {@code name}.
+     *
+     * @param name the name of the {@link LatencyRecorder}.
+     * @return the {@link LatencyRecorder} with the passed {@code name}.
+     */
+    public LatencyRecorder latencyRecorder(final String name) {
+        return latencies.computeIfAbsent(requireNonNull(name), __ -> new LatencyRecorder());
+    }
+
+    /**
+     * Take a snapshot of all metrics in this registry.
+     *
+     * @return a {@link MetricsSnapshot} of all metrics in this registry.
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(collect(counters, Counter::sum), collect(gauges, Gauge::value),
+                collect(latencies, LatencyRecorder::snapshot));
+    }
+
+    /**
+     * Periodically pass a {@link #snapshot()} of this registry to {@code reporter}.
+     *
+     * @param executor the {@link Executor} used to schedule and run the reports.
+     * @param interval the interval between two consecutive reports.
+     * @param reporter the {@link MetricsReporter} to export snapshots to.
+     * @return a {@link Cancellable} that stops reporting.
+     */
+    public Cancellable scheduleReporting(final Executor executor, final Duration interval,
+                                         final MetricsReporter reporter) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval: " + interval + " (expected: >0)");
+        }
+        final ReportingTask task = new ReportingTask(requireNonNull(executor), interval, requireNonNull(reporter));
+        task.schedule();
+        return task;
+    }
+
+    private static <M, V> Map<String, V> collect(final Map<String, M> metrics, final Function<M, V> valueFunction) {
+        final Map<String, V> values = new TreeMap<>();
+        for (Map.Entry<String, M> entry : metrics.entrySet()) {
+            values.put(entry.getKey(), valueFunction.apply(entry.getValue()));
+        }
+        return values;
+    }
+
+    private final class ReportingTask implements Runnable, Cancellable {
+        private final Executor executor;
+        private final Duration interval;
+        private final MetricsReporter reporter;
+        @Nullable
+        private volatile Cancellable scheduled;
+        private volatile boolean cancelled;
+
+        ReportingTask(final Executor executor, final Duration interval, final MetricsReporter reporter) {
+            this.executor = executor;
+            this.interval = interval;
+            this.reporter = reporter;
+        }
+
+        void schedule() {
+            if (!cancelled) {
+                scheduled = executor.schedule(this, interval);
+                // Close the race with a concurrent cancel() that did not observe the new schedule.
+                if (cancelled) {
+                    cancelScheduled();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                reporter.report(snapshot());
+            } catch (Throwable cause) {
+                LOGGER.warn("Unexpected exception from metrics reporter {}", reporter, cause);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelScheduled();
+        }
+
+        private void cancelScheduled() {
+            final Cancellable scheduled = this.scheduled;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+/**
+ * Exports {@link MetricsSnapshot}s to an external monitoring system.
+ *
+ * @see MetricsRegistry#scheduleReporting(io.servicetalk.concurrent.Executor, java.time.Duration, MetricsReporter)
+ */
+@FunctionalInterface
+public interface MetricsReporter {
+    /**
+     * Report the passed {@link MetricsSnapshot}.
+     * <p>
+     * Implementations should not block as this method is invoked from an
+     * {@link io.servicetalk.concurrent.Executor} thread.
+     *
+     * @param snapshot the {@link MetricsSnapshot} to report.
+     */
+    void report(MetricsSnapshot snapshot);
+}
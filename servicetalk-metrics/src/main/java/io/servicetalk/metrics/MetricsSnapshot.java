@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * An immutable view of all metrics in a {@link MetricsRegistry} at a point in time.
+ */
+public final class MetricsSnapshot {
+    private final Map<String, Long> counters;
+    private final Map<String, Long> gauges;
+    private final Map<String, LatencySnapshot> latencies;
+
+    MetricsSnapshot(final Map<String, Long> counters, final Map<String, Long> gauges,
+                    final Map<String, LatencySnapshot> latencies) {
+        this.counters = unmodifiableMap(counters);
+        this.gauges = unmodifiableMap(gauges);
+        this.latencies = unmodifiableMap(latencies);
+    }
+
+    /**
+     * Get the values of all {@link Counter}s, sorted by name.
+     *
+     * @return the values of all {@link Counter}s, sorted by name.
+     */
+    public Map<String, Long> counters() {
+        return counters;
+    }
+
+    /**
+     * Get the values of all {@link Gauge}s, sorted by name.
+     *
+     * @return the values of all {@link Gauge}s, sorted by name.
+     */
+    public Map<String, Long> gauges() {
+        return gauges;
+    }
+
+    /**
+     * Get the snapshots of all {@link LatencyRecorder}s, sorted by name.
+     *
+     * @return the snapshots of all {@link LatencyRecorder}s, sorted by name.
+     */
+    public Map<String, LatencySnapshot> latencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() +
+                "{counters=" + counters +
+                ", gauges=" + gauges +
+                ", latencies=" + latencies +
+                '}';
+    }
+}
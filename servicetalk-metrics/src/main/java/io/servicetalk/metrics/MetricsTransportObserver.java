@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.transport.api.ConnectionInfo;
+import io.servicetalk.transport.api.ConnectionObserver;
+import io.servicetalk.transport.api.ConnectionObserver.DataObserver;
+import io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver;
+import io.servicetalk.transport.api.ConnectionObserver.ReadObserver;
+import io.servicetalk.transport.api.ConnectionObserver.SecurityHandshakeObserver;
+import io.servicetalk.transport.api.ConnectionObserver.StreamObserver;
+import io.servicetalk.transport.api.ConnectionObserver.WriteObserver;
+import io.servicetalk.transport.api.TransportObserver;
+
+import javax.net.ssl.SSLSession;
+
+/**
+ * A {@link TransportObserver} that records connection, stream, byte and flush counts into a {@link MetricsRegistry}.
+ * <p>
+ * The following metrics are registered, each prefixed with the {@code prefix} passed to the constructor:
+ * <ul>
+ *     <li>{@code .connections.opened}, {@code .connections.closed} and {@code .connections.failed} counters</li>
+ *     <li>{@code .connections.active} gauge</li>
+ *     <li>{@code .bytes.read}, {@code .bytes.written} and {@code .flushes} counters</li>
+ *     <li>{@code .streams.opened} and {@code .streams.failed} counters and {@code .streams.active} gauge</li>
+ *     <li>{@code .handshakes.failed} counter and {@code .handshakes.latency} latency recorder</li>
+ *     <li>{@code .ping.rtt} latency recorder of HTTP/2 PING round-trip times</li>
+ * </ul>
+ */
+public final class MetricsTransportObserver implements TransportObserver {
+    private final Counter connectionsOpened;
+    private final Counter connectionsClosed;
+    private final Counter connectionsFailed;
+    private final Gauge connectionsActive;
+    private final Counter bytesRead;
+    private final Counter bytesWritten;
+    private final Counter flushes;
+    private final Counter streamsOpened;
+    private final Counter streamsFailed;
+    private final Gauge streamsActive;
+    private final Counter handshakesFailed;
+    private final LatencyRecorder handshakeLatency;
+    private final LatencyRecorder pingRtt;
+
+    /**
+     * Create a new instance.
+     *
+     * @param registry the {@link MetricsRegistry} to register metrics with.
+     * @param prefix the prefix for the names of all registered metrics.
+     */
+    public MetricsTransportObserver(final MetricsRegistry registry, final String prefix) {
+        connectionsOpened = registry.counter(prefix + ".connections.opened");
+        connectionsClosed = registry.counter(prefix + ".connections.closed");
+        connectionsFailed = registry.counter(prefix + ".connections.failed");
+        connectionsActive = registry.gauge(prefix + ".connections.active");
+        bytesRead = registry.counter(prefix + ".bytes.read");
+        bytesWritten = registry.counter(prefix + ".bytes.written");
+        flushes = registry.counter(prefix + ".flushes");
+        streamsOpened = registry.counter(prefix + ".streams.opened");
+        streamsFailed = registry.counter(prefix + ".streams.failed");
+        streamsActive = registry.gauge(prefix + ".streams.active");
+        handshakesFailed = registry.counter(prefix + ".handshakes.failed");
+        handshakeLatency = registry.latencyRecorder(prefix + ".handshakes.latency");
+        pingRtt = registry.latencyRecorder(prefix + ".ping.rtt");
+    }
+
+    @Override
+    public ConnectionObserver onNewConnection() {
+        connectionsOpened.increment();
+        connectionsActive.increment();
+        return new MetricsConnectionObserver();
+    }
+
+    private final class MetricsConnectionObserver implements ConnectionObserver, MultiplexedObserver {
+        @Override
+        public void onDataRead(final int size) {
+            bytesRead.add(size);
+        }
+
+        @Override
+        public void onDataWrite(final int size) {
+            bytesWritten.add(size);
+        }
+
+        @Override
+        public void onFlush() {
+            flushes.increment();
+        }
+
+        @Override
+        public SecurityHandshakeObserver onSecurityHandshake() {
+            return new MetricsSecurityHandshakeObserver(System.nanoTime());
+        }
+
+        @Override
+        public DataObserver connectionEstablished(final ConnectionInfo info) {
+            return NoopDataObserver.INSTANCE;
+        }
+
+        @Override
+        public MultiplexedObserver multiplexedConnectionEstablished(final ConnectionInfo info) {
+            return this;
+        }
+
+        @Override
+        public StreamObserver onNewStream() {
+            streamsOpened.increment();
+            streamsActive.increment();
+            return new MetricsStreamObserver();
+        }
+
+        @Override
+        public void pingAcknowledged(final long roundTripTimeNanos) {
+            pingRtt.record(roundTripTimeNanos);
+        }
+
+        @Override
+        public void connectionClosed(final Throwable error) {
+            connectionsFailed.increment();
+            connectionClosed();
+        }
+
+        @Override
+        public void connectionClosed() {
+            connectionsClosed.increment();
+            connectionsActive.decrement();
+        }
+    }
+
+    private final class MetricsSecurityHandshakeObserver implements SecurityHandshakeObserver {
+        private final long startNanos;
+
+        MetricsSecurityHandshakeObserver(final long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void handshakeFailed(final Throwable cause) {
+            handshakesFailed.increment();
+            handshakeLatency.recordSince(startNanos);
+        }
+
+        @Override
+        public void handshakeComplete(final SSLSession sslSession) {
+            handshakeLatency.recordSince(startNanos);
+        }
+    }
+
+    private final class MetricsStreamObserver implements StreamObserver {
+        @Override
+        public DataObserver streamEstablished() {
+            return NoopDataObserver.INSTANCE;
+        }
+
+        @Override
+        public void streamClosed(final Throwable error) {
+            streamsFailed.increment();
+            streamClosed();
+        }
+
+        @Override
+        public void streamClosed() {
+            streamsActive.decrement();
+        }
+    }
+
+    private static final class NoopDataObserver implements DataObserver, ReadObserver, WriteObserver {
+        static final NoopDataObserver INSTANCE = new NoopDataObserver();
+
+        private NoopDataObserver() {
+        }
+
+        @Override
+        public ReadObserver onNewRead() {
+            return this;
+        }
+
+        @Override
+        public WriteObserver onNewWrite() {
+            return this;
+        }
+
+        @Override
+        public void requestedToRead(final long n) {
+        }
+
+        @Override
+        public void itemRead() {
+        }
+
+        @Override
+        public void readFailed(final Throwable cause) {
+        }
+
+        @Override
+        public void readComplete() {
+        }
+
+        @Override
+        public void readCancelled() {
+        }
+
+        @Override
+        public void requestedToWrite(final long n) {
+        }
+
+        @Override
+        public void itemReceived() {
+        }
+
+        @Override
+        public void onFlushRequest() {
+        }
+
+        @Override
+        public void itemWritten() {
+        }
+
+        @Override
+        public void writeFailed(final Throwable cause) {
+        }
+
+        @Override
+        public void writeComplete() {
+        }
+
+        @Override
+        public void writeCancelled() {
+        }
+    }
+}
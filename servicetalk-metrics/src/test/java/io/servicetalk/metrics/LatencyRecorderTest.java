@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static io.servicetalk.metrics.LatencyRecorder.BUCKETS;
+import static io.servicetalk.metrics.LatencyRecorder.bucketIndex;
+import static io.servicetalk.metrics.LatencyRecorder.bucketLowerBound;
+import static io.servicetalk.metrics.LatencyRecorder.bucketUpperBound;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatencyRecorderTest {
+
+    @Test
+    void bucketsAreContiguous() {
+        assertThat(bucketLowerBound(0), is(0L));
+        for (int i = 1; i < BUCKETS; ++i) {
+            assertThat("bucket " + i, bucketLowerBound(i), is(bucketUpperBound(i - 1) + 1));
+        }
+        assertThat(bucketUpperBound(BUCKETS - 1), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    void valuesMapToTheirBucket() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE}) {
+            final int index = bucketIndex(value);
+            assertThat("value " + value, value,
+                    allOf(greaterThanOrEqualTo(bucketLowerBound(index)), lessThanOrEqualTo(bucketUpperBound(index))));
+        }
+    }
+
+    @Test
+    void emptySnapshot() {
+        LatencySnapshot snapshot = new LatencyRecorder().snapshot();
+        assertThat(snapshot.count(), is(0L));
+        assertThat(snapshot.meanNanos(), is(0.0));
+        assertThat(snapshot.maxNanos(), is(0L));
+        assertThat(snapshot.percentileNanos(99), is(0L));
+    }
+
+    @Test
+    void percentilesWithinRelativeError() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long i = 1; i <= 10_000; ++i) {
+            recorder.record(i * 1000);
+        }
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), is(10_000L));
+        assertThat(snapshot.maxNanos(), is(10_000_000L));
+        assertThat(snapshot.meanNanos(), is(5_000_500.0));
+        assertWithinError(snapshot.percentileNanos(50), 5_000_000);
+        assertWithinError(snapshot.percentileNanos(99), 9_900_000);
+        assertThat(snapshot.percentileNanos(100), is(10_000_000L));
+        assertThat(snapshot.percentileNanos(0), is(lessThanOrEqualTo(1000L + 1000 / 16)));
+    }
+
+    @Test
+    void negativeValuesRecordedAsZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(-5);
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), is(1L));
+        assertThat(snapshot.maxNanos(), is(0L));
+        assertThat(snapshot.percentileNanos(50), is(0L));
+    }
+
+    @Test
+    void invalidPercentile() {
+        LatencySnapshot snapshot = new LatencyRecorder().snapshot();
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentileNanos(-1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentileNanos(100.1));
+    }
+
+    @Test
+    void invalidConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRecorder(0));
+    }
+
+    @Test
+    void concurrentRecording() throws Exception {
+        final LatencyRecorder recorder = new LatencyRecorder(3);
+        final int threads = 4;
+        final int perThread = 100_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; ++t) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; ++i) {
+                    recorder.record(i);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), is((long) threads * perThread));
+        assertThat(snapshot.maxNanos(), is(perThread - 1L));
+        assertThat(snapshot.totalNanos(), is(threads * ((long) perThread * (perThread - 1) / 2)));
+    }
+
+    private static void assertWithinError(long actual, long expected) {
+        assertThat(actual, allOf(greaterThanOrEqualTo(expected), lessThanOrEqualTo(expected + expected / 16)));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.dns.discovery.netty.DnsServiceDiscovererObserver.DnsDiscoveryObserver;
+import io.servicetalk.dns.discovery.netty.DnsServiceDiscovererObserver.ResolutionResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.UnknownHostException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsDnsServiceDiscovererObserverTest {
+
+    @Test
+    void resolutions() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsDnsServiceDiscovererObserver observer = new MetricsDnsServiceDiscovererObserver(registry, "dns");
+        DnsDiscoveryObserver discovery = observer.onNewDiscovery("servicetalk.io");
+
+        ResolutionResult result = mock(ResolutionResult.class);
+        when(result.resolvedRecords()).thenReturn(3);
+        discovery.onNewResolution("servicetalk.io").resolutionCompleted(result);
+        discovery.onNewResolution("servicetalk.io").resolutionFailed(new UnknownHostException("servicetalk.io"));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().get("dns.discoveries"), is(1L));
+        assertThat(snapshot.counters().get("dns.resolutions"), is(2L));
+        assertThat(snapshot.counters().get("dns.resolutions.failed"), is(1L));
+        assertThat(snapshot.counters().get("dns.resolutions.records"), is(3L));
+        assertThat(snapshot.latencies().get("dns.resolutions.latency").count(), is(2L));
+    }
+}
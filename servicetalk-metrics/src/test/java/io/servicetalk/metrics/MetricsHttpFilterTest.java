@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.client.api.TransportObserverConnectionFactoryFilter;
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.SingleSource;
+import io.servicetalk.concurrent.api.AsyncCloseables;
+import io.servicetalk.concurrent.api.CompositeCloseable;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.concurrent.api.TestSingle;
+import io.servicetalk.http.api.BlockingHttpClient;
+import io.servicetalk.http.api.StreamingHttpResponse;
+import io.servicetalk.http.netty.DefaultHttpLoadBalancerFactory;
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.SourceAdapters.toSource;
+import static io.servicetalk.http.api.HttpResponseStatus.NOT_FOUND;
+import static io.servicetalk.http.api.HttpResponseStatus.OK;
+import static io.servicetalk.http.netty.HttpClients.forSingleAddress;
+import static io.servicetalk.http.netty.HttpServers.forAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.transport.netty.internal.AddressUtils.serverHostAndPort;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsHttpFilterTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final ServerContext serverContext;
+    private final BlockingHttpClient client;
+
+    MetricsHttpFilterTest() throws Exception {
+        serverContext = forAddress(localAddress(0))
+                .transportObserver(new MetricsTransportObserver(registry, "server.transport"))
+                .appendServiceFilter(new MetricsHttpServiceFilter(registry, "server.http"))
+                .listenBlockingAndAwait((ctx, request, responseFactory) ->
+                        "/".equals(request.path()) ? responseFactory.ok() : responseFactory.notFound());
+        client = forSingleAddress(serverHostAndPort(serverContext))
+                .appendConnectionFactoryFilter(new TransportObserverConnectionFactoryFilter<>(
+                        new MetricsTransportObserver(registry, "client.transport")))
+                .loadBalancerFactory(new MetricsHttpLoadBalancerFactory<>(
+                        DefaultHttpLoadBalancerFactory.Builder.<InetSocketAddress>fromDefaults().build(),
+                        registry, "client.lb"))
+                .appendClientFilter(new MetricsHttpRequesterFilter(registry, "client.http"))
+                .buildBlocking();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        CompositeCloseable closeable = AsyncCloseables.newCompositeCloseable();
+        closeable.append(client.asClient());
+        closeable.append(serverContext);
+        closeable.close();
+    }
+
+    @Test
+    void requestsAreRecordedOnBothSides() throws Exception {
+        assertThat(client.request(client.get("/")).status(), is(OK));
+        assertThat(client.request(client.get("/missing")).status(), is(NOT_FOUND));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        for (String side : new String[] {"client", "server"}) {
+            assertThat(snapshot.counters().get(side + ".http.requests"), is(2L));
+            assertThat(snapshot.counters().get(side + ".http.requests.failed"), is(0L));
+            assertThat(snapshot.counters().get(side + ".http.responses.2xx"), is(1L));
+            assertThat(snapshot.counters().get(side + ".http.responses.4xx"), is(1L));
+            assertThat(snapshot.latencies().get(side + ".http.requests.latency").count(), is(2L));
+            assertThat(snapshot.counters().get(side + ".transport.connections.opened"), is(1L));
+            assertThat(snapshot.counters().get(side + ".transport.bytes.written"), is(greaterThan(0L)));
+        }
+        assertThat(snapshot.counters().get("client.lb.selections"), is(2L));
+        assertThat(snapshot.counters().get("client.lb.selections.failed"), is(0L));
+        assertThat(snapshot.latencies().get("client.lb.selections.latency").count(), is(2L));
+    }
+
+    @Test
+    void cancelAfterResponseIsNotCounted() {
+        final TestSingle<StreamingHttpResponse> response = new TestSingle<>();
+        final Cancellable cancellable = subscribe(response);
+        final StreamingHttpResponse resp = mock(StreamingHttpResponse.class);
+        when(resp.status()).thenReturn(OK);
+        response.onSuccess(resp);
+        cancellable.cancel();
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().get("test.requests.cancelled"), is(0L));
+        assertThat(snapshot.counters().get("test.responses.2xx"), is(1L));
+    }
+
+    @Test
+    void cancelBeforeResponseIsCounted() {
+        final TestSingle<StreamingHttpResponse> response = new TestSingle<>();
+        subscribe(response).cancel();
+        final StreamingHttpResponse resp = mock(StreamingHttpResponse.class);
+        when(resp.status()).thenReturn(OK);
+        // A response which races with the cancel is not counted a second time.
+        response.onSuccess(resp);
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().get("test.requests.cancelled"), is(1L));
+        assertThat(snapshot.counters().get("test.responses.2xx"), is(0L));
+        assertThat(snapshot.latencies().get("test.requests.latency").count(), is(0L));
+    }
+
+    private Cancellable subscribe(final Single<StreamingHttpResponse> response) {
+        final AbstractMetricsHttpFilter filter = new AbstractMetricsHttpFilter(registry, "test") { };
+        final Cancellable[] cancellable = new Cancellable[1];
+        toSource(filter.track(() -> response)).subscribe(new SingleSource.Subscriber<StreamingHttpResponse>() {
+            @Override
+            public void onSubscribe(final Cancellable c) {
+                cancellable[0] = c;
+            }
+
+            @Override
+            public void onSuccess(@Nullable final StreamingHttpResponse result) {
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+            }
+        });
+        return cancellable[0];
+    }
+}
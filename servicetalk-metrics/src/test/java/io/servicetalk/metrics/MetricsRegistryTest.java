@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.concurrent.Cancellable;
+import io.servicetalk.concurrent.api.TestExecutor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    void metricsAreCreatedOnce() {
+        assertThat(registry.counter("c"), is(sameInstance(registry.counter("c"))));
+        assertThat(registry.gauge("g"), is(sameInstance(registry.gauge("g"))));
+        assertThat(registry.latencyRecorder("l"), is(sameInstance(registry.latencyRecorder("l"))));
+    }
+
+    @Test
+    void snapshotContainsAllMetricsSortedByName() {
+        registry.counter("b").add(2);
+        registry.counter("a").increment();
+        registry.gauge("g").increment();
+        registry.gauge("g").increment();
+        registry.gauge("g").decrement();
+        registry.latencyRecorder("l").record(100);
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().keySet(), contains("a", "b"));
+        assertThat(snapshot.counters().get("a"), is(1L));
+        assertThat(snapshot.counters().get("b"), is(2L));
+        assertThat(snapshot.gauges().get("g"), is(1L));
+        assertThat(snapshot.latencies().get("l").count(), is(1L));
+
+        // Snapshots are not affected by later updates.
+        registry.counter("a").increment();
+        assertThat(snapshot.counters().get("a"), is(1L));
+    }
+
+    @Test
+    void scheduledReporting() {
+        TestExecutor executor = new TestExecutor();
+        List<MetricsSnapshot> reports = new ArrayList<>();
+        Counter counter = registry.counter("c");
+        Cancellable cancellable = registry.scheduleReporting(executor, ofSeconds(1), reports::add);
+
+        counter.increment();
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat(reports, hasSize(1));
+        assertThat(reports.get(0).counters().get("c"), is(1L));
+
+        counter.increment();
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat(reports, hasSize(2));
+        assertThat(reports.get(1).counters().get("c"), is(2L));
+
+        cancellable.cancel();
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat(reports, hasSize(2));
+        assertThat(executor.scheduledTasksPending(), is(0));
+    }
+
+    @Test
+    void reporterFailureDoesNotStopReporting() {
+        TestExecutor executor = new TestExecutor();
+        List<MetricsSnapshot> reports = new ArrayList<>();
+        registry.scheduleReporting(executor, ofSeconds(1), snapshot -> {
+            reports.add(snapshot);
+            throw new IllegalStateException("deliberate exception");
+        });
+        executor.advanceTimeBy(1, SECONDS);
+        executor.advanceTimeBy(1, SECONDS);
+        assertThat(reports, hasSize(2));
+    }
+
+    @Test
+    void invalidReportingInterval() {
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.scheduleReporting(new TestExecutor(), ZERO, snapshot -> { }));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.metrics;
+
+import io.servicetalk.transport.api.ConnectionInfo;
+import io.servicetalk.transport.api.ConnectionObserver;
+import io.servicetalk.transport.api.ConnectionObserver.MultiplexedObserver;
+import io.servicetalk.transport.api.ConnectionObserver.SecurityHandshakeObserver;
+import io.servicetalk.transport.api.ConnectionObserver.StreamObserver;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import javax.net.ssl.SSLSession;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+class MetricsTransportObserverTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final MetricsTransportObserver observer = new MetricsTransportObserver(registry, "test");
+
+    @Test
+    void connectionLifecycle() {
+        ConnectionObserver first = observer.onNewConnection();
+        ConnectionObserver second = observer.onNewConnection();
+        assertThat(gauge("test.connections.active"), is(2L));
+
+        first.connectionEstablished(mock(ConnectionInfo.class));
+        first.onDataRead(10);
+        first.onDataWrite(20);
+        second.onDataWrite(5);
+        first.onFlush();
+        first.connectionClosed();
+        second.connectionClosed(new IOException("deliberate exception"));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().get("test.connections.opened"), is(2L));
+        assertThat(snapshot.counters().get("test.connections.closed"), is(2L));
+        assertThat(snapshot.counters().get("test.connections.failed"), is(1L));
+        assertThat(snapshot.counters().get("test.bytes.read"), is(10L));
+        assertThat(snapshot.counters().get("test.bytes.written"), is(25L));
+        assertThat(snapshot.counters().get("test.flushes"), is(1L));
+        assertThat(snapshot.gauges().get("test.connections.active"), is(0L));
+    }
+
+    @Test
+    void streams() {
+        ConnectionObserver connection = observer.onNewConnection();
+        StreamObserver first = connection.multiplexedConnectionEstablished(mock(ConnectionInfo.class)).onNewStream();
+        StreamObserver second = connection.multiplexedConnectionEstablished(mock(ConnectionInfo.class)).onNewStream();
+        assertThat(gauge("test.streams.active"), is(2L));
+        first.streamEstablished();
+        first.streamClosed();
+        second.streamClosed(new IOException("deliberate exception"));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().get("test.streams.opened"), is(2L));
+        assertThat(snapshot.counters().get("test.streams.failed"), is(1L));
+        assertThat(snapshot.gauges().get("test.streams.active"), is(0L));
+    }
+
+    @Test
+    void handshakes() {
+        ConnectionObserver connection = observer.onNewConnection();
+        SecurityHandshakeObserver success = connection.onSecurityHandshake();
+        SecurityHandshakeObserver failure = connection.onSecurityHandshake();
+        success.handshakeComplete(mock(SSLSession.class));
+        failure.handshakeFailed(new IOException("deliberate exception"));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.counters().get("test.handshakes.failed"), is(1L));
+        assertThat(snapshot.latencies().get("test.handshakes.latency").count(), is(2L));
+    }
+
+    @Test
+    void pingRoundTripTimes() {
+        ConnectionObserver connection = observer.onNewConnection();
+        MultiplexedObserver multiplexed = connection.multiplexedConnectionEstablished(mock(ConnectionInfo.class));
+        multiplexed.pingAcknowledged(MILLISECONDS.toNanos(2));
+        multiplexed.pingAcknowledged(MILLISECONDS.toNanos(4));
+
+        assertThat(registry.snapshot().latencies().get("test.ping.rtt").count(), is(2L));
+    }
+
+    private long gauge(String name) {
+        return registry.gauge(name).value();
+    }
+}
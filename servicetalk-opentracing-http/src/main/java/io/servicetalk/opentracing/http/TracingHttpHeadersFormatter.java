@@ -28,6 +28,7 @@ import javax.annotation.Nullable;
 
 import static io.servicetalk.buffer.api.CharSequences.contentEqualsIgnoreCase;
 import static io.servicetalk.buffer.api.CharSequences.newAsciiString;
+import static io.servicetalk.opentracing.internal.HexUtils.longOfHexBytes;
 import static io.servicetalk.opentracing.internal.HexUtils.validateHexBytes;
 import static java.lang.String.valueOf;
 
@@ -95,7 +96,19 @@ final class TracingHttpHeadersFormatter implements InMemoryTraceStateFormat<Http
         }
 
         CharSequence sampleId = carrier.get(SAMPLED);
-        return new DefaultInMemoryTraceState(traceId.toString(), spanId.toString(),
-                valueOf(parentSpanId), sampleId != null && sampleId.length() == 1 && sampleId.charAt(0) != '0');
+        final boolean sampled = sampleId != null && sampleId.length() == 1 && sampleId.charAt(0) != '0';
+        if (verifyExtractedValues && isBinaryTraceId(traceId) && spanId.length() == 16 &&
+                (parentSpanId == null || parentSpanId.length() == 16)) {
+            // The values are validated hex, parse them directly from the header values to avoid creating Strings.
+            final boolean is128Bit = traceId.length() == 32;
+            return new DefaultInMemoryTraceState(is128Bit ? longOfHexBytes(traceId, 0) : 0,
+                    longOfHexBytes(traceId, is128Bit ? 16 : 0), longOfHexBytes(spanId, 0),
+                    parentSpanId == null ? 0 : longOfHexBytes(parentSpanId, 0), sampled);
+        }
+        return new DefaultInMemoryTraceState(traceId.toString(), spanId.toString(), valueOf(parentSpanId), sampled);
+    }
+
+    private static boolean isBinaryTraceId(final CharSequence traceId) {
+        return traceId.length() == 16 || traceId.length() == 32;
     }
 }
@@ -20,7 +20,6 @@ import io.opentracing.Span;
 import java.util.Map;
 import javax.annotation.Nullable;
 
-import static io.servicetalk.opentracing.internal.HexUtils.longOfHexBytes;
 import static io.servicetalk.opentracing.internal.TracingConstants.NO_PARENT_ID;
 
 /**
@@ -44,46 +43,6 @@ public interface InMemorySpan extends Span, InMemoryTraceState {
      */
     Iterable<? extends InMemoryReference> references();
 
-    /**
-     * Returns the low 64 bits of trace ID.
-     *
-     * @return low 64 bits of the trace ID
-     */
-    default long traceId() {
-        String traceIdHex = traceIdHex();
-        return longOfHexBytes(traceIdHex, traceIdHex.length() >= 32 ? 16 : 0);
-    }
-
-    /**
-     * Returns the high 64 bits for 128-bit trace IDs, or {@code 0L} for 64-bit trace IDs.
-     *
-     * @return high 64 bits of the trace ID
-     */
-    default long traceIdHigh() {
-        String traceIdHex = traceIdHex();
-        return traceIdHex.length() >= 32 ? longOfHexBytes(traceIdHex, 0) : 0;
-    }
-
-    /**
-     * Returns the span ID.
-     *
-     * @return span ID
-     */
-    default long spanId() {
-        return longOfHexBytes(spanIdHex(), 0);
-    }
-
-    /**
-     * Returns the parent span ID, could be null.
-     *
-     * @return parent span ID
-     */
-    @Nullable
-    default Long parentSpanId() {
-        String parentSpanIdHex = parentSpanIdHex();
-        return parentSpanIdHex == null ? null : longOfHexBytes(parentSpanIdHex, 0);
-    }
-
     /**
      * Returns the parent span ID in hex. Returns {@code "null"} if the parent span ID is not present.
      *
@@ -17,6 +17,8 @@ package io.servicetalk.opentracing.inmemory.api;
 
 import javax.annotation.Nullable;
 
+import static io.servicetalk.opentracing.internal.HexUtils.longOfHexBytes;
+
 /**
  * Utility for representing a Ziplin-like trace state.
  */
@@ -40,6 +42,46 @@ public interface InMemoryTraceState {
     @Nullable
     String parentSpanIdHex();
 
+    /**
+     * Returns the low 64 bits of trace ID.
+     *
+     * @return low 64 bits of the trace ID
+     */
+    default long traceId() {
+        String traceIdHex = traceIdHex();
+        return longOfHexBytes(traceIdHex, traceIdHex.length() >= 32 ? 16 : 0);
+    }
+
+    /**
+     * Returns the high 64 bits for 128-bit trace IDs, or {@code 0L} for 64-bit trace IDs.
+     *
+     * @return high 64 bits of the trace ID
+     */
+    default long traceIdHigh() {
+        String traceIdHex = traceIdHex();
+        return traceIdHex.length() >= 32 ? longOfHexBytes(traceIdHex, 0) : 0;
+    }
+
+    /**
+     * Returns the span ID.
+     *
+     * @return span ID
+     */
+    default long spanId() {
+        return longOfHexBytes(spanIdHex(), 0);
+    }
+
+    /**
+     * Returns the parent span ID, could be null.
+     *
+     * @return parent span ID
+     */
+    @Nullable
+    default Long parentSpanId() {
+        String parentSpanIdHex = parentSpanIdHex();
+        return parentSpanIdHex == null ? null : longOfHexBytes(parentSpanIdHex, 0);
+    }
+
     /**
      * Determine if this state is sampled.
      * @return {@code true} if this state is sampled.
@@ -101,6 +101,27 @@ abstract class AbstractInMemorySpan extends DefaultInMemorySpanContext implement
         return traceState.parentSpanIdHex();
     }
 
+    @Override
+    public final long traceId() {
+        return traceState.traceId();
+    }
+
+    @Override
+    public final long traceIdHigh() {
+        return traceState.traceIdHigh();
+    }
+
+    @Override
+    public final long spanId() {
+        return traceState.spanId();
+    }
+
+    @Nullable
+    @Override
+    public final Long parentSpanId() {
+        return traceState.parentSpanId();
+    }
+
     @Override
     public String toTraceId() {
         return traceIdHex();
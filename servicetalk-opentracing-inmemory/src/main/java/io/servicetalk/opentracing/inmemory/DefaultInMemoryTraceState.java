@@ -19,15 +19,30 @@ import io.servicetalk.opentracing.inmemory.api.InMemoryTraceState;
 
 import javax.annotation.Nullable;
 
+import static io.servicetalk.opentracing.internal.HexUtils.hexBytesOfLong;
+import static io.servicetalk.opentracing.internal.HexUtils.hexBytesOfLongs;
+
 /**
  * Default implementation of {@link InMemoryTraceState}.
+ * <p>
+ * The IDs are either provided as hex {@link String}s, or as {@code long}s in which case the hex {@link String}s are
+ * only created when they are requested, e.g. when the state is injected into a carrier or reported.
  */
 public final class DefaultInMemoryTraceState implements InMemoryTraceState {
-    private final String traceIdHex;
-    private final String spanIdHex;
-    @Nullable
-    private final String parentSpanIdHex;
+    private final long traceIdHigh;
+    private final long traceId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final boolean binaryIds;
     private final boolean sampled;
+    // The hex representations are lazily created from the binary IDs. Races may create more than one String, which is
+    // benign because String is immutable.
+    @Nullable
+    private String traceIdHex;
+    @Nullable
+    private String spanIdHex;
+    @Nullable
+    private String parentSpanIdHex;
 
     /**
      * Constructs an instance.
@@ -43,26 +58,106 @@ public final class DefaultInMemoryTraceState implements InMemoryTraceState {
         this.spanIdHex = spanIdHex;
         this.parentSpanIdHex = parentSpanIdHex;
         this.sampled = sampled;
+        traceIdHigh = traceId = spanId = parentSpanId = 0;
+        binaryIds = false;
+    }
+
+    /**
+     * Constructs an instance from binary IDs.
+     *
+     * @param traceIdHigh  high 64 bits of a 128-bit trace ID, or {@code 0} for a 64-bit trace ID
+     * @param traceId      low 64 bits of the trace ID
+     * @param spanId       span ID
+     * @param parentSpanId parent span ID, or {@code 0} if there is no parent
+     * @param sampled      whether the trace is sampled
+     */
+    public DefaultInMemoryTraceState(long traceIdHigh, long traceId, long spanId, long parentSpanId,
+                                     boolean sampled) {
+        this(traceIdHigh, traceId, spanId, parentSpanId, null, sampled);
+    }
+
+    DefaultInMemoryTraceState(long traceIdHigh, long traceId, long spanId, long parentSpanId,
+                              @Nullable String traceIdHex, boolean sampled) {
+        this.traceIdHigh = traceIdHigh;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.traceIdHex = traceIdHex;
+        this.sampled = sampled;
+        binaryIds = true;
+    }
+
+    /**
+     * Determine if the IDs are stored as {@code long}s, such that the {@code long} accessors do not parse the hex
+     * representation.
+     *
+     * @return {@code true} if the IDs are stored as {@code long}s.
+     */
+    boolean hasBinaryIds() {
+        return binaryIds;
     }
 
     @Override
     public String traceIdHex() {
+        String traceIdHex = this.traceIdHex;
+        if (traceIdHex == null) {
+            traceIdHex = traceIdHex(traceIdHigh, traceId);
+            this.traceIdHex = traceIdHex;
+        }
         return traceIdHex;
     }
 
     @Override
     public String spanIdHex() {
+        String spanIdHex = this.spanIdHex;
+        if (spanIdHex == null) {
+            spanIdHex = hexBytesOfLong(spanId);
+            this.spanIdHex = spanIdHex;
+        }
         return spanIdHex;
     }
 
     @Override
     @Nullable
     public String parentSpanIdHex() {
+        String parentSpanIdHex = this.parentSpanIdHex;
+        if (parentSpanIdHex == null && binaryIds && parentSpanId != 0) {
+            parentSpanIdHex = hexBytesOfLong(parentSpanId);
+            this.parentSpanIdHex = parentSpanIdHex;
+        }
         return parentSpanIdHex;
     }
 
+    @Override
+    public long traceId() {
+        return binaryIds ? traceId : InMemoryTraceState.super.traceId();
+    }
+
+    @Override
+    public long traceIdHigh() {
+        return binaryIds ? traceIdHigh : InMemoryTraceState.super.traceIdHigh();
+    }
+
+    @Override
+    public long spanId() {
+        return binaryIds ? spanId : InMemoryTraceState.super.spanId();
+    }
+
+    @Nullable
+    @Override
+    public Long parentSpanId() {
+        if (binaryIds) {
+            return parentSpanId == 0 ? null : parentSpanId;
+        }
+        return InMemoryTraceState.super.parentSpanId();
+    }
+
     @Override
     public boolean isSampled() {
         return sampled;
     }
+
+    static String traceIdHex(final long traceIdHigh, final long traceId) {
+        return traceIdHigh == 0 ? hexBytesOfLong(traceId) : hexBytesOfLongs(traceIdHigh, traceId);
+    }
 }
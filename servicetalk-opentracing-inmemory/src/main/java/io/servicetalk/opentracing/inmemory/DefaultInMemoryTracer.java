@@ -44,7 +44,7 @@ import static java.util.Objects.requireNonNull;
 public final class DefaultInMemoryTracer extends AbstractInMemoryTracer {
     private static final Logger logger = LoggerFactory.getLogger(DefaultInMemoryTracer.class);
     private final InMemoryScopeManager scopeManager;
-    private final BiFunction<String, Boolean, Boolean> sampler;
+    private final SpanSampler sampler;
     private final InMemorySpanEventListener listeners;
     private final int maxTagSize;
     private final boolean persistLogs;
@@ -56,7 +56,7 @@ public final class DefaultInMemoryTracer extends AbstractInMemoryTracer {
     public static final class Builder {
         private final InMemoryScopeManager scopeManager;
         private final CopyOnWriteInMemorySpanEventListenerSet listeners = new CopyOnWriteInMemorySpanEventListenerSet();
-        private BiFunction<String, Boolean, Boolean> sampler = SamplingStrategies.sampleUnlessFalse();
+        private SpanSampler sampler = SampleUnlessFalse.INSTANCE;
         private int maxTagSize = 16;
         private boolean persistLogs;
         private boolean use128BitTraceId;
@@ -90,6 +90,21 @@ public final class DefaultInMemoryTracer extends AbstractInMemoryTracer {
          * @return this
          */
         public Builder withSampler(BiFunction<String, Boolean, Boolean> sampler) {
+            this.sampler = new HexTraceIdSampler(requireNonNull(sampler));
+            return this;
+        }
+
+        /**
+         * Sets the sampler.
+         * <p>
+         * Unlike the other variants, a {@link SpanSampler} does not require the hex representation of the trace ID and
+         * is provided with the operation name of root spans.
+         *
+         * @param sampler policy which determines if a trace should be sampled.
+         * @return this
+         * @see SamplingStrategies
+         */
+        public Builder withSampler(SpanSampler sampler) {
             this.sampler = requireNonNull(sampler);
             return this;
         }
@@ -154,7 +169,7 @@ public final class DefaultInMemoryTracer extends AbstractInMemoryTracer {
     }
 
     private DefaultInMemoryTracer(
-            InMemoryScopeManager scopeManager, BiFunction<String, Boolean, Boolean> sampler,
+            InMemoryScopeManager scopeManager, SpanSampler sampler,
             InMemorySpanEventListener listeners, int maxTagSize, boolean persistLogs,
             boolean use128BitTraceId) {
         this.scopeManager = scopeManager;
@@ -193,7 +208,23 @@ public final class DefaultInMemoryTracer extends AbstractInMemoryTracer {
 
     @Override
     protected InMemorySpanContext newSpanContext(final InMemoryTraceState state) {
-        return new DefaultInMemorySpanContext(state, isSampled(state.traceIdHex(), state.isSampled()));
+        final boolean sampled;
+        if (sampler instanceof HexTraceIdSampler) {
+            sampled = isSampled((HexTraceIdSampler) sampler, state.traceIdHex(), state.isSampled());
+        } else {
+            long traceIdHigh;
+            long traceId;
+            try {
+                traceIdHigh = state.traceIdHigh();
+                traceId = state.traceId();
+            } catch (RuntimeException e) {
+                // The carrier may not be validated, the sampler still decides based on the sampling flag.
+                traceIdHigh = 0;
+                traceId = 0;
+            }
+            sampled = isSampled(null, traceIdHigh, traceId, state.isSampled());
+        }
+        return new DefaultInMemorySpanContext(state, sampled);
     }
 
     private final class DefaultInMemorySpanBuilder extends AbstractInMemorySpanBuilder {
@@ -214,47 +245,102 @@ public final class DefaultInMemoryTracer extends AbstractInMemoryTracer {
                 }
             }
 
-            final String traceIdHex;
-            final String spanIdHex;
-            final String parentSpanIdHex;
-            final boolean sampled;
+            final InMemoryTraceState state;
             if (maybeParent != null) {
-                traceIdHex = maybeParent.traceState().traceIdHex();
-                spanIdHex = nextId();
-                parentSpanIdHex = maybeParent.traceState().spanIdHex();
-                sampled = maybeParent.isSampled();
+                final InMemoryTraceState parentState = maybeParent.traceState();
+                final boolean sampled = maybeParent.isSampled();
+                if (parentState instanceof DefaultInMemoryTraceState &&
+                        ((DefaultInMemoryTraceState) parentState).hasBinaryIds()) {
+                    // Keep the IDs binary, the hex representation is only created if required.
+                    state = new DefaultInMemoryTraceState(parentState.traceIdHigh(), parentState.traceId(),
+                            nextId(), parentState.spanId(), sampled);
+                } else {
+                    state = new DefaultInMemoryTraceState(parentState.traceIdHex(), hexBytesOfLong(nextId()),
+                            parentState.spanIdHex(), sampled);
+                }
             } else {
-                spanIdHex = nextId();
-                traceIdHex = use128BitTraceId ? nextId() + spanIdHex : spanIdHex;
-                parentSpanIdHex = null;
-                sampled = isSampled(traceIdHex, null);
+                final long spanId = nextId();
+                final long traceIdHigh = use128BitTraceId ? nextId() : 0;
+                if (sampler instanceof HexTraceIdSampler) {
+                    // The sampler requires the hex trace ID, it is retained by the state to avoid creating it again.
+                    final String traceIdHex = DefaultInMemoryTraceState.traceIdHex(traceIdHigh, spanId);
+                    state = new DefaultInMemoryTraceState(traceIdHigh, spanId, spanId, 0, traceIdHex,
+                            isSampled((HexTraceIdSampler) sampler, traceIdHex, null));
+                } else {
+                    state = new DefaultInMemoryTraceState(traceIdHigh, spanId, spanId, 0,
+                            isSampled(operationName, traceIdHigh, spanId, null));
+                }
             }
 
-            if (sampled) {
-                SampledInMemorySpan span = new SampledInMemorySpan(operationName, references,
-                        traceIdHex, spanIdHex, parentSpanIdHex, tags, maxTagSize, startTimestampMicros,
-                        listeners, persistLogs);
+            if (state.isSampled()) {
+                SampledInMemorySpan span = new SampledInMemorySpan(operationName, references, state, tags,
+                        maxTagSize, startTimestampMicros, listeners, persistLogs);
                 span.start();
                 return span;
             } else {
-                return new UnsampledInMemorySpan(operationName, references, traceIdHex, spanIdHex, parentSpanIdHex);
+                return new UnsampledInMemorySpan(operationName, references, state);
             }
         }
     }
 
-    private static String nextId() {
+    private static long nextId() {
         // We should be careful to select a randomly generated ID. If we choose to use a counter, and another
         // application also chooses a counter there is a chance we will be synchronized and have a higher probability of
-        // overlapping IDs.
-        return hexBytesOfLong(ThreadLocalRandom.current().nextLong());
+        // overlapping IDs. 0 is reserved to represent the absence of a parent span ID.
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    private boolean isSampled(HexTraceIdSampler hexSampler, String traceId, @Nullable Boolean requestedByCarrier) {
+        try {
+            return hexSampler.sampler.apply(traceId, requestedByCarrier);
+        } catch (Throwable t) {
+            logger.warn("Exception from sampler={}, default to not sampling", hexSampler.sampler, t);
+            return false; // play safe, default to not sampling
+        }
     }
 
-    private boolean isSampled(String traceId, @Nullable Boolean requestedByCarrier) {
+    private boolean isSampled(@Nullable String operationName, long traceIdHigh, long traceId,
+                              @Nullable Boolean requestedByCarrier) {
         try {
-            return sampler.apply(traceId, requestedByCarrier);
+            return sampler.sample(operationName, traceIdHigh, traceId, requestedByCarrier);
         } catch (Throwable t) {
             logger.warn("Exception from sampler={}, default to not sampling", sampler, t);
             return false; // play safe, default to not sampling
         }
     }
+
+    private static final class SampleUnlessFalse implements SpanSampler {
+        static final SpanSampler INSTANCE = new SampleUnlessFalse();
+
+        private SampleUnlessFalse() {
+        }
+
+        @Override
+        public boolean sample(@Nullable final String operationName, final long traceIdHigh, final long traceId,
+                              @Nullable final Boolean requested) {
+            return requested == null || requested;
+        }
+    }
+
+    /**
+     * Adapts a sampler which requires the hex representation of the trace ID. The tracer checks for this type to
+     * pass the hex trace ID which is already available, instead of encoding it from the binary representation.
+     */
+    private static final class HexTraceIdSampler implements SpanSampler {
+        final BiFunction<String, Boolean, Boolean> sampler;
+
+        HexTraceIdSampler(final BiFunction<String, Boolean, Boolean> sampler) {
+            this.sampler = sampler;
+        }
+
+        @Override
+        public boolean sample(@Nullable final String operationName, final long traceIdHigh, final long traceId,
+                              @Nullable final Boolean requested) {
+            return sampler.apply(DefaultInMemoryTraceState.traceIdHex(traceIdHigh, traceId), requested);
+        }
+    }
 }
@@ -18,6 +18,7 @@ package io.servicetalk.opentracing.inmemory;
 import io.servicetalk.opentracing.inmemory.api.InMemoryReference;
 import io.servicetalk.opentracing.inmemory.api.InMemorySpanEventListener;
 import io.servicetalk.opentracing.inmemory.api.InMemorySpanLog;
+import io.servicetalk.opentracing.inmemory.api.InMemoryTraceState;
 
 import io.opentracing.Span;
 import io.opentracing.tag.Tag;
@@ -51,10 +52,10 @@ final class SampledInMemorySpan extends AbstractInMemorySpan {
     private byte state;
 
     SampledInMemorySpan(String operationName, List<InMemoryReference> references,
-                        String traceIdHex, String spanIdHex, @Nullable String parentSpanIdHex,
-                        @Nullable Map<String, Object> tags, int maxTagSize, long startEpochMicros,
-                        InMemorySpanEventListener listeners, boolean persistLogs) {
-        super(operationName, references, new DefaultInMemoryTraceState(traceIdHex, spanIdHex, parentSpanIdHex, true));
+                        InMemoryTraceState state, @Nullable Map<String, Object> tags, int maxTagSize,
+                        long startEpochMicros, InMemorySpanEventListener listeners, boolean persistLogs) {
+        super(operationName, references, state);
+        assert state.isSampled();
         this.tags = tags == null ? new HashMap<>(4) : new HashMap<>(tags); // size is guesstimate
         this.maxTagSize = maxTagSize;
         this.startEpochMicros = startEpochMicros;
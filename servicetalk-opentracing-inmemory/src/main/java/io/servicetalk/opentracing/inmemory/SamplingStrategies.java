@@ -15,8 +15,12 @@
  */
 package io.servicetalk.opentracing.inmemory;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
 
 import static io.servicetalk.utils.internal.MathUtils.safeFindNextPositivePowerOfTwo;
 
@@ -24,6 +28,12 @@ import static io.servicetalk.utils.internal.MathUtils.safeFindNextPositivePowerO
  * Utility methods for sampling strategies.
  */
 public final class SamplingStrategies {
+    /**
+     * Maximum number of operations tracked by {@link #sampleAdaptivePerOperation(double, double)}, operations beyond
+     * this limit share a single rate limiter.
+     */
+    static final int MAX_OPERATIONS = 1024;
+
     private SamplingStrategies() {
     }
 
@@ -64,4 +74,98 @@ public final class SamplingStrategies {
         return (traceId, sampleRequested) ->
                 (sampleRequested != null && sampleRequested) || (sampleCount.incrementAndGet() & sampleCountMask) == 0;
     }
+
+    /**
+     * Sampler that samples as requested, but if there is no request will sample at most {@code tracesPerSecond}
+     * traces per second.
+     * <p>
+     * Bursts of up to one second worth of traces are allowed. The returned sampler is lock-free and safe to share
+     * between threads.
+     * @param tracesPerSecond The maximum number of traces per second to sample when sampling is not specified.
+     * @return A sampler that samples as requested, but if there is no request will sample at most
+     * {@code tracesPerSecond} traces per second.
+     */
+    public static SpanSampler sampleRespectRequestOrRateLimited(double tracesPerSecond) {
+        return sampleRespectRequestOrRateLimited(tracesPerSecond, System::nanoTime);
+    }
+
+    static SpanSampler sampleRespectRequestOrRateLimited(double tracesPerSecond, LongSupplier nanoClock) {
+        final TokenBucket bucket = new TokenBucket(tracesPerSecond, nanoClock);
+        return (operationName, traceIdHigh, traceId, sampleRequested) ->
+                sampleRequested != null ? sampleRequested : bucket.tryAcquire();
+    }
+
+    /**
+     * Sampler that samples as requested, but if there is no request will sample traces with a probability of
+     * {@code probability} while guaranteeing at least {@code minTracesPerSecond} traces per second for each operation.
+     * <p>
+     * The probabilistic decision is derived from the trace ID, so it is consistent for all participants of a trace
+     * which use the same probability. The per operation lower bound allows low volume operations to be sampled even if
+     * the probability is too low to select any of their traces. Traces started from an extracted context have no
+     * operation name and are only sampled based on {@code probability}. At most {@value #MAX_OPERATIONS} operations
+     * are tracked individually, additional operations share a single lower bound.
+     * @param probability The probability in the range {@code [0, 1]} to sample a trace when sampling is not
+     * specified.
+     * @param minTracesPerSecond The minimum number of traces per second to sample for each operation when sampling is
+     * not specified.
+     * @return A sampler that samples as requested, but if there is no request will sample traces with a probability of
+     * {@code probability} and at least {@code minTracesPerSecond} traces per second for each operation.
+     */
+    public static SpanSampler sampleAdaptivePerOperation(double probability, double minTracesPerSecond) {
+        return sampleAdaptivePerOperation(probability, minTracesPerSecond, System::nanoTime);
+    }
+
+    static SpanSampler sampleAdaptivePerOperation(double probability, double minTracesPerSecond,
+                                                  LongSupplier nanoClock) {
+        return new AdaptivePerOperationSampler(probability, minTracesPerSecond, nanoClock);
+    }
+
+    private static final class AdaptivePerOperationSampler implements SpanSampler {
+        private final ConcurrentMap<String, TokenBucket> lowerBounds = new ConcurrentHashMap<>();
+        private final TokenBucket overflowLowerBound;
+        private final long boundary;
+        private final double minTracesPerSecond;
+        private final LongSupplier nanoClock;
+
+        AdaptivePerOperationSampler(double probability, double minTracesPerSecond, LongSupplier nanoClock) {
+            if (!(probability >= 0 && probability <= 1)) {
+                throw new IllegalArgumentException("probability: " + probability + " (expected [0, 1])");
+            }
+            this.overflowLowerBound = new TokenBucket(minTracesPerSecond, nanoClock);
+            // Compare against the 63 lower bits of the trace ID. Trace IDs are random, so the fraction of IDs below the
+            // boundary is the probability. A probability of 1 selects all IDs.
+            this.boundary = probability == 1 ? Long.MAX_VALUE : (long) (probability * Long.MAX_VALUE);
+            this.minTracesPerSecond = minTracesPerSecond;
+            this.nanoClock = nanoClock;
+        }
+
+        @Override
+        public boolean sample(@Nullable final String operationName, final long traceIdHigh, final long traceId,
+                              @Nullable final Boolean sampleRequested) {
+            if (sampleRequested != null) {
+                return sampleRequested;
+            }
+            if ((traceId & Long.MAX_VALUE) < boundary || boundary == Long.MAX_VALUE) {
+                return true;
+            }
+            return operationName != null && lowerBound(operationName).tryAcquire();
+        }
+
+        private TokenBucket lowerBound(final String operationName) {
+            final TokenBucket bucket = lowerBounds.get(operationName);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (lowerBounds.size() >= MAX_OPERATIONS) {
+                return overflowLowerBound;
+            }
+            return lowerBounds.computeIfAbsent(operationName, __ -> new TokenBucket(minTracesPerSecond, nanoClock));
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{boundary=" + boundary + ", minTracesPerSecond=" +
+                    minTracesPerSecond + '}';
+        }
+    }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.opentracing.inmemory;
+
+import javax.annotation.Nullable;
+
+/**
+ * A policy which determines if a trace should be sampled.
+ * <p>
+ * The policy is consulted once per trace: when a span without a parent is created, or when a span context is extracted
+ * from a carrier. It may be called concurrently from multiple threads and is expected to not block.
+ */
+@FunctionalInterface
+public interface SpanSampler {
+    /**
+     * Determine if a trace should be sampled.
+     *
+     * @param operationName the operation name of the span starting the trace, or {@code null} if the trace state was
+     * extracted from a carrier.
+     * @param traceIdHigh the high 64 bits of the trace ID, or {@code 0} for a 64-bit trace ID.
+     * @param traceId the low 64 bits of the trace ID.
+     * @param requested the sampling flag specified in the carrier, or {@code null} if not specified.
+     * @return {@code true} if the trace should be sampled.
+     */
+    boolean sample(@Nullable String operationName, long traceIdHigh, long traceId, @Nullable Boolean requested);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.opentracing.inmemory;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A lock-free token bucket which allows a number of permits per second with bursts of up to one second worth of
+ * permits.
+ * <p>
+ * Instead of tracking the number of tokens, the bucket tracks the theoretical time at which all acquired permits are
+ * paid for. A permit is granted if that time is less than one second in the future.
+ */
+final class TokenBucket {
+    private static final AtomicLongFieldUpdater<TokenBucket> paidUntilNanosUpdater =
+            AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "paidUntilNanos");
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private volatile long paidUntilNanos;
+
+    TokenBucket(final double permitsPerSecond, final LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("permitsPerSecond: " + permitsPerSecond + " (expected >0)");
+        }
+        this.nanosPerPermit = max(1, (long) (SECONDS.toNanos(1) / permitsPerSecond));
+        // Allow a burst of at least one permit for rates below one permit per second.
+        this.burstNanos = max(SECONDS.toNanos(1), nanosPerPermit);
+        this.nanoClock = nanoClock;
+        // Start with a full bucket, so a burst of permits is available right away.
+        this.paidUntilNanos = nanoClock.getAsLong() - burstNanos;
+    }
+
+    /**
+     * Try to acquire a permit.
+     *
+     * @return {@code true} if a permit was acquired.
+     */
+    boolean tryAcquire() {
+        final long now = nanoClock.getAsLong();
+        for (;;) {
+            final long paidUntil = paidUntilNanos;
+            // Unused permits accumulate for at most burstNanos.
+            final long next = max(paidUntil, now - burstNanos) + nanosPerPermit;
+            if (next - now > 0) {
+                return false;
+            }
+            if (paidUntilNanosUpdater.compareAndSet(this, paidUntil, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.servicetalk.opentracing.inmemory;
 
 import io.servicetalk.opentracing.inmemory.api.InMemoryReference;
 import io.servicetalk.opentracing.inmemory.api.InMemorySpanLog;
+import io.servicetalk.opentracing.inmemory.api.InMemoryTraceState;
 
 import io.opentracing.Span;
 import io.opentracing.tag.Tag;
@@ -27,9 +28,9 @@ import java.util.Map;
 import javax.annotation.Nullable;
 
 final class UnsampledInMemorySpan extends AbstractInMemorySpan {
-    UnsampledInMemorySpan(String operationName, List<InMemoryReference> references,
-                          String traceIdHex, String spanIdHex, @Nullable String parentSpanIdHex) {
-        super(operationName, references, new DefaultInMemoryTraceState(traceIdHex, spanIdHex, parentSpanIdHex, false));
+    UnsampledInMemorySpan(String operationName, List<InMemoryReference> references, InMemoryTraceState state) {
+        super(operationName, references, state);
+        assert !state.isSampled();
     }
 
     @Override
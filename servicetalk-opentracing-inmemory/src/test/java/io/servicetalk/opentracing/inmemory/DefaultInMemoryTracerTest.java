@@ -26,7 +26,10 @@ import org.junit.jupiter.api.Test;
 
 import static io.opentracing.References.CHILD_OF;
 import static io.opentracing.References.FOLLOWS_FROM;
+import static io.servicetalk.opentracing.internal.HexUtils.hexBytesOfLong;
+import static io.servicetalk.opentracing.internal.HexUtils.hexBytesOfLongs;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +44,35 @@ class DefaultInMemoryTracerTest {
         verifyParentReference("followsFromReferenceRespected", false);
     }
 
+    @Test
+    void binaryIdsArePropagatedToChildSpans() {
+        InMemoryTracer tracer = new DefaultInMemoryTracer.Builder(mock(InMemoryScopeManager.class))
+                .use128BitTraceId(true).build();
+        InMemorySpan root = tracer.buildSpan("root").start();
+        InMemorySpan child = tracer.buildSpan("child").asChildOf(root).start();
+
+        assertEquals(root.traceIdHigh(), child.traceIdHigh());
+        assertEquals(root.traceId(), child.traceId());
+        assertEquals(Long.valueOf(root.spanId()), child.parentSpanId());
+        assertNull(root.parentSpanId());
+        assertNull(root.parentSpanIdHex());
+
+        assertEquals(hexBytesOfLongs(child.traceIdHigh(), child.traceId()), child.traceIdHex());
+        assertEquals(32, child.traceIdHex().length());
+        assertEquals(hexBytesOfLong(child.spanId()), child.spanIdHex());
+        assertEquals(root.spanIdHex(), child.parentSpanIdHex());
+    }
+
+    @Test
+    void hexIdsAreParsed() {
+        InMemoryTraceState state = new DefaultInMemoryTraceState("00000000000000010000000000000002",
+                "000000000000000a", "00000000000000ff", true);
+        assertEquals(1, state.traceIdHigh());
+        assertEquals(2, state.traceId());
+        assertEquals(10, state.spanId());
+        assertEquals(Long.valueOf(255), state.parentSpanId());
+    }
+
     private static void verifyParentReference(final String parentTraceIdHex, boolean childOf) {
         InMemoryScopeManager mockScopeManager = mock(InMemoryScopeManager.class);
         InMemorySpanContext mockParentContext = mock(InMemorySpanContext.class);
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.opentracing.inmemory;
+
+import io.servicetalk.opentracing.inmemory.api.InMemoryScopeManager;
+import io.servicetalk.opentracing.inmemory.api.InMemoryTracer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.servicetalk.opentracing.inmemory.SamplingStrategies.sampleAdaptivePerOperation;
+import static io.servicetalk.opentracing.inmemory.SamplingStrategies.sampleRespectRequestOrRateLimited;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class SamplingStrategiesTest {
+    private final AtomicLong nanoTime = new AtomicLong(12345);
+
+    @Test
+    void rateLimitedAllowsBurstAndRefills() {
+        SpanSampler sampler = sampleRespectRequestOrRateLimited(10, nanoTime::get);
+        assertEquals(10, sampleCount(sampler, "op", 100));
+
+        nanoTime.addAndGet(MILLISECONDS.toNanos(100));
+        assertEquals(1, sampleCount(sampler, "op", 100));
+
+        // Unused permits accumulate for at most one second.
+        nanoTime.addAndGet(SECONDS.toNanos(10));
+        assertEquals(10, sampleCount(sampler, "op", 100));
+    }
+
+    @Test
+    void rateLimitedRespectsRequest() {
+        SpanSampler sampler = sampleRespectRequestOrRateLimited(1, nanoTime::get);
+        assertTrue(sampler.sample("op", 0, 1, null));
+        assertFalse(sampler.sample("op", 0, 1, null));
+        assertTrue(sampler.sample("op", 0, 1, true));
+        assertFalse(sampler.sample("op", 0, 1, false));
+    }
+
+    @Test
+    void rateLimitedRejectsInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> sampleRespectRequestOrRateLimited(0));
+        assertThrows(IllegalArgumentException.class, () -> sampleRespectRequestOrRateLimited(Double.NaN));
+    }
+
+    @Test
+    void adaptiveGuaranteesRatePerOperation() {
+        SpanSampler sampler = sampleAdaptivePerOperation(0, 2, nanoTime::get);
+        assertEquals(2, sampleCount(sampler, "high-volume", 1000));
+        // A low volume operation is not starved by another operation.
+        assertEquals(2, sampleCount(sampler, "low-volume", 10));
+        // Traces started from an extracted context only use the probability.
+        assertEquals(0, sampleCount(sampler, null, 10));
+        assertTrue(sampler.sample("high-volume", 0, 1, true));
+    }
+
+    @Test
+    void adaptiveProbabilityIsDerivedFromTraceId() {
+        SpanSampler sampler = sampleAdaptivePerOperation(0.5, 1, nanoTime::get);
+        // Exhaust the lower bound.
+        assertTrue(sampler.sample("op", 0, -1, null));
+        assertTrue(sampler.sample("op", 0, 1, null));
+        assertFalse(sampler.sample("op", 0, Long.MAX_VALUE, null));
+        assertTrue(sampler.sample("op", 0, 1, null));
+
+        SpanSampler always = sampleAdaptivePerOperation(1, 1, nanoTime::get);
+        assertTrue(always.sample(null, 0, Long.MAX_VALUE, null));
+        assertThrows(IllegalArgumentException.class, () -> sampleAdaptivePerOperation(1.5, 1));
+    }
+
+    @Test
+    void adaptiveBoundsTrackedOperations() {
+        SpanSampler sampler = sampleAdaptivePerOperation(0, 1, nanoTime::get);
+        for (int i = 0; i < SamplingStrategies.MAX_OPERATIONS; ++i) {
+            assertTrue(sampler.sample("op" + i, 0, 1, null));
+        }
+        // Additional operations share a single lower bound.
+        assertTrue(sampler.sample("overflow1", 0, 1, null));
+        assertFalse(sampler.sample("overflow2", 0, 1, null));
+    }
+
+    @Test
+    void tracerUsesSpanSampler() {
+        InMemoryTracer tracer = new DefaultInMemoryTracer.Builder(mock(InMemoryScopeManager.class))
+                .withSampler((operationName, traceIdHigh, traceId, requested) -> "sampled".equals(operationName))
+                .build();
+        assertTrue(tracer.buildSpan("sampled").start().context().isSampled());
+        assertFalse(tracer.buildSpan("other").start().context().isSampled());
+    }
+
+    private static int sampleCount(SpanSampler sampler, String operationName, int attempts) {
+        int sampled = 0;
+        for (int i = 0; i < attempts; ++i) {
+            if (sampler.sample(operationName, 0, Long.MAX_VALUE, null)) {
+                ++sampled;
+            }
+        }
+        return sampled;
+    }
+}
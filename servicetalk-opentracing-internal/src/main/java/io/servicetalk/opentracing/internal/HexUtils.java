@@ -49,14 +49,14 @@ public final class HexUtils {
     }
 
     /**
-     * Retrieves the {@code long} value represented by the provided hex {@link String}.
+     * Retrieves the {@code long} value represented by the provided hex {@link CharSequence}.
      * Throws {@link StringIndexOutOfBoundsException} if offset is invalid.
      *
-     * @param str an hex {@link String}.
+     * @param str an hex {@link CharSequence}.
      * @param offset The index to start within {@code str} to start the conversion.
      * @return the {@code long} value.
      */
-    public static long longOfHexBytes(String str, int offset) {
+    public static long longOfHexBytes(CharSequence str, int offset) {
         if (offset < 0) {
             throw new StringIndexOutOfBoundsException(offset);
         }
@@ -108,6 +108,27 @@ public final class HexUtils {
         });
     }
 
+    /**
+     * Builds an hex {@link String} that represents the 128-bit value of the provided {@code long} values.
+     *
+     * @param high the high 64 bits of the value.
+     * @param low the low 64 bits of the value.
+     * @return an hex {@link String} of 32 characters.
+     */
+    public static String hexBytesOfLongs(long high, long low) {
+        final char[] chars = new char[32];
+        writeHexChars(high, chars, 0);
+        writeHexChars(low, chars, 16);
+        return String.valueOf(chars);
+    }
+
+    private static void writeHexChars(long v, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; --i) {
+            chars[i] = HEX_CHARS[(int) (v & 0xf)];
+            v >>>= 4;
+        }
+    }
+
     private static byte fromHexChar(final char c) throws IllegalArgumentException {
         if (c >= '0' && c <= '9') {
             return (byte) (c - '0');
@@ -161,13 +161,16 @@ public final class ZipkinPublisher implements InMemorySpanEventListener, AsyncCl
 
         Span.Builder builder = Span.newBuilder()
                 .name(span.operationName())
-                .traceId(span.traceIdHex())
+                .traceId(span.traceIdHigh(), span.traceId())
                 .id(span.spanId())
-                .parentId(span.parentSpanIdHex())
                 .timestamp(begin)
                 .addAnnotation(end, "end")
                 .localEndpoint(endpoint)
                 .duration(durationMicros);
+        final Long parentSpanId = span.parentSpanId();
+        if (parentSpanId != null) {
+            builder.parentId(parentSpanId);
+        }
         span.tags().forEach((k, v) -> builder.putTag(k, v.toString()));
         Iterable<? extends InMemorySpanLog> logs = span.logs();
         if (logs != null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2019-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2019-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import javax.annotation.Nullable;
 
 import static io.servicetalk.logging.api.LogLevel.TRACE;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.defaultFlushStrategy;
+import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnReadComplete;
 import static io.servicetalk.transport.netty.internal.SocketOptionUtils.addOption;
 import static java.util.Objects.requireNonNull;
 
@@ -106,6 +107,8 @@ abstract class AbstractTcpConfig<SslConfigType> {
         requireNonNull(value);
         if (option == ServiceTalkSocketOptions.IDLE_TIMEOUT) {
             idleTimeoutMs = (Long) value;
+        } else if (option == ServiceTalkSocketOptions.FLUSH_ON_READ_COMPLETE) {
+            flushStrategy = (Boolean) value ? flushOnReadComplete() : defaultFlushStrategy();
         } else {
             if (options == null) {
                 options = new HashMap<>();
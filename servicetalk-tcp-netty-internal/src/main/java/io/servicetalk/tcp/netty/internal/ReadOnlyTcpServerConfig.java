@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import io.netty.util.Mapping;
 import java.net.SocketOption;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 
 import static io.servicetalk.transport.api.TransportObservers.asSafeObserver;
@@ -44,16 +45,21 @@ public final class ReadOnlyTcpServerConfig extends AbstractReadOnlyTcpConfig<Ser
     private final SslContext sslContext;
     @Nullable
     private final Mapping<String, SslContext> sniMapping;
+    @Nullable
+    private final Executor handshakeTaskExecutor;
     private final boolean alpnConfigured;
+    private final boolean reusePort;
 
     ReadOnlyTcpServerConfig(final TcpServerConfig from) {
         super(from);
         listenOptions = nonNullOptions(from.listenOptions());
+        reusePort = from.reusePort();
         final TransportObserver transportObserver = from.transportObserver();
         this.transportObserver = transportObserver == NoopTransportObserver.INSTANCE ? transportObserver :
                 asSafeObserver(transportObserver);
         final ServerSslConfig sslConfig = from.sslConfig();
         final Map<String, ServerSslConfig> sniMap = from.sniConfig();
+        handshakeTaskExecutor = sslConfig == null ? null : sslConfig.handshakeTaskExecutor();
         if (sniMap != null) {
             if (sslConfig == null) {
                 throw new IllegalStateException("No default security config defined but found SNI config mappings");
@@ -115,6 +121,17 @@ public final class ReadOnlyTcpServerConfig extends AbstractReadOnlyTcpConfig<Ser
         return sniMapping;
     }
 
+    /**
+     * Returns the {@link Executor} used to run expensive tasks of the SSL/TLS handshake.
+     *
+     * @return the {@link Executor} used to run expensive tasks of the SSL/TLS handshake, {@code null} if these tasks
+     * run on the IO thread.
+     */
+    @Nullable
+    public Executor handshakeTaskExecutor() {
+        return handshakeTaskExecutor;
+    }
+
     /**
      * Returns the {@link SocketOption}s that are applied to the server socket channel which listens/accepts socket
      * channels.
@@ -126,6 +143,16 @@ public final class ReadOnlyTcpServerConfig extends AbstractReadOnlyTcpConfig<Ser
         return listenOptions;
     }
 
+    /**
+     * Returns {@code true} if {@link ServiceTalkSocketOptions#SO_REUSEPORT} is enabled and a listen socket should be
+     * bound for every IO thread.
+     *
+     * @return {@code true} if {@link ServiceTalkSocketOptions#SO_REUSEPORT} is enabled
+     */
+    public boolean reusePort() {
+        return reusePort;
+    }
+
     /**
      * Returns the maximum queue length for incoming connection indications (a request to connect).
      * @deprecated Use {@link #listenOptions()} with key {@link ServiceTalkSocketOptions#SO_BACKLOG}.
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import io.servicetalk.transport.api.ConnectionObserver;
 import io.servicetalk.transport.netty.internal.ChannelInitializer;
 import io.servicetalk.transport.netty.internal.ConnectionObserverInitializer;
 import io.servicetalk.transport.netty.internal.DeferSslHandler;
+import io.servicetalk.transport.netty.internal.FlushOnReadCompleteInitializer;
 import io.servicetalk.transport.netty.internal.IdleTimeoutInitializer;
 import io.servicetalk.transport.netty.internal.NoopTransportObserver.NoopConnectionObserver;
 import io.servicetalk.transport.netty.internal.SslClientChannelInitializer;
@@ -29,6 +30,7 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 
 import static io.servicetalk.tcp.netty.internal.TcpServerChannelInitializer.initWireLogger;
+import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnReadComplete;
 
 /**
  * {@link ChannelInitializer} for TCP client.
@@ -66,6 +68,11 @@ public class TcpClientChannelInitializer implements ChannelInitializer {
                     sslContext != null && !deferSslHandler));
         }
 
+        if (config.flushStrategy() == flushOnReadComplete()) {
+            // Added before the TLS handler to also coalesce the flushes which are issued by the TLS handler.
+            delegate = delegate.andThen(FlushOnReadCompleteInitializer.INSTANCE);
+        }
+
         if (config.idleTimeoutMs() != null) {
             delegate = delegate.andThen(new IdleTimeoutInitializer(config.idleTimeoutMs()));
         }
@@ -15,6 +15,7 @@
  */
 package io.servicetalk.tcp.netty.internal;
 
+import io.servicetalk.concurrent.api.CompositeCloseable;
 import io.servicetalk.concurrent.api.Single;
 import io.servicetalk.concurrent.api.internal.SubscribableSingle;
 import io.servicetalk.transport.api.ConnectionAcceptor;
@@ -25,6 +26,7 @@ import io.servicetalk.transport.api.ServerContext;
 import io.servicetalk.transport.netty.internal.BuilderUtils;
 import io.servicetalk.transport.netty.internal.ChannelSet;
 import io.servicetalk.transport.netty.internal.EventLoopAwareNettyIoExecutor;
+import io.servicetalk.transport.netty.internal.NettyChannelListenableAsyncCloseable;
 import io.servicetalk.transport.netty.internal.NettyConnection;
 import io.servicetalk.transport.netty.internal.NettyServerContext;
 
@@ -32,22 +34,33 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.ReferenceCounted;
+import io.netty.util.concurrent.EventExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
+import static io.servicetalk.concurrent.api.AsyncCloseables.newCompositeCloseable;
 import static io.servicetalk.concurrent.api.Single.defer;
 import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.transport.netty.internal.BuilderUtils.isReusePortSupported;
 import static io.servicetalk.transport.netty.internal.BuilderUtils.toNettyAddress;
 import static io.servicetalk.transport.netty.internal.ChannelCloseUtils.close;
 import static io.servicetalk.transport.netty.internal.CopyByteBufHandlerChannelInitializer.POOLED_ALLOCATOR;
@@ -91,29 +104,9 @@ public final class TcpServerBinder {
         requireNonNull(connectionConsumer);
         listenAddress = toNettyAddress(listenAddress);
         EventLoopAwareNettyIoExecutor nettyIoExecutor = toEventLoopAwareNettyIoExecutor(executionContext.ioExecutor());
-        ServerBootstrap bs = new ServerBootstrap();
-        configure(config, autoRead, bs, nettyIoExecutor.eventLoopGroup(), listenAddress.getClass());
-
+        final EventLoopGroup group = nettyIoExecutor.eventLoopGroup();
         ChannelSet channelSet = new ChannelSet(executionContext.executor());
-        bs.handler(new ChannelInboundHandlerAdapter() {
-            @Override
-            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
-                // Verify that we do not leak pooled memory in the "accept" pipeline
-                if (msg instanceof ReferenceCounted) {
-                    try {
-                        throw new IllegalArgumentException("Unexpected ReferenceCounted msg in 'accept' pipeline: " +
-                                msg);
-                    } finally {
-                        ((ReferenceCounted) msg).release();
-                    }
-                }
-                if (msg instanceof Channel && !channelSet.addIfAbsent((Channel) msg)) {
-                    LOGGER.warn("Channel ({}) not added to ChannelSet", msg);
-                }
-                ctx.fireChannelRead(msg);
-            }
-        });
-        bs.childHandler(new io.netty.channel.ChannelInitializer<Channel>() {
+        io.netty.channel.ChannelInitializer<Channel> childHandler = new io.netty.channel.ChannelInitializer<Channel>() {
             @Override
             protected void initChannel(Channel channel) {
                 Single<T> connectionSingle = connectionFunction.apply(channel,
@@ -135,7 +128,21 @@ public final class TcpServerBinder {
                     close(channel, cause);
                 }).subscribe(connectionConsumer);
             }
-        });
+        };
+
+        if (config.reusePort() && group != null) {
+            if (isReusePortSupported(group, listenAddress.getClass())) {
+                return bindPerEventLoop(listenAddress, config, autoRead, executionContext, connectionAcceptor, group,
+                        channelSet, childHandler);
+            }
+            LOGGER.debug("SO_REUSEPORT is not supported for {} with {}, binding a single listen socket.",
+                    listenAddress, group);
+        }
+
+        ServerBootstrap bs = new ServerBootstrap();
+        configure(config, autoRead, bs, group, listenAddress.getClass());
+        bs.handler(new AcceptedChannelsTracker(channelSet));
+        bs.childHandler(childHandler);
 
         ChannelFuture future = bs.bind(listenAddress);
         return new SubscribableSingle<ServerContext>() {
@@ -157,6 +164,117 @@ public final class TcpServerBinder {
         };
     }
 
+    /**
+     * Binds a listen socket with {@code SO_REUSEPORT} for every {@link EventLoop} of the {@code group}. Each socket
+     * is registered with its own {@link EventLoop} and the sockets it accepts stay on the same {@link EventLoop}, which
+     * avoids the hand-off from a single acceptor {@link EventLoop} and lets the kernel balance new connections.
+     * <p>
+     * The first socket is bound to {@code listenAddress} and the rest to the resolved local address of the first one,
+     * so that an ephemeral port is shared by all of them.
+     */
+    private static Single<ServerContext> bindPerEventLoop(final SocketAddress listenAddress,
+                                                          final ReadOnlyTcpServerConfig config, final boolean autoRead,
+                                                          final ExecutionContext executionContext,
+                                                          @Nullable final ConnectionAcceptor connectionAcceptor,
+                                                          final EventLoopGroup group, final ChannelSet channelSet,
+                                                          final ChannelHandler childHandler) {
+        final List<ServerBootstrap> bootstraps = new ArrayList<>();
+        for (EventExecutor executor : group) {
+            ServerBootstrap bs = new ServerBootstrap();
+            configure(config, autoRead, bs, (EventLoop) executor, listenAddress.getClass());
+            // Handlers added to the listen socket are not @Sharable, create them for every bootstrap.
+            bs.handler(new AcceptedChannelsTracker(channelSet));
+            bs.childHandler(childHandler);
+            bootstraps.add(bs);
+        }
+        return new SubscribableSingle<ServerContext>() {
+            @Override
+            protected void handleSubscribe(Subscriber<? super ServerContext> subscriber) {
+                final List<Channel> channels = new ArrayList<>(bootstraps.size());
+                // Guarded by synchronized (channels), so that a bind started after cancellation is cancelled too.
+                final List<ChannelFuture> binds = new ArrayList<>(bootstraps.size());
+                final AtomicBoolean cancelled = new AtomicBoolean();
+                final ChannelFuture first = bootstraps.get(0).bind(listenAddress);
+                binds.add(first);
+                subscriber.onSubscribe(() -> {
+                    synchronized (channels) {
+                        if (cancelled.compareAndSet(false, true)) {
+                            // Channels that are already bound are closed once all binds are done.
+                            for (ChannelFuture bind : binds) {
+                                bind.cancel(true);
+                            }
+                        }
+                    }
+                });
+                first.addListener((ChannelFuture f) -> {
+                    Throwable cause = f.cause();
+                    if (cause == null && cancelled.get()) {
+                        cause = new CancellationException("Bind cancelled");
+                    }
+                    if (cause != null) {
+                        close(f.channel(), cause);
+                        subscriber.onError(cause);
+                        return;
+                    }
+                    channels.add(f.channel());
+                    if (bootstraps.size() == 1) {
+                        onAllBound(channels, subscriber);
+                        return;
+                    }
+                    final SocketAddress boundAddress = f.channel().localAddress();
+                    final AtomicInteger pending = new AtomicInteger(bootstraps.size() - 1);
+                    final AtomicReference<Throwable> failure = new AtomicReference<>();
+                    for (int i = 1; i < bootstraps.size(); ++i) {
+                        final ChannelFuture future = bootstraps.get(i).bind(boundAddress);
+                        synchronized (channels) {
+                            channels.add(future.channel());
+                            binds.add(future);
+                            if (cancelled.get()) {
+                                future.cancel(true);
+                            }
+                        }
+                        future.addListener((ChannelFuture bf) -> {
+                            if (bf.cause() != null && !failure.compareAndSet(null, bf.cause())) {
+                                failure.get().addSuppressed(bf.cause());
+                            }
+                            if (pending.decrementAndGet() == 0) {
+                                Throwable bindCause = failure.get();
+                                if (bindCause == null && cancelled.get()) {
+                                    bindCause = new CancellationException("Bind cancelled");
+                                }
+                                if (bindCause == null) {
+                                    onAllBound(channels, subscriber);
+                                } else {
+                                    synchronized (channels) {
+                                        for (Channel channel : channels) {
+                                            close(channel, bindCause);
+                                        }
+                                    }
+                                    subscriber.onError(bindCause);
+                                }
+                            }
+                        });
+                    }
+                });
+            }
+
+            private void onAllBound(final List<Channel> channels, final Subscriber<? super ServerContext> subscriber) {
+                final CompositeCloseable closeBefore = newCompositeCloseable();
+                if (connectionAcceptor != null) {
+                    closeBefore.append(connectionAcceptor);
+                }
+                synchronized (channels) {
+                    for (int i = 1; i < channels.size(); ++i) {
+                        closeBefore.append(new NettyChannelListenableAsyncCloseable(channels.get(i),
+                                executionContext.executor()));
+                    }
+                }
+                subscriber.onSuccess(NettyServerContext.wrap(channels.get(0), channelSet, closeBefore,
+                        executionContext));
+            }
+        };
+    }
+
     private static void configure(ReadOnlyTcpServerConfig config, boolean autoRead, ServerBootstrap bs,
                                   @Nullable EventLoopGroup eventLoopGroup,
                                   Class<? extends SocketAddress> bindAddressClass) {
@@ -184,4 +302,31 @@ public final class TcpServerBinder {
         bs.option(ChannelOption.ALLOCATOR, byteBufAllocator);
         bs.childOption(ChannelOption.ALLOCATOR, byteBufAllocator);
     }
+
+    /**
+     * Tracks channels accepted by a listen socket in a {@link ChannelSet}.
+     */
+    private static final class AcceptedChannelsTracker extends ChannelInboundHandlerAdapter {
+        private final ChannelSet channelSet;
+
+        AcceptedChannelsTracker(final ChannelSet channelSet) {
+            this.channelSet = channelSet;
+        }
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            // Verify that we do not leak pooled memory in the "accept" pipeline
+            if (msg instanceof ReferenceCounted) {
+                try {
+                    throw new IllegalArgumentException("Unexpected ReferenceCounted msg in 'accept' pipeline: " + msg);
+                } finally {
+                    ((ReferenceCounted) msg).release();
+                }
+            }
+            if (msg instanceof Channel && !channelSet.addIfAbsent((Channel) msg)) {
+                LOGGER.warn("Channel ({}) not added to ChannelSet", msg);
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import io.servicetalk.logging.api.UserDataLoggerConfig;
 import io.servicetalk.transport.api.ConnectionObserver;
 import io.servicetalk.transport.netty.internal.ChannelInitializer;
 import io.servicetalk.transport.netty.internal.ConnectionObserverInitializer;
+import io.servicetalk.transport.netty.internal.FlushOnReadCompleteInitializer;
 import io.servicetalk.transport.netty.internal.IdleTimeoutInitializer;
 import io.servicetalk.transport.netty.internal.NoopTransportObserver.NoopConnectionObserver;
 import io.servicetalk.transport.netty.internal.SniServerChannelInitializer;
@@ -29,6 +30,8 @@ import io.netty.channel.Channel;
 
 import javax.annotation.Nullable;
 
+import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnReadComplete;
+
 /**
  * {@link ChannelInitializer} for TCP.
  */
@@ -50,14 +53,21 @@ public class TcpServerChannelInitializer implements ChannelInitializer {
             delegate = delegate.andThen(new ConnectionObserverInitializer(observer, config.sslContext() != null));
         }
 
+        if (config.flushStrategy() == flushOnReadComplete()) {
+            // Added before the TLS handler to also coalesce the flushes which are issued by the TLS handler.
+            delegate = delegate.andThen(FlushOnReadCompleteInitializer.INSTANCE);
+        }
+
         if (config.idleTimeoutMs() != null) {
             delegate = delegate.andThen(new IdleTimeoutInitializer(config.idleTimeoutMs()));
         }
 
         if (config.sniMapping() != null) {
-            delegate = delegate.andThen(new SniServerChannelInitializer(config.sniMapping()));
+            delegate = delegate.andThen(new SniServerChannelInitializer(config.sniMapping(),
+                    config.handshakeTaskExecutor()));
         } else if (config.sslContext() != null) {
-            delegate = delegate.andThen(new SslServerChannelInitializer(config.sslContext()));
+            delegate = delegate.andThen(new SslServerChannelInitializer(config.sslContext(),
+                    config.handshakeTaskExecutor()));
         }
 
         this.delegate = initWireLogger(delegate, config.wireLoggerConfig());
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.tcp.netty.internal;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.transport.netty.internal.NettyConnection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.servicetalk.concurrent.api.BlockingTestUtils.awaitIndefinitelyNonNull;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.transport.api.ServiceTalkSocketOptions.SO_REUSEPORT;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class TcpServerReusePortTest extends AbstractTcpServerTest {
+
+    @Override
+    TcpServerConfig getTcpServerConfig() {
+        TcpServerConfig config = super.getTcpServerConfig();
+        config.listenSocketOption(SO_REUSEPORT, true);
+        return config;
+    }
+
+    @Test
+    public void reusePortIsReadOnly() {
+        assertThat(getTcpServerConfig().asReadOnly().reusePort(), is(true));
+        assertThat(new TcpServerConfig().asReadOnly().reusePort(), is(false));
+    }
+
+    @Test
+    public void listenSocketsShareEphemeralPort() {
+        assertThat(serverAddress.getPort(), is(greaterThan(0)));
+    }
+
+    @Test
+    public void echoOnEveryConnection() throws Exception {
+        final List<NettyConnection<Buffer, Buffer>> connections = new ArrayList<>();
+        try {
+            // Open more connections than IO threads so that every listen socket is likely to accept some of them.
+            for (int i = 0; i < 16; ++i) {
+                connections.add(client.connectBlocking(CLIENT_CTX, serverAddress));
+            }
+            for (NettyConnection<Buffer, Buffer> connection : connections) {
+                final Buffer buffer = connection.executionContext().bufferAllocator().fromAscii("Hello");
+                connection.write(from(buffer)).toFuture().get();
+                final Buffer response = awaitIndefinitelyNonNull(connection.read().firstOrElse(() -> null));
+                assertThat(response.toString(US_ASCII), is("Hello"));
+            }
+        } finally {
+            for (NettyConnection<Buffer, Buffer> connection : connections) {
+                connection.closeAsync().toFuture().get();
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.servicetalk.transport.api;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.KeyManagerFactory;
@@ -45,6 +46,8 @@ abstract class AbstractSslConfig implements SslConfig {
     private final long sessionTimeout;
     @Nullable
     private final SslProvider provider;
+    @Nullable
+    private final Executor handshakeTaskExecutor;
 
     AbstractSslConfig(@Nullable final TrustManagerFactory trustManagerFactory,
                       @Nullable final Supplier<InputStream> trustCertChainSupplier,
@@ -54,7 +57,8 @@ abstract class AbstractSslConfig implements SslConfig {
                       @Nullable final String keyPassword, @Nullable final List<String> sslProtocols,
                       @Nullable final List<String> alpnProtocols,
                       @Nullable final List<String> ciphers, final long sessionCacheSize,
-                      final long sessionTimeout, @Nullable final SslProvider provider) {
+                      final long sessionTimeout, @Nullable final SslProvider provider,
+                      @Nullable final Executor handshakeTaskExecutor) {
         this.trustManagerFactory = trustManagerFactory;
         this.trustCertChainSupplier = trustCertChainSupplier;
         this.keyManagerFactory = keyManagerFactory;
@@ -67,6 +71,7 @@ abstract class AbstractSslConfig implements SslConfig {
         this.sessionCacheSize = sessionCacheSize;
         this.sessionTimeout = sessionTimeout;
         this.provider = provider;
+        this.handshakeTaskExecutor = handshakeTaskExecutor;
     }
 
     @Nullable
@@ -138,4 +143,10 @@ abstract class AbstractSslConfig implements SslConfig {
     public final SslProvider provider() {
         return provider;
     }
+
+    @Nullable
+    @Override
+    public final Executor handshakeTaskExecutor() {
+        return handshakeTaskExecutor;
+    }
 }
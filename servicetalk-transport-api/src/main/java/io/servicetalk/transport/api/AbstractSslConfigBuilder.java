@@ -17,6 +17,7 @@ package io.servicetalk.transport.api;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.KeyManagerFactory;
@@ -54,6 +55,8 @@ abstract class AbstractSslConfigBuilder<T extends AbstractSslConfigBuilder<T>> {
     private long sessionTimeout;
     @Nullable
     private SslProvider provider;
+    @Nullable
+    private Executor handshakeTaskExecutor;
 
     /**
      * Set the {@link TrustManagerFactory} used for verifying the remote endpoint's certificate.
@@ -319,5 +322,29 @@ abstract class AbstractSslConfigBuilder<T extends AbstractSslConfigBuilder<T>> {
         return provider;
     }
 
+    /**
+     * Set the {@link Executor} used to run expensive tasks of the SSL/TLS handshake (e.g. private key operations and
+     * certificate validation) outside of the IO thread.
+     * <p>
+     * By default these tasks run on the IO thread which owns the connection, which delays processing of all other
+     * connections served by the same IO thread while the handshake is in progress. The {@link Executor} is expected to
+     * be bounded, if it rejects a task the handshake fails. The lifecycle of the {@link Executor} is managed by the
+     * caller. For {@link SslProvider#OPENSSL} this also enables offloading of the private key operations performed
+     * by OpenSSL.
+     *
+     * @param handshakeTaskExecutor the {@link Executor} used to run expensive tasks of the SSL/TLS handshake.
+     * @return {@code this}.
+     * @see SSLEngine#getDelegatedTask()
+     */
+    public final T handshakeTaskExecutor(Executor handshakeTaskExecutor) {
+        this.handshakeTaskExecutor = requireNonNull(handshakeTaskExecutor);
+        return thisT();
+    }
+
+    @Nullable
+    final Executor handshakeTaskExecutor() {
+        return handshakeTaskExecutor;
+    }
+
     abstract T thisT();
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2020-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -120,6 +120,12 @@ final class BiTransportObserver implements TransportObserver {
             first.handshakeComplete(sslSession);
             second.handshakeComplete(sslSession);
         }
+
+        @Override
+        public void handshakeTaskStarted(final long queueTimeNanos) {
+            first.handshakeTaskStarted(queueTimeNanos);
+            second.handshakeTaskStarted(queueTimeNanos);
+        }
     }
 
     private static final class BiDataObserver implements DataObserver {
@@ -157,6 +163,12 @@ final class BiTransportObserver implements TransportObserver {
         public StreamObserver onNewStream() {
             return new BiStreamObserver(first.onNewStream(), second.onNewStream());
         }
+
+        @Override
+        public void pingAcknowledged(final long roundTripTimeNanos) {
+            first.pingAcknowledged(roundTripTimeNanos);
+            second.pingAcknowledged(roundTripTimeNanos);
+        }
     }
 
     private static final class BiStreamObserver implements StreamObserver {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2020-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -127,6 +127,11 @@ final class CatchAllTransportObserver implements TransportObserver {
         public void handshakeComplete(final SSLSession sslSession) {
             safeReport(() -> observer.handshakeComplete(sslSession), observer, "handshake complete");
         }
+
+        @Override
+        public void handshakeTaskStarted(final long queueTimeNanos) {
+            safeReport(() -> observer.handshakeTaskStarted(queueTimeNanos), observer, "handshake task started");
+        }
     }
 
     private static final class CatchAllDataObserver implements DataObserver {
@@ -163,6 +168,11 @@ final class CatchAllTransportObserver implements TransportObserver {
             return safeReport(observer::onNewStream, observer, "connection established",
                     CatchAllStreamObserver::new, NoopStreamObserver.INSTANCE);
         }
+
+        @Override
+        public void pingAcknowledged(final long roundTripTimeNanos) {
+            safeReport(() -> observer.pingAcknowledged(roundTripTimeNanos), observer, "ping acknowledged");
+        }
     }
 
     private static final class CatchAllStreamObserver implements StreamObserver {
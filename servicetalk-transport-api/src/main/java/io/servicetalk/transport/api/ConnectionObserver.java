@@ -1,5 +1,5 @@
 /*
- * Copyright © 2020 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2020-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -100,6 +100,15 @@ public interface ConnectionObserver {
          * @param sslSession the {@link SSLSession} for this connection
          */
         void handshakeComplete(SSLSession sslSession);
+
+        /**
+         * Callback when a handshake task, offloaded to the {@link SslConfig#handshakeTaskExecutor()}, starts
+         * executing.
+         *
+         * @param queueTimeNanos the time in nanoseconds the task spent waiting for the executor
+         */
+        default void handshakeTaskStarted(long queueTimeNanos) {
+        }
     }
 
     /**
@@ -133,6 +142,14 @@ public interface ConnectionObserver {
          * @return {@link StreamObserver} that provides visibility into stream events
          */
         StreamObserver onNewStream();
+
+        /**
+         * Callback when an acknowledgment for a PING sent by the connection is received.
+         *
+         * @param roundTripTimeNanos the measured round-trip time in nanoseconds
+         */
+        default void pingAcknowledged(long roundTripTimeNanos) {
+        }
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -63,6 +63,16 @@ public final class ServiceTalkSocketOptions {
     public static final SocketOption<Boolean> TCP_FASTOPEN_CONNECT =
             new ServiceTalkSocketOption<>("TCP_FASTOPEN_CONNECT", Boolean.class);
 
+    /**
+     * Coalesce flushes of writes that are produced while the connection reads inbound data, and flush them once the
+     * read completes.
+     * <p>
+     * Pipelined and multiplexed protocols commonly produce many small writes for a single read. Coalescing them saves
+     * syscalls without delaying writes with a timer. Writes which are not produced while reading are flushed as usual.
+     */
+    public static final SocketOption<Boolean> FLUSH_ON_READ_COMPLETE =
+            new ServiceTalkSocketOption<>("FLUSH_ON_READ_COMPLETE", Boolean.class);
+
     // -- Server/listen socket specific options --
 
     /**
@@ -83,6 +93,21 @@ public final class ServiceTalkSocketOptions {
     public static final SocketOption<Integer> TCP_FASTOPEN_BACKLOG =
             new ServiceTalkSocketOption<>("TCP_FASTOPEN_BACKLOG", Integer.class);
 
+    /**
+     * Allow multiple server sockets to bind to the same address and port as described in
+     * <a href="https://man7.org/linux/man-pages/man7/socket.7.html">SO_REUSEPORT</a>.
+     * <p>
+     * When enabled for a server, a listen socket is bound for every IO thread and the kernel distributes new
+     * connections between them. Each accepted connection is processed by the IO thread which owns the accepting socket,
+     * so there is no hand-off between a single acceptor thread and the rest of the IO threads.
+     * <p>
+     * Note this option may not be supported by the underlying transport (e.g. supported by Netty's
+     * <a href="https://netty.io/wiki/native-transports.html#using-the-linux-native-transport">linux EPOLL
+     * transport)</a>. If it is not supported, a single listen socket is bound.
+     */
+    public static final SocketOption<Boolean> SO_REUSEPORT =
+            new ServiceTalkSocketOption<>("SO_REUSEPORT", Boolean.class);
+
     private ServiceTalkSocketOptions() {
     }
 
@@ -17,6 +17,7 @@ package io.servicetalk.transport.api;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.KeyManagerFactory;
@@ -136,4 +137,17 @@ public interface SslConfig {
      */
     @Nullable
     SslProvider provider();
+
+    /**
+     * Get the {@link Executor} used to run expensive tasks of the SSL/TLS handshake (e.g. private key operations and
+     * certificate validation) outside of the IO thread.
+     *
+     * @return the {@link Executor} used to run expensive tasks of the SSL/TLS handshake, or {@code null} if these
+     * tasks are run on the IO thread.
+     * @see SSLEngine#getDelegatedTask()
+     */
+    @Nullable
+    default Executor handshakeTaskExecutor() {
+        return null;
+    }
 }
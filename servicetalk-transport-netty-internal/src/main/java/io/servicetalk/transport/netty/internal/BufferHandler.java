@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,21 +25,26 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
 
 import static io.servicetalk.buffer.netty.BufferUtils.extractByteBufOrCreate;
 import static io.servicetalk.buffer.netty.BufferUtils.newBufferFrom;
+import static io.servicetalk.transport.netty.internal.FileRegionUtils.toFileRegionOrNull;
 
 /**
  * A {@link ChannelHandler} that converts does the following conversions:
  *
  * <ul>
  *     <li>{@link Buffer} to {@link ByteBuf} for writes.</li>
+ *     <li>{@link io.servicetalk.buffer.netty.FileRegionBuffer} to {@link FileRegion} for writes to plaintext sockets,
+ *     see {@link FileRegionUtils#toFileRegionOrNull(io.netty.channel.Channel, Buffer)}.</li>
  *     <li>{@link BufferHolder} to {@link ByteBuf} for writes.</li>
  *     <li>{@link ByteBuf} to {@link Buffer} for reads.</li>
  *     <li>{@link ByteBufHolder} to {@link Buffer} for reads.</li>
  * </ul>
  *
- * This also releases any {@link ByteBuf} once converted to {@link Buffer}.
+ * This also releases any {@link ByteBuf} once converted to {@link Buffer}. Written {@link Buffer}s are not retained,
+ * so ownership of a pooled {@link Buffer} is transferred to the transport, as it is for HTTP connections.
  */
 @Sharable
 public final class BufferHandler extends ChannelDuplexHandler {
@@ -65,7 +70,8 @@ public final class BufferHandler extends ChannelDuplexHandler {
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
         if (msg instanceof Buffer) {
-            ctx.write(extractByteBufOrCreate((Buffer) msg), promise);
+            final FileRegion fileRegion = toFileRegionOrNull(ctx.channel(), (Buffer) msg);
+            ctx.write(fileRegion != null ? fileRegion : extractByteBufOrCreate((Buffer) msg), promise);
         } else if (msg instanceof BufferHolder) {
             ctx.write(extractByteBufOrCreate(((BufferHolder) msg).content()), promise);
         } else {
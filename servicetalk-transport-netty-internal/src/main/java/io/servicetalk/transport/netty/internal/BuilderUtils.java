@@ -17,6 +17,7 @@ package io.servicetalk.transport.netty.internal;
 
 import io.servicetalk.transport.api.FileDescriptorSocketAddress;
 import io.servicetalk.transport.api.HostAndPort;
+import io.servicetalk.transport.api.ServiceTalkSocketOptions;
 
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
@@ -84,6 +85,18 @@ public final class BuilderUtils {
         return NativeTransportUtils.useKQueue(group);
     }
 
+    /**
+     * Returns {@code true} if multiple server sockets can be bound to the same address with
+     * {@link ServiceTalkSocketOptions#SO_REUSEPORT} and the kernel distributes accepted connections between them.
+     *
+     * @param group the {@link EventLoopGroup} used by the server sockets
+     * @param addressClass The class of the address that the server sockets will be bound to.
+     * @return {@code true} if {@link ServiceTalkSocketOptions#SO_REUSEPORT} can be used
+     */
+    public static boolean isReusePortSupported(EventLoopGroup group, Class<? extends SocketAddress> addressClass) {
+        return NativeTransportUtils.useEpoll(group) && !DomainSocketAddress.class.isAssignableFrom(addressClass);
+    }
+
     /**
      * Returns the correct {@link Class} to use with the given {@link EventLoopGroup}.
      *
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.netty.FileRegionBuffer;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.ssl.SslHandler;
+
+import java.nio.channels.FileChannel;
+import javax.annotation.Nullable;
+
+/**
+ * Utilities to write {@link FileRegionBuffer}s without copying the content of the file to user space.
+ */
+public final class FileRegionUtils {
+
+    private FileRegionUtils() {
+        // no instances
+    }
+
+    /**
+     * Converts the passed {@link Buffer} to a {@link FileRegion} if it is a {@link FileRegionBuffer} and the
+     * {@link Channel} writes {@link FileRegion}s to the socket without modifications.
+     * <p>
+     * This is not the case for TLS connections, which need to encrypt the content in user space. For these connections
+     * a {@link FileRegionBuffer} is written as its memory-mapped content.
+     *
+     * @param channel the {@link Channel} to write to.
+     * @param buffer the {@link Buffer} to write.
+     * @return a {@link FileRegion} for the readable bytes of the {@code buffer}, or {@code null} if the {@code buffer}
+     * has to be written as a regular {@link Buffer}.
+     */
+    @Nullable
+    public static FileRegion toFileRegionOrNull(final Channel channel, final Buffer buffer) {
+        if (!(buffer instanceof FileRegionBuffer) || !(channel instanceof SocketChannel) ||
+                buffer.readableBytes() == 0) {
+            return null;
+        }
+        final ChannelPipeline pipeline = channel.pipeline();
+        if (pipeline.get(SslHandler.class) != null || pipeline.get(DeferSslHandler.class) != null) {
+            return null;
+        }
+        final FileRegionBuffer fileBuffer = (FileRegionBuffer) buffer;
+        return new UnclosableFileRegion(fileBuffer.fileChannel(), fileBuffer.filePosition(),
+                fileBuffer.readableBytes());
+    }
+
+    /**
+     * A {@link DefaultFileRegion} which does not close the {@link FileChannel} when released.
+     */
+    private static final class UnclosableFileRegion extends DefaultFileRegion {
+        UnclosableFileRegion(final FileChannel file, final long position, final long count) {
+            super(file, position, count);
+        }
+
+        @Override
+        protected void deallocate() {
+            // The FileChannel is owned by the producer of the FileRegionBuffer.
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+/**
+ * Requests a flush for every written item, like {@link FlushOnEach}. Connections initialized with
+ * {@link FlushOnReadCompleteInitializer} defer the flushes requested while inbound data is processed until the read
+ * completes, so that writes triggered by the same read are written with a single syscall.
+ */
+final class FlushOnReadComplete implements FlushStrategy {
+
+    static final FlushOnReadComplete FLUSH_ON_READ_COMPLETE = new FlushOnReadComplete();
+
+    private FlushOnReadComplete() {
+        // No instances.
+    }
+
+    @Override
+    public WriteEventsListener apply(final FlushSender sender) {
+        return new NoopWriteEventsListener() {
+            @Override
+            public void itemWritten(Object __) {
+                sender.flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.channel.Channel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+
+import static io.netty.handler.flush.FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES;
+
+/**
+ * Initializes the channel to coalesce flushes for {@link FlushStrategies#flushOnReadComplete()}.
+ * <p>
+ * Flushes requested while the channel reads inbound data are deferred until the read completes, or until
+ * {@link FlushConsolidationHandler#DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES} flushes are pending or the channel becomes
+ * unwritable. Flushes requested outside a read, e.g. for writes which are offloaded from the event loop, are not
+ * delayed.
+ */
+public final class FlushOnReadCompleteInitializer implements ChannelInitializer {
+
+    /**
+     * The singleton instance.
+     */
+    public static final ChannelInitializer INSTANCE = new FlushOnReadCompleteInitializer();
+
+    private FlushOnReadCompleteInitializer() {
+        // Singleton
+    }
+
+    @Override
+    public void init(final Channel channel) {
+        channel.pipeline().addLast(new FlushConsolidationHandler(DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, false));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import io.servicetalk.transport.netty.internal.FlushStrategy.WriteEventsListener
 
 import static io.servicetalk.transport.netty.internal.FlushOnEach.FLUSH_ON_EACH;
 import static io.servicetalk.transport.netty.internal.FlushOnEnd.FLUSH_ON_END;
+import static io.servicetalk.transport.netty.internal.FlushOnReadComplete.FLUSH_ON_READ_COMPLETE;
 import static java.lang.Integer.MAX_VALUE;
 
 /**
@@ -94,4 +95,20 @@ public final class FlushStrategies {
     public static FlushStrategy flushOnEnd() {
         return FLUSH_ON_END;
     }
+
+    /**
+     * Creates a {@link FlushStrategy} that will {@link FlushSender#flush() flush writes} on each call to
+     * the returned {@link WriteEventsListener#itemWritten(Object)} from {@link FlushStrategy#apply(FlushSender)}, and
+     * lets connections initialized with {@link FlushOnReadCompleteInitializer} coalesce the flushes requested while
+     * inbound data is read into one flush when the read completes.
+     * <p>
+     * This batches writes of pipelined or multiplexed requests and responses without delaying writes with a timer.
+     * Connections which are not initialized with {@link FlushOnReadCompleteInitializer} flush on each item.
+     *
+     * @return A {@link FlushStrategy} that will {@link FlushSender#flush() flush writes} on each call to the returned
+     * {@link WriteEventsListener#itemWritten(Object)}, coalesced until the current read completes.
+     */
+    public static FlushStrategy flushOnReadComplete() {
+        return FLUSH_ON_READ_COMPLETE;
+    }
 }
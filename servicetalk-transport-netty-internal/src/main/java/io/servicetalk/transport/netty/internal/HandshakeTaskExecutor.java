@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.servicetalk.transport.api.ConnectionObserver.SecurityHandshakeObserver;
+import io.servicetalk.transport.netty.internal.ConnectionObserverInitializer.ConnectionObserverHandler;
+
+import io.netty.channel.Channel;
+import io.netty.handler.ssl.SslHandler;
+
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link Executor} for {@link SslHandler} delegated tasks which reports the time each task spent waiting in the
+ * queue of the user provided {@link Executor} to the {@link SecurityHandshakeObserver} of the {@link Channel}, if any.
+ */
+final class HandshakeTaskExecutor implements Executor {
+    private final Executor delegate;
+    private final Channel channel;
+
+    HandshakeTaskExecutor(final Executor delegate, final Channel channel) {
+        this.delegate = requireNonNull(delegate);
+        this.channel = requireNonNull(channel);
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        final SecurityHandshakeObserver observer = handshakeObserver(channel);
+        if (observer == null) {
+            delegate.execute(task);
+            return;
+        }
+        final long queuedAt = nanoTime();
+        delegate.execute(() -> {
+            observer.handshakeTaskStarted(nanoTime() - queuedAt);
+            task.run();
+        });
+    }
+
+    @Nullable
+    private static SecurityHandshakeObserver handshakeObserver(final Channel channel) {
+        final ConnectionObserverHandler handler = channel.pipeline().get(ConnectionObserverHandler.class);
+        return handler == null ? null : handler.handshakeObserver();
+    }
+}
@@ -23,9 +23,12 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.Mapping;
 
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 import javax.net.ssl.SSLEngine;
 
 import static io.servicetalk.transport.netty.internal.CopyByteBufHandlerChannelInitializer.POOLED_ALLOCATOR;
+import static io.servicetalk.transport.netty.internal.SslUtils.newHandler;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -33,18 +36,32 @@ import static java.util.Objects.requireNonNull;
  */
 public final class SniServerChannelInitializer implements ChannelInitializer {
     private final Mapping<String, SslContext> sniMapping;
+    @Nullable
+    private final Executor handshakeTaskExecutor;
 
     /**
      * Create a new instance.
      * @param sniMapping to use for SNI configuration.
      */
     public SniServerChannelInitializer(final Mapping<String, SslContext> sniMapping) {
+        this(sniMapping, null);
+    }
+
+    /**
+     * Create a new instance.
+     * @param sniMapping to use for SNI configuration.
+     * @param handshakeTaskExecutor the {@link Executor} to run expensive tasks of the SSL/TLS handshake or
+     * {@code null} to run them on the IO thread.
+     */
+    public SniServerChannelInitializer(final Mapping<String, SslContext> sniMapping,
+                                       @Nullable final Executor handshakeTaskExecutor) {
         this.sniMapping = requireNonNull(sniMapping);
+        this.handshakeTaskExecutor = handshakeTaskExecutor;
     }
 
     @Override
     public void init(final Channel channel) {
-        channel.pipeline().addLast(new SniHandlerWithPooledAllocator(sniMapping));
+        channel.pipeline().addLast(new SniHandlerWithPooledAllocator(sniMapping, handshakeTaskExecutor, channel));
     }
 
     /**
@@ -52,13 +69,20 @@ public final class SniServerChannelInitializer implements ChannelInitializer {
      * required by {@link SSLEngine}. {@link SslHandler} releases allocated direct {@link ByteBuf}s after processing.
      */
     private static final class SniHandlerWithPooledAllocator extends SniHandler {
-        SniHandlerWithPooledAllocator(final Mapping<String, SslContext> mapping) {
+        @Nullable
+        private final Executor handshakeTaskExecutor;
+        private final Channel channel;
+
+        SniHandlerWithPooledAllocator(final Mapping<String, SslContext> mapping,
+                                      @Nullable final Executor handshakeTaskExecutor, final Channel channel) {
             super(mapping);
+            this.handshakeTaskExecutor = handshakeTaskExecutor;
+            this.channel = channel;
         }
 
         @Override
         protected SslHandler newSslHandler(final SslContext context, final ByteBufAllocator ignore) {
-            return super.newSslHandler(context, POOLED_ALLOCATOR);
+            return newHandler(context, POOLED_ALLOCATOR, handshakeTaskExecutor, channel);
         }
     }
 }
@@ -47,7 +47,7 @@ public class SslClientChannelInitializer implements ChannelInitializer {
 
     @Override
     public void init(Channel channel) {
-        final SslHandler sslHandler = newHandler(sslContext, POOLED_ALLOCATOR, sslConfig);
+        final SslHandler sslHandler = newHandler(sslContext, POOLED_ALLOCATOR, sslConfig, channel);
         channel.pipeline().addLast(deferSslHandler ? new DeferSslHandler(channel, sslHandler) : sslHandler);
     }
 }
@@ -20,8 +20,11 @@ import io.servicetalk.transport.api.ServerSslConfig;
 import io.servicetalk.transport.api.SslConfig;
 
 import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslContextOption;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
 
 import java.io.InputStream;
 import java.util.List;
@@ -72,7 +75,8 @@ public final class SslContextFactory {
             }
         }
         List<String> alpnProtocols = config.alpnProtocols();
-        builder.sslProvider(toNettySslProvider(config.provider(), alpnProtocols != null && !alpnProtocols.isEmpty()));
+        configureProvider(config, builder,
+                toNettySslProvider(config.provider(), alpnProtocols != null && !alpnProtocols.isEmpty()));
 
         builder.protocols(config.sslProtocols());
         builder.ciphers(config.ciphers());
@@ -132,7 +136,8 @@ public final class SslContextFactory {
         builder.protocols(config.sslProtocols());
         builder.ciphers(config.ciphers());
 
-        builder.sslProvider(toNettySslProvider(config.provider(), alpnProtocols != null && !alpnProtocols.isEmpty()));
+        configureProvider(config, builder,
+                toNettySslProvider(config.provider(), alpnProtocols != null && !alpnProtocols.isEmpty()));
         try {
             return builder.build();
         } catch (SSLException e) {
@@ -140,6 +145,17 @@ public final class SslContextFactory {
         }
     }
 
+    private static void configureProvider(SslConfig config, SslContextBuilder builder,
+                                          @Nullable SslProvider provider) {
+        builder.sslProvider(provider);
+        if (config.handshakeTaskExecutor() != null && (provider == null ? OpenSsl.isAvailable() :
+                provider == SslProvider.OPENSSL || provider == SslProvider.OPENSSL_REFCNT)) {
+            // Let OpenSSL surface private key operations and certificate validation as SSLEngine delegated tasks, so
+            // they can run on the handshake task executor instead of the IO thread.
+            builder.option(OpenSslContextOption.USE_TASKS, true);
+        }
+    }
+
     private static void configureTrustManager(SslConfig config, SslContextBuilder builder) {
         if (config.trustManagerFactory() != null) {
             builder.trustManager(config.trustManagerFactory());
@@ -18,6 +18,9 @@ package io.servicetalk.transport.netty.internal;
 import io.netty.channel.Channel;
 import io.netty.handler.ssl.SslContext;
 
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+
 import static io.servicetalk.transport.netty.internal.CopyByteBufHandlerChannelInitializer.POOLED_ALLOCATOR;
 import static io.servicetalk.transport.netty.internal.SslUtils.newHandler;
 import static java.util.Objects.requireNonNull;
@@ -27,17 +30,30 @@ import static java.util.Objects.requireNonNull;
  */
 public final class SslServerChannelInitializer implements ChannelInitializer {
     private final SslContext sslContext;
+    @Nullable
+    private final Executor handshakeTaskExecutor;
 
     /**
      * New instance.
      * @param sslContext to use for default SSL configuration.
      */
     public SslServerChannelInitializer(SslContext sslContext) {
+        this(sslContext, null);
+    }
+
+    /**
+     * New instance.
+     * @param sslContext to use for default SSL configuration.
+     * @param handshakeTaskExecutor the {@link Executor} to run expensive tasks of the SSL/TLS handshake or
+     * {@code null} to run them on the IO thread.
+     */
+    public SslServerChannelInitializer(SslContext sslContext, @Nullable Executor handshakeTaskExecutor) {
         this.sslContext = requireNonNull(sslContext);
+        this.handshakeTaskExecutor = handshakeTaskExecutor;
     }
 
     @Override
     public void init(Channel channel) {
-        channel.pipeline().addLast(newHandler(sslContext, POOLED_ALLOCATOR));
+        channel.pipeline().addLast(newHandler(sslContext, POOLED_ALLOCATOR, handshakeTaskExecutor, channel));
     }
 }
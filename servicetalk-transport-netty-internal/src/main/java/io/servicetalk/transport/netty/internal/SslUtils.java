@@ -18,6 +18,7 @@ package io.servicetalk.transport.netty.internal;
 import io.servicetalk.transport.api.ClientSslConfig;
 
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
 import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContext;
@@ -27,6 +28,7 @@ import io.netty.util.ReferenceCountUtil;
 
 import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 import javax.net.ssl.SNIHostName;
 import javax.net.ssl.SSLEngine;
@@ -54,10 +56,16 @@ final class SslUtils {
      * @param allocator the {@link ByteBufAllocator} which will be used to allocate direct memory if required for
      * {@link SSLEngine}
      * @param sslConfig used to obtain configuration for the {@link SslHandler}.
+     * @param channel the {@link Channel} for which the {@link SslHandler} is created.
      * @return a {@link SslHandler}
      */
-    static SslHandler newHandler(SslContext context, ByteBufAllocator allocator, ClientSslConfig sslConfig) {
-        SslHandler handler = context.newHandler(allocator, sslConfig.peerHost(), sslConfig.peerPort());
+    static SslHandler newHandler(SslContext context, ByteBufAllocator allocator, ClientSslConfig sslConfig,
+                                 Channel channel) {
+        final Executor handshakeTaskExecutor = sslConfig.handshakeTaskExecutor();
+        SslHandler handler = handshakeTaskExecutor == null ?
+                context.newHandler(allocator, sslConfig.peerHost(), sslConfig.peerPort()) :
+                context.newHandler(allocator, sslConfig.peerHost(), sslConfig.peerPort(),
+                        new HandshakeTaskExecutor(handshakeTaskExecutor, channel));
         SSLEngine engine = handler.engine();
         try {
             String hostnameVerificationAlgorithm = sslConfig.hostnameVerificationAlgorithm();
@@ -84,10 +92,15 @@ final class SslUtils {
      *
      * @param context the {@link SslContext} which will be used to create the {@link SslHandler}
      * @param allocator the {@link ByteBufAllocator} which will be used
+     * @param handshakeTaskExecutor the {@link Executor} to run {@link SSLEngine#getDelegatedTask() delegated tasks}
+     * or {@code null} to run them on the IO thread.
+     * @param channel the {@link Channel} for which the {@link SslHandler} is created.
      * @return a {@link SslHandler}
      */
-    static SslHandler newHandler(SslContext context, ByteBufAllocator allocator) {
-        return context.newHandler(allocator);
+    static SslHandler newHandler(SslContext context, ByteBufAllocator allocator,
+                                 @Nullable Executor handshakeTaskExecutor, Channel channel) {
+        return handshakeTaskExecutor == null ? context.newHandler(allocator) :
+                context.newHandler(allocator, new HandshakeTaskExecutor(handshakeTaskExecutor, channel));
     }
 
     /**
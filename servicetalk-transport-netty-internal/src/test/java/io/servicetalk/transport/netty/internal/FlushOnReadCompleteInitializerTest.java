@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.transport.netty.internal;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class FlushOnReadCompleteInitializerTest {
+
+    private final FlushCounter flushCounter = new FlushCounter();
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel();
+        channel.pipeline().addLast(flushCounter);
+        FlushOnReadCompleteInitializer.INSTANCE.init(channel);
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                // Echo every read and flush, as a FlushStrategy flushing on each item would.
+                ctx.writeAndFlush(msg);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void flushesAreCoalescedUntilReadComplete() {
+        channel.pipeline().fireChannelRead("1");
+        channel.pipeline().fireChannelRead("2");
+        channel.pipeline().fireChannelRead("3");
+        assertThat(flushCounter.flushes, is(0));
+
+        channel.pipeline().fireChannelReadComplete();
+        assertThat(flushCounter.flushes, is(1));
+        assertThat(channel.readOutbound(), is("1"));
+        assertThat(channel.readOutbound(), is("2"));
+        assertThat(channel.readOutbound(), is("3"));
+    }
+
+    @Test
+    void flushesOutsideOfReadAreNotDelayed() {
+        channel.writeAndFlush("1");
+        assertThat(flushCounter.flushes, is(1));
+        channel.writeAndFlush("2");
+        assertThat(flushCounter.flushes, is(2));
+    }
+
+    private static final class FlushCounter extends ChannelOutboundHandlerAdapter {
+        int flushes;
+
+        @Override
+        public void flush(final ChannelHandlerContext ctx) {
+            ++flushes;
+            ctx.flush();
+        }
+    }
+}
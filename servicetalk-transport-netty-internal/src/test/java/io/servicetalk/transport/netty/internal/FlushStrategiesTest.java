@@ -1,5 +1,5 @@
 /*
- * Copyright © 2018-2019 Apple Inc. and the ServiceTalk project authors
+ * Copyright © 2018-2019, 2021 Apple Inc. and the ServiceTalk project authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.mockito.Mockito;
 import static io.servicetalk.concurrent.internal.DeliberateException.DELIBERATE_EXCEPTION;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnEach;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnEnd;
+import static io.servicetalk.transport.netty.internal.FlushStrategies.flushOnReadComplete;
 import static io.servicetalk.transport.netty.internal.FlushStrategies.flushWith;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -54,6 +55,14 @@ class FlushStrategiesTest {
         verifyFlush(2);
     }
 
+    @Test
+    void testFlushOnReadComplete() {
+        setupFor(flushOnReadComplete());
+        listener.itemWritten(1);
+        listener.itemWritten(2);
+        verifyFlush(2);
+    }
+
     @Test
     void testBatchFlush() {
         setupForBatch(2);
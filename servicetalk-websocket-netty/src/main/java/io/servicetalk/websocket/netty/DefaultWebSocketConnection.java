@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.transport.api.ConnectionObserver;
+import io.servicetalk.transport.api.ExecutionContext;
+import io.servicetalk.transport.netty.internal.ChannelInitializer;
+import io.servicetalk.transport.netty.internal.CopyByteBufHandlerChannelInitializer;
+import io.servicetalk.transport.netty.internal.DefaultNettyConnection;
+import io.servicetalk.transport.netty.internal.FlushStrategy;
+import io.servicetalk.transport.netty.internal.NettyConnection;
+
+import io.netty.channel.Channel;
+
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.time.Duration;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLSession;
+
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static io.servicetalk.concurrent.api.Single.succeeded;
+import static io.servicetalk.transport.netty.internal.CloseHandler.UNSUPPORTED_PROTOCOL_CLOSE_HANDLER;
+import static io.servicetalk.transport.netty.internal.FlushStrategies.batchFlush;
+import static io.servicetalk.websocket.netty.WebSocketProtocol.WEBSOCKET_13;
+
+final class DefaultWebSocketConnection implements WebSocketConnection {
+
+    private final NettyConnection<WebSocketFrame, WebSocketFrame> connection;
+
+    private DefaultWebSocketConnection(final NettyConnection<WebSocketFrame, WebSocketFrame> connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Initializes the {@link Channel} and completes with a {@link WebSocketConnection} after the opening handshake.
+     *
+     * @param channel a newly created {@link Channel}.
+     * @param executionContext {@link ExecutionContext} for the connection.
+     * @param flushStrategy {@link FlushStrategy} for written frames.
+     * @param idleTimeoutMs idle timeout of the connection, or {@code null}.
+     * @param tcpInitializer initializes transport level handlers, like TLS.
+     * @param handshakeHandler performs the opening handshake.
+     * @param observer {@link ConnectionObserver} to report network events.
+     * @param isClient {@code true} for a client connection.
+     * @return a {@link Single} which completes with a {@link WebSocketConnection} after the opening handshake.
+     */
+    static Single<WebSocketConnection> initChannel(final Channel channel, final ExecutionContext executionContext,
+                                                   final FlushStrategy flushStrategy,
+                                                   @Nullable final Long idleTimeoutMs,
+                                                   final ChannelInitializer tcpInitializer,
+                                                   final WebSocketHandshakeHandler handshakeHandler,
+                                                   final ConnectionObserver observer, final boolean isClient) {
+        // Frame payloads are slices of the read ByteBufs which are handed to the user, so they must not be pooled.
+        final ChannelInitializer initializer = tcpInitializer
+                .andThen(new CopyByteBufHandlerChannelInitializer(
+                        getByteBufAllocator(executionContext.bufferAllocator())))
+                .andThen(ch -> ch.pipeline().addLast(handshakeHandler));
+        return DefaultNettyConnection.<WebSocketFrame, WebSocketFrame>initChannel(channel,
+                executionContext.bufferAllocator(), executionContext.executor(), frame -> false,
+                UNSUPPORTED_PROTOCOL_CLOSE_HANDLER, flushStrategy, idleTimeoutMs, initializer,
+                executionContext.executionStrategy(), WEBSOCKET_13, observer, isClient)
+                .flatMap(connection -> handshakeHandler.completion()
+                        .concat(succeeded((WebSocketConnection) new DefaultWebSocketConnection(connection)))
+                        .onErrorResume(cause -> connection.closeAsync()
+                                .concat(Single.<WebSocketConnection>failed(cause))));
+    }
+
+    /**
+     * Creates a {@link FlushStrategy} which flushes after {@code maxFrames} frames or after {@code maxDelay}.
+     *
+     * @param executionContext {@link ExecutionContext} which provides the timer.
+     * @param maxFrames the number of frames after which a flush is issued.
+     * @param maxDelay the maximum time a written frame may wait for a flush.
+     * @return a batching {@link FlushStrategy}.
+     */
+    static FlushStrategy batchFlushStrategy(final ExecutionContext executionContext, final int maxFrames,
+                                            final Duration maxDelay) {
+        return batchFlush(maxFrames, executionContext.executor().timer(maxDelay).repeat(__ -> true));
+    }
+
+    @Override
+    public Publisher<WebSocketFrame> read() {
+        return connection.read();
+    }
+
+    @Override
+    public Completable write(final Publisher<WebSocketFrame> frames) {
+        return connection.write(frames);
+    }
+
+    @Override
+    public SocketAddress localAddress() {
+        return connection.localAddress();
+    }
+
+    @Override
+    public SocketAddress remoteAddress() {
+        return connection.remoteAddress();
+    }
+
+    @Nullable
+    @Override
+    public SSLSession sslSession() {
+        return connection.sslSession();
+    }
+
+    @Override
+    public ExecutionContext executionContext() {
+        return connection.executionContext();
+    }
+
+    @Nullable
+    @Override
+    public <T> T socketOption(final SocketOption<T> option) {
+        return connection.socketOption(option);
+    }
+
+    @Override
+    public Protocol protocol() {
+        return connection.protocol();
+    }
+
+    @Override
+    public Completable onClose() {
+        return connection.onClose();
+    }
+
+    @Override
+    public Completable closeAsync() {
+        return connection.closeAsync();
+    }
+
+    @Override
+    public Completable closeAsyncGracefully() {
+        return connection.closeAsyncGracefully();
+    }
+
+    @Override
+    public String toString() {
+        return connection.toString();
+    }
+}
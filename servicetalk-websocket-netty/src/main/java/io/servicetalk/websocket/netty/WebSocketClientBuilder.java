@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.encoding.api.ContentCodec;
+import io.servicetalk.tcp.netty.internal.ReadOnlyTcpClientConfig;
+import io.servicetalk.tcp.netty.internal.TcpClientChannelInitializer;
+import io.servicetalk.tcp.netty.internal.TcpClientConfig;
+import io.servicetalk.tcp.netty.internal.TcpConnector;
+import io.servicetalk.transport.api.ClientSslConfig;
+import io.servicetalk.transport.api.ExecutionContext;
+import io.servicetalk.transport.api.IoExecutor;
+import io.servicetalk.transport.api.TransportObserver;
+import io.servicetalk.transport.netty.internal.ExecutionContextBuilder;
+import io.servicetalk.transport.netty.internal.NoopTransportObserver;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.encoding.netty.ContentCodings.rawDeflate;
+import static io.servicetalk.websocket.netty.DefaultWebSocketConnection.batchFlushStrategy;
+import static io.servicetalk.websocket.netty.WebSocketServerBuilder.DEFAULT_MAX_FRAME_PAYLOAD_LENGTH;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A builder of WebSocket client connections.
+ */
+public final class WebSocketClientBuilder {
+
+    private final SocketAddress address;
+    private final TcpClientConfig config = new TcpClientConfig();
+    private final ExecutionContextBuilder executionContextBuilder = new ExecutionContextBuilder();
+    private TransportObserver transportObserver = NoopTransportObserver.INSTANCE;
+    private String host;
+    private String path = "/";
+    private int maxFramePayloadLength = DEFAULT_MAX_FRAME_PAYLOAD_LENGTH;
+    private boolean perMessageDeflate;
+    private int batchFlushMaxFrames;
+    @Nullable
+    private Duration batchFlushMaxDelay;
+
+    WebSocketClientBuilder(final SocketAddress address) {
+        this.address = requireNonNull(address);
+        host = address instanceof InetSocketAddress ? hostHeader((InetSocketAddress) address) : "localhost";
+    }
+
+    /**
+     * Sets the {@link IoExecutor} to use.
+     *
+     * @param ioExecutor {@link IoExecutor} to use.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder ioExecutor(final IoExecutor ioExecutor) {
+        executionContextBuilder.ioExecutor(ioExecutor);
+        return this;
+    }
+
+    /**
+     * Sets the {@link Executor} to use.
+     *
+     * @param executor {@link Executor} to use.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder executor(final Executor executor) {
+        executionContextBuilder.executor(executor);
+        return this;
+    }
+
+    /**
+     * Sets the {@link BufferAllocator} to use.
+     *
+     * @param allocator {@link BufferAllocator} to use.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder bufferAllocator(final BufferAllocator allocator) {
+        executionContextBuilder.bufferAllocator(allocator);
+        return this;
+    }
+
+    /**
+     * Adds a {@link SocketOption} that is applied to new connections.
+     *
+     * @param option the option to apply.
+     * @param value the value.
+     * @param <T> the type of the value.
+     * @return {@code this}.
+     */
+    public <T> WebSocketClientBuilder socketOption(final SocketOption<T> option, final T value) {
+        config.socketOption(option, value);
+        return this;
+    }
+
+    /**
+     * Enables TLS with the passed {@link ClientSslConfig}.
+     *
+     * @param config the {@link ClientSslConfig} to use.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder sslConfig(final ClientSslConfig config) {
+        this.config.sslConfig(requireNonNull(config));
+        return this;
+    }
+
+    /**
+     * Sets a {@link TransportObserver} that provides visibility into transport events associated with new
+     * connections.
+     *
+     * @param transportObserver A {@link TransportObserver} that provides visibility into transport events.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder transportObserver(final TransportObserver transportObserver) {
+        this.transportObserver = requireNonNull(transportObserver);
+        return this;
+    }
+
+    /**
+     * Sets the value of the {@code Host} header of the opening handshake. Defaults to the host and port of the
+     * address this builder was created for.
+     *
+     * @param host the value of the {@code Host} header.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder host(final String host) {
+        this.host = requireNonNull(host);
+        return this;
+    }
+
+    /**
+     * Sets the request-target of the opening handshake. Defaults to {@code /}.
+     *
+     * @param path the path, with an optional query, of the WebSocket endpoint.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder path(final String path) {
+        this.path = requireNonNull(path);
+        return this;
+    }
+
+    /**
+     * Sets the maximum payload length of a received frame, and of a decompressed message if
+     * {@link #perMessageDeflate(boolean) permessage-deflate} is negotiated.
+     *
+     * @param maxFramePayloadLength the maximum payload length in bytes.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder maxFramePayloadLength(final int maxFramePayloadLength) {
+        if (maxFramePayloadLength <= 0) {
+            throw new IllegalArgumentException("maxFramePayloadLength: " + maxFramePayloadLength +
+                    " (expected: >0)");
+        }
+        this.maxFramePayloadLength = maxFramePayloadLength;
+        return this;
+    }
+
+    /**
+     * Offers the <a href="https://tools.ietf.org/html/rfc7692">permessage-deflate</a> extension to the server. Each
+     * message is compressed independently, so no compression context is kept between messages.
+     *
+     * @param perMessageDeflate {@code true} to offer permessage-deflate.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder perMessageDeflate(final boolean perMessageDeflate) {
+        this.perMessageDeflate = perMessageDeflate;
+        return this;
+    }
+
+    /**
+     * Flushes written frames in batches of {@code maxFrames}, or when {@code maxDelay} elapses, instead of after
+     * every frame.
+     *
+     * @param maxFrames the number of frames after which a flush is issued.
+     * @param maxDelay the maximum time a written frame may wait for a flush.
+     * @return {@code this}.
+     */
+    public WebSocketClientBuilder batchFlush(final int maxFrames, final Duration maxDelay) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("maxFrames: " + maxFrames + " (expected: >0)");
+        }
+        this.batchFlushMaxFrames = maxFrames;
+        this.batchFlushMaxDelay = requireNonNull(maxDelay);
+        return this;
+    }
+
+    /**
+     * Connects and waits for the opening handshake to complete.
+     *
+     * @return a new {@link WebSocketConnection}.
+     * @throws Exception if the connection or the opening handshake failed.
+     */
+    public WebSocketConnection connectBlocking() throws Exception {
+        return connect().toFuture().get();
+    }
+
+    /**
+     * Connects and performs the opening handshake.
+     *
+     * @return a {@link Single} which completes with a new {@link WebSocketConnection} after the opening handshake.
+     */
+    public Single<WebSocketConnection> connect() {
+        final ExecutionContext executionContext = executionContextBuilder.build();
+        if (batchFlushMaxDelay != null) {
+            config.flushStrategy(batchFlushStrategy(executionContext, batchFlushMaxFrames, batchFlushMaxDelay));
+        }
+        final ReadOnlyTcpClientConfig roConfig = config.asReadOnly();
+        final ContentCodec deflate = perMessageDeflate ? rawDeflate().build() : null;
+        final String host = this.host;
+        final String path = this.path;
+        final int maxFramePayloadLength = this.maxFramePayloadLength;
+        return TcpConnector.connect(null, address, roConfig, false, executionContext,
+                (channel, observer) -> DefaultWebSocketConnection.initChannel(channel, executionContext,
+                        roConfig.flushStrategy(), roConfig.idleTimeoutMs(),
+                        new TcpClientChannelInitializer(roConfig, observer),
+                        new WebSocketClientHandshakeHandler(executionContext.bufferAllocator(), maxFramePayloadLength,
+                                deflate, host, path), observer, true),
+                transportObserver);
+    }
+
+    private static String hostHeader(final InetSocketAddress address) {
+        final String host = address.getHostString();
+        return (host.indexOf(':') >= 0 ? '[' + host + ']' : host) + ':' + address.getPort();
+    }
+}
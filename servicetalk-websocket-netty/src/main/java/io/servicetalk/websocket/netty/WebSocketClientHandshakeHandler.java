@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.encoding.api.ContentCodec;
+
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static io.netty.channel.ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.CLIENT_NO_CONTEXT_TAKEOVER;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.PERMESSAGE_DEFLATE;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.SERVER_NO_CONTEXT_TAKEOVER;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.VERSION;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.accept;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.containsToken;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.isDeflateAccepted;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.newKey;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Sends the opening handshake of a client and validates the server's {@code 101 Switching Protocols} response.
+ */
+final class WebSocketClientHandshakeHandler extends WebSocketHandshakeHandler {
+
+    private static final String DEFLATE_OFFER = PERMESSAGE_DEFLATE + "; " + CLIENT_NO_CONTEXT_TAKEOVER + "; " +
+            SERVER_NO_CONTEXT_TAKEOVER;
+
+    private final String host;
+    private final String path;
+    private final boolean deflateOffered;
+    private final String key = newKey();
+
+    WebSocketClientHandshakeHandler(final BufferAllocator allocator, final int maxPayloadLength,
+                                    @Nullable final ContentCodec deflate, final String host, final String path) {
+        super(allocator, maxPayloadLength, deflate, false);
+        this.host = host;
+        this.path = path;
+        this.deflateOffered = deflate != null;
+    }
+
+    @Override
+    void start(final ChannelHandlerContext ctx) {
+        final StringBuilder request = new StringBuilder(256)
+                .append("GET ").append(path).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(host).append("\r\n")
+                .append("Upgrade: websocket\r\n")
+                .append("Connection: Upgrade\r\n")
+                .append("Sec-WebSocket-Key: ").append(key).append("\r\n")
+                .append("Sec-WebSocket-Version: ").append(VERSION).append("\r\n");
+        if (deflateOffered) {
+            request.append("Sec-WebSocket-Extensions: ").append(DEFLATE_OFFER).append("\r\n");
+        }
+        request.append("\r\n");
+        ctx.writeAndFlush(copiedBuffer(request, US_ASCII)).addListener(FIRE_EXCEPTION_ON_FAILURE);
+    }
+
+    @Override
+    boolean handshake(final ChannelHandlerContext ctx, final String startLine, final Map<String, String> headers)
+            throws WebSocketHandshakeException {
+        final String[] statusLine = startLine.split(" ", 3);
+        int statusCode;
+        try {
+            statusCode = statusLine.length < 2 ? 0 : Integer.parseInt(statusLine[1]);
+        } catch (NumberFormatException e) {
+            statusCode = 0;
+        }
+        if (!"HTTP/1.1".equals(statusLine[0]) || statusCode != 101) {
+            throw new WebSocketHandshakeException("Unexpected status-line: " + startLine, statusCode);
+        }
+        if (!containsToken(headers.get("Upgrade"), "websocket")) {
+            throw new WebSocketHandshakeException("Missing Upgrade: websocket", statusCode);
+        }
+        if (!containsToken(headers.get("Connection"), "upgrade")) {
+            throw new WebSocketHandshakeException("Missing Connection: upgrade", statusCode);
+        }
+        final String accept = headers.get("Sec-WebSocket-Accept");
+        if (!accept(key).equals(accept)) {
+            throw new WebSocketHandshakeException("Invalid Sec-WebSocket-Accept: " + accept, statusCode);
+        }
+        return isDeflateAccepted(headers.get("Sec-WebSocket-Extensions"), deflateOffered);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * A factory to create WebSocket client connections.
+ */
+public final class WebSocketClients {
+
+    private WebSocketClients() {
+        // No instances
+    }
+
+    /**
+     * New {@link WebSocketClientBuilder} for the passed {@code host} and {@code port}.
+     *
+     * @param host the host to connect to.
+     * @param port the port to connect to.
+     * @return a new {@link WebSocketClientBuilder}.
+     */
+    public static WebSocketClientBuilder forHostAndPort(final String host, final int port) {
+        return forAddress(InetSocketAddress.createUnresolved(host, port));
+    }
+
+    /**
+     * New {@link WebSocketClientBuilder} for the passed {@code address}.
+     *
+     * @param address the {@link SocketAddress} to connect to.
+     * @return a new {@link WebSocketClientBuilder}.
+     */
+    public static WebSocketClientBuilder forAddress(final SocketAddress address) {
+        return new WebSocketClientBuilder(address);
+    }
+}
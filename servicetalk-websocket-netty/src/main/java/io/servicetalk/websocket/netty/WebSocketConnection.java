@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.concurrent.api.Publisher;
+import io.servicetalk.transport.api.ConnectionContext;
+
+/**
+ * A WebSocket connection after a successful opening handshake.
+ * <p>
+ * Control frames are delivered to and sent by the application: {@link WebSocketOpcode#PING PING}s are not answered
+ * and {@link WebSocketOpcode#CLOSE CLOSE} frames do not close the connection automatically.
+ */
+public interface WebSocketConnection extends ConnectionContext {
+
+    /**
+     * Returns a {@link Publisher} of the frames received on this connection. Frames are read from the transport only
+     * when they are requested, so a slow subscriber applies backpressure to the peer.
+     * <p>
+     * Only a single subscriber is allowed at any time.
+     *
+     * @return a {@link Publisher} of the frames received on this connection.
+     */
+    Publisher<WebSocketFrame> read();
+
+    /**
+     * Writes all frames emitted by {@code frames}, requesting more only when the transport is writable.
+     * <p>
+     * Only a single write is allowed at any time.
+     *
+     * @param frames the frames to write.
+     * @return a {@link Completable} which completes when all frames were written.
+     */
+    Completable write(Publisher<WebSocketFrame> frames);
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import static io.servicetalk.websocket.netty.WebSocketOpcode.BINARY;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.CLOSE;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.CONTINUATION;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.PING;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.PONG;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.TEXT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A single WebSocket frame.
+ * <p>
+ * The {@link #payload() payload} is never copied by the transport: inbound payloads are unmasked in place and
+ * outbound payloads of a client are masked in place. A {@link Buffer} must therefore not be reused after the frame
+ * which carries it is written.
+ */
+public final class WebSocketFrame {
+
+    static final int MAX_CONTROL_FRAME_PAYLOAD_LENGTH = 125;
+
+    private final WebSocketOpcode opcode;
+    private final boolean finalFragment;
+    private final Buffer payload;
+
+    WebSocketFrame(final WebSocketOpcode opcode, final boolean finalFragment, final Buffer payload) {
+        this.opcode = opcode;
+        this.finalFragment = finalFragment;
+        this.payload = payload;
+    }
+
+    /**
+     * Creates a non-fragmented {@link WebSocketOpcode#TEXT} frame.
+     *
+     * @param payload UTF-8 encoded text.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame text(final Buffer payload) {
+        return text(payload, true);
+    }
+
+    /**
+     * Creates a {@link WebSocketOpcode#TEXT} frame.
+     *
+     * @param payload UTF-8 encoded text.
+     * @param finalFragment {@code false} if {@link #continuation(Buffer, boolean) continuation} frames follow.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame text(final Buffer payload, final boolean finalFragment) {
+        return new WebSocketFrame(TEXT, finalFragment, requireNonNull(payload));
+    }
+
+    /**
+     * Creates a non-fragmented {@link WebSocketOpcode#BINARY} frame.
+     *
+     * @param payload binary data.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame binary(final Buffer payload) {
+        return binary(payload, true);
+    }
+
+    /**
+     * Creates a {@link WebSocketOpcode#BINARY} frame.
+     *
+     * @param payload binary data.
+     * @param finalFragment {@code false} if {@link #continuation(Buffer, boolean) continuation} frames follow.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame binary(final Buffer payload, final boolean finalFragment) {
+        return new WebSocketFrame(BINARY, finalFragment, requireNonNull(payload));
+    }
+
+    /**
+     * Creates a {@link WebSocketOpcode#CONTINUATION} frame of a fragmented message.
+     *
+     * @param payload the next fragment of the message.
+     * @param finalFragment {@code true} if this is the last fragment of the message.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame continuation(final Buffer payload, final boolean finalFragment) {
+        return new WebSocketFrame(CONTINUATION, finalFragment, requireNonNull(payload));
+    }
+
+    /**
+     * Creates a {@link WebSocketOpcode#PING} frame.
+     *
+     * @param payload application data of at most 125 bytes, echoed by the peer in its {@link #pong(Buffer) pong}.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame ping(final Buffer payload) {
+        return control(PING, payload);
+    }
+
+    /**
+     * Creates a {@link WebSocketOpcode#PONG} frame.
+     *
+     * @param payload application data of at most 125 bytes.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame pong(final Buffer payload) {
+        return control(PONG, payload);
+    }
+
+    /**
+     * Creates a {@link WebSocketOpcode#CLOSE} frame.
+     *
+     * @param payload an empty {@link Buffer}, or a 2-byte status code optionally followed by a UTF-8 reason, at most
+     * 125 bytes in total.
+     * @return a new {@link WebSocketFrame}.
+     */
+    public static WebSocketFrame close(final Buffer payload) {
+        return control(CLOSE, payload);
+    }
+
+    private static WebSocketFrame control(final WebSocketOpcode opcode, final Buffer payload) {
+        if (payload.readableBytes() > MAX_CONTROL_FRAME_PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("payload length: " + payload.readableBytes() +
+                    " (expected: <=" + MAX_CONTROL_FRAME_PAYLOAD_LENGTH + ")");
+        }
+        return new WebSocketFrame(opcode, true, payload);
+    }
+
+    /**
+     * Returns the {@link WebSocketOpcode} of this frame.
+     *
+     * @return the {@link WebSocketOpcode} of this frame.
+     */
+    public WebSocketOpcode opcode() {
+        return opcode;
+    }
+
+    /**
+     * Returns {@code true} if this frame is the last fragment of a message.
+     *
+     * @return {@code true} if this frame is the last fragment of a message.
+     */
+    public boolean isFinalFragment() {
+        return finalFragment;
+    }
+
+    /**
+     * Returns the unmasked payload of this frame.
+     *
+     * @return the unmasked payload of this frame.
+     */
+    public Buffer payload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{opcode=" + opcode + ", finalFragment=" + finalFragment +
+                ", payloadLength=" + payload.readableBytes() + '}';
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.buffer.api.CompositeBuffer;
+import io.servicetalk.transport.netty.internal.ByteToMessageDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.netty.BufferUtils.newBufferFrom;
+import static io.servicetalk.websocket.netty.WebSocketFrame.MAX_CONTROL_FRAME_PAYLOAD_LENGTH;
+import static io.servicetalk.websocket.netty.WebSocketMasking.mask;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.CONTINUATION;
+import static java.lang.Math.min;
+
+/**
+ * Decodes {@link WebSocketFrame}s from the bytes that follow a successful opening handshake.
+ * <p>
+ * Payloads are retained slices of the (unpooled) cumulation and are unmasked in place. Messages compressed with
+ * permessage-deflate are reassembled from their fragments and emitted as a single, decompressed, final frame.
+ */
+final class WebSocketFrameDecoder extends ByteToMessageDecoder {
+
+    /**
+     * The {@code 0x00 0x00 0xff 0xff} tail of a DEFLATE sync flush, which senders remove from each message.
+     */
+    private static final int DEFLATE_TAIL = 0x0000FFFF;
+    /**
+     * The shortest DEFLATE block which produces any output is longer than this.
+     */
+    private static final int MAX_EMPTY_DEFLATE_LENGTH = 2;
+    private static final int INFLATE_CHUNK_SIZE = 8192;
+
+    private final BufferAllocator allocator;
+    private final boolean expectMaskedFrames;
+    private final int maxPayloadLength;
+    private final boolean perMessageDeflate;
+    @Nullable
+    private Inflater inflater;
+    @Nullable
+    private WebSocketOpcode fragmentedOpcode;
+    private boolean compressedMessage;
+    @Nullable
+    private CompositeBuffer compressedFragments;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param cumulationAllocator unpooled {@link ByteBufAllocator} for the cumulation.
+     * @param allocator {@link BufferAllocator} for decompressed payloads.
+     * @param expectMaskedFrames {@code true} on the server, which only accepts masked frames, {@code false} on the
+     * client, which only accepts unmasked frames.
+     * @param maxPayloadLength maximum length of a frame payload, and of a decompressed message.
+     * @param perMessageDeflate {@code true} if permessage-deflate was negotiated.
+     */
+    WebSocketFrameDecoder(final ByteBufAllocator cumulationAllocator, final BufferAllocator allocator,
+                          final boolean expectMaskedFrames, final int maxPayloadLength,
+                          final boolean perMessageDeflate) {
+        super(cumulationAllocator);
+        this.allocator = allocator;
+        this.expectMaskedFrames = expectMaskedFrames;
+        this.maxPayloadLength = maxPayloadLength;
+        this.perMessageDeflate = perMessageDeflate;
+    }
+
+    @Override
+    protected void handlerRemoved0(final ChannelHandlerContext ctx) {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in) throws Exception {
+        final int start = in.readerIndex();
+        final int readable = in.readableBytes();
+        if (readable < 2) {
+            return;
+        }
+        final int b0 = in.getUnsignedByte(start);
+        final int b1 = in.getUnsignedByte(start + 1);
+        final boolean fin = (b0 & 0x80) != 0;
+        final boolean rsv1 = (b0 & 0x40) != 0;
+        if ((b0 & 0x30) != 0) {
+            throw new CorruptedFrameException("RSV2 and RSV3 bits must be 0");
+        }
+        if (rsv1 && !perMessageDeflate) {
+            throw new CorruptedFrameException("RSV1 bit set without a negotiated extension");
+        }
+        final WebSocketOpcode opcode = WebSocketOpcode.fromCode(b0 & 0x0F);
+        if (opcode == null) {
+            throw new CorruptedFrameException("Reserved opcode: " + (b0 & 0x0F));
+        }
+        final boolean masked = (b1 & 0x80) != 0;
+        if (masked != expectMaskedFrames) {
+            throw new CorruptedFrameException(expectMaskedFrames ? "Received an unmasked frame from a client" :
+                    "Received a masked frame from a server");
+        }
+
+        int headerLength = 2;
+        final long payloadLength;
+        final int lengthField = b1 & 0x7F;
+        if (lengthField == 126) {
+            headerLength += 2;
+            if (readable < headerLength) {
+                return;
+            }
+            payloadLength = in.getUnsignedShort(start + 2);
+            if (payloadLength < 126) {
+                throw new CorruptedFrameException("Non-minimal 16-bit payload length: " + payloadLength);
+            }
+        } else if (lengthField == 127) {
+            headerLength += 8;
+            if (readable < headerLength) {
+                return;
+            }
+            payloadLength = in.getLong(start + 2);
+            if (payloadLength < 0) {
+                throw new CorruptedFrameException("Most significant bit of the 64-bit payload length must be 0");
+            }
+            if (payloadLength < 65536) {
+                throw new CorruptedFrameException("Non-minimal 64-bit payload length: " + payloadLength);
+            }
+        } else {
+            payloadLength = lengthField;
+        }
+
+        if (opcode.isControl()) {
+            if (!fin) {
+                throw new CorruptedFrameException("Fragmented control frame: " + opcode);
+            }
+            if (rsv1) {
+                throw new CorruptedFrameException("Compressed control frame: " + opcode);
+            }
+            if (payloadLength > MAX_CONTROL_FRAME_PAYLOAD_LENGTH) {
+                throw new CorruptedFrameException("Control frame payload length: " + payloadLength +
+                        " (expected: <=" + MAX_CONTROL_FRAME_PAYLOAD_LENGTH + ")");
+            }
+        } else if (opcode == CONTINUATION) {
+            if (fragmentedOpcode == null) {
+                throw new CorruptedFrameException("Continuation frame without a preceding fragment");
+            }
+            if (rsv1) {
+                throw new CorruptedFrameException("RSV1 bit set on a continuation frame");
+            }
+        } else if (fragmentedOpcode != null) {
+            throw new CorruptedFrameException("Received " + opcode + " before the fragmented " + fragmentedOpcode +
+                    " message was complete");
+        }
+        if (payloadLength > maxPayloadLength) {
+            throw new TooLongFrameException("Frame payload length: " + payloadLength +
+                    " (expected: <=" + maxPayloadLength + ")");
+        }
+
+        if (masked) {
+            headerLength += 4;
+        }
+        if (readable - headerLength < payloadLength) {
+            return;
+        }
+        final int maskKey = masked ? in.getInt(start + headerLength - 4) : 0;
+        in.skipBytes(headerLength);
+        final Buffer payload = newBufferFrom(in.readRetainedSlice((int) payloadLength));
+        mask(payload, payload.readerIndex(), payload.readableBytes(), maskKey);
+
+        if (opcode.isControl()) {
+            ctx.fireChannelRead(new WebSocketFrame(opcode, true, payload));
+            return;
+        }
+        final WebSocketOpcode messageOpcode;
+        if (opcode == CONTINUATION) {
+            messageOpcode = fragmentedOpcode;
+        } else {
+            messageOpcode = opcode;
+            compressedMessage = rsv1;
+        }
+        fragmentedOpcode = fin ? null : messageOpcode;
+
+        if (!compressedMessage) {
+            ctx.fireChannelRead(new WebSocketFrame(opcode, fin, payload));
+            return;
+        }
+        final CompositeBuffer fragments = compressedFragments;
+        if (fragments == null) {
+            if (fin) {
+                ctx.fireChannelRead(new WebSocketFrame(opcode, true, inflate(payload)));
+            } else {
+                compressedFragments = allocator.newCompositeBuffer().addBuffer(payload);
+            }
+            return;
+        }
+        if (fragments.readableBytes() + payloadLength > maxPayloadLength) {
+            throw new TooLongFrameException("Compressed message length exceeds " + maxPayloadLength);
+        }
+        fragments.addBuffer(payload);
+        if (fin) {
+            compressedFragments = null;
+            assert messageOpcode != null;
+            ctx.fireChannelRead(new WebSocketFrame(messageOpcode, true, inflate(fragments)));
+        }
+    }
+
+    private Buffer inflate(final Buffer compressed) throws TooLongFrameException, CorruptedFrameException {
+        assert perMessageDeflate;
+        final int compressedLength = compressed.readableBytes();
+        if (compressedLength <= MAX_EMPTY_DEFLATE_LENGTH) {
+            return allocator.newBuffer(0);
+        }
+        // RFC 7692 section 7.2.2: restore the tail before decompressing.
+        final byte[] input = new byte[compressedLength + 4];
+        compressed.getBytes(compressed.readerIndex(), input, 0, compressedLength);
+        input[compressedLength + 2] = (byte) (DEFLATE_TAIL >>> 8);
+        input[compressedLength + 3] = (byte) DEFLATE_TAIL;
+
+        Inflater inflater = this.inflater;
+        if (inflater == null) {
+            this.inflater = inflater = new Inflater(true);
+        } else {
+            // Contexts are not taken over, every message is compressed independently.
+            inflater.reset();
+        }
+        inflater.setInput(input);
+        // Inflate in chunks and check the length of the message as it grows, a small compressed message can expand to
+        // far more than maxPayloadLength.
+        final Buffer message = allocator.newBuffer(min(INFLATE_CHUNK_SIZE, maxPayloadLength));
+        final byte[] chunk = new byte[INFLATE_CHUNK_SIZE];
+        try {
+            for (;;) {
+                final int inflated = inflater.inflate(chunk);
+                if (inflated == 0) {
+                    if (inflater.finished() || inflater.needsInput()) {
+                        return message;
+                    }
+                    throw new CorruptedFrameException("Compressed message requires a preset dictionary");
+                }
+                if (message.readableBytes() + inflated > maxPayloadLength) {
+                    throw new TooLongFrameException("Decompressed message length exceeds " + maxPayloadLength);
+                }
+                message.writeBytes(chunk, 0, inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new CorruptedFrameException("Invalid compressed message", e);
+        }
+    }
+}
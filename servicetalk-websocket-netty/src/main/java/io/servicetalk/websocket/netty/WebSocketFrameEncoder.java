@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.encoding.api.ContentCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.servicetalk.buffer.netty.BufferUtils.extractByteBufOrCreate;
+import static io.servicetalk.websocket.netty.WebSocketMasking.mask;
+import static io.servicetalk.websocket.netty.WebSocketMasking.maskTo;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.BINARY;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.TEXT;
+
+/**
+ * Encodes {@link WebSocketFrame}s.
+ * <p>
+ * A server only allocates the frame header: it is written together with the payload as a composite buffer, so the
+ * payload is never copied. A client masks with a fresh random key for every frame, and writes the masked payload into
+ * the frame buffer because the caller's payload must not be modified. If permessage-deflate
+ * was negotiated, non-fragmented {@link WebSocketOpcode#TEXT TEXT} and {@link WebSocketOpcode#BINARY BINARY} messages
+ * are compressed; fragmented messages are sent uncompressed.
+ */
+final class WebSocketFrameEncoder extends ChannelOutboundHandlerAdapter {
+
+    private static final int MAX_HEADER_LENGTH = 14;
+
+    private final BufferAllocator allocator;
+    private final boolean maskFrames;
+    @Nullable
+    private final ContentCodec deflate;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param allocator {@link BufferAllocator} for compressed payloads.
+     * @param maskFrames {@code true} on the client, which must mask every frame.
+     * @param deflate raw DEFLATE codec if permessage-deflate was negotiated, {@code null} otherwise.
+     */
+    WebSocketFrameEncoder(final BufferAllocator allocator, final boolean maskFrames,
+                          @Nullable final ContentCodec deflate) {
+        this.allocator = allocator;
+        this.maskFrames = maskFrames;
+        this.deflate = deflate;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        if (!(msg instanceof WebSocketFrame)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        final WebSocketFrame frame = (WebSocketFrame) msg;
+        final WebSocketOpcode opcode = frame.opcode();
+        Buffer payload = frame.payload();
+        boolean compressed = false;
+        if (deflate != null && frame.isFinalFragment() && (opcode == TEXT || opcode == BINARY) &&
+                payload.readableBytes() > 0) {
+            // The codec finishes each message with a BFINAL block. RFC 7692 allows such a block to be followed by a
+            // single 0x00 byte in place of the sync flush tail, which keeps every message independently decodable.
+            payload = deflate.encode(payload, allocator).writeByte(0);
+            compressed = true;
+        }
+
+        final int length = payload.readableBytes();
+        // An uncompressed payload is owned by the caller, so a client writes its masked copy after the header.
+        final boolean maskIntoHeader = maskFrames && !compressed;
+        final ByteBuf header = ctx.alloc().buffer(maskIntoHeader ? MAX_HEADER_LENGTH + length : MAX_HEADER_LENGTH);
+        header.writeByte((frame.isFinalFragment() ? 0x80 : 0) | (compressed ? 0x40 : 0) | opcode.code());
+        final int maskBit = maskFrames ? 0x80 : 0;
+        if (length < 126) {
+            header.writeByte(maskBit | length);
+        } else if (length < 65536) {
+            header.writeByte(maskBit | 126);
+            header.writeShort(length);
+        } else {
+            header.writeByte(maskBit | 127);
+            header.writeLong(length);
+        }
+        if (maskFrames) {
+            final int maskKey = ThreadLocalRandom.current().nextInt();
+            header.writeInt(maskKey);
+            if (maskIntoHeader) {
+                maskTo(payload, payload.readerIndex(), length, maskKey, header);
+                ctx.write(header, promise);
+                return;
+            }
+            // The compressed payload was allocated by this encoder, so it is masked in place.
+            mask(payload, payload.readerIndex(), length, maskKey);
+        }
+        ctx.write(length == 0 ? header : wrappedBuffer(header, extractByteBufOrCreate(payload)), promise);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import java.io.IOException;
+
+/**
+ * Indicates that the WebSocket opening handshake failed.
+ */
+public final class WebSocketHandshakeException extends IOException {
+    private static final long serialVersionUID = -6295125379394848296L;
+
+    private final int statusCode;
+
+    WebSocketHandshakeException(final String message, final int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Returns the HTTP status code of the handshake response: the code received from the server on a client, the code
+     * sent to the client on a server.
+     *
+     * @return the HTTP status code of the handshake response, or {@code 0} if no response was received or sent.
+     */
+    public int statusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.CompletableSource;
+import io.servicetalk.concurrent.api.Completable;
+import io.servicetalk.encoding.api.ContentCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.buffer;
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static io.servicetalk.concurrent.api.Processors.newCompletableProcessor;
+import static io.servicetalk.concurrent.api.SourceAdapters.fromSource;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.parseHeaders;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Performs the opening handshake on a new connection, then replaces itself with a {@link WebSocketFrameDecoder} and a
+ * {@link WebSocketFrameEncoder}.
+ * <p>
+ * The connection does not read automatically, so this handler requests reads until the head of the handshake request
+ * or response is received. Bytes which follow the head are passed on to the {@link WebSocketFrameDecoder}.
+ */
+abstract class WebSocketHandshakeHandler extends ChannelInboundHandlerAdapter {
+
+    private static final int MAX_HEAD_LENGTH = 8192;
+    private static final int CR_LF_CR_LF = 0x0D0A0D0A;
+
+    private final CompletableSource.Processor completion = newCompletableProcessor();
+    private final BufferAllocator allocator;
+    private final int maxPayloadLength;
+    @Nullable
+    private final ContentCodec deflate;
+    private final boolean server;
+    @Nullable
+    private ByteBuf cumulation;
+    private boolean started;
+    private boolean done;
+
+    WebSocketHandshakeHandler(final BufferAllocator allocator, final int maxPayloadLength,
+                              @Nullable final ContentCodec deflate, final boolean server) {
+        this.allocator = allocator;
+        this.maxPayloadLength = maxPayloadLength;
+        this.deflate = deflate;
+        this.server = server;
+    }
+
+    /**
+     * Returns a {@link Completable} which terminates when the handshake completes or fails.
+     *
+     * @return a {@link Completable} which terminates when the handshake completes or fails.
+     */
+    final Completable completion() {
+        return fromSource(completion);
+    }
+
+    /**
+     * Called once the channel is active.
+     *
+     * @param ctx the {@link ChannelHandlerContext} of this handler.
+     */
+    void start(final ChannelHandlerContext ctx) {
+    }
+
+    /**
+     * Validates the head of the peer's handshake message and responds to it, if necessary.
+     *
+     * @param ctx the {@link ChannelHandlerContext} of this handler.
+     * @param startLine the request-line or status-line.
+     * @param headers the header fields, keyed by case-insensitive name.
+     * @return {@code true} if permessage-deflate was negotiated.
+     * @throws WebSocketHandshakeException if the handshake failed.
+     */
+    abstract boolean handshake(ChannelHandlerContext ctx, String startLine, Map<String, String> headers)
+            throws WebSocketHandshakeException;
+
+    /**
+     * Called when the handshake failed, before the channel is closed.
+     *
+     * @param ctx the {@link ChannelHandlerContext} of this handler.
+     * @param cause the reason of the failure.
+     */
+    void handshakeFailed(final ChannelHandlerContext ctx, final WebSocketHandshakeException cause) {
+        ctx.close();
+    }
+
+    @Override
+    public final void handlerAdded(final ChannelHandlerContext ctx) {
+        if (ctx.channel().isActive()) {
+            startOnce(ctx);
+        }
+    }
+
+    @Override
+    public final void channelActive(final ChannelHandlerContext ctx) {
+        startOnce(ctx);
+        ctx.fireChannelActive();
+    }
+
+    private void startOnce(final ChannelHandlerContext ctx) {
+        if (!started) {
+            started = true;
+            start(ctx);
+            ctx.read();
+        }
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (done || !(msg instanceof ByteBuf)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        final ByteBuf in = (ByteBuf) msg;
+        final ByteBuf cumulation;
+        try {
+            if (this.cumulation == null) {
+                this.cumulation = buffer(in.readableBytes());
+            }
+            cumulation = this.cumulation.writeBytes(in);
+        } finally {
+            in.release();
+        }
+        final int headEnd = indexOfHeadEnd(cumulation);
+        if (headEnd < 0) {
+            if (cumulation.readableBytes() > MAX_HEAD_LENGTH) {
+                fail(ctx, new WebSocketHandshakeException("Handshake head exceeds " + MAX_HEAD_LENGTH + " bytes",
+                        server ? 431 : 0));
+            }
+            return;
+        }
+        final String[] lines = cumulation.toString(cumulation.readerIndex(), headEnd - cumulation.readerIndex(),
+                ISO_8859_1).split("\r\n");
+        cumulation.readerIndex(headEnd + 4);
+        final boolean deflateNegotiated;
+        try {
+            deflateNegotiated = handshake(ctx, lines[0], parseHeaders(lines));
+        } catch (WebSocketHandshakeException e) {
+            fail(ctx, e);
+            return;
+        }
+
+        done = true;
+        final ChannelPipeline pipeline = ctx.pipeline();
+        pipeline.addAfter(ctx.name(), null, new WebSocketFrameEncoder(allocator, !server,
+                deflateNegotiated ? deflate : null));
+        pipeline.addAfter(ctx.name(), null, new WebSocketFrameDecoder(getByteBufAllocator(allocator), allocator,
+                server, maxPayloadLength, deflateNegotiated));
+        final ByteBuf leftover = cumulation.isReadable() ? cumulation.retainedSlice() : null;
+        pipeline.remove(this);
+        if (leftover != null) {
+            ctx.fireChannelRead(leftover);
+            ctx.fireChannelReadComplete();
+        }
+        completion.onComplete();
+    }
+
+    @Override
+    public final void channelReadComplete(final ChannelHandlerContext ctx) {
+        if (!done) {
+            ctx.read();
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public final void channelInactive(final ChannelHandlerContext ctx) {
+        if (!done) {
+            done = true;
+            completion.onError(new WebSocketHandshakeException(
+                    "Connection closed before the handshake completed", 0));
+        }
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        if (!done) {
+            done = true;
+            completion.onError(cause);
+            ctx.close();
+        }
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public final void handlerRemoved(final ChannelHandlerContext ctx) {
+        releaseCumulation();
+    }
+
+    private void fail(final ChannelHandlerContext ctx, final WebSocketHandshakeException cause) {
+        done = true;
+        releaseCumulation();
+        handshakeFailed(ctx, cause);
+        completion.onError(cause);
+    }
+
+    private void releaseCumulation() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+
+    private static int indexOfHeadEnd(final ByteBuf buffer) {
+        final int end = buffer.writerIndex() - 3;
+        for (int i = buffer.readerIndex(); i < end; ++i) {
+            if (buffer.getInt(i) == CR_LF_CR_LF) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
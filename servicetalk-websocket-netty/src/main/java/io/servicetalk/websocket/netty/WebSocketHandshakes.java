@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Helpers for the <a href="https://tools.ietf.org/html/rfc6455#section-4">opening handshake</a> and the
+ * <a href="https://tools.ietf.org/html/rfc7692#section-7">permessage-deflate</a> extension negotiation.
+ */
+final class WebSocketHandshakes {
+
+    static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+    static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+    static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+    static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+    static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+    /**
+     * Both peers compress every message with a fresh DEFLATE context, which is what the raw DEFLATE codec does.
+     */
+    static final String DEFLATE_EXTENSION = PERMESSAGE_DEFLATE + "; " + SERVER_NO_CONTEXT_TAKEOVER + "; " +
+            CLIENT_NO_CONTEXT_TAKEOVER;
+    static final String VERSION = "13";
+
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int KEY_LENGTH = 16;
+    private static final int MAX_WINDOW_BITS = 15;
+
+    private WebSocketHandshakes() {
+        // no instances
+    }
+
+    /**
+     * Generates a new {@code Sec-WebSocket-Key}.
+     *
+     * @return a new {@code Sec-WebSocket-Key}.
+     */
+    static String newKey() {
+        final byte[] nonce = new byte[KEY_LENGTH];
+        ThreadLocalRandom.current().nextBytes(nonce);
+        return Base64.getEncoder().encodeToString(nonce);
+    }
+
+    /**
+     * Returns {@code true} if {@code key} is a base64-encoded 16-byte nonce.
+     *
+     * @param key the {@code Sec-WebSocket-Key} of a request.
+     * @return {@code true} if {@code key} is a base64-encoded 16-byte nonce.
+     */
+    static boolean isValidKey(final String key) {
+        try {
+            return Base64.getDecoder().decode(key).length == KEY_LENGTH;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Computes the {@code Sec-WebSocket-Accept} value for a {@code Sec-WebSocket-Key}.
+     *
+     * @param key the {@code Sec-WebSocket-Key}.
+     * @return the {@code Sec-WebSocket-Accept} value for {@code key}.
+     */
+    static String accept(final String key) {
+        final MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform implementation is required to support SHA-1.
+            throw new IllegalStateException(e);
+        }
+        return Base64.getEncoder().encodeToString(sha1.digest((key + ACCEPT_GUID).getBytes(US_ASCII)));
+    }
+
+    /**
+     * Parses the header lines of a handshake request or response.
+     *
+     * @param lines the lines of the head, where the first line is the start-line.
+     * @return the header fields, keyed by case-insensitive name. Repeated fields are joined with {@code ", "}.
+     * @throws WebSocketHandshakeException if a header line is malformed.
+     */
+    static Map<String, String> parseHeaders(final String[] lines) throws WebSocketHandshakeException {
+        final Map<String, String> headers = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        for (int i = 1; i < lines.length; ++i) {
+            final String line = lines[i];
+            final int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new WebSocketHandshakeException("Malformed header line: " + line, 400);
+            }
+            headers.merge(line.substring(0, colon).trim(), line.substring(colon + 1).trim(),
+                    (first, second) -> first + ", " + second);
+        }
+        return headers;
+    }
+
+    /**
+     * Returns {@code true} if the comma-separated header {@code value} contains {@code token}, ignoring case.
+     *
+     * @param value a header value, or {@code null}.
+     * @param token the token to find.
+     * @return {@code true} if the comma-separated header {@code value} contains {@code token}, ignoring case.
+     */
+    static boolean containsToken(@Nullable final String value, final String token) {
+        if (value == null) {
+            return false;
+        }
+        for (String element : value.split(",")) {
+            if (element.trim().equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if a client's {@code Sec-WebSocket-Extensions} header contains a permessage-deflate offer
+     * which a server compressing every message with a fresh context and a 32KiB window can accept.
+     *
+     * @param extensions the {@code Sec-WebSocket-Extensions} request header, or {@code null}.
+     * @return {@code true} if a permessage-deflate offer can be accepted.
+     */
+    static boolean isAcceptableDeflateOffer(@Nullable final String extensions) {
+        if (extensions == null) {
+            return false;
+        }
+        offers:
+        for (String offer : extensions.split(",")) {
+            final String[] params = offer.split(";");
+            if (!PERMESSAGE_DEFLATE.equalsIgnoreCase(params[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < params.length; ++i) {
+                final String param = params[i].trim();
+                final int eq = param.indexOf('=');
+                final String name = (eq < 0 ? param : param.substring(0, eq)).trim();
+                if (SERVER_MAX_WINDOW_BITS.equalsIgnoreCase(name)) {
+                    // The codec always compresses with the largest window.
+                    if (eq < 0 || windowBits(param.substring(eq + 1)) != MAX_WINDOW_BITS) {
+                        continue offers;
+                    }
+                } else if (!SERVER_NO_CONTEXT_TAKEOVER.equalsIgnoreCase(name) &&
+                        !CLIENT_NO_CONTEXT_TAKEOVER.equalsIgnoreCase(name) &&
+                        !CLIENT_MAX_WINDOW_BITS.equalsIgnoreCase(name)) {
+                    continue offers;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Validates a server's {@code Sec-WebSocket-Extensions} response header against the offer of
+     * {@link #DEFLATE_EXTENSION}.
+     *
+     * @param extensions the {@code Sec-WebSocket-Extensions} response header, or {@code null}.
+     * @param offered {@code true} if permessage-deflate was offered.
+     * @return {@code true} if permessage-deflate was negotiated.
+     * @throws WebSocketHandshakeException if the response contains an extension or a parameter which was not offered.
+     */
+    static boolean isDeflateAccepted(@Nullable final String extensions, final boolean offered)
+            throws WebSocketHandshakeException {
+        if (extensions == null || extensions.trim().isEmpty()) {
+            return false;
+        }
+        final String[] params = extensions.split(";");
+        if (!offered || !PERMESSAGE_DEFLATE.equalsIgnoreCase(params[0].trim()) || extensions.indexOf(',') >= 0) {
+            throw new WebSocketHandshakeException("Unexpected extensions: " + extensions, 101);
+        }
+        boolean serverNoContextTakeover = false;
+        for (int i = 1; i < params.length; ++i) {
+            final String param = params[i].trim();
+            final int eq = param.indexOf('=');
+            final String name = (eq < 0 ? param : param.substring(0, eq)).trim();
+            if (SERVER_NO_CONTEXT_TAKEOVER.equalsIgnoreCase(name)) {
+                serverNoContextTakeover = true;
+            } else if (SERVER_MAX_WINDOW_BITS.equalsIgnoreCase(name)) {
+                // A smaller window of the server only lowers the memory needed to inflate.
+                if (eq < 0 || windowBits(param.substring(eq + 1)) < 0) {
+                    throw new WebSocketHandshakeException("Invalid " + SERVER_MAX_WINDOW_BITS + ": " + param, 101);
+                }
+            } else if (!CLIENT_NO_CONTEXT_TAKEOVER.equalsIgnoreCase(name)) {
+                throw new WebSocketHandshakeException("Unexpected " + PERMESSAGE_DEFLATE + " parameter: " + param,
+                        101);
+            }
+        }
+        if (!serverNoContextTakeover) {
+            throw new WebSocketHandshakeException("Missing " + SERVER_NO_CONTEXT_TAKEOVER + " in: " + extensions, 101);
+        }
+        return true;
+    }
+
+    private static int windowBits(final String value) {
+        String bits = value.trim();
+        if (bits.length() > 1 && bits.charAt(0) == '"' && bits.charAt(bits.length() - 1) == '"') {
+            bits = bits.substring(1, bits.length() - 1);
+        }
+        try {
+            final int windowBits = Integer.parseInt(bits);
+            return windowBits >= 8 && windowBits <= MAX_WINDOW_BITS ? windowBits : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
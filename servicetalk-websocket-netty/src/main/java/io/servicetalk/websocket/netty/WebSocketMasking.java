@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Applies the <a href="https://tools.ietf.org/html/rfc6455#section-5.3">RFC 6455 masking</a> transformation.
+ * <p>
+ * Masking is its own inverse, so the same method masks outbound and unmasks inbound payloads. Bytes are XORed eight at
+ * a time with the 32-bit key repeated twice, and only the trailing bytes are processed one at a time.
+ */
+final class WebSocketMasking {
+
+    private WebSocketMasking() {
+        // no instances
+    }
+
+    /**
+     * XORs {@code length} bytes of {@code buffer} starting at absolute index {@code index} with {@code maskKey}.
+     *
+     * @param buffer the {@link Buffer} to transform. Its indexes are not modified.
+     * @param index absolute index of the first payload byte, which is XORed with the most significant byte of
+     * {@code maskKey}.
+     * @param length number of bytes to transform.
+     * @param maskKey the 32-bit masking key in network byte order.
+     */
+    static void mask(final Buffer buffer, final int index, final int length, final int maskKey) {
+        if (maskKey == 0) {
+            return;
+        }
+        final long longMask = ((long) maskKey << 32) | (maskKey & 0xFFFFFFFFL);
+        final int longEnd = index + (length & ~7);
+        int i = index;
+        for (; i < longEnd; i += 8) {
+            buffer.setLong(i, buffer.getLong(i) ^ longMask);
+        }
+        final int end = index + length;
+        for (; i < end; ++i) {
+            buffer.setByte(i, buffer.getByte(i) ^ (maskKey >>> (24 - ((i - index) & 3) * 8)));
+        }
+    }
+
+    /**
+     * Writes {@code length} bytes of {@code src} starting at absolute index {@code index}, XORed with {@code maskKey},
+     * to {@code dst}.
+     *
+     * @param src the {@link Buffer} to read from. It is not modified.
+     * @param index absolute index of the first payload byte, which is XORed with the most significant byte of
+     * {@code maskKey}.
+     * @param length number of bytes to transform.
+     * @param maskKey the 32-bit masking key in network byte order.
+     * @param dst the {@link ByteBuf} to write the masked bytes to.
+     */
+    static void maskTo(final Buffer src, final int index, final int length, final int maskKey, final ByteBuf dst) {
+        final long longMask = ((long) maskKey << 32) | (maskKey & 0xFFFFFFFFL);
+        final int longEnd = index + (length & ~7);
+        int i = index;
+        for (; i < longEnd; i += 8) {
+            dst.writeLong(src.getLong(i) ^ longMask);
+        }
+        final int end = index + length;
+        for (; i < end; ++i) {
+            dst.writeByte(src.getByte(i) ^ (maskKey >>> (24 - ((i - index) & 3) * 8)));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import javax.annotation.Nullable;
+
+/**
+ * WebSocket frame opcodes as defined by <a href="https://tools.ietf.org/html/rfc6455#section-5.2">RFC 6455</a>.
+ */
+public enum WebSocketOpcode {
+    /**
+     * A continuation fragment of a fragmented TEXT or BINARY message.
+     */
+    CONTINUATION(0x0),
+    /**
+     * A UTF-8 text message, or its first fragment.
+     */
+    TEXT(0x1),
+    /**
+     * A binary message, or its first fragment.
+     */
+    BINARY(0x2),
+    /**
+     * A control frame which initiates or confirms the closing handshake.
+     */
+    CLOSE(0x8),
+    /**
+     * A control frame which requests a {@link #PONG}.
+     */
+    PING(0x9),
+    /**
+     * A control frame sent in response to a {@link #PING}, or unsolicited as a heartbeat.
+     */
+    PONG(0xA);
+
+    private final int code;
+
+    WebSocketOpcode(final int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the 4-bit value of this opcode on the wire.
+     *
+     * @return the 4-bit value of this opcode on the wire.
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * Returns {@code true} if this is a control opcode.
+     *
+     * @return {@code true} if this is a control opcode.
+     */
+    public boolean isControl() {
+        return (code & 0x8) != 0;
+    }
+
+    @Nullable
+    static WebSocketOpcode fromCode(final int code) {
+        switch (code) {
+            case 0x0:
+                return CONTINUATION;
+            case 0x1:
+                return TEXT;
+            case 0x2:
+                return BINARY;
+            case 0x8:
+                return CLOSE;
+            case 0x9:
+                return PING;
+            case 0xA:
+                return PONG;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.concurrent.api.Executor;
+import io.servicetalk.concurrent.api.Single;
+import io.servicetalk.encoding.api.ContentCodec;
+import io.servicetalk.tcp.netty.internal.ReadOnlyTcpServerConfig;
+import io.servicetalk.tcp.netty.internal.TcpServerBinder;
+import io.servicetalk.tcp.netty.internal.TcpServerChannelInitializer;
+import io.servicetalk.tcp.netty.internal.TcpServerConfig;
+import io.servicetalk.transport.api.ExecutionContext;
+import io.servicetalk.transport.api.IoExecutor;
+import io.servicetalk.transport.api.ServerContext;
+import io.servicetalk.transport.api.ServerSslConfig;
+import io.servicetalk.transport.api.TransportObserver;
+import io.servicetalk.transport.netty.internal.ExecutionContextBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.concurrent.api.Completable.defer;
+import static io.servicetalk.encoding.netty.ContentCodings.rawDeflate;
+import static io.servicetalk.websocket.netty.DefaultWebSocketConnection.batchFlushStrategy;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A builder of WebSocket servers.
+ */
+public final class WebSocketServerBuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketServerBuilder.class);
+
+    static final int DEFAULT_MAX_FRAME_PAYLOAD_LENGTH = 65536;
+
+    private final SocketAddress address;
+    private final TcpServerConfig config = new TcpServerConfig();
+    private final ExecutionContextBuilder executionContextBuilder = new ExecutionContextBuilder();
+    @Nullable
+    private String path;
+    private int maxFramePayloadLength = DEFAULT_MAX_FRAME_PAYLOAD_LENGTH;
+    private boolean perMessageDeflate;
+    private int batchFlushMaxFrames;
+    @Nullable
+    private Duration batchFlushMaxDelay;
+
+    WebSocketServerBuilder(final SocketAddress address) {
+        this.address = requireNonNull(address);
+    }
+
+    /**
+     * Sets the {@link IoExecutor} to use.
+     *
+     * @param ioExecutor {@link IoExecutor} to use.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder ioExecutor(final IoExecutor ioExecutor) {
+        executionContextBuilder.ioExecutor(ioExecutor);
+        return this;
+    }
+
+    /**
+     * Sets the {@link Executor} to use.
+     *
+     * @param executor {@link Executor} to use.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder executor(final Executor executor) {
+        executionContextBuilder.executor(executor);
+        return this;
+    }
+
+    /**
+     * Sets the {@link BufferAllocator} to use.
+     *
+     * @param allocator {@link BufferAllocator} to use.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder bufferAllocator(final BufferAllocator allocator) {
+        executionContextBuilder.bufferAllocator(allocator);
+        return this;
+    }
+
+    /**
+     * Adds a {@link SocketOption} that is applied to accepted connections.
+     *
+     * @param option the option to apply.
+     * @param value the value.
+     * @param <T> the type of the value.
+     * @return {@code this}.
+     */
+    public <T> WebSocketServerBuilder socketOption(final SocketOption<T> option, final T value) {
+        config.socketOption(option, value);
+        return this;
+    }
+
+    /**
+     * Adds a {@link SocketOption} that is applied to the server socket channel which listens/accepts socket channels.
+     *
+     * @param option the option to apply.
+     * @param value the value.
+     * @param <T> the type of the value.
+     * @return {@code this}.
+     */
+    public <T> WebSocketServerBuilder listenSocketOption(final SocketOption<T> option, final T value) {
+        config.listenSocketOption(option, value);
+        return this;
+    }
+
+    /**
+     * Enables TLS with the passed {@link ServerSslConfig}.
+     *
+     * @param config the {@link ServerSslConfig} to use.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder sslConfig(final ServerSslConfig config) {
+        this.config.sslConfig(requireNonNull(config));
+        return this;
+    }
+
+    /**
+     * Sets a {@link TransportObserver} that provides visibility into transport events associated with accepted
+     * connections.
+     *
+     * @param transportObserver A {@link TransportObserver} that provides visibility into transport events.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder transportObserver(final TransportObserver transportObserver) {
+        config.transportObserver(transportObserver);
+        return this;
+    }
+
+    /**
+     * Only accepts opening handshakes whose request-target has this path. By default every path is accepted.
+     *
+     * @param path the path of the WebSocket endpoint, for example {@code /ws}.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder path(final String path) {
+        this.path = requireNonNull(path);
+        return this;
+    }
+
+    /**
+     * Sets the maximum payload length of a received frame, and of a decompressed message if
+     * {@link #perMessageDeflate(boolean) permessage-deflate} is enabled.
+     *
+     * @param maxFramePayloadLength the maximum payload length in bytes.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder maxFramePayloadLength(final int maxFramePayloadLength) {
+        if (maxFramePayloadLength <= 0) {
+            throw new IllegalArgumentException("maxFramePayloadLength: " + maxFramePayloadLength +
+                    " (expected: >0)");
+        }
+        this.maxFramePayloadLength = maxFramePayloadLength;
+        return this;
+    }
+
+    /**
+     * Accepts the <a href="https://tools.ietf.org/html/rfc7692">permessage-deflate</a> extension if a client offers
+     * it. Each message is compressed independently, so no compression context is kept between messages.
+     *
+     * @param perMessageDeflate {@code true} to accept permessage-deflate.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder perMessageDeflate(final boolean perMessageDeflate) {
+        this.perMessageDeflate = perMessageDeflate;
+        return this;
+    }
+
+    /**
+     * Flushes written frames in batches of {@code maxFrames}, or when {@code maxDelay} elapses, instead of after
+     * every frame. This reduces the number of system calls when the same frames are fanned out to many connections.
+     *
+     * @param maxFrames the number of frames after which a flush is issued.
+     * @param maxDelay the maximum time a written frame may wait for a flush.
+     * @return {@code this}.
+     */
+    public WebSocketServerBuilder batchFlush(final int maxFrames, final Duration maxDelay) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("maxFrames: " + maxFrames + " (expected: >0)");
+        }
+        this.batchFlushMaxFrames = maxFrames;
+        this.batchFlushMaxDelay = requireNonNull(maxDelay);
+        return this;
+    }
+
+    /**
+     * Starts this server and returns the {@link ServerContext} after the server has been successfully started.
+     *
+     * @param service the {@link WebSocketService} which handles accepted connections.
+     * @return {@link ServerContext} of the started server.
+     * @throws Exception if the server could not be started.
+     */
+    public ServerContext listenAndAwait(final WebSocketService service) throws Exception {
+        return listen(service).toFuture().get();
+    }
+
+    /**
+     * Starts this server and returns a {@link Single} which completes with the
+     * {@link ServerContext} after the server has been successfully started.
+     *
+     * @param service the {@link WebSocketService} which handles accepted connections.
+     * @return a {@link Single} which completes with the {@link ServerContext} of the
+     * started server.
+     */
+    public Single<ServerContext> listen(final WebSocketService service) {
+        requireNonNull(service);
+        final ExecutionContext executionContext = executionContextBuilder.build();
+        if (batchFlushMaxDelay != null) {
+            config.flushStrategy(batchFlushStrategy(executionContext, batchFlushMaxFrames, batchFlushMaxDelay));
+        }
+        final ReadOnlyTcpServerConfig roConfig = config.asReadOnly();
+        final ContentCodec deflate = perMessageDeflate ? rawDeflate().build() : null;
+        final String path = this.path;
+        final int maxFramePayloadLength = this.maxFramePayloadLength;
+        return TcpServerBinder.bind(address, roConfig, false, executionContext, null,
+                (channel, observer) -> DefaultWebSocketConnection.initChannel(channel, executionContext,
+                        roConfig.flushStrategy(), roConfig.idleTimeoutMs(),
+                        new TcpServerChannelInitializer(roConfig, observer),
+                        new WebSocketServerHandshakeHandler(executionContext.bufferAllocator(), maxFramePayloadLength,
+                                deflate, path), observer, false),
+                connection -> defer(() -> service.handle(connection))
+                        .beforeOnError(cause -> LOGGER.debug("Error handling {}", connection, cause))
+                        .beforeFinally(() -> connection.closeAsync().subscribe())
+                        .subscribe());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.BufferAllocator;
+import io.servicetalk.encoding.api.ContentCodec;
+
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.copiedBuffer;
+import static io.netty.channel.ChannelFutureListener.CLOSE;
+import static io.netty.channel.ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.DEFLATE_EXTENSION;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.VERSION;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.accept;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.containsToken;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.isAcceptableDeflateOffer;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.isValidKey;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Validates a client's opening handshake and responds with {@code 101 Switching Protocols}, or with an error status
+ * before closing the connection.
+ */
+final class WebSocketServerHandshakeHandler extends WebSocketHandshakeHandler {
+
+    @Nullable
+    private final String path;
+    private final boolean deflateEnabled;
+
+    WebSocketServerHandshakeHandler(final BufferAllocator allocator, final int maxPayloadLength,
+                                    @Nullable final ContentCodec deflate, @Nullable final String path) {
+        super(allocator, maxPayloadLength, deflate, true);
+        this.path = path;
+        this.deflateEnabled = deflate != null;
+    }
+
+    @Override
+    boolean handshake(final ChannelHandlerContext ctx, final String startLine, final Map<String, String> headers)
+            throws WebSocketHandshakeException {
+        final String[] requestLine = startLine.split(" ");
+        if (requestLine.length != 3) {
+            throw new WebSocketHandshakeException("Malformed request-line: " + startLine, 400);
+        }
+        if (!"GET".equals(requestLine[0])) {
+            throw new WebSocketHandshakeException("Unexpected method: " + requestLine[0], 405);
+        }
+        if (!"HTTP/1.1".equals(requestLine[2])) {
+            throw new WebSocketHandshakeException("Unexpected version: " + requestLine[2], 505);
+        }
+        if (path != null) {
+            final String target = requestLine[1];
+            final int query = target.indexOf('?');
+            if (!path.equals(query < 0 ? target : target.substring(0, query))) {
+                throw new WebSocketHandshakeException("Unexpected path: " + target, 404);
+            }
+        }
+        if (!containsToken(headers.get("Upgrade"), "websocket")) {
+            throw new WebSocketHandshakeException("Missing Upgrade: websocket", 400);
+        }
+        if (!containsToken(headers.get("Connection"), "upgrade")) {
+            throw new WebSocketHandshakeException("Missing Connection: upgrade", 400);
+        }
+        if (!VERSION.equals(headers.get("Sec-WebSocket-Version"))) {
+            throw new WebSocketHandshakeException("Unsupported Sec-WebSocket-Version: " +
+                    headers.get("Sec-WebSocket-Version"), 426);
+        }
+        final String key = headers.get("Sec-WebSocket-Key");
+        if (key == null || !isValidKey(key)) {
+            throw new WebSocketHandshakeException("Invalid Sec-WebSocket-Key: " + key, 400);
+        }
+        final boolean deflate = deflateEnabled && isAcceptableDeflateOffer(headers.get("Sec-WebSocket-Extensions"));
+
+        final StringBuilder response = new StringBuilder(256)
+                .append("HTTP/1.1 101 Switching Protocols\r\n")
+                .append("Upgrade: websocket\r\n")
+                .append("Connection: Upgrade\r\n")
+                .append("Sec-WebSocket-Accept: ").append(accept(key)).append("\r\n");
+        if (deflate) {
+            response.append("Sec-WebSocket-Extensions: ").append(DEFLATE_EXTENSION).append("\r\n");
+        }
+        response.append("\r\n");
+        ctx.writeAndFlush(copiedBuffer(response, US_ASCII)).addListener(FIRE_EXCEPTION_ON_FAILURE);
+        return deflate;
+    }
+
+    @Override
+    void handshakeFailed(final ChannelHandlerContext ctx, final WebSocketHandshakeException cause) {
+        final StringBuilder response = new StringBuilder(128)
+                .append("HTTP/1.1 ").append(cause.statusCode()).append(' ').append(reasonPhrase(cause.statusCode()))
+                .append("\r\nConnection: close\r\nContent-Length: 0\r\n");
+        if (cause.statusCode() == 426) {
+            response.append("Sec-WebSocket-Version: ").append(VERSION).append("\r\n");
+        }
+        response.append("\r\n");
+        ctx.writeAndFlush(copiedBuffer(response, US_ASCII)).addListener(CLOSE);
+    }
+
+    private static String reasonPhrase(final int statusCode) {
+        switch (statusCode) {
+            case 404:
+                return "Not Found";
+            case 405:
+                return "Method Not Allowed";
+            case 426:
+                return "Upgrade Required";
+            case 431:
+                return "Request Header Fields Too Large";
+            case 505:
+                return "HTTP Version Not Supported";
+            default:
+                return "Bad Request";
+        }
+    }
+}
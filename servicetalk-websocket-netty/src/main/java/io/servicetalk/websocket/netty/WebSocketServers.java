@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * A factory to create WebSocket servers.
+ */
+public final class WebSocketServers {
+
+    private WebSocketServers() {
+        // No instances
+    }
+
+    /**
+     * New {@link WebSocketServerBuilder} for the passed {@code port}.
+     *
+     * @param port the port to listen on, or {@code 0} for an ephemeral port.
+     * @return a new {@link WebSocketServerBuilder}.
+     */
+    public static WebSocketServerBuilder forPort(final int port) {
+        return forAddress(new InetSocketAddress(port));
+    }
+
+    /**
+     * New {@link WebSocketServerBuilder} for the passed {@code address}.
+     *
+     * @param address the {@link SocketAddress} to listen on.
+     * @return a new {@link WebSocketServerBuilder}.
+     */
+    public static WebSocketServerBuilder forAddress(final SocketAddress address) {
+        return new WebSocketServerBuilder(address);
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.concurrent.api.Completable;
+
+/**
+ * Handles an accepted {@link WebSocketConnection}.
+ */
+@FunctionalInterface
+public interface WebSocketService {
+
+    /**
+     * Handles a {@link WebSocketConnection}. The connection is closed when the returned {@link Completable}
+     * terminates.
+     *
+     * @param connection a {@link WebSocketConnection} which completed the opening handshake.
+     * @return a {@link Completable} which terminates when the connection is no longer needed.
+     */
+    Completable handle(WebSocketConnection connection);
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.transport.api.ServerContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.concurrent.api.Publisher.from;
+import static io.servicetalk.transport.netty.internal.AddressUtils.localAddress;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.BINARY;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.TEXT;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WebSocketEchoTest {
+
+    private static final String LARGE_TEXT;
+
+    static {
+        final StringBuilder sb = new StringBuilder(100_000);
+        for (int i = 0; i < 100_000; ++i) {
+            sb.append((char) ('a' + i % 26));
+        }
+        LARGE_TEXT = sb.toString();
+    }
+
+    @Nullable
+    private ServerContext serverContext;
+    @Nullable
+    private WebSocketConnection client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try {
+            if (client != null) {
+                client.closeAsync().toFuture().get();
+            }
+        } finally {
+            if (serverContext != null) {
+                serverContext.closeAsync().toFuture().get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static Stream<Arguments> deflateOptions() {
+        return Stream.of(Arguments.of(false, false), Arguments.of(true, false), Arguments.of(false, true),
+                Arguments.of(true, true));
+    }
+
+    @ParameterizedTest(name = "serverDeflate={0} clientDeflate={1}")
+    @MethodSource("deflateOptions")
+    void echo(final boolean serverDeflate, final boolean clientDeflate) throws Exception {
+        serverContext = WebSocketServers.forAddress(localAddress(0))
+                .path("/echo")
+                .maxFramePayloadLength(LARGE_TEXT.length())
+                .perMessageDeflate(serverDeflate)
+                .listenAndAwait(connection -> connection.write(connection.read()));
+        client = WebSocketClients.forAddress(serverContext.listenAddress())
+                .path("/echo?client=test")
+                .maxFramePayloadLength(LARGE_TEXT.length())
+                .perMessageDeflate(clientDeflate)
+                .connectBlocking();
+
+        assertEcho(client);
+    }
+
+    @Test
+    void echoWithBatchFlush() throws Exception {
+        serverContext = WebSocketServers.forAddress(localAddress(0))
+                .batchFlush(2, Duration.ofMillis(10))
+                .maxFramePayloadLength(LARGE_TEXT.length())
+                .listenAndAwait(connection -> connection.write(connection.read()));
+        client = WebSocketClients.forAddress(serverContext.listenAddress())
+                .batchFlush(16, Duration.ofMillis(10))
+                .maxFramePayloadLength(LARGE_TEXT.length())
+                .connectBlocking();
+
+        // Three frames do not fill the server's second batch, so the last one is flushed by the timer.
+        assertEcho(client);
+    }
+
+    @Test
+    void rejectsUnknownPath() throws Exception {
+        serverContext = WebSocketServers.forAddress(localAddress(0))
+                .path("/echo")
+                .listenAndAwait(connection -> connection.write(connection.read()));
+        final ExecutionException e = assertThrows(ExecutionException.class,
+                () -> WebSocketClients.forAddress(serverContext.listenAddress()).path("/unknown").connectBlocking());
+        assertThat(e.getCause(), is(instanceOf(WebSocketHandshakeException.class)));
+        assertThat(((WebSocketHandshakeException) e.getCause()).statusCode(), is(404));
+    }
+
+    private static void assertEcho(final WebSocketConnection connection) throws Exception {
+        final Future<? extends Iterable<WebSocketFrame>> echoed = connection.read().takeAtMost(3).toFuture();
+        connection.write(from(
+                WebSocketFrame.text(DEFAULT_ALLOCATOR.fromAscii("Hello")),
+                WebSocketFrame.binary(DEFAULT_ALLOCATOR.fromAscii("")),
+                WebSocketFrame.text(DEFAULT_ALLOCATOR.fromAscii(LARGE_TEXT)))).toFuture().get();
+
+        final List<WebSocketFrame> frames = new ArrayList<>();
+        echoed.get().forEach(frames::add);
+        assertThat(frames, hasSize(3));
+        assertThat(frames.get(0).opcode(), is(TEXT));
+        assertThat(frames.get(0).payload().toString(US_ASCII), is("Hello"));
+        assertThat(frames.get(1).opcode(), is(BINARY));
+        assertThat(frames.get(1).payload().readableBytes(), is(0));
+        assertThat(frames.get(2).opcode(), is(TEXT));
+        assertThat(frames.get(2).payload().toString(US_ASCII), is(LARGE_TEXT));
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+import io.servicetalk.encoding.api.ContentCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.servicetalk.buffer.api.ReadOnlyBufferAllocators.DEFAULT_RO_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.buffer.netty.BufferUtils.getByteBufAllocator;
+import static io.servicetalk.encoding.netty.ContentCodings.rawDeflate;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.BINARY;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.CONTINUATION;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.PING;
+import static io.servicetalk.websocket.netty.WebSocketOpcode.TEXT;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WebSocketFrameCodecTest {
+
+    private static final int MAX_PAYLOAD_LENGTH = 70000;
+    private static final ContentCodec DEFLATE = rawDeflate().build();
+
+    @ParameterizedTest(name = "length={0}")
+    @ValueSource(ints = {0, 1, 125, 126, 65535, 65536, MAX_PAYLOAD_LENGTH})
+    void clientToServerRoundTrip(final int length) {
+        final String text = text(length);
+        final WebSocketFrame frame = roundTrip(encoder(true, null), decoder(true, null),
+                WebSocketFrame.text(DEFAULT_ALLOCATOR.fromAscii(text)));
+        assertFrame(frame, TEXT, true, text);
+    }
+
+    @ParameterizedTest(name = "length={0}")
+    @ValueSource(ints = {0, 1, 125, 126, 65535, 65536, MAX_PAYLOAD_LENGTH})
+    void serverToClientRoundTrip(final int length) {
+        final String text = text(length);
+        final WebSocketFrame frame = roundTrip(encoder(false, null), decoder(false, null),
+                WebSocketFrame.binary(DEFAULT_ALLOCATOR.fromAscii(text)));
+        assertFrame(frame, BINARY, true, text);
+    }
+
+    @Test
+    void clientMasksReadOnlyPayload() {
+        final WebSocketFrame frame = roundTrip(encoder(true, null), decoder(true, null),
+                WebSocketFrame.text(DEFAULT_RO_ALLOCATOR.fromAscii("read-only")));
+        assertFrame(frame, TEXT, true, "read-only");
+    }
+
+    @Test
+    void clientDoesNotModifyPayload() {
+        final Buffer payload = DEFAULT_ALLOCATOR.fromAscii("payload");
+        final EmbeddedChannel channel = encoder(true, null);
+        channel.writeOutbound(WebSocketFrame.text(payload));
+        final ByteBuf encoded = channel.readOutbound();
+        encoded.release();
+        assertThat(payload.toString(US_ASCII), is("payload"));
+    }
+
+    @Test
+    void serverEncodesRfcExample() {
+        // https://tools.ietf.org/html/rfc6455#section-5.7
+        final EmbeddedChannel channel = encoder(false, null);
+        channel.writeOutbound(WebSocketFrame.text(DEFAULT_ALLOCATOR.fromAscii("Hello")));
+        final ByteBuf encoded = channel.readOutbound();
+        final byte[] bytes = new byte[encoded.readableBytes()];
+        encoded.readBytes(bytes);
+        encoded.release();
+        assertThat(Arrays.equals(bytes, bytes(0x81, 0x05, 0x48, 0x65, 0x6c, 0x6c, 0x6f)), is(true));
+    }
+
+    @Test
+    void serverDecodesMaskedRfcExample() {
+        final EmbeddedChannel channel = decoder(true, null);
+        channel.writeInbound(wrappedBuffer(bytes(0x81, 0x85, 0x37, 0xfa, 0x21, 0x3d, 0x7f, 0x9f, 0x4d, 0x51, 0x58)));
+        assertFrame(channel.readInbound(), TEXT, true, "Hello");
+    }
+
+    @Test
+    void clientDecodesFragmentedRfcExampleInterleavedWithPing() {
+        final EmbeddedChannel channel = decoder(false, null);
+        channel.writeInbound(wrappedBuffer(bytes(0x01, 0x03, 0x48, 0x65, 0x6c, 0x89, 0x00, 0x80, 0x02)));
+        assertFrame(channel.readInbound(), TEXT, false, "Hel");
+        assertFrame(channel.readInbound(), PING, true, "");
+        assertThat(channel.readInbound(), is(nullValue()));
+        channel.writeInbound(wrappedBuffer(bytes(0x6c, 0x6f)));
+        assertFrame(channel.readInbound(), CONTINUATION, true, "lo");
+    }
+
+    @Test
+    void clientDecodesCompressedRfcExamples() {
+        // https://tools.ietf.org/html/rfc7692#section-7.2.3
+        final EmbeddedChannel channel = decoder(false, DEFLATE);
+        channel.writeInbound(wrappedBuffer(bytes(0xc1, 0x07, 0xf2, 0x48, 0xcd, 0xc9, 0xc9, 0x07, 0x00)));
+        assertFrame(channel.readInbound(), TEXT, true, "Hello");
+
+        channel.writeInbound(wrappedBuffer(bytes(0x41, 0x03, 0xf2, 0x48, 0xcd, 0x80, 0x04, 0xc9, 0xc9, 0x07, 0x00)));
+        assertFrame(channel.readInbound(), TEXT, true, "Hello");
+
+        channel.writeInbound(wrappedBuffer(bytes(0xc1, 0x08, 0xf3, 0x48, 0xcd, 0xc9, 0xc9, 0x07, 0x00, 0x00)));
+        assertFrame(channel.readInbound(), TEXT, true, "Hello");
+
+        channel.writeInbound(wrappedBuffer(bytes(0xc2, 0x01, 0x00)));
+        assertFrame(channel.readInbound(), BINARY, true, "");
+    }
+
+    @Test
+    void compressedRoundTrip() {
+        final String text = text(4096);
+        final EmbeddedChannel encoder = encoder(true, DEFLATE);
+        encoder.writeOutbound(WebSocketFrame.text(DEFAULT_ALLOCATOR.fromAscii(text)));
+        final ByteBuf encoded = encoder.readOutbound();
+        assertThat(encoded.readableBytes(), lessThan(text.length()));
+
+        final EmbeddedChannel decoder = decoder(true, DEFLATE);
+        decoder.writeInbound(encoded);
+        assertFrame(decoder.readInbound(), TEXT, true, text);
+    }
+
+    @Test
+    void fragmentedFramesAreNotCompressed() {
+        final WebSocketFrame frame = roundTrip(encoder(true, DEFLATE), decoder(true, DEFLATE),
+                WebSocketFrame.text(DEFAULT_ALLOCATOR.fromAscii("fragment"), false));
+        assertFrame(frame, TEXT, false, "fragment");
+    }
+
+    @Test
+    void serverRejectsUnmaskedFrame() {
+        assertThrows(DecoderException.class, () -> decoder(true, null).writeInbound(wrappedBuffer(bytes(0x81, 0x00))));
+    }
+
+    @Test
+    void clientRejectsMaskedFrame() {
+        assertThrows(DecoderException.class, () -> decoder(false, null).writeInbound(
+                wrappedBuffer(bytes(0x81, 0x80, 0x01, 0x02, 0x03, 0x04))));
+    }
+
+    @Test
+    void rejectsReservedOpcode() {
+        assertThrows(DecoderException.class, () -> decoder(false, null).writeInbound(wrappedBuffer(bytes(0x83, 0x00))));
+    }
+
+    @Test
+    void rejectsCompressedFrameWithoutExtension() {
+        assertThrows(DecoderException.class, () -> decoder(false, null).writeInbound(wrappedBuffer(bytes(0xc1, 0x00))));
+    }
+
+    @Test
+    void rejectsFragmentedControlFrame() {
+        assertThrows(DecoderException.class, () -> decoder(false, null).writeInbound(wrappedBuffer(bytes(0x09, 0x00))));
+    }
+
+    @Test
+    void rejectsLongControlFrame() {
+        assertThrows(DecoderException.class, () -> decoder(false, null).writeInbound(
+                wrappedBuffer(bytes(0x89, 0x7e, 0x00, 0x7e))));
+    }
+
+    @Test
+    void rejectsContinuationWithoutFragmentedMessage() {
+        assertThrows(DecoderException.class, () -> decoder(false, null).writeInbound(wrappedBuffer(bytes(0x80, 0x00))));
+    }
+
+    @Test
+    void rejectsDataFrameInsideFragmentedMessage() {
+        final EmbeddedChannel channel = decoder(false, null);
+        channel.writeInbound(wrappedBuffer(bytes(0x01, 0x00)));
+        assertThat(channel.readInbound(), is(notNullValue()));
+        assertThrows(DecoderException.class, () -> channel.writeInbound(wrappedBuffer(bytes(0x82, 0x00))));
+    }
+
+    @Test
+    void rejectsTooLongFrame() {
+        assertThrows(TooLongFrameException.class, () -> decoder(false, null).writeInbound(
+                wrappedBuffer(bytes(0x82, 0x7f, 0, 0, 0, 0, 0, 0x01, 0x11, 0x71))));
+    }
+
+    @Test
+    void rejectsTooLongDecompressedMessage() {
+        // A highly compressible message fits in a frame far below the limit, but decompresses to 60 times the limit.
+        final EmbeddedChannel encoder = encoder(false, DEFLATE);
+        encoder.writeOutbound(WebSocketFrame.binary(DEFAULT_ALLOCATOR.fromAscii(text(60 * MAX_PAYLOAD_LENGTH))));
+        final ByteBuf encoded = encoder.readOutbound();
+        assertThat(encoded.readableBytes(), lessThan(MAX_PAYLOAD_LENGTH / 10));
+        assertThrows(TooLongFrameException.class, () -> decoder(false, DEFLATE).writeInbound(encoded));
+    }
+
+    @Test
+    void controlFramePayloadIsLimited() {
+        final Buffer payload = DEFAULT_ALLOCATOR.fromAscii(text(126));
+        assertThrows(IllegalArgumentException.class, () -> WebSocketFrame.ping(payload));
+    }
+
+    private static WebSocketFrame roundTrip(final EmbeddedChannel encoder, final EmbeddedChannel decoder,
+                                            final WebSocketFrame frame) {
+        encoder.writeOutbound(frame);
+        decoder.writeInbound((ByteBuf) encoder.readOutbound());
+        final WebSocketFrame decoded = decoder.readInbound();
+        assertThat(decoded, is(notNullValue()));
+        return decoded;
+    }
+
+    private static EmbeddedChannel encoder(final boolean client, @Nullable final ContentCodec deflate) {
+        return new EmbeddedChannel(new WebSocketFrameEncoder(DEFAULT_ALLOCATOR, client, deflate));
+    }
+
+    private static EmbeddedChannel decoder(final boolean server, @Nullable final ContentCodec deflate) {
+        return new EmbeddedChannel(new WebSocketFrameDecoder(getByteBufAllocator(DEFAULT_ALLOCATOR), DEFAULT_ALLOCATOR,
+                server, MAX_PAYLOAD_LENGTH, deflate != null));
+    }
+
+    private static void assertFrame(@Nullable final WebSocketFrame frame, final WebSocketOpcode opcode,
+                                    final boolean finalFragment, final String payload) {
+        assertThat(frame, is(notNullValue()));
+        assertThat(frame.opcode(), is(opcode));
+        assertThat(frame.isFinalFragment(), is(finalFragment));
+        assertThat(frame.payload().toString(US_ASCII), is(payload));
+    }
+
+    private static String text(final int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            sb.append((char) ('a' + i % 26));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.DEFLATE_EXTENSION;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.accept;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.containsToken;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.isAcceptableDeflateOffer;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.isDeflateAccepted;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.isValidKey;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.newKey;
+import static io.servicetalk.websocket.netty.WebSocketHandshakes.parseHeaders;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WebSocketHandshakesTest {
+
+    @Test
+    void acceptMatchesRfcExample() {
+        // https://tools.ietf.org/html/rfc6455#section-1.3
+        assertThat(accept("dGhlIHNhbXBsZSBub25jZQ=="), is("s3pPLMBiTxaQ9kYGzzhZRbK+xOo="));
+    }
+
+    @Test
+    void newKeyIsValid() {
+        assertThat(isValidKey(newKey()), is(true));
+        assertThat(isValidKey("dGhlIHNhbXBsZSBub25jZQ=="), is(true));
+        assertThat(isValidKey("c2hvcnQ="), is(false));
+        assertThat(isValidKey("not base64!"), is(false));
+    }
+
+    @Test
+    void parseHeadersIsCaseInsensitiveAndJoinsRepeatedFields() throws Exception {
+        final Map<String, String> headers = parseHeaders(new String[] {"GET / HTTP/1.1", "Host: example.com",
+                "connection: keep-alive", "Connection:  Upgrade "});
+        assertThat(headers.get("host"), is("example.com"));
+        assertThat(headers.get("CONNECTION"), is("keep-alive, Upgrade"));
+        assertThat(containsToken(headers.get("Connection"), "upgrade"), is(true));
+        assertThat(containsToken(headers.get("Connection"), "close"), is(false));
+    }
+
+    @Test
+    void parseHeadersRejectsMalformedLine() {
+        WebSocketHandshakeException e = assertThrows(WebSocketHandshakeException.class,
+                () -> parseHeaders(new String[] {"GET / HTTP/1.1", "no colon"}));
+        assertThat(e.statusCode(), is(400));
+    }
+
+    @ParameterizedTest(name = "offer={0}")
+    @ValueSource(strings = {
+            "permessage-deflate",
+            "permessage-deflate; client_max_window_bits",
+            "permessage-deflate; client_no_context_takeover; server_no_context_takeover",
+            "permessage-deflate; server_max_window_bits=\"15\"",
+            "permessage-deflate; server_max_window_bits=10, permessage-deflate",
+            "x-webkit-deflate-frame, PerMessage-Deflate; client_max_window_bits=12",
+    })
+    void acceptableDeflateOffers(final String offer) {
+        assertThat(isAcceptableDeflateOffer(offer), is(true));
+    }
+
+    @ParameterizedTest(name = "offer={0}")
+    @ValueSource(strings = {
+            "",
+            "x-webkit-deflate-frame",
+            "permessage-deflate; server_max_window_bits=10",
+            "permessage-deflate; server_max_window_bits",
+            "permessage-deflate; unknown_parameter",
+    })
+    void unacceptableDeflateOffers(final String offer) {
+        assertThat(isAcceptableDeflateOffer(offer), is(false));
+    }
+
+    @Test
+    void deflateResponses() throws Exception {
+        assertThat(isDeflateAccepted(null, true), is(false));
+        assertThat(isDeflateAccepted(DEFLATE_EXTENSION, true), is(true));
+        assertThat(isDeflateAccepted("permessage-deflate; server_no_context_takeover; server_max_window_bits=9",
+                true), is(true));
+        assertThrows(WebSocketHandshakeException.class, () -> isDeflateAccepted(DEFLATE_EXTENSION, false));
+        assertThrows(WebSocketHandshakeException.class, () -> isDeflateAccepted("permessage-deflate", true));
+        assertThrows(WebSocketHandshakeException.class, () -> isDeflateAccepted(
+                "permessage-deflate; server_no_context_takeover; client_max_window_bits=10", true));
+        assertThrows(WebSocketHandshakeException.class, () -> isDeflateAccepted("x-unknown", true));
+    }
+}
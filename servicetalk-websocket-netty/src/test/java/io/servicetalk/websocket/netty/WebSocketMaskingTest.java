@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2021 Apple Inc. and the ServiceTalk project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.servicetalk.websocket.netty;
+
+import io.servicetalk.buffer.api.Buffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.servicetalk.buffer.netty.BufferAllocators.DEFAULT_ALLOCATOR;
+import static io.servicetalk.websocket.netty.WebSocketMasking.mask;
+import static io.servicetalk.websocket.netty.WebSocketMasking.maskTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class WebSocketMaskingTest {
+
+    private static final int MASK_KEY = 0x37FA213D;
+
+    @ParameterizedTest(name = "length={0}")
+    @ValueSource(ints = {0, 1, 3, 4, 7, 8, 9, 15, 16, 17, 125, 1024, 1031})
+    void matchesBytewiseMasking(final int length) {
+        final byte[] data = new byte[length];
+        ThreadLocalRandom.current().nextBytes(data);
+        // Start at an odd offset so that the 8-byte chunks are not aligned to the backing array.
+        final Buffer buffer = DEFAULT_ALLOCATOR.newBuffer(length + 3).writeBytes(new byte[3]).writeBytes(data);
+
+        mask(buffer, 3, length, MASK_KEY);
+
+        final byte[] expected = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            expected[i] = (byte) (data[i] ^ (MASK_KEY >>> (24 - (i % 4) * 8)));
+        }
+        final byte[] actual = new byte[length];
+        buffer.getBytes(3, actual);
+        assertThat(actual, equalTo(expected));
+        assertThat(buffer.getByte(0), is((byte) 0));
+    }
+
+    @ParameterizedTest(name = "length={0}")
+    @ValueSource(ints = {0, 5, 8, 13, 4096})
+    void maskingTwiceRestoresPayload(final int length) {
+        final byte[] data = new byte[length];
+        ThreadLocalRandom.current().nextBytes(data);
+        final Buffer buffer = DEFAULT_ALLOCATOR.wrap(data.clone());
+
+        mask(buffer, buffer.readerIndex(), length, MASK_KEY);
+        mask(buffer, buffer.readerIndex(), length, MASK_KEY);
+
+        final byte[] actual = new byte[length];
+        buffer.getBytes(buffer.readerIndex(), actual);
+        assertThat(actual, equalTo(data));
+    }
+
+    @ParameterizedTest(name = "length={0}")
+    @ValueSource(ints = {0, 1, 3, 4, 7, 8, 9, 15, 16, 17, 125, 1024, 1031})
+    void maskToMatchesInPlaceMasking(final int length) {
+        final byte[] data = new byte[length];
+        ThreadLocalRandom.current().nextBytes(data);
+        final Buffer src = DEFAULT_ALLOCATOR.newBuffer(length + 3).writeBytes(new byte[3]).writeBytes(data);
+        final ByteBuf dst = Unpooled.buffer(length);
+
+        maskTo(src, 3, length, MASK_KEY, dst);
+
+        final byte[] unchanged = new byte[length];
+        src.getBytes(3, unchanged);
+        assertThat("Source was modified", unchanged, equalTo(data));
+
+        mask(src, 3, length, MASK_KEY);
+        final byte[] expected = new byte[length];
+        src.getBytes(3, expected);
+        final byte[] actual = new byte[length];
+        dst.readBytes(actual);
+        assertThat(actual, equalTo(expected));
+    }
+}